@@ -2,11 +2,12 @@ package com.drims;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class DRIMSApplication {
     public static void main(String[] args) {
         SpringApplication.run(DRIMSApplication.class, args);
     }
 }
-
@@ -0,0 +1,29 @@
+package com.drims.config;
+
+import com.drims.service.AnalyticsSnapshot;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+// Keeps the columnar analytics snapshot current with publication saves and deletes
+@Component
+public class AnalyticsSnapshotEventListener extends AbstractMongoEventListener<Object> {
+
+    @Autowired
+    private AnalyticsSnapshot analyticsSnapshot;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        if (BulkWriteEvents.isSuppressed()) {
+            return;
+        }
+        analyticsSnapshot.upsert(event.getSource());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        analyticsSnapshot.delete(event.getCollectionName(), event.getSource());
+    }
+}
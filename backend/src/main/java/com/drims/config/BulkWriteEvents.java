@@ -0,0 +1,32 @@
+package com.drims.config;
+
+import java.util.function.Supplier;
+
+// Bulk inserts still raise an AfterSaveEvent per document. Callers that keep derived state current
+// for the whole batch themselves (mirrorAll, upsertAll, one version bump) run the write through
+// suppressed(), and the save listeners skip those events instead of replaying every document again.
+public final class BulkWriteEvents {
+
+    private static final ThreadLocal<Boolean> SUPPRESSED = new ThreadLocal<>();
+
+    private BulkWriteEvents() {
+    }
+
+    public static boolean isSuppressed() {
+        return Boolean.TRUE.equals(SUPPRESSED.get());
+    }
+
+    public static <T> T suppressed(Supplier<T> write) {
+        Boolean previous = SUPPRESSED.get();
+        SUPPRESSED.set(Boolean.TRUE);
+        try {
+            return write.get();
+        } finally {
+            if (previous == null) {
+                SUPPRESSED.remove();
+            } else {
+                SUPPRESSED.set(previous);
+            }
+        }
+    }
+}
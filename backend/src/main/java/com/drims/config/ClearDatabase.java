@@ -1,6 +1,11 @@
 package com.drims.config;
 
 import com.drims.repository.*;
+import com.drims.service.DataVersionService;
+import com.drims.service.FacultyProfileCache;
+import com.drims.service.PublicationMigrationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.data.mongodb.core.MongoTemplate;
@@ -13,6 +18,8 @@ import org.springframework.stereotype.Component;
 @Component
 public class ClearDatabase implements CommandLineRunner {
     
+    private static final Logger log = LoggerFactory.getLogger(ClearDatabase.class);
+    
     @Autowired
     private UserRepository userRepository;
     
@@ -37,6 +44,15 @@ public class ClearDatabase implements CommandLineRunner {
     @Autowired
     private MongoTemplate mongoTemplate;
     
+    @Autowired
+    private FacultyProfileCache facultyProfileCache;
+    
+    @Autowired
+    private DataVersionService dataVersionService;
+    
+    @Autowired
+    private PublicationMigrationService publicationMigrationService;
+    
     @Override
     public void run(String... args) {
         // Only clear if explicitly requested OR if --clear-db flag is present
@@ -55,10 +71,8 @@ public class ClearDatabase implements CommandLineRunner {
         }
         
         if (shouldClear) {
-            System.out.println("========================================");
-            System.out.println("Clearing database completely...");
-            System.out.println("This will drop all collections and indexes!");
-            System.out.println("========================================");
+            log.info("Clearing database completely...");
+            log.warn("This will drop all collections and indexes!");
             
             try {
                 // Drop collections completely (this also drops all indexes)
@@ -68,11 +82,13 @@ public class ClearDatabase implements CommandLineRunner {
                 mongoTemplate.dropCollection("conferences");
                 mongoTemplate.dropCollection("patents");
                 mongoTemplate.dropCollection("book_chapters");
+                mongoTemplate.dropCollection("books");
                 mongoTemplate.dropCollection("targets");
-                System.out.println("All collections dropped successfully!");
-                System.out.println("All indexes removed!");
+                mongoTemplate.dropCollection("student_profiles");
+                log.info("All collections dropped successfully!");
+                log.info("All indexes removed!");
             } catch (Exception e) {
-                System.out.println("Error dropping collections, trying deleteAll instead: " + e.getMessage());
+                log.warn("Error dropping collections, trying deleteAll instead: {}", e.getMessage());
                 // Fallback to deleteAll if dropCollection fails
                 journalRepository.deleteAll();
                 conferenceRepository.deleteAll();
@@ -81,13 +97,15 @@ public class ClearDatabase implements CommandLineRunner {
                 targetRepository.deleteAll();
                 facultyProfileRepository.deleteAll();
                 userRepository.deleteAll();
-                System.out.println("All data deleted (indexes may still exist - restart MongoDB to fully clear)");
+                log.info("All data deleted (indexes may still exist - restart MongoDB to fully clear)");
             }
             
-            System.out.println("========================================");
-            System.out.println("Database cleared successfully!");
-            System.out.println("You can now restart the backend to load all 74 faculty.");
-            System.out.println("========================================");
+            publicationMigrationService.reset(); // The unified publications collection mirrors the dropped ones
+            facultyProfileCache.invalidateAll();
+            dataVersionService.bumpAll(); // Dropped collections don't raise delete events
+            
+            log.info("Database cleared successfully!");
+            log.info("You can now restart the backend to load all 74 faculty.");
         }
     }
 }
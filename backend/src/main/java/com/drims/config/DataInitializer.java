@@ -2,6 +2,8 @@ package com.drims.config;
 
 import com.drims.entity.User;
 import com.drims.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -12,6 +14,8 @@ import java.time.LocalDateTime;
 @Component
 public class DataInitializer implements CommandLineRunner {
     
+    private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
+    
     @Autowired
     private UserRepository userRepository;
     
@@ -31,7 +35,7 @@ public class DataInitializer implements CommandLineRunner {
             admin.setCreatedAt(LocalDateTime.now());
             admin.setUpdatedAt(LocalDateTime.now());
             userRepository.save(admin);
-            System.out.println("Admin user created: admin@drims.edu / admin123");
+            log.info("Admin user created: admin@drims.edu / admin123");
         }
     }
 }
@@ -0,0 +1,29 @@
+package com.drims.config;
+
+import com.drims.service.DataVersionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+// Bumps the data version of a collection whenever a document in it is saved or deleted
+@Component
+public class DataVersionEventListener extends AbstractMongoEventListener<Object> {
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        if (BulkWriteEvents.isSuppressed()) {
+            return;
+        }
+        dataVersionService.bump(event.getCollectionName());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        dataVersionService.bump(event.getCollectionName());
+    }
+}
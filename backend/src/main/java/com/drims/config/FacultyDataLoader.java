@@ -3,6 +3,9 @@ package com.drims.config;
 import com.drims.entity.*;
 import com.drims.repository.*;
 import com.drims.repository.TargetRepository;
+import com.drims.service.FacultyProfileCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.data.domain.Sort;
@@ -18,6 +21,8 @@ import java.util.*;
 @Component
 public class FacultyDataLoader implements CommandLineRunner {
     
+    private static final Logger log = LoggerFactory.getLogger(FacultyDataLoader.class);
+    
     @Autowired
     private UserRepository userRepository;
     
@@ -48,13 +53,16 @@ public class FacultyDataLoader implements CommandLineRunner {
     @Autowired
     private MongoTemplate mongoTemplate;
     
+    @Autowired
+    private FacultyProfileCache facultyProfileCache;
+    
     @Override
     public void run(String... args) throws Exception {
         // Drop old indexes that might cause issues (like universityId_1 from old schema)
         try {
             dropOldIndexes();
         } catch (Exception e) {
-            System.out.println("Note: Could not drop old indexes (this is OK if database is clean): " + e.getMessage());
+            log.warn("Note: Could not drop old indexes (this is OK if database is clean): {}", e.getMessage());
         }
         
         // Check if faculty data already exists (more than just admin)
@@ -65,21 +73,21 @@ public class FacultyDataLoader implements CommandLineRunner {
                     .filter(u -> "FACULTY".equals(u.getRole()))
                     .count();
         } catch (Exception e) {
-            System.out.println("Warning: Error checking existing faculty. This might be due to old database indexes.");
-            System.out.println("Error: " + e.getMessage());
-            System.out.println("Attempting to drop users collection and recreate...");
+            log.warn("Error checking existing faculty. This might be due to old database indexes.");
+            log.warn("Error: {}", e.getMessage());
+            log.warn("Attempting to drop users collection and recreate...");
             try {
                 mongoTemplate.dropCollection("users");
                 mongoTemplate.dropCollection("faculty_profiles");
-                System.out.println("Dropped collections. Will recreate from scratch.");
+                log.warn("Dropped collections. Will recreate from scratch.");
                 facultyCount = 0;
             } catch (Exception dropException) {
-                System.out.println("Could not drop collections automatically. Please clear database manually:");
-                System.out.println("  Run: mongosh");
-                System.out.println("  Then: use drims");
-                System.out.println("  Then: db.dropDatabase()");
-                System.out.println("  Then: exit");
-                System.out.println("  Then restart the backend.");
+                log.warn("Could not drop collections automatically. Please clear database manually:");
+                log.warn("  Run: mongosh");
+                log.warn("  Then: use drims");
+                log.warn("  Then: db.dropDatabase()");
+                log.warn("  Then: exit");
+                log.warn("  Then restart the backend.");
                 throw new RuntimeException("Database needs to be cleared manually. Old indexes detected.", dropException);
             }
         }
@@ -91,29 +99,30 @@ public class FacultyDataLoader implements CommandLineRunner {
         loadStudentData();
         
         if (facultyCount >= 74) {
-            System.out.println("Faculty data already loaded (" + facultyCount + " faculty). Expected: 74. To reload, clear database first.");
+            log.info("Faculty data already loaded ({} faculty). Expected: 74. To reload, clear database first.", facultyCount);
             return;
         }
         
-        System.out.println("Loading faculty data...");
-        System.out.println("Current faculty count: " + facultyCount + ". Loading all 74 faculty members...");
+        log.info("Loading faculty data...");
+        log.info("Current faculty count: {}. Loading all 74 faculty members...", facultyCount);
         
         // Load all faculty members and their publications
         loadFacultyData();
+        facultyProfileCache.invalidateAll();
         
         long finalCount = facultyProfileRepository.count();
-        System.out.println("Faculty data loaded successfully!");
-        System.out.println("Total faculty created: " + finalCount + " (Expected: 74)");
+        log.info("Faculty data loaded successfully!");
+        log.info("Total faculty created: {} (Expected: 74)", finalCount);
         
         if (finalCount < 74) {
-            System.out.println("Warning: Expected 74 faculty, but only " + finalCount + " were created. Some faculty may have duplicate emails.");
+            log.warn("Expected 74 faculty, but only {} were created. Some faculty may have duplicate emails.", finalCount);
         }
     }
     
     private void dropOldIndexes() {
         try {
             if (!mongoTemplate.collectionExists("users")) {
-                System.out.println("Users collection does not exist. Will be created.");
+                log.info("Users collection does not exist. Will be created.");
                 return;
             }
             
@@ -127,19 +136,19 @@ public class FacultyDataLoader implements CommandLineRunner {
                 // Skip the default _id_ index (cannot be dropped)
                 if (indexName != null && !indexName.equals("_id_")) {
                     try {
-                        System.out.println("Dropping index: " + indexName);
+                        log.debug("Dropping index: {}", indexName);
                         indexOps.dropIndex(indexName);
-                        System.out.println("Successfully dropped index: " + indexName);
+                        log.debug("Successfully dropped index: {}", indexName);
                     } catch (Exception e) {
-                        System.out.println("Could not drop index " + indexName + ": " + e.getMessage());
+                        log.warn("Could not drop index {}: {}", indexName, e.getMessage());
                         // If we can't drop indexes, drop the entire collection
-                        System.out.println("Dropping entire users collection to remove all indexes...");
+                        log.warn("Dropping entire users collection to remove all indexes...");
                         try {
                             mongoTemplate.dropCollection("users");
                             mongoTemplate.dropCollection("faculty_profiles");
-                            System.out.println("Collections dropped. Will recreate with correct indexes.");
+                            log.info("Collections dropped. Will recreate with correct indexes.");
                         } catch (Exception dropEx) {
-                            System.out.println("Could not drop collection: " + dropEx.getMessage());
+                            log.warn("Could not drop collection: {}", dropEx.getMessage());
                         }
                         break;
                     }
@@ -149,19 +158,19 @@ public class FacultyDataLoader implements CommandLineRunner {
             // Recreate the email unique index (this is the only one we need)
             try {
                 indexOps.ensureIndex(new Index().on("email", Sort.Direction.ASC).unique());
-                System.out.println("Recreated email unique index.");
+                log.info("Recreated email unique index.");
             } catch (Exception e) {
-                System.out.println("Note: Could not recreate email index yet (collection may not exist): " + e.getMessage());
+                log.warn("Note: Could not recreate email index yet (collection may not exist): {}", e.getMessage());
             }
         } catch (Exception e) {
             // If we can't access indexes, try dropping the entire collection
-            System.out.println("Error accessing indexes. Dropping users collection: " + e.getMessage());
+            log.warn("Error accessing indexes. Dropping users collection: {}", e.getMessage());
             try {
                 mongoTemplate.dropCollection("users");
                 mongoTemplate.dropCollection("faculty_profiles");
-                System.out.println("Dropped collections. Will recreate with correct indexes.");
+                log.warn("Dropped collections. Will recreate with correct indexes.");
             } catch (Exception dropEx) {
-                System.out.println("Could not drop collections: " + dropEx.getMessage());
+                log.warn("Could not drop collections: {}", dropEx.getMessage());
             }
         }
     }
@@ -176,7 +185,7 @@ public class FacultyDataLoader implements CommandLineRunner {
             admin.setCreatedAt(LocalDateTime.now());
             admin.setUpdatedAt(LocalDateTime.now());
             userRepository.save(admin);
-            System.out.println("Admin created: admin@drims.edu / admin123");
+            log.info("Admin created: admin@drims.edu / admin123");
         }
     }
     
@@ -191,7 +200,7 @@ public class FacultyDataLoader implements CommandLineRunner {
         int empIdCounter = (int) existingCount + 1; // Continue numbering from existing faculty
         int createdCount = 0;
         
-        System.out.println("Starting to load faculty. Current count: " + existingCount);
+        log.info("Starting to load faculty. Current count: {}", existingCount);
         
         for (Map.Entry<String, FacultyData> entry : facultyMap.entrySet()) {
             String facultyName = entry.getKey();
@@ -201,7 +210,7 @@ public class FacultyDataLoader implements CommandLineRunner {
             
             // Skip if already exists
             if (userRepository.existsByEmail(email)) {
-                System.out.println("Skipping existing: " + facultyName + " (" + email + ")");
+                log.debug("Skipping existing: {} ({})", facultyName, email);
                 continue;
             }
             
@@ -242,21 +251,21 @@ public class FacultyDataLoader implements CommandLineRunner {
             createPublications(profile.getId(), data);
             
             createdCount++;
-            System.out.println("Created: " + facultyName + " (" + email + " / faculty123) [Employee ID: " + employeeId + "]");
+            log.debug("Created: {} ({} / faculty123) [Employee ID: {}]", facultyName, email, employeeId);
         }
         
-        System.out.println("Created " + createdCount + " new faculty members.");
+        log.info("Created {} new faculty members.", createdCount);
         long totalCount = userRepository.findAll().stream()
                 .filter(u -> "FACULTY".equals(u.getRole()))
                 .count();
-        System.out.println("Total faculty count: " + totalCount);
+        log.info("Total faculty count: {}", totalCount);
         
         // Post-process: Update guideIds for student conferences where guideName is set but guideId is null
         updateConferenceGuideIds();
     }
     
     private void loadStudentData() {
-        System.out.println("Loading student data...");
+        log.info("Loading student data...");
         
         // Create student users from register numbers found in publications
         // Student: 211FA04298 (Verella Sai Spandana / Inaganti Somendra nadh)
@@ -268,14 +277,14 @@ public class FacultyDataLoader implements CommandLineRunner {
         long studentCount = userRepository.findAll().stream()
                 .filter(u -> "STUDENT".equals(u.getRole()))
                 .count();
-        System.out.println("Total student count: " + studentCount);
-        System.out.println("Student data loaded successfully!");
+        log.info("Total student count: {}", studentCount);
+        log.info("Student data loaded successfully!");
     }
     
     private void createStudentUser(String registerNumber, String name, String department, String program, String year) {
         // Check if student user already exists
         if (userRepository.findByRegisterNumber(registerNumber).isPresent()) {
-            System.out.println("Student user already exists: " + registerNumber + " (" + name + ")");
+            log.debug("Student user already exists: {} ({})", registerNumber, name);
             return;
         }
         
@@ -305,7 +314,7 @@ public class FacultyDataLoader implements CommandLineRunner {
         profile.setUserId(user.getId());
         studentProfileRepository.save(profile);
         
-        System.out.println("Created student: " + name + " (" + registerNumber + " / student123)");
+        log.debug("Created student: {} ({} / student123)", name, registerNumber);
     }
     
     private void updateConferenceGuideIds() {
@@ -316,7 +325,7 @@ public class FacultyDataLoader implements CommandLineRunner {
                             (c.getGuideId() == null || c.getGuideId().isEmpty()))
                 .collect(java.util.stream.Collectors.toList());
         
-        System.out.println("Updating guideIds for " + studentConferences.size() + " student conferences...");
+        log.info("Updating guideIds for {} student conferences...", studentConferences.size());
         
         for (Conference conference : studentConferences) {
             String guideId = findFacultyIdByName(conference.getGuideName());
@@ -326,7 +335,7 @@ public class FacultyDataLoader implements CommandLineRunner {
             }
         }
         
-        System.out.println("Updated guideIds for student conferences.");
+        log.info("Updated guideIds for student conferences.");
     }
     
     private void createResearchTargets(String facultyId, String facultyName) {
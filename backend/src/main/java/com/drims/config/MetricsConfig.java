@@ -0,0 +1,88 @@
+package com.drims.config;
+
+import com.drims.service.SlowQueryLog;
+import com.mongodb.event.CommandEvent;
+import com.mongodb.event.CommandStartedEvent;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.mongodb.DefaultMongoCommandTagsProvider;
+import io.micrometer.core.instrument.binder.mongodb.MongoCommandTagsProvider;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Micrometer wiring that Actuator does not do on its own. Repository proxies record the method
+ * being invoked in {@link RepositoryInvocationContext}, and the Mongo command timers
+ * ({@code mongodb.driver.commands}) carry it as a {@code repository.method} tag, so a slow
+ * command can be traced to the query method behind it. Commands issued through MongoTemplate
+ * directly are tagged {@code none}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    private static final String NO_REPOSITORY = "none";
+
+    @Bean
+    public MongoCommandTagsProvider mongoCommandTagsProvider() {
+        return new RepositoryCommandTagsProvider();
+    }
+
+    // Slow commands with their shape and repository method, for /api/admin/diagnostics/slow-queries
+    @Bean
+    public MongoClientSettingsBuilderCustomizer slowQueryLogCustomizer(SlowQueryLog slowQueryLog) {
+        return settings -> settings.addCommandListener(slowQueryLog);
+    }
+
+    // Static so it is registered before the repository factory beans it post-processes
+    @Bean
+    public static BeanPostProcessor repositoryInvocationContextPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repository) -> proxyFactory.addAdvice(
+                                    invocationContextInterceptor(repository.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static MethodInterceptor invocationContextInterceptor(String repositoryName) {
+        return invocation -> {
+            String previous = RepositoryInvocationContext.enter(repositoryName + "." + invocation.getMethod().getName());
+            try {
+                return invocation.proceed();
+            } finally {
+                RepositoryInvocationContext.restore(previous);
+            }
+        };
+    }
+
+    // The sync driver reports start and completion on the calling thread, but the method is kept
+    // per request id anyway so the tag never depends on that
+    static final class RepositoryCommandTagsProvider extends DefaultMongoCommandTagsProvider {
+        private final Map<Integer, String> methods = new ConcurrentHashMap<>();
+
+        @Override
+        public void commandStarted(CommandStartedEvent event) {
+            super.commandStarted(event);
+            String method = RepositoryInvocationContext.current();
+            methods.put(event.getRequestId(), method != null ? method : NO_REPOSITORY);
+        }
+
+        @Override
+        public Iterable<Tag> commandTags(CommandEvent event) {
+            String method = methods.remove(event.getRequestId());
+            return Tags.of(super.commandTags(event)).and("repository.method", method != null ? method : NO_REPOSITORY);
+        }
+    }
+}
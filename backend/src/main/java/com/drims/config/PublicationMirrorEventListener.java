@@ -0,0 +1,29 @@
+package com.drims.config;
+
+import com.drims.service.PublicationStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+// Dual writes: mirrors publication saves and deletes into the unified collection (no-op in legacy mode)
+@Component
+public class PublicationMirrorEventListener extends AbstractMongoEventListener<Object> {
+
+    @Autowired
+    private PublicationStore publicationStore;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        if (BulkWriteEvents.isSuppressed()) {
+            return;
+        }
+        publicationStore.mirror(event.getSource());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        publicationStore.mirrorDelete(event.getCollectionName(), event.getSource());
+    }
+}
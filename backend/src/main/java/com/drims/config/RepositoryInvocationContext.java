@@ -0,0 +1,30 @@
+package com.drims.config;
+
+// The repository method running on this thread ("JournalRepository.findByApprovalStatus"), so Mongo
+// command listeners can attribute driver commands to the call that issued them
+public final class RepositoryInvocationContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private RepositoryInvocationContext() {
+    }
+
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    // Returns the enclosing method (repositories calling repositories) for restore()
+    static String enter(String method) {
+        String previous = CURRENT.get();
+        CURRENT.set(method);
+        return previous;
+    }
+
+    static void restore(String previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.drims.config;
+
+import com.drims.storage.StorageBackend;
+import com.drims.storage.StorageBackendFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// The backend holding blob-store objects, chosen by storage.backend (closed on shutdown)
+@Configuration
+public class StorageConfig {
+
+    @Autowired
+    private StorageBackendFactory storageBackendFactory;
+
+    @Value("${storage.backend:local}")
+    private String backend;
+
+    @Bean
+    public StorageBackend storageBackend() {
+        return storageBackendFactory.create(backend);
+    }
+}
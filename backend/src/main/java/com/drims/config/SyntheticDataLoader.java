@@ -0,0 +1,58 @@
+package com.drims.config;
+
+import com.drims.service.SyntheticDataService;
+import com.drims.synthetic.SyntheticDataSpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads a synthetic dataset for scale testing when the "synthetic" profile is active
+ * (sizes in application-synthetic.properties, overridable with --synthetic.publications=...).
+ * The generated data sits alongside the regular data; skipped when synthetic data is already present.
+ */
+@Component
+@Profile("synthetic")
+public class SyntheticDataLoader implements CommandLineRunner {
+    
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataLoader.class);
+    
+    @Autowired
+    private SyntheticDataService syntheticDataService;
+    
+    @Value("${synthetic.faculty:200}")
+    private int faculty;
+    
+    @Value("${synthetic.publications:20000}")
+    private int publications;
+    
+    @Value("${synthetic.students:100}")
+    private int students;
+    
+    @Value("${synthetic.seed:42}")
+    private long seed;
+    
+    @Value("${synthetic.batch-size:1000}")
+    private int batchSize;
+    
+    @Override
+    public void run(String... args) {
+        if (syntheticDataService.isLoaded()) {
+            log.info("Synthetic data already loaded; run with --clear-db first to regenerate");
+            return;
+        }
+        SyntheticDataSpec spec = new SyntheticDataSpec();
+        spec.setFaculty(faculty);
+        spec.setPublications(publications);
+        spec.setStudents(students);
+        spec.setSeed(seed);
+        spec.setBatchSize(batchSize);
+        log.info("Generating synthetic data: {} faculty, {} publications, {} students, seed {}",
+                faculty, publications, students, seed);
+        syntheticDataService.write(syntheticDataService.newGenerator(spec));
+    }
+}
@@ -1,24 +1,47 @@
 package com.drims.controller;
 
 import com.drims.dto.*;
+import com.drims.entity.StorageUsage;
 import com.drims.service.*;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 import java.util.Map;
 
+import static com.drims.service.DataVersionService.*;
+
 @RestController
 @RequestMapping("/api/admin")
 @CrossOrigin(origins = "*")
 public class AdminController {
     
+    private static final String[] PROFILE_COLLECTIONS = {FACULTY_PROFILES};
+    private static final String[] COMPLETE_DATA_COLLECTIONS = {FACULTY_PROFILES, TARGETS, JOURNALS, CONFERENCES, PATENTS, BOOK_CHAPTERS};
+    private static final String[] ANALYTICS_COLLECTIONS = {JOURNALS, CONFERENCES, PATENTS, BOOK_CHAPTERS, FACULTY_PROFILES};
+    private static final String[] REPORT_COLLECTIONS = {JOURNALS, CONFERENCES, PATENTS, BOOK_CHAPTERS, BOOKS, FACULTY_PROFILES};
+    private static final String[] PENDING_COLLECTIONS = {JOURNALS, CONFERENCES, PATENTS, BOOK_CHAPTERS, BOOKS, FACULTY_PROFILES, STUDENT_PROFILES, FILE_PREVIEWS};
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    
     @Autowired
     private FacultyProfileService facultyProfileService;
     
@@ -49,21 +72,72 @@ public class AdminController {
     @Autowired
     private ExcelExportService excelExportService;
     
+    @Autowired
+    private DuplicateDetectionService duplicateDetectionService;
+    
+    @Autowired
+    private FacultyProfileCache facultyProfileCache;
+    
+    @Autowired
+    private FileStorageMigrationService fileStorageMigrationService;
+    
+    @Autowired
+    private OrphanFileCollector orphanFileCollector;
+    
+    @Autowired
+    private EvidenceBundleService evidenceBundleService;
+    
+    @Autowired
+    private StorageQuotaService storageQuotaService;
+    
+    @Autowired
+    private StorageUsageReconciler storageUsageReconciler;
+    
+    @Autowired
+    private StorageBackendMigrationService storageBackendMigrationService;
+    
+    @Autowired
+    private DataVersionService dataVersionService;
+    
+    @Autowired
+    private PublicationImportService publicationImportService;
+    
+    @Autowired
+    private DomainMetrics domainMetrics;
+    
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+    
+    @Autowired
+    private FlightRecordingService flightRecordingService;
+    
+    @Autowired
+    private PublicationMigrationService publicationMigrationService;
+    
     // Faculty Profiles (Read-only)
     @GetMapping("/faculty-profiles")
-    public ResponseEntity<List<FacultyProfileDTO>> getAllProfiles() {
+    public ResponseEntity<List<FacultyProfileDTO>> getAllProfiles(WebRequest request) {
+        if (notModified(request, "faculty-profiles", PROFILE_COLLECTIONS)) {
+            return null;
+        }
         List<FacultyProfileDTO> profiles = facultyProfileService.getAllProfiles();
-        return ResponseEntity.ok(profiles);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(profiles);
     }
     
     @GetMapping("/faculty-profiles/{id}")
-    public ResponseEntity<FacultyProfileDTO> getProfileById(@PathVariable String id) {
+    public ResponseEntity<FacultyProfileDTO> getProfileById(@PathVariable String id, WebRequest request) {
+        if (notModified(request, "faculty-profile", PROFILE_COLLECTIONS, id)) {
+            return null;
+        }
         FacultyProfileDTO profile = facultyProfileService.getProfileById(id);
-        return ResponseEntity.ok(profile);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(profile);
     }
     
     @GetMapping("/faculty-profiles/{id}/complete")
-    public ResponseEntity<FacultyCompleteDataDTO> getCompleteFacultyData(@PathVariable String id) {
+    public ResponseEntity<FacultyCompleteDataDTO> getCompleteFacultyData(@PathVariable String id, WebRequest request) {
+        if (notModified(request, "faculty-complete", COMPLETE_DATA_COLLECTIONS, id)) {
+            return null;
+        }
         FacultyCompleteDataDTO completeData = new FacultyCompleteDataDTO();
         completeData.setProfile(facultyProfileService.getProfileById(id));
         completeData.setTargets(targetService.getTargetsByFaculty(id));
@@ -71,53 +145,90 @@ public class AdminController {
         completeData.setConferences(conferenceService.getConferencesByFaculty(id));
         completeData.setPatents(patentService.getPatentsByFaculty(id));
         completeData.setBookChapters(bookChapterService.getBookChaptersByFaculty(id));
-        return ResponseEntity.ok(completeData);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(completeData);
     }
     
     // All Targets
     @GetMapping("/targets")
-    public ResponseEntity<List<TargetDTO>> getAllTargets() {
+    public ResponseEntity<List<TargetDTO>> getAllTargets(WebRequest request) {
+        if (notModified(request, "targets", new String[]{TARGETS})) {
+            return null;
+        }
         List<TargetDTO> targets = targetService.getAllTargets();
-        return ResponseEntity.ok(targets);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(targets);
     }
     
     // All Publications
     @GetMapping("/journals")
-    public ResponseEntity<List<JournalDTO>> getAllJournals() {
-        List<JournalDTO> journals = journalService.getAllJournals();
-        return ResponseEntity.ok(journals);
+    public ResponseEntity<MappingJacksonValue> getAllJournals(
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        Set<String> selected = FieldSelection.parse(fields, JournalDTO.class);
+        if (notModified(request, "journals", new String[]{JOURNALS}, selected)) {
+            return null;
+        }
+        List<JournalDTO> journals = journalService.getAllJournals(selected);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(FieldSelection.wrap(journals, selected));
     }
     
     @GetMapping("/conferences")
-    public ResponseEntity<List<ConferenceDTO>> getAllConferences() {
-        List<ConferenceDTO> conferences = conferenceService.getAllConferences();
-        return ResponseEntity.ok(conferences);
+    public ResponseEntity<MappingJacksonValue> getAllConferences(
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        Set<String> selected = FieldSelection.parse(fields, ConferenceDTO.class);
+        if (notModified(request, "conferences", new String[]{CONFERENCES}, selected)) {
+            return null;
+        }
+        List<ConferenceDTO> conferences = conferenceService.getAllConferences(selected);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(FieldSelection.wrap(conferences, selected));
     }
     
     @GetMapping("/patents")
-    public ResponseEntity<List<PatentDTO>> getAllPatents() {
-        List<PatentDTO> patents = patentService.getAllPatents();
-        return ResponseEntity.ok(patents);
+    public ResponseEntity<MappingJacksonValue> getAllPatents(
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        Set<String> selected = FieldSelection.parse(fields, PatentDTO.class);
+        if (notModified(request, "patents", new String[]{PATENTS}, selected)) {
+            return null;
+        }
+        List<PatentDTO> patents = patentService.getAllPatents(selected);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(FieldSelection.wrap(patents, selected));
     }
     
     @GetMapping("/book-chapters")
-    public ResponseEntity<List<BookChapterDTO>> getAllBookChapters() {
-        List<BookChapterDTO> bookChapters = bookChapterService.getAllBookChapters();
-        return ResponseEntity.ok(bookChapters);
+    public ResponseEntity<MappingJacksonValue> getAllBookChapters(
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        Set<String> selected = FieldSelection.parse(fields, BookChapterDTO.class);
+        if (notModified(request, "book-chapters", new String[]{BOOK_CHAPTERS}, selected)) {
+            return null;
+        }
+        List<BookChapterDTO> bookChapters = bookChapterService.getAllBookChapters(selected);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(FieldSelection.wrap(bookChapters, selected));
     }
     
     @GetMapping("/books")
-    public ResponseEntity<List<com.drims.dto.BookDTO>> getAllBooks() {
-        List<com.drims.dto.BookDTO> books = bookService.getAllBooks();
-        return ResponseEntity.ok(books);
+    public ResponseEntity<MappingJacksonValue> getAllBooks(
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        Set<String> selected = FieldSelection.parse(fields, com.drims.dto.BookDTO.class);
+        if (notModified(request, "books", new String[]{BOOKS}, selected)) {
+            return null;
+        }
+        List<com.drims.dto.BookDTO> books = bookService.getAllBooks(selected);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(FieldSelection.wrap(books, selected));
     }
     
     // Approval Workflow
     @GetMapping("/approvals/pending")
     public ResponseEntity<List<PendingApprovalDTO>> getPendingApprovals(
-            @RequestParam(required = false) String type) {
+            @RequestParam(required = false) String type,
+            WebRequest request) {
+        if (notModified(request, "pending-approvals", PENDING_COLLECTIONS, type)) {
+            return null;
+        }
         List<PendingApprovalDTO> pending = adminApprovalService.getPendingApprovals(type);
-        return ResponseEntity.ok(pending);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(pending);
     }
     
     @PostMapping("/approvals/{type}/{id}/approve")
@@ -166,11 +277,169 @@ public class AdminController {
         return ResponseEntity.ok().build();
     }
     
+    // Duplicate Detection
+    @GetMapping("/duplicates")
+    public ResponseEntity<List<DuplicateClusterDTO>> getDuplicateClusters(
+            @RequestParam(required = false) String type) {
+        List<DuplicateClusterDTO> clusters = duplicateDetectionService.getClusters(type);
+        return ResponseEntity.ok(clusters);
+    }
+    
+    @PostMapping("/duplicates/rescan")
+    public ResponseEntity<Map<String, Object>> rescanDuplicates() {
+        Map<String, Object> stats = duplicateDetectionService.rebuild();
+        return ResponseEntity.ok(stats);
+    }
+    
+    // Unified publications collection (publications.storage-mode): backfill progress and per-type counts
+    @GetMapping("/publications/migration")
+    public ResponseEntity<Map<String, Object>> getPublicationMigrationStatus() {
+        return ResponseEntity.ok(publicationMigrationService.status());
+    }
+    
+    // Copies the per-type collections into "publications" (requires dual-write or unified mode); safe to repeat
+    @PostMapping("/publications/migration/backfill")
+    public ResponseEntity<Map<String, Object>> backfillPublications() {
+        return ResponseEntity.ok(publicationMigrationService.backfill());
+    }
+    
+    // File Storage
+    @GetMapping("/files/storage-report")
+    public ResponseEntity<Map<String, Object>> getStorageReport() {
+        return ResponseEntity.ok(fileStorageMigrationService.getStorageReport());
+    }
+    
+    @PostMapping("/files/migrate")
+    public ResponseEntity<Map<String, Object>> migrateFiles() {
+        return ResponseEntity.ok(fileStorageMigrationService.migrateLegacyFiles());
+    }
+    
+    // Copy blob-store objects between backends, e.g. ?from=local&to=s3 before switching storage.backend
+    @PostMapping("/files/storage/migrate")
+    public ResponseEntity<Map<String, Object>> migrateStorageBackend(
+            @RequestParam String from,
+            @RequestParam String to) {
+        return ResponseEntity.ok(storageBackendMigrationService.migrate(from, to));
+    }
+    
+    // Bulk Import (rows are owned by facultyId when given, otherwise matched per row by email, Scopus/ORCID id or name)
+    @PostMapping("/import")
+    public ResponseEntity<ImportReportDTO> importPublications(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "false") boolean dryRun,
+            @RequestParam(required = false) String facultyId) {
+        return ResponseEntity.ok(publicationImportService.importFile(file, facultyId, dryRun));
+    }
+    
+    @PostMapping("/files/gc")
+    public ResponseEntity<Map<String, Object>> collectOrphanFiles() {
+        return ResponseEntity.ok(orphanFileCollector.collect());
+    }
+    
+    @GetMapping("/files/gc")
+    public ResponseEntity<Map<String, Object>> getLastOrphanCollection() {
+        return ResponseEntity.ok(orphanFileCollector.getLastRun());
+    }
+    
+    // Diagnostics: Mongo commands over diagnostics.slow-query.threshold-ms, grouped by shape with explain plans
+    @GetMapping("/diagnostics/slow-queries")
+    public ResponseEntity<Map<String, Object>> getSlowQueries() {
+        return ResponseEntity.ok(slowQueryLog.report());
+    }
+    
+    @DeleteMapping("/diagnostics/slow-queries")
+    public ResponseEntity<Void> clearSlowQueries() {
+        slowQueryLog.clear();
+        return ResponseEntity.noContent().build();
+    }
+    
+    // Diagnostics: time-boxed JDK Flight Recorder recording with the com.drims.* events
+    @PostMapping("/diagnostics/jfr/start")
+    public ResponseEntity<Map<String, Object>> startRecording(
+            @RequestParam(defaultValue = "60") long durationSeconds,
+            @RequestParam(defaultValue = "default") String settings) { // default, profile
+        return ResponseEntity.ok(flightRecordingService.start(durationSeconds, settings));
+    }
+    
+    @GetMapping("/diagnostics/jfr")
+    public ResponseEntity<Map<String, Object>> getRecordingStatus() {
+        return ResponseEntity.ok(flightRecordingService.status());
+    }
+    
+    // Stops the recording (if its duration has not already ended it) and downloads the .jfr file
+    @PostMapping("/diagnostics/jfr/stop")
+    public ResponseEntity<StreamingResponseBody> stopRecording() throws IOException {
+        Path file = flightRecordingService.stop();
+        long size = Files.size(file);
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        String filename = "drims-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".jfr";
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(size)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+    
+    // Storage Quotas
+    @GetMapping("/storage/usage")
+    public ResponseEntity<Map<String, Object>> getStorageUsage() {
+        return ResponseEntity.ok(storageQuotaService.getSummary());
+    }
+    
+    @GetMapping("/storage/usage/{ownerType}/{ownerId}")
+    public ResponseEntity<StorageUsage> getStorageUsage(
+            @PathVariable String ownerType,
+            @PathVariable String ownerId) {
+        return ResponseEntity.ok(storageQuotaService.getUsage(ownerType, ownerId));
+    }
+    
+    @PutMapping("/storage/usage/{ownerType}/{ownerId}/quota")
+    public ResponseEntity<StorageUsage> setStorageQuota(
+            @PathVariable String ownerType,
+            @PathVariable String ownerId,
+            @RequestBody Map<String, Long> request) {
+        return ResponseEntity.ok(storageQuotaService.setQuota(ownerType, ownerId, request.get("quotaBytes")));
+    }
+    
+    @PostMapping("/storage/reconcile")
+    public ResponseEntity<Map<String, Object>> reconcileStorageUsage() {
+        return ResponseEntity.ok(storageUsageReconciler.reconcile());
+    }
+    
+    // Cache Statistics
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Map<String, Object>>> getCacheStats() {
+        return ResponseEntity.ok(facultyProfileCache.getStats());
+    }
+    
     // Analytics
     @GetMapping("/analytics")
-    public ResponseEntity<AnalyticsDTO> getAnalytics() {
+    public ResponseEntity<AnalyticsDTO> getAnalytics(WebRequest request) {
+        if (notModified(request, "analytics", ANALYTICS_COLLECTIONS)) {
+            return null;
+        }
         AnalyticsDTO analytics = analyticsService.getAnalytics();
-        return ResponseEntity.ok(analytics);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(analytics);
+    }
+    
+    @Autowired
+    private AnalyticsSnapshot analyticsSnapshot;
+    
+    // Columnar snapshot behind analytics and reports: rows, dictionary sizes, memory footprint
+    @GetMapping("/analytics/snapshot")
+    public ResponseEntity<Map<String, Object>> getAnalyticsSnapshotStatus() {
+        return ResponseEntity.ok(analyticsSnapshot.status());
+    }
+    
+    @PostMapping("/analytics/snapshot/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildAnalyticsSnapshot() {
+        return ResponseEntity.ok(analyticsSnapshot.rebuild());
     }
     
     @Autowired
@@ -180,25 +449,56 @@ public class AdminController {
     @GetMapping("/reports/naac")
     public ResponseEntity<Map<String, Object>> generateNAACReport(
             @RequestParam(required = false) Integer year,
-            @RequestParam(required = false) String facultyId) {
+            @RequestParam(required = false) String facultyId,
+            WebRequest request) {
+        if (notModified(request, "report-naac", REPORT_COLLECTIONS, year, facultyId)) {
+            return null;
+        }
         Map<String, Object> report = reportService.generateNAACReport(year, facultyId);
-        return ResponseEntity.ok(report);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(report);
     }
     
     @GetMapping("/reports/nba")
     public ResponseEntity<Map<String, Object>> generateNBAReport(
             @RequestParam(required = false) Integer year,
-            @RequestParam(required = false) String facultyId) {
+            @RequestParam(required = false) String facultyId,
+            WebRequest request) {
+        if (notModified(request, "report-nba", REPORT_COLLECTIONS, year, facultyId)) {
+            return null;
+        }
         Map<String, Object> report = reportService.generateNBAReport(year, facultyId);
-        return ResponseEntity.ok(report);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(report);
     }
     
     @GetMapping("/reports/nirf")
     public ResponseEntity<Map<String, Object>> generateNIRFReport(
             @RequestParam(required = false) Integer year,
-            @RequestParam(required = false) String facultyId) {
+            @RequestParam(required = false) String facultyId,
+            WebRequest request) {
+        if (notModified(request, "report-nirf", REPORT_COLLECTIONS, year, facultyId)) {
+            return null;
+        }
         Map<String, Object> report = reportService.generateNIRFReport(year, facultyId);
-        return ResponseEntity.ok(report);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(report);
+    }
+    
+    // Evidence bundle: every proof PDF behind a report, zipped on the fly
+    @GetMapping("/reports/evidence.zip")
+    public ResponseEntity<StreamingResponseBody> exportEvidenceBundle(
+            @RequestParam(defaultValue = "NAAC") String reportType, // NAAC, NBA, NIRF
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) String facultyId) {
+        String type = reportType.toUpperCase();
+        if (!List.of("NAAC", "NBA", "NIRF").contains(type)) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> domainMetrics.streamedExport("evidence-" + type.toLowerCase(), out,
+                counted -> evidenceBundleService.writeBundle(type, year, facultyId, counted));
+        String filename = "evidence_" + type + (year != null ? "_" + year : "") + ".zip";
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
     }
     
     // Excel Export
@@ -206,8 +506,10 @@ public class AdminController {
     public ResponseEntity<byte[]> exportToExcel(
             @RequestParam(required = false) Integer year,
             @RequestParam(required = false) String category) {
+        long start = System.nanoTime();
         try {
             byte[] excelData = excelExportService.exportToExcel(year, category);
+            domainMetrics.export("research-data", System.nanoTime() - start, excelData.length, true);
             
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
@@ -216,6 +518,7 @@ public class AdminController {
             
             return new ResponseEntity<>(excelData, headers, HttpStatus.OK);
         } catch (Exception e) {
+            domainMetrics.export("research-data", System.nanoTime() - start, 0, false);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -226,6 +529,7 @@ public class AdminController {
             @RequestParam String reportType, // NAAC, NBA, NIRF
             @RequestParam(required = false) Integer year,
             @RequestParam(required = false) String facultyId) {
+        long start = System.nanoTime();
         try {
             Map<String, Object> reportData;
             switch (reportType.toUpperCase()) {
@@ -244,6 +548,7 @@ public class AdminController {
             
             // Use existing ExcelExportService to export report
             byte[] excelData = excelExportService.exportReportToExcel(reportData, reportType);
+            domainMetrics.export("report-" + reportType.toLowerCase(), System.nanoTime() - start, excelData.length, true);
             
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
@@ -252,6 +557,7 @@ public class AdminController {
             
             return new ResponseEntity<>(excelData, headers, HttpStatus.OK);
         } catch (Exception e) {
+            domainMetrics.export("report-" + reportType.toLowerCase(), System.nanoTime() - start, 0, false);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -292,6 +598,19 @@ public class AdminController {
         }
     }
     
+    // Answers with 304 when the client's ETag still matches the data behind this response.
+    // JSON, Smile and CBOR bodies of one resource differ, so the Accept header is part of the
+    // ETag and responses say they vary by it.
+    private boolean notModified(WebRequest request, String resource, String[] collections, Object... params) {
+        if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            servletRequest.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        Object[] representation = Arrays.copyOf(params, params.length + 1);
+        representation[params.length] = request.getHeader(HttpHeaders.ACCEPT);
+        String etag = dataVersionService.etag(resource, collections, representation);
+        return request.checkNotModified(etag, dataVersionService.lastModified(collections));
+    }
+    
     private byte[] generatePDFFromReport(Map<String, Object> reportData, String reportType) {
         // Placeholder - PDF generation would be implemented here
         // Would require PDF library (iText, Apache PDFBox, etc.)
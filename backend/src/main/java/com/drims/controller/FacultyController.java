@@ -4,15 +4,20 @@ import com.drims.dto.*;
 import com.drims.entity.FacultyProfile;
 import com.drims.security.JwtTokenProvider;
 import com.drims.service.*;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/faculty")
@@ -49,6 +54,9 @@ public class FacultyController {
     @Autowired
     private JwtTokenProvider tokenProvider;
     
+    @Autowired
+    private PublicationImportService publicationImportService;
+    
     private String getFacultyId(Authentication authentication) {
         String email = authentication.getName();
         FacultyProfile profile = authService.getCurrentFacultyProfile(email);
@@ -91,10 +99,13 @@ public class FacultyController {
     
     // Journal Management
     @GetMapping("/journals")
-    public ResponseEntity<List<JournalDTO>> getJournals(Authentication authentication) {
+    public ResponseEntity<MappingJacksonValue> getJournals(
+            Authentication authentication,
+            @RequestParam(required = false) String fields) {
+        Set<String> selected = FieldSelection.parse(fields, JournalDTO.class);
         String facultyId = getFacultyId(authentication);
-        List<JournalDTO> journals = journalService.getJournalsByFaculty(facultyId);
-        return ResponseEntity.ok(journals);
+        List<JournalDTO> journals = journalService.getJournalsByFaculty(facultyId, selected);
+        return ResponseEntity.ok(FieldSelection.wrap(journals, selected));
     }
     
     @PostMapping("/journals")
@@ -127,10 +138,13 @@ public class FacultyController {
     
     // Conference Management
     @GetMapping("/conferences")
-    public ResponseEntity<List<ConferenceDTO>> getConferences(Authentication authentication) {
+    public ResponseEntity<MappingJacksonValue> getConferences(
+            Authentication authentication,
+            @RequestParam(required = false) String fields) {
+        Set<String> selected = FieldSelection.parse(fields, ConferenceDTO.class);
         String facultyId = getFacultyId(authentication);
-        List<ConferenceDTO> conferences = conferenceService.getConferencesByFaculty(facultyId);
-        return ResponseEntity.ok(conferences);
+        List<ConferenceDTO> conferences = conferenceService.getConferencesByFaculty(facultyId, selected);
+        return ResponseEntity.ok(FieldSelection.wrap(conferences, selected));
     }
     
     @PostMapping("/conferences")
@@ -163,10 +177,13 @@ public class FacultyController {
     
     // Patent Management
     @GetMapping("/patents")
-    public ResponseEntity<List<PatentDTO>> getPatents(Authentication authentication) {
+    public ResponseEntity<MappingJacksonValue> getPatents(
+            Authentication authentication,
+            @RequestParam(required = false) String fields) {
+        Set<String> selected = FieldSelection.parse(fields, PatentDTO.class);
         String facultyId = getFacultyId(authentication);
-        List<PatentDTO> patents = patentService.getPatentsByFaculty(facultyId);
-        return ResponseEntity.ok(patents);
+        List<PatentDTO> patents = patentService.getPatentsByFaculty(facultyId, selected);
+        return ResponseEntity.ok(FieldSelection.wrap(patents, selected));
     }
     
     @PostMapping("/patents")
@@ -199,10 +216,13 @@ public class FacultyController {
     
     // Book Chapter Management
     @GetMapping("/book-chapters")
-    public ResponseEntity<List<BookChapterDTO>> getBookChapters(Authentication authentication) {
+    public ResponseEntity<MappingJacksonValue> getBookChapters(
+            Authentication authentication,
+            @RequestParam(required = false) String fields) {
+        Set<String> selected = FieldSelection.parse(fields, BookChapterDTO.class);
         String facultyId = getFacultyId(authentication);
-        List<BookChapterDTO> bookChapters = bookChapterService.getBookChaptersByFaculty(facultyId);
-        return ResponseEntity.ok(bookChapters);
+        List<BookChapterDTO> bookChapters = bookChapterService.getBookChaptersByFaculty(facultyId, selected);
+        return ResponseEntity.ok(FieldSelection.wrap(bookChapters, selected));
     }
     
     @PostMapping("/book-chapters")
@@ -235,10 +255,13 @@ public class FacultyController {
     
     // Book Management
     @GetMapping("/books")
-    public ResponseEntity<List<com.drims.dto.BookDTO>> getBooks(Authentication authentication) {
+    public ResponseEntity<MappingJacksonValue> getBooks(
+            Authentication authentication,
+            @RequestParam(required = false) String fields) {
+        Set<String> selected = FieldSelection.parse(fields, com.drims.dto.BookDTO.class);
         String facultyId = getFacultyId(authentication);
-        List<com.drims.dto.BookDTO> books = bookService.getBooksByFaculty(facultyId);
-        return ResponseEntity.ok(books);
+        List<com.drims.dto.BookDTO> books = bookService.getBooksByFaculty(facultyId, selected);
+        return ResponseEntity.ok(FieldSelection.wrap(books, selected));
     }
     
     @PostMapping("/books")
@@ -269,6 +292,16 @@ public class FacultyController {
         return ResponseEntity.noContent().build();
     }
     
+    // Bulk Import of the faculty member's own publications (Excel workbook or BibTeX/RIS/CSV export)
+    @PostMapping("/import")
+    public ResponseEntity<ImportReportDTO> importPublications(
+            Authentication authentication,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "false") boolean dryRun) {
+        String facultyId = getFacultyId(authentication);
+        return ResponseEntity.ok(publicationImportService.importFile(file, facultyId, dryRun));
+    }
+    
     // File Upload
     @PostMapping("/upload/{category}/{publicationId}")
     public ResponseEntity<String> uploadFile(
@@ -280,5 +313,19 @@ public class FacultyController {
         String filePath = fileStorageService.storeFile(file, facultyId, category);
         return ResponseEntity.ok(filePath);
     }
+    
+    // Raw-body upload (Content-Type: application/pdf), streamed without multipart buffering
+    @PostMapping(value = "/upload/{category}/{publicationId}", consumes = MediaType.APPLICATION_PDF_VALUE)
+    public ResponseEntity<String> uploadFileStream(
+            Authentication authentication,
+            @PathVariable String category,
+            @PathVariable String publicationId,
+            @RequestParam(required = false) String filename,
+            HttpServletRequest request) throws IOException {
+        String facultyId = getFacultyId(authentication);
+        String filePath = fileStorageService.storeStream(request.getInputStream(), request.getContentLengthLong(),
+                "faculty", facultyId, category, filename);
+        return ResponseEntity.ok(filePath);
+    }
 }
 
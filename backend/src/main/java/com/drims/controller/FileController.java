@@ -1,42 +1,204 @@
 package com.drims.controller;
 
+import com.drims.service.DocumentPreviewService;
 import com.drims.service.FileStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.net.URI;
 import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/files")
 @CrossOrigin(origins = "*")
 public class FileController {
     
+    // Stored names are random UUIDs and files are never rewritten in place
+    private static final String IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS)
+            .cachePrivate().immutable().getHeaderValue();
+    
+    // Request attributes Tomcat exposes for handing the body to the kernel via sendfile
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    
     @Autowired
     private FileStorageService fileStorageService;
     
-    // Download/serve a file
+    @Autowired
+    private DocumentPreviewService documentPreviewService;
+    
+    // Download/serve a file, with conditional requests and single byte ranges.
+    // Blobs in a remote backend are not proxied: the client is redirected to a short-lived presigned URL.
     @GetMapping("/download")
-    public ResponseEntity<Resource> downloadFile(@RequestParam String path) {
+    public void downloadFile(@RequestParam String path,
+                             HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        String filename = path.contains("/") ? path.substring(path.lastIndexOf("/") + 1) : path;
+        Optional<URI> presigned;
         try {
-            Resource resource = fileStorageService.loadFileAsResource(path);
-            
-            // Determine content type
-            String contentType = "application/pdf";
-            String filename = path.contains("/") ? path.substring(path.lastIndexOf("/") + 1) : path;
-            
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .header(HttpHeaders.CONTENT_DISPOSITION, 
-                            "inline; filename=\"" + URLEncoder.encode(filename, StandardCharsets.UTF_8.toString()) + "\"")
-                    .body(resource);
+            presigned = fileStorageService.presignedDownloadUrl(path, filename);
         } catch (Exception e) {
-            return ResponseEntity.notFound().build();
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        if (presigned.isPresent()) {
+            redirect(response, presigned.get());
+            return;
+        }
+        
+        Path file;
+        BasicFileAttributes attributes;
+        try {
+            file = fileStorageService.resolveStoredFile(path);
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (Exception e) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        
+        long length = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+        
+        // Sets ETag/Last-Modified and answers 304 when the client copy is current
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+        
+        response.setContentType("application/pdf");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "inline; filename=\"" + URLEncoder.encode(filename, StandardCharsets.UTF_8) + "\"");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE);
+        
+        long start = 0;
+        long end = length - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && rangeApplies(request.getHeader(HttpHeaders.IF_RANGE), etag, lastModified)) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                // Multi-range requests are rare for PDFs; the full body is a valid answer to them
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                    if (start >= length || start > end) {
+                        throw new IllegalArgumentException("Range starts past end of file");
+                    }
+                    response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+        }
+        
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count <= 0) {
+            return;
+        }
+        
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Zero-copy: the connector writes the region straight from the page cache
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, out);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+                remaining -= written;
+            }
+        }
+    }
+    
+    // Reviewer previews rendered in the background by DocumentPreviewService
+    @GetMapping("/preview/thumbnail")
+    public ResponseEntity<Resource> previewThumbnail(@RequestParam String path) {
+        return previewArtifact(path, "png", MediaType.IMAGE_PNG);
+    }
+    
+    @GetMapping("/preview/text")
+    public ResponseEntity<Resource> previewText(@RequestParam String path) {
+        return previewArtifact(path, "txt", new MediaType("text", "plain", StandardCharsets.UTF_8));
+    }
+    
+    private ResponseEntity<Resource> previewArtifact(String path, String extension, MediaType mediaType) {
+        Optional<URI> presigned = documentPreviewService.findArtifactUrl(path, extension, mediaType.toString());
+        if (presigned.isPresent()) {
+            return ResponseEntity.status(HttpStatus.FOUND)
+                    .location(presigned.get())
+                    .cacheControl(CacheControl.noStore())
+                    .build();
+        }
+        return documentPreviewService.findArtifact(path, extension)
+                .<ResponseEntity<Resource>>map(file -> ResponseEntity.ok()
+                        .contentType(mediaType)
+                        .header(HttpHeaders.CACHE_CONTROL, IMMUTABLE)
+                        .body(new FileSystemResource(file)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+    
+    // The presigned URL expires, so the redirect itself must not be cached
+    private static void redirect(HttpServletResponse response, URI location) {
+        response.setStatus(HttpStatus.FOUND.value());
+        response.setHeader(HttpHeaders.LOCATION, location.toString());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+    }
+    
+    // If-Range: only honour the Range header when the validator still matches
+    private boolean rangeApplies(String ifRange, String etag, long lastModified) {
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            long since = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .toInstant().toEpochMilli();
+            return lastModified / 1000 <= since / 1000;
+        } catch (Exception e) {
+            return false;
         }
     }
     
@@ -59,4 +221,25 @@ public class FileController {
             return ResponseEntity.badRequest().body("File upload failed: " + e.getMessage());
         }
     }
+    
+    // Raw-body variant of the generic upload: the PDF is validated and hashed as it arrives
+    @PostMapping(value = "/upload", consumes = MediaType.APPLICATION_PDF_VALUE)
+    public ResponseEntity<String> uploadFileStream(
+            @RequestParam("userType") String userType, // "faculty" or "student"
+            @RequestParam("userId") String userId,
+            @RequestParam("category") String category,
+            @RequestParam(value = "filename", required = false) String filename,
+            HttpServletRequest request) {
+        if (request.getContentLengthLong() > FileStorageService.MAX_FILE_SIZE) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body("File size exceeds 10MB limit");
+        }
+        try {
+            String ownerType = "student".equalsIgnoreCase(userType) ? "student" : "faculty";
+            String filePath = fileStorageService.storeStream(request.getInputStream(), request.getContentLengthLong(),
+                    ownerType, userId, category, filename);
+            return ResponseEntity.ok(filePath);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("File upload failed: " + e.getMessage());
+        }
+    }
 }
@@ -7,14 +7,17 @@ import com.drims.entity.User;
 import com.drims.repository.UserRepository;
 import com.drims.service.FileStorageService;
 import com.drims.service.StudentService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,9 +37,10 @@ public class StudentController {
     
     private String getStudentId(Authentication authentication) {
         String identifier = authentication.getName(); // Could be email or registerNumber
+        // or() keeps the email lookup lazy; orElse(...orElseThrow()) threw even when the register number matched
         User user = userRepository.findByRegisterNumber(identifier)
-                .orElse(userRepository.findByEmail(identifier)
-                        .orElseThrow(() -> new RuntimeException("User not found")));
+                .or(() -> userRepository.findByEmail(identifier))
+                .orElseThrow(() -> new RuntimeException("User not found"));
         
         if (user.getStudentId() == null) {
             throw new RuntimeException("Student profile not found for user: " + identifier);
@@ -132,4 +136,18 @@ public class StudentController {
         String filePath = fileStorageService.storeFileForStudent(file, studentId, category);
         return ResponseEntity.ok(filePath);
     }
+    
+    // Raw-body upload (Content-Type: application/pdf), streamed without multipart buffering
+    @PostMapping(value = "/upload/{category}/{publicationId}", consumes = MediaType.APPLICATION_PDF_VALUE)
+    public ResponseEntity<String> uploadFileStream(
+            Authentication authentication,
+            @PathVariable String category,
+            @PathVariable String publicationId,
+            @RequestParam(required = false) String filename,
+            HttpServletRequest request) throws IOException {
+        String studentId = getStudentId(authentication);
+        String filePath = fileStorageService.storeStream(request.getInputStream(), request.getContentLengthLong(),
+                "student", studentId, category, filename);
+        return ResponseEntity.ok(filePath);
+    }
 }
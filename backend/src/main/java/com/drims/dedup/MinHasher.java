@@ -0,0 +1,106 @@
+package com.drims.dedup;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * MinHash signatures over character shingles of a normalized title.
+ * Two titles with Jaccard similarity J agree on each signature slot with probability J,
+ * and LSH band keys let near-identical titles land in the same bucket without pairwise scans.
+ */
+public class MinHasher {
+
+    private final int numHashes;
+    private final int shingleSize;
+    private final int bands;
+    private final int rowsPerBand;
+    private final int[] multipliers;
+    private final int[] offsets;
+
+    public MinHasher(int numHashes, int bands, int shingleSize, long seed) {
+        if (numHashes % bands != 0) {
+            throw new IllegalArgumentException("numHashes must be a multiple of bands");
+        }
+        this.numHashes = numHashes;
+        this.bands = bands;
+        this.rowsPerBand = numHashes / bands;
+        this.shingleSize = shingleSize;
+        this.multipliers = new int[numHashes];
+        this.offsets = new int[numHashes];
+        Random random = new Random(seed);
+        for (int i = 0; i < numHashes; i++) {
+            multipliers[i] = random.nextInt() | 1; // odd multiplier keeps the mapping a bijection
+            offsets[i] = random.nextInt();
+        }
+    }
+
+    // Lowercase, strip punctuation and collapse whitespace so formatting differences don't matter
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.toLowerCase()
+                .replaceAll("[^a-z0-9]+", " ")
+                .trim();
+    }
+
+    public int[] signature(String normalizedTitle) {
+        int[] signature = new int[numHashes];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (int shingle : shingles(normalizedTitle)) {
+            for (int i = 0; i < numHashes; i++) {
+                int hash = mix(shingle * multipliers[i] + offsets[i]);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    // Estimated Jaccard similarity: fraction of signature slots that agree
+    public double similarity(int[] a, int[] b) {
+        int matches = 0;
+        for (int i = 0; i < numHashes; i++) {
+            if (a[i] == b[i]) {
+                matches++;
+            }
+        }
+        return (double) matches / numHashes;
+    }
+
+    public int[] bandHashes(int[] signature) {
+        int[] bandHashes = new int[bands];
+        for (int band = 0; band < bands; band++) {
+            int from = band * rowsPerBand;
+            bandHashes[band] = Arrays.hashCode(Arrays.copyOfRange(signature, from, from + rowsPerBand));
+        }
+        return bandHashes;
+    }
+
+    private Set<Integer> shingles(String text) {
+        Set<Integer> shingles = new HashSet<>();
+        if (text.length() <= shingleSize) {
+            if (!text.isEmpty()) {
+                shingles.add(text.hashCode());
+            }
+            return shingles;
+        }
+        for (int i = 0; i + shingleSize <= text.length(); i++) {
+            shingles.add(text.substring(i, i + shingleSize).hashCode());
+        }
+        return shingles;
+    }
+
+    // Murmur3 finalizer
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,18 @@
+package com.drims.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentPreviewDTO {
+    private String document; // acceptanceMail, certificate, isbnProof, ...
+    private String path;
+    private String previewStatus; // PENDING, RUNNING, READY, FAILED, UNAVAILABLE
+    private Integer pageCount;
+    private String firstPageText;
+    private String thumbnailUrl;
+    private String textUrl;
+}
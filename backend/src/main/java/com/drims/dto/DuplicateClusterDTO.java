@@ -0,0 +1,18 @@
+package com.drims.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateClusterDTO {
+    private String clusterId;
+    private String publicationType; // JOURNAL, CONFERENCE, BOOK, BOOK_CHAPTER, PATENT
+    private List<String> publicationIds;
+    private List<String> titles;
+    private double maxScore; // Highest pairwise similarity inside the cluster
+}
@@ -0,0 +1,78 @@
+package com.drims.dto;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+
+/**
+ * Sparse fieldsets ({@code ?fields=title,year,approvalStatus}) for publication list endpoints.
+ * DTO property names match the entity field names, so the same set drives the Mongo projection
+ * and the Jackson filter. "id" is always returned.
+ */
+public final class FieldSelection {
+
+    public static final String FILTER_ID = "fieldSelection";
+
+    private static final Map<Class<?>, Set<String>> ALLOWED_FIELDS = Map.of(
+            JournalDTO.class, Set.of("id", "title", "journalName", "authors", "author2", "author3", "author4",
+                    "author5", "author6", "year", "volume", "issue", "pages", "doi", "impactFactor", "status",
+                    "category", "indexType", "publisher", "issn", "openAccess", "approvalStatus", "remarks",
+                    "acceptanceMailPath", "publishedPaperPath", "indexProofPath", "proofDocumentPath"),
+            ConferenceDTO.class, Set.of("id", "title", "conferenceName", "organizer", "authors", "year", "location",
+                    "date", "status", "category", "registrationAmount", "paymentMode", "studentName",
+                    "studentRegisterNumber", "guideId", "guideName", "approvalStatus", "remarks",
+                    "registrationReceiptPath", "certificatePath", "proofDocumentPath"),
+            PatentDTO.class, Set.of("id", "title", "applicationNumber", "filingDate", "patentNumber", "inventors",
+                    "year", "country", "status", "category", "approvalStatus", "remarks", "filingProofPath",
+                    "publicationCertificatePath", "grantCertificatePath", "proofDocumentPath"),
+            BookChapterDTO.class, Set.of("id", "title", "bookTitle", "authors", "editors", "publisher", "year",
+                    "pages", "isbn", "status", "category", "approvalStatus", "remarks", "chapterPdfPath",
+                    "isbnProofPath", "proofDocumentPath"),
+            BookDTO.class, Set.of("id", "bookTitle", "publisher", "isbn", "publicationYear", "role", "category",
+                    "status", "approvalStatus", "remarks", "bookCoverPath", "isbnProofPath")
+    );
+
+    private FieldSelection() {
+    }
+
+    // Returns null when no fields were requested (full DTO), otherwise the validated set including "id"
+    public static Set<String> parse(String fields, Class<?> dtoClass) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> allowed = ALLOWED_FIELDS.get(dtoClass);
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unknown field '" + name + "'. Allowed fields: " + new TreeSet<>(allowed));
+            }
+            selected.add(name);
+        }
+        return selected;
+    }
+
+    // Wraps a response body so the serializer only writes the selected properties
+    public static MappingJacksonValue wrap(Object body, Set<String> fields) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        if (fields != null) {
+            value.setFilters(new SimpleFilterProvider()
+                    .addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(fields)));
+        }
+        return value;
+    }
+
+    // Default used when no selection applies: serialize every property
+    public static SimpleFilterProvider defaultFilters() {
+        return new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll());
+    }
+}
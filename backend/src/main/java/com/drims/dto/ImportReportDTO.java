@@ -0,0 +1,51 @@
+package com.drims.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReportDTO {
+    private boolean dryRun; // Nothing was written; "imported" counts what would have been
+    private int recordsRead;
+    private int imported;
+    private int duplicates;
+    private int errors;
+    private Map<String, Integer> importedByType = new LinkedHashMap<>();
+    private List<SourceSummary> sources = new ArrayList<>();
+    private List<RowIssue> issues = new ArrayList<>(); // Rows that were not imported, capped
+    private boolean issuesTruncated;
+    
+    // One sheet (or file section) of the input
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SourceSummary {
+        private String source;
+        private String type;
+        private int records;
+        private int imported;
+        private int duplicates;
+        private int errors;
+        private String skippedReason; // Set when the whole source was skipped
+    }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowIssue {
+        private String source;
+        private int line;
+        private String status; // ERROR or DUPLICATE
+        private String title;
+        private List<String> messages;
+        private List<String> duplicateOf; // Ids of existing publications the row matches
+    }
+}
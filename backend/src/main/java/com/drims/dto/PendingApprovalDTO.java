@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -20,4 +21,5 @@ public class PendingApprovalDTO {
     private String approvalStatus; // SUBMITTED, SENT_BACK
     private LocalDateTime submittedAt;
     private LocalDateTime updatedAt;
+    private List<DocumentPreviewDTO> documents; // Uploaded proofs with their preview, if ready
 }
@@ -1,9 +1,11 @@
 package com.drims.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -12,7 +14,7 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class Book {
+public final class Book implements Publication {
     @Id
     private String id;
     
@@ -38,4 +40,12 @@ public class Book {
     
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    
+    // Publication year under the name the other types use; not stored or serialized
+    @Override
+    @Transient
+    @JsonIgnore
+    public Integer getYear() {
+        return publicationYear;
+    }
 }
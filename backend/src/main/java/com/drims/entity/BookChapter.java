@@ -12,7 +12,7 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class BookChapter {
+public final class BookChapter implements Publication {
     @Id
     private String id;
     
@@ -12,7 +12,7 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class Conference {
+public final class Conference implements Publication {
     @Id
     private String id;
     
@@ -0,0 +1,25 @@
+package com.drims.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// One physical file in the content-addressed store, keyed by its SHA-256
+@Document(collection = "file_blobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileBlob {
+    @Id
+    private String id; // Lowercase hex SHA-256 of the content
+    
+    private Long size;
+    private Long refCount; // Number of StoredFile references; the blob is deleted when it reaches 0
+    
+    private LocalDateTime createdAt;
+    private LocalDateTime deletingAt; // Set once the last reference is gone and the object is being removed; links wait for it
+}
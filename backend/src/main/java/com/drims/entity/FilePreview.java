@@ -0,0 +1,30 @@
+package com.drims.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// Preview job and result for one blob; the collection doubles as the persistent work queue
+@Document(collection = "file_previews")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilePreview {
+    @Id
+    private String id; // SHA-256 of the blob, so identical uploads share one preview
+    
+    private String status; // PENDING, RUNNING, READY, FAILED
+    private Integer attempts;
+    private String lastError;
+    
+    private Integer pageCount;
+    private String textSnippet; // Start of the first-page text; the full text is stored beside the blob
+    
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -12,7 +12,7 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class Journal {
+public final class Journal implements Publication {
     @Id
     private String id;
     
@@ -12,7 +12,7 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class Patent {
+public final class Patent implements Publication {
     @Id
     private String id;
     
@@ -0,0 +1,11 @@
+package com.drims.entity;
+
+// Fields every publication type has, so cross-type code can read them without instanceof dispatch
+public sealed interface Publication permits Journal, Conference, Patent, BookChapter, Book {
+    String getId();
+    String getFacultyId();
+    Integer getYear();
+    String getStatus();
+    String getCategory();
+    String getApprovalStatus();
+}
@@ -0,0 +1,41 @@
+package com.drims.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// One publication of any type in the unified "publications" collection (see PublicationStore)
+@Document(collection = "publications")
+@CompoundIndexes({
+    @CompoundIndex(name = "approvalStatus_type", def = "{'approvalStatus': 1, 'type': 1}"),
+    @CompoundIndex(name = "year_type", def = "{'year': 1, 'type': 1}"),
+    @CompoundIndex(name = "type_year", def = "{'type': 1, 'year': 1}"),
+    @CompoundIndex(name = "facultyId_year", def = "{'facultyId': 1, 'year': 1}"),
+    @CompoundIndex(name = "studentId", def = "{'studentId': 1}"),
+    @CompoundIndex(name = "category_year", def = "{'category': 1, 'year': 1}")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PublicationRecord {
+    @Id
+    private String id; // Same id as in the type's own collection
+
+    private String type; // JOURNAL, CONFERENCE, PATENT, BOOK_CHAPTER, BOOK
+
+    // Shared fields, indexed for cross-type queries
+    private String facultyId;
+    private String studentId;
+    private String title; // bookTitle for books
+    private Integer year; // publicationYear for books
+    private String category; // National or International
+    private String status;
+    private String approvalStatus; // SUBMITTED, APPROVED, REJECTED, SENT_BACK, LOCKED
+
+    // Everything else, stored as in the type's own collection
+    private org.bson.Document details;
+}
@@ -0,0 +1,33 @@
+package com.drims.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// Upload bytes charged to one account, kept current with $inc on store/delete
+@Document(collection = "storage_usage")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StorageUsage {
+    @Id
+    private String id; // ownerType:ownerId
+    
+    private String ownerType; // faculty or student
+    private String ownerId;
+    
+    private Long totalBytes;
+    private Long fileCount;
+    private Map<String, Long> bytesByCategory;
+    
+    private Long quotaBytes; // Per-account override; null uses the configured default
+    private Long version; // Incremented on every counter change, so reconciliation never overwrites a newer write
+    
+    private LocalDateTime updatedAt;
+    private LocalDateTime reconciledAt;
+}
@@ -0,0 +1,34 @@
+package com.drims.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// Per-owner reference from a logical upload path to a FileBlob
+@Document(collection = "stored_files")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredFile {
+    @Id
+    private String id;
+    
+    @Indexed(unique = true)
+    private String path; // Logical path saved on publications: userType/userId/category/uuid.pdf
+    
+    private String sha256; // Reference to FileBlob
+    
+    private String ownerType; // faculty or student
+    private String ownerId;
+    private String category;
+    private String originalFilename;
+    private Long size;
+    
+    private LocalDateTime createdAt;
+    private LocalDateTime quarantinedAt; // Set by OrphanFileCollector while no publication references the path
+}
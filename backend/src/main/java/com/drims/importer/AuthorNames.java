@@ -0,0 +1,30 @@
+package com.drims.importer;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Bibliographic name forms ("Satti, Satish Kumar", "Satti, S.K.") turned into the "First Last" order faculty enter
+final class AuthorNames {
+    
+    private AuthorNames() {
+    }
+    
+    // "Last, First" -> "First Last"; "Last, Jr, First" -> "First Last Jr"; anything else unchanged
+    static String firstLast(String name) {
+        String[] parts = name.trim().split("\\s*,\\s*");
+        if (parts.length == 2 && !parts[1].isEmpty()) {
+            return parts[1] + " " + parts[0];
+        }
+        if (parts.length == 3 && !parts[2].isEmpty()) {
+            return parts[2] + " " + parts[0] + " " + parts[1];
+        }
+        return name.trim();
+    }
+    
+    static String join(List<String> names) {
+        return names.stream()
+                .map(AuthorNames::firstLast)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.joining(", "));
+    }
+}
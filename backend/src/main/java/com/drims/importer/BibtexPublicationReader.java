@@ -0,0 +1,335 @@
+package com.drims.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+
+/**
+ * Streams entries out of a BibTeX (or BibLaTeX) file such as a Google Scholar or ORCID export.
+ * The file is read character by character and only the entry being parsed is held, so a file
+ * with tens of thousands of entries needs no more memory than one. @string macros are expanded,
+ * @comment and @preamble are skipped, and a malformed entry is reported and skipped without
+ * stopping the import.
+ */
+public class BibtexPublicationReader {
+    
+    // Longest entry accepted; an unbalanced brace would otherwise swallow the rest of the file
+    private static final int MAX_ENTRY_CHARS = 1 << 20;
+    private static final int MAX_MACROS = 10_000;
+    
+    private static final Map<String, String> TYPES = Map.of(
+            "article", "JOURNAL",
+            "inproceedings", "CONFERENCE",
+            "conference", "CONFERENCE",
+            "incollection", "BOOK_CHAPTER",
+            "inbook", "BOOK_CHAPTER",
+            "book", "BOOK");
+    
+    // BibTeX field -> canonical ImportRecord field
+    private static final Map<String, String> FIELDS = Map.ofEntries(
+            Map.entry("title", "title"),
+            Map.entry("journal", "journalName"),
+            Map.entry("journaltitle", "journalName"),
+            Map.entry("booktitle", "venue"),
+            Map.entry("year", "year"),
+            Map.entry("date", "date"),
+            Map.entry("month", "month"),
+            Map.entry("volume", "volume"),
+            Map.entry("number", "issue"),
+            Map.entry("issue", "issue"),
+            Map.entry("pages", "pages"),
+            Map.entry("doi", "doi"),
+            Map.entry("issn", "issn"),
+            Map.entry("isbn", "isbn"),
+            Map.entry("publisher", "publisher"),
+            Map.entry("address", "location"),
+            Map.entry("location", "location"),
+            Map.entry("organization", "organizer"));
+    
+    private static final Map<String, String> MONTHS = Map.ofEntries(
+            Map.entry("jan", "January"), Map.entry("feb", "February"), Map.entry("mar", "March"),
+            Map.entry("apr", "April"), Map.entry("may", "May"), Map.entry("jun", "June"),
+            Map.entry("jul", "July"), Map.entry("aug", "August"), Map.entry("sep", "September"),
+            Map.entry("oct", "October"), Map.entry("nov", "November"), Map.entry("dec", "December"));
+    
+    public void read(Reader input, String source, ImportRecordHandler handler) throws IOException {
+        Parser parser = new Parser(new BufferedReader(input));
+        Map<String, String> macros = new HashMap<>();
+        while (parser.skipTo('@')) {
+            int line = parser.line;
+            parser.entryChars = 0;
+            try {
+                String kind = parser.identifier().toLowerCase(Locale.ROOT);
+                // A stray "@" in the text between entries (an e-mail address in a comment)
+                if (kind.isEmpty()) {
+                    continue;
+                }
+                parser.skipWhitespace();
+                int open = parser.next();
+                if (open != '{' && open != '(') {
+                    throw new MalformedEntryException("Expected '{' after @" + kind);
+                }
+                int close = open == '{' ? '}' : ')';
+                if (kind.equals("comment") || kind.equals("preamble")) {
+                    parser.skipBalanced(open, close);
+                } else if (kind.equals("string")) {
+                    Map<String, String> definitions = parser.fields(close, macros);
+                    if (macros.size() + definitions.size() <= MAX_MACROS) {
+                        definitions.forEach((name, value) -> macros.put(name, value));
+                    }
+                } else {
+                    parser.key(close);
+                    Map<String, String> fields = parser.fields(close, macros);
+                    handler.record(toRecord(source, line, kind, fields));
+                }
+            } catch (MalformedEntryException e) {
+                handler.invalid(source, line, e.getMessage());
+            }
+        }
+    }
+    
+    private static ImportRecord toRecord(String source, int line, String kind, Map<String, String> fields) {
+        Map<String, String> values = new HashMap<>();
+        fields.forEach((name, raw) -> {
+            String field = FIELDS.get(name);
+            if (field != null) {
+                values.put(field, clean(raw));
+            }
+        });
+        if (fields.containsKey("author")) {
+            values.put("authors", AuthorNames.join(names(fields.get("author"))));
+        }
+        if (fields.containsKey("editor")) {
+            values.put("editors", AuthorNames.join(names(fields.get("editor"))));
+        }
+        // @inbook names the book in "title" and the chapter in "chapter"
+        if (kind.equals("inbook") && fields.containsKey("chapter")) {
+            values.put("bookTitle", values.get("title"));
+            values.put("title", clean(fields.get("chapter")));
+        }
+        String type = TYPES.get(kind);
+        if (type == null) {
+            values.put("type", kind);
+        }
+        // Bibliographic exports list published work
+        return new ImportRecord(source, line, type, "Published", values);
+    }
+    
+    // Splits "A and B and others" on "and" outside braces, so "{Barnes and Noble}" stays one name
+    private static List<String> names(String raw) {
+        List<String> names = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        String lower = raw.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c == '{') {
+                depth++;
+            } else if (c == '}') {
+                depth--;
+            } else if (depth == 0 && Character.isWhitespace(c) && lower.startsWith("and", i + 1)
+                    && i + 4 < raw.length() && Character.isWhitespace(raw.charAt(i + 4))) {
+                names.add(raw.substring(start, i));
+                start = i + 5;
+                i += 4;
+            }
+        }
+        names.add(raw.substring(start));
+        List<String> cleaned = new ArrayList<>();
+        for (String name : names) {
+            String value = clean(name);
+            if (!value.isEmpty() && !value.equalsIgnoreCase("others")) {
+                cleaned.add(value);
+            }
+        }
+        return cleaned;
+    }
+    
+    // LaTeX markup to plain text: accents to their base letter, escapes to the character, braces dropped
+    static String clean(String value) {
+        return value
+                .replaceAll("\\\\(?:[`'^\"~=.]\\s*|[uvHcdbrtk](?:\\s+|(?=\\{)))\\{?\\\\?([A-Za-z])\\}?", "$1")
+                .replaceAll("\\\\([&%_$#])", "$1")
+                .replaceAll("\\\\[A-Za-z]+\\s*", "")
+                .replace("{", "")
+                .replace("}", "")
+                .replace("~", " ")
+                .replaceAll("-{2,}", "-")
+                .replaceAll("\\s+", " ")
+                .trim();
+    }
+    
+    private static final class MalformedEntryException extends IOException {
+        MalformedEntryException(String message) {
+            super(message);
+        }
+    }
+    
+    private static final class Parser {
+        private final Reader in;
+        private int peeked = -2;
+        private int line = 1;
+        private int entryChars;
+        
+        Parser(Reader in) {
+            this.in = in;
+        }
+        
+        int peek() throws IOException {
+            if (peeked == -2) {
+                peeked = in.read();
+            }
+            return peeked;
+        }
+        
+        int next() throws IOException {
+            int c = peek();
+            peeked = -2;
+            if (c == '\n') {
+                line++;
+            }
+            if (++entryChars > MAX_ENTRY_CHARS) {
+                throw new MalformedEntryException("Entry is longer than " + MAX_ENTRY_CHARS + " characters");
+            }
+            return c;
+        }
+        
+        // Text between entries is a comment in BibTeX
+        boolean skipTo(char target) throws IOException {
+            int c;
+            do {
+                entryChars = 0;
+                c = next();
+            } while (c >= 0 && c != target);
+            return c == target;
+        }
+        
+        void skipWhitespace() throws IOException {
+            while (peek() >= 0 && Character.isWhitespace(peek())) {
+                next();
+            }
+        }
+        
+        String identifier() throws IOException {
+            StringBuilder name = new StringBuilder();
+            int c;
+            while ((c = peek()) >= 0 && (Character.isLetterOrDigit(c) || "_-:./+".indexOf(c) >= 0)) {
+                name.append((char) next());
+            }
+            return name.toString();
+        }
+        
+        void skipBalanced(int open, int close) throws IOException {
+            int depth = 1;
+            while (depth > 0) {
+                int c = next();
+                if (c < 0) {
+                    throw new MalformedEntryException("Unterminated entry");
+                }
+                if (c == open) {
+                    depth++;
+                } else if (c == close) {
+                    depth--;
+                }
+            }
+        }
+        
+        // Citation key, up to the first comma
+        void key(int close) throws IOException {
+            while (true) {
+                int c = peek();
+                if (c < 0) {
+                    throw new MalformedEntryException("Unterminated entry");
+                }
+                if (c == close) {
+                    return;
+                }
+                next();
+                if (c == ',') {
+                    return;
+                }
+            }
+        }
+        
+        Map<String, String> fields(int close, Map<String, String> macros) throws IOException {
+            Map<String, String> fields = new LinkedHashMap<>();
+            while (true) {
+                skipWhitespace();
+                int c = peek();
+                if (c < 0) {
+                    throw new MalformedEntryException("Unterminated entry");
+                }
+                if (c == close) {
+                    next();
+                    return fields;
+                }
+                String name = identifier().toLowerCase(Locale.ROOT);
+                if (name.isEmpty()) {
+                    throw new MalformedEntryException("Expected a field name, found '" + (char) c + "'");
+                }
+                skipWhitespace();
+                if (next() != '=') {
+                    throw new MalformedEntryException("Expected '=' after field " + name);
+                }
+                fields.putIfAbsent(name, value(macros));
+                skipWhitespace();
+                c = next();
+                if (c == close) {
+                    return fields;
+                }
+                if (c != ',') {
+                    throw new MalformedEntryException("Expected ',' after field " + name);
+                }
+            }
+        }
+        
+        // {braced}, "quoted", a number or a macro, concatenated with #
+        private String value(Map<String, String> macros) throws IOException {
+            StringBuilder value = new StringBuilder();
+            while (true) {
+                skipWhitespace();
+                int c = peek();
+                if (c == '{') {
+                    next();
+                    delimited('}', value);
+                } else if (c == '"') {
+                    next();
+                    delimited('"', value);
+                } else if (c >= 0 && Character.isLetterOrDigit(c)) {
+                    String word = identifier();
+                    String lower = word.toLowerCase(Locale.ROOT);
+                    value.append(Character.isDigit(c) ? word
+                            : macros.getOrDefault(lower, MONTHS.getOrDefault(lower, word)));
+                } else {
+                    throw new MalformedEntryException("Expected a value");
+                }
+                skipWhitespace();
+                if (peek() != '#') {
+                    return value.toString();
+                }
+                next();
+            }
+        }
+        
+        // Reads up to the terminator at brace depth zero; inner braces are kept for name splitting
+        private void delimited(char terminator, StringBuilder value) throws IOException {
+            int depth = 0;
+            while (true) {
+                int c = next();
+                if (c < 0) {
+                    throw new MalformedEntryException("Unterminated value");
+                }
+                if (depth == 0 && c == terminator) {
+                    return;
+                }
+                if (c == '{') {
+                    depth++;
+                } else if (c == '}') {
+                    depth--;
+                }
+                value.append((char) c);
+            }
+        }
+    }
+}
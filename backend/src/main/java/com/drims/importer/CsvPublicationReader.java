@@ -0,0 +1,216 @@
+package com.drims.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Streams rows out of a CSV export (Scopus, Google Scholar, Publish or Perish, or the department
+ * template saved as CSV). Quoted fields may contain delimiters, doubled quotes and line breaks.
+ * The delimiter (comma, semicolon or tab) is taken from the header line, and headers are mapped
+ * with the same aliases as the spreadsheet import. Only the current row is held in memory.
+ */
+public class CsvPublicationReader {
+    
+    private static final int MAX_RECORD_CHARS = 1 << 20;
+    
+    // Scopus "Author full names": "Satti, Satish Kumar (57200000000); Devi, K. Suganya (57190000000)"
+    private static final Pattern AUTHOR_ID = Pattern.compile("\\s*\\(\\d+\\)\\s*$");
+    
+    public void read(Reader input, String source, ImportRecordHandler handler) throws IOException {
+        RowReader rows = new RowReader(new BufferedReader(input));
+        List<String> headerRow = rows.next();
+        if (headerRow == null) {
+            handler.skipSource(source, "File is empty");
+            return;
+        }
+        String[] header = new String[headerRow.size()];
+        boolean hasTitle = false;
+        for (int i = 0; i < header.length; i++) {
+            header[i] = HeaderFields.fieldFor(headerRow.get(i));
+            hasTitle |= "title".equals(header[i]);
+        }
+        if (!hasTitle) {
+            handler.skipSource(source, "Header row has no Title column");
+            return;
+        }
+        List<String> row;
+        while (true) {
+            try {
+                row = rows.next();
+            } catch (MalformedRowException e) {
+                handler.invalid(source, rows.rowLine, e.getMessage());
+                return;
+            }
+            if (row == null) {
+                return;
+            }
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < row.size() && i < header.length; i++) {
+                // First column wins when a header repeats
+                if (header[i] != null && !row.get(i).isBlank()) {
+                    values.putIfAbsent(header[i], row.get(i).trim());
+                }
+            }
+            if (values.isEmpty()) {
+                continue;
+            }
+            normalizeExportColumns(values);
+            handler.record(new ImportRecord(source, rows.rowLine, null, "Published", values));
+        }
+    }
+    
+    // Scopus splits names and pages over several columns
+    private static void normalizeExportColumns(Map<String, String> values) {
+        String fullNames = values.remove("authorFullNames");
+        if (fullNames != null) {
+            List<String> names = new ArrayList<>();
+            for (String name : fullNames.split(";")) {
+                names.add(AUTHOR_ID.matcher(name).replaceAll(""));
+            }
+            values.put("authors", AuthorNames.join(names));
+        }
+        String pageStart = values.remove("pageStart");
+        String pageEnd = values.remove("pageEnd");
+        if (pageStart != null) {
+            values.putIfAbsent("pages", pageEnd != null ? pageStart + "-" + pageEnd : pageStart);
+        }
+    }
+    
+    private static final class MalformedRowException extends IOException {
+        MalformedRowException(String message) {
+            super(message);
+        }
+    }
+    
+    private static final class RowReader {
+        private final BufferedReader in;
+        private int line = 1;
+        private int rowLine; // Line the current row starts on
+        private char delimiter;
+        private int peeked = -2;
+        
+        RowReader(BufferedReader in) {
+            this.in = in;
+        }
+        
+        private int read() throws IOException {
+            int c = peeked != -2 ? peeked : in.read();
+            peeked = -2;
+            return c;
+        }
+        
+        private int peek() throws IOException {
+            if (peeked == -2) {
+                peeked = in.read();
+            }
+            return peeked;
+        }
+        
+        // Next row, or null at end of input; blank lines are skipped
+        List<String> next() throws IOException {
+            if (delimiter == 0) {
+                detectDelimiter();
+            }
+            while (true) {
+                int c = peek();
+                if (c < 0) {
+                    return null;
+                }
+                if (c == '\n' || c == '\r') {
+                    endOfLine();
+                    continue;
+                }
+                rowLine = line;
+                return row();
+            }
+        }
+        
+        private List<String> row() throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            int chars = 0;
+            boolean quoted = false;
+            boolean wasQuoted = false;
+            while (true) {
+                int c = read();
+                if (++chars > MAX_RECORD_CHARS) {
+                    throw new MalformedRowException("Row is longer than " + MAX_RECORD_CHARS
+                            + " characters (unbalanced quote?)");
+                }
+                if (c < 0) {
+                    if (quoted) {
+                        throw new MalformedRowException("Quoted field is not closed before the end of the file");
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                }
+                if (quoted) {
+                    if (c == '"') {
+                        if (peek() == '"') {
+                            read();
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0 && !wasQuoted) {
+                    quoted = true;
+                    wasQuoted = true;
+                } else if (c == delimiter) {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    wasQuoted = false;
+                } else if (c == '\n' || c == '\r') {
+                    peeked = c;
+                    endOfLine();
+                    fields.add(field.toString());
+                    return fields;
+                } else {
+                    field.append((char) c);
+                }
+            }
+        }
+        
+        private void endOfLine() throws IOException {
+            if (read() == '\r' && peek() == '\n') {
+                read();
+            }
+            line++;
+        }
+        
+        // The header line decides the delimiter; it is re-read as the first row
+        private void detectDelimiter() throws IOException {
+            in.mark(1);
+            // Exports from Excel start with a byte-order mark
+            if (in.read() != '\uFEFF') {
+                in.reset();
+            }
+            in.mark(MAX_RECORD_CHARS);
+            int commas = 0;
+            int semicolons = 0;
+            int tabs = 0;
+            boolean quoted = false;
+            int c = in.read();
+            for (int i = 1; c >= 0 && i < MAX_RECORD_CHARS && (quoted || (c != '\n' && c != '\r')); i++) {
+                if (c == '"') {
+                    quoted = !quoted;
+                } else if (!quoted) {
+                    commas += c == ',' ? 1 : 0;
+                    semicolons += c == ';' ? 1 : 0;
+                    tabs += c == '\t' ? 1 : 0;
+                }
+                c = in.read();
+            }
+            delimiter = tabs > commas && tabs > semicolons ? '\t' : semicolons > commas ? ';' : ',';
+            in.reset();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.drims.importer;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Column header -> canonical ImportRecord field, shared by the spreadsheet and CSV readers
+final class HeaderFields {
+    
+    // Normalized header text -> canonical field
+    private static final Map<String, String> FIELDS = new HashMap<>();
+    
+    static {
+        alias("type", "type", "publication type", "document type");
+        alias("title", "title", "title of the patent", "title of the article", "title of the paper", "chapter title",
+                "paper title");
+        alias("authors", "author names all", "authors", "author names", "inventors");
+        alias("authorFullNames", "author full names");
+        alias("authorIds", "author s id", "author ids", "scopus author ids");
+        alias("ownerName", "author name vfstr", "faculty name", "faculty");
+        alias("ownerEmail", "faculty email", "email");
+        alias("journalName", "journal name", "journal");
+        alias("venue", "journal conference name", "source title", "source", "publication");
+        alias("conferenceName", "conference name");
+        alias("bookTitle", "book name", "book title");
+        alias("publisher", "publisher");
+        alias("indexType", "indexing", "index type", "indexed in");
+        alias("openAccess", "open access subscription", "open access");
+        alias("paymentMode", "paid unpaid", "payment mode");
+        alias("registrationAmount", "registration amount");
+        alias("volumeIssue", "vol issue no", "volume issue");
+        alias("volume", "volume", "vol");
+        alias("issue", "issue", "issue no", "number");
+        alias("pages", "pages", "page numbers");
+        alias("pageStart", "page start", "startpage");
+        alias("pageEnd", "page end", "endpage");
+        alias("year", "published year", "year", "publication year");
+        alias("month", "published month", "month");
+        alias("date", "published date", "communicated date", "acceptance date", "date", "publication date");
+        alias("issn", "issn");
+        alias("isbn", "isbn");
+        alias("doi", "doi");
+        alias("impactFactor", "impact factor");
+        alias("location", "place", "location", "venue location", "conference location");
+        alias("category", "category", "level");
+        alias("applicationNumber", "patent application number", "application number");
+        alias("status", "status", "status filed published", "publication stage");
+        alias("filingDate", "patent filed date dd mm yyyy", "filing date", "patent filed date");
+        alias("patentNumber", "patent granted number", "patent number");
+        alias("publishedNumber", "patent published number");
+        alias("country", "country");
+        alias("editors", "editors", "editor");
+        alias("role", "role");
+        alias("organizer", "organizer", "organised by", "organized by");
+    }
+    
+    private HeaderFields() {
+    }
+    
+    private static void alias(String field, String... headers) {
+        for (String header : headers) {
+            FIELDS.put(header, field);
+        }
+    }
+    
+    static String normalize(String header) {
+        return header.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", " ").trim();
+    }
+    
+    static String fieldFor(String header) {
+        String normalized = normalize(header);
+        String field = FIELDS.get(normalized);
+        if (field == null && normalized.startsWith("national international")) {
+            field = "category"; // "National/International Colloboration"
+        }
+        return field;
+    }
+}
@@ -0,0 +1,28 @@
+package com.drims.importer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * One publication read from an import file, before validation. Values are the raw cell/field
+ * text keyed by canonical field name (title, authors, ownerName, year, doi, ...); the import
+ * service validates and normalizes them into entities.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRecord {
+    private String source; // Sheet or file name
+    private int line; // 1-based row/line in the source, for the error report
+    private String type; // JOURNAL, CONFERENCE, PATENT, BOOK_CHAPTER, BOOK; null when the source does not say
+    private String defaultStatus; // Status implied by the source (e.g. a "Journals Accepted" sheet)
+    private Map<String, String> values;
+    
+    public String get(String field) {
+        String value = values.get(field);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
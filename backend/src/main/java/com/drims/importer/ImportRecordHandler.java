@@ -0,0 +1,15 @@
+package com.drims.importer;
+
+// Receives records as a reader streams them, so a whole file is never held in memory
+public interface ImportRecordHandler {
+    
+    void record(ImportRecord record);
+    
+    // A sheet or section the reader recognised but will not import (targets, bank details, ...)
+    default void skipSource(String source, String reason) {
+    }
+    
+    // An entry the reader could not parse; reading continues with the next one
+    default void invalid(String source, int line, String message) {
+    }
+}
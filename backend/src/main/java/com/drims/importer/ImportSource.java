@@ -0,0 +1,10 @@
+package com.drims.importer;
+
+import java.io.IOException;
+
+// A file reader bound to its input; streams every record it finds to the handler
+@FunctionalInterface
+public interface ImportSource {
+    
+    void read(ImportRecordHandler handler) throws IOException;
+}
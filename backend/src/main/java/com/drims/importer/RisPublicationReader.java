@@ -0,0 +1,151 @@
+package com.drims.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Streams records out of a RIS file (Scopus, Web of Science and most reference managers).
+ * RIS is line oriented: a record runs from its TY tag to its ER tag, so only the tags of the
+ * current record are held while reading.
+ */
+public class RisPublicationReader {
+    
+    private static final Pattern TAG = Pattern.compile("^([A-Z][A-Z0-9])  -(?: (.*))?$");
+    private static final Pattern ISBN = Pattern.compile("^(97[89])?[\\d-]{9,}[\\dXx]$");
+    private static final int MAX_RECORD_LINES = 10_000;
+    
+    private static final Map<String, String> TYPES = Map.ofEntries(
+            Map.entry("JOUR", "JOURNAL"), Map.entry("JFULL", "JOURNAL"), Map.entry("EJOUR", "JOURNAL"),
+            Map.entry("MGZN", "JOURNAL"), Map.entry("CONF", "CONFERENCE"), Map.entry("CPAPER", "CONFERENCE"),
+            Map.entry("CHAP", "BOOK_CHAPTER"), Map.entry("BOOK", "BOOK"), Map.entry("EBOOK", "BOOK"),
+            Map.entry("EDBOOK", "BOOK"));
+    
+    // RIS tag -> canonical ImportRecord field; the first tag present wins (JF before JO, ...)
+    private static final Map<String, String> FIELDS = new LinkedHashMap<>();
+    
+    static {
+        FIELDS.put("TI", "title");
+        FIELDS.put("T1", "title");
+        FIELDS.put("JF", "journalName");
+        FIELDS.put("JO", "journalName");
+        FIELDS.put("JA", "journalName");
+        FIELDS.put("J2", "journalName");
+        FIELDS.put("T2", "venue");
+        FIELDS.put("BT", "venue");
+        FIELDS.put("PY", "year");
+        FIELDS.put("Y1", "year");
+        FIELDS.put("DA", "date");
+        FIELDS.put("VL", "volume");
+        FIELDS.put("IS", "issue");
+        FIELDS.put("DO", "doi");
+        FIELDS.put("PB", "publisher");
+        FIELDS.put("CY", "location");
+    }
+    
+    public void read(Reader input, String source, ImportRecordHandler handler) throws IOException {
+        BufferedReader reader = new BufferedReader(input);
+        Map<String, List<String>> tags = null;
+        String lastTag = null;
+        int recordLine = 0;
+        int lines = 0;
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            // Exports often start with a byte-order mark
+            if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+                line = line.substring(1);
+            }
+            Matcher matcher = TAG.matcher(line);
+            if (!matcher.matches()) {
+                // Continuation of a wrapped value (long abstracts, titles)
+                if (tags != null && lastTag != null && !line.isBlank()) {
+                    List<String> values = tags.get(lastTag);
+                    values.set(values.size() - 1, values.get(values.size() - 1) + " " + line.trim());
+                }
+                continue;
+            }
+            String tag = matcher.group(1);
+            String value = matcher.group(2) == null ? "" : matcher.group(2).trim();
+            if (tag.equals("TY")) {
+                if (tags != null) {
+                    handler.invalid(source, recordLine, "Record has no ER line");
+                }
+                tags = new HashMap<>();
+                recordLine = lineNumber;
+                lines = 0;
+            } else if (tags == null) {
+                continue;
+            } else if (tag.equals("ER")) {
+                handler.record(toRecord(source, recordLine, tags));
+                tags = null;
+                lastTag = null;
+                continue;
+            } else if (++lines > MAX_RECORD_LINES) {
+                handler.invalid(source, recordLine, "Record has more than " + MAX_RECORD_LINES + " lines");
+                tags = null;
+                lastTag = null;
+                continue;
+            }
+            tags.computeIfAbsent(tag, t -> new ArrayList<>()).add(value);
+            lastTag = tag;
+        }
+        if (tags != null) {
+            handler.invalid(source, recordLine, "Record has no ER line");
+        }
+    }
+    
+    private static ImportRecord toRecord(String source, int line, Map<String, List<String>> tags) {
+        Map<String, String> values = new HashMap<>();
+        FIELDS.forEach((tag, field) -> {
+            String value = first(tags, tag);
+            if (value != null) {
+                values.putIfAbsent(field, value);
+            }
+        });
+        List<String> authors = new ArrayList<>(tags.getOrDefault("AU", List.of()));
+        authors.addAll(tags.getOrDefault("A1", List.of()));
+        if (!authors.isEmpty()) {
+            values.put("authors", AuthorNames.join(authors));
+        }
+        List<String> editors = new ArrayList<>(tags.getOrDefault("A2", List.of()));
+        editors.addAll(tags.getOrDefault("ED", List.of()));
+        if (!editors.isEmpty()) {
+            values.put("editors", AuthorNames.join(editors));
+        }
+        String startPage = first(tags, "SP");
+        String endPage = first(tags, "EP");
+        if (startPage != null) {
+            values.put("pages", endPage != null ? startPage + "-" + endPage : startPage);
+        }
+        // SN carries either an ISSN or an ISBN
+        String serial = first(tags, "SN");
+        if (serial != null) {
+            values.put(ISBN.matcher(serial.replace(" ", "")).matches() ? "isbn" : "issn", serial);
+        }
+        String kind = first(tags, "TY");
+        String type = kind != null ? TYPES.get(kind.toUpperCase(Locale.ROOT)) : null;
+        if (type == null) {
+            values.put("type", kind);
+        }
+        // Bibliographic exports list published work
+        return new ImportRecord(source, line, type, "Published", values);
+    }
+    
+    private static String first(Map<String, List<String>> tags, String tag) {
+        List<String> values = tags.get(tag);
+        if (values == null) {
+            return null;
+        }
+        for (String value : values) {
+            if (!value.isBlank()) {
+                return value.trim();
+            }
+        }
+        return null;
+    }
+}
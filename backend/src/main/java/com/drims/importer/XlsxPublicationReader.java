@@ -0,0 +1,170 @@
+package com.drims.importer;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * Streams publication rows out of an .xlsx workbook with POI's SAX (event) API: sheet XML is
+ * parsed element by element and only the current row is held, so memory does not grow with the
+ * number of rows. Works with the department's own workbook layout (one sheet per publication
+ * type and status, a header row somewhere near the top) and with plain single-sheet templates
+ * that carry a "Type" column.
+ */
+public class XlsxPublicationReader {
+    
+    private static final int HEADER_SEARCH_ROWS = 20;
+    
+    public void read(File workbook, ImportRecordHandler handler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(workbook, PackageAccess.READ)) {
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg, false);
+            XSSFReader reader = new XSSFReader(pkg);
+            StylesTable styles = reader.getStylesTable();
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                try (InputStream sheet = sheets.next()) {
+                    String name = sheets.getSheetName();
+                    String[] kind = classify(name);
+                    if (kind == null) {
+                        handler.skipSource(name, "Not a publication sheet");
+                        continue;
+                    }
+                    SheetHandler rows = new SheetHandler(name, kind[0], kind[1], handler);
+                    XMLReader parser = XMLHelper.newXMLReader();
+                    parser.setContentHandler(new XSSFSheetXMLHandler(styles, null, strings, rows,
+                            new DataFormatter(Locale.ROOT), false));
+                    parser.parse(new InputSource(sheet));
+                    if (rows.header == null) {
+                        handler.skipSource(name, "No header row with a Title column in the first "
+                                + HEADER_SEARCH_ROWS + " rows");
+                    }
+                }
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Not a readable .xlsx workbook: " + e.getMessage(), e);
+        }
+    }
+    
+    // Sheet name -> {type, default status}; type is null for sheets that carry a Type column
+    static String[] classify(String sheetName) {
+        String name = sheetName.toLowerCase(Locale.ROOT);
+        if (name.contains("target") || name.contains("bank")) {
+            return null;
+        }
+        String status = null;
+        if (name.contains("communicated")) {
+            status = "Submitted";
+        } else if (name.contains("accepted") || name.contains("yet to publ")) {
+            status = "Accepted";
+        } else if (name.contains("published")) {
+            status = "Published";
+        }
+        String compact = name.replaceAll("[^a-z]", "");
+        if (compact.contains("patent")) {
+            return new String[]{"PATENT", status};
+        }
+        if (compact.contains("bookchapter")) {
+            return new String[]{"BOOK_CHAPTER", status};
+        }
+        if (compact.contains("book")) {
+            return new String[]{"BOOK", status};
+        }
+        if (compact.contains("conference")) {
+            return new String[]{"CONFERENCE", status};
+        }
+        if (compact.contains("journal")) {
+            return new String[]{"JOURNAL", status};
+        }
+        return new String[]{null, status};
+    }
+    
+    private static final class SheetHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final String sheetName;
+        private final String type;
+        private final String defaultStatus;
+        private final ImportRecordHandler handler;
+        
+        private String[] header; // column index -> canonical field
+        private final Map<Integer, String> cells = new HashMap<>();
+        private int currentColumn;
+        
+        SheetHandler(String sheetName, String type, String defaultStatus, ImportRecordHandler handler) {
+            this.sheetName = sheetName;
+            this.type = type;
+            this.defaultStatus = defaultStatus;
+            this.handler = handler;
+        }
+        
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+            currentColumn = -1;
+        }
+        
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            currentColumn = cellReference != null ? new CellReference(cellReference).getCol() : currentColumn + 1;
+            if (formattedValue != null && !formattedValue.isBlank()) {
+                cells.put(currentColumn, formattedValue);
+            }
+        }
+        
+        @Override
+        public void endRow(int rowNum) {
+            if (header == null) {
+                if (rowNum < HEADER_SEARCH_ROWS) {
+                    detectHeader();
+                }
+                return;
+            }
+            Map<String, String> values = new HashMap<>();
+            cells.forEach((column, value) -> {
+                String field = column < header.length ? header[column] : null;
+                // First column wins when a sheet repeats a header (e.g. two "Citations" columns)
+                if (field != null) {
+                    values.putIfAbsent(field, value.trim());
+                }
+            });
+            // Template rows that only carry a serial number are padding, not records
+            if (values.isEmpty()) {
+                return;
+            }
+            handler.record(new ImportRecord(sheetName, rowNum + 1, type, defaultStatus, values));
+        }
+        
+        @Override
+        public void headerFooter(String text, boolean isHeader, String tagName) {
+        }
+        
+        private void detectHeader() {
+            int width = cells.keySet().stream().mapToInt(Integer::intValue).max().orElse(-1) + 1;
+            String[] fields = new String[width];
+            boolean hasTitle = false;
+            for (Map.Entry<Integer, String> cell : cells.entrySet()) {
+                String field = HeaderFields.fieldFor(cell.getValue());
+                fields[cell.getKey()] = field;
+                hasTitle |= "title".equals(field);
+            }
+            if (hasTitle) {
+                header = fields;
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.drims.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.drims.Analytics")
+@Label("Analytics Aggregation")
+@Category({"DRIMS", "Reports"})
+@Description("Dashboard analytics computed by AnalyticsService")
+public class AnalyticsEvent extends Event {
+    
+    @Label("Documents Fetched")
+    long documentsFetched;
+    
+    @Label("Faculty Counted")
+    @Description("Faculty with at least one publication")
+    int facultyCounted;
+    
+    public void finish(long documentsFetched, int facultyCounted) {
+        end();
+        if (shouldCommit()) {
+            this.documentsFetched = documentsFetched;
+            this.facultyCounted = facultyCounted;
+            commit();
+        }
+    }
+}
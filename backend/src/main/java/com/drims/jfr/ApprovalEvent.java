@@ -0,0 +1,31 @@
+package com.drims.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.drims.Approval")
+@Label("Approval Action")
+@Category({"DRIMS", "Approvals"})
+public class ApprovalEvent extends Event {
+    
+    @Label("Publication Type")
+    String publicationType;
+    
+    @Label("Action")
+    String action;
+    
+    @Label("Publication Id")
+    String publicationId;
+    
+    public void finish(String publicationType, String action, String publicationId) {
+        end();
+        if (shouldCommit()) {
+            this.publicationType = publicationType;
+            this.action = action;
+            this.publicationId = publicationId;
+            commit();
+        }
+    }
+}
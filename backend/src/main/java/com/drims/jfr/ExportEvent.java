@@ -0,0 +1,53 @@
+package com.drims.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.drims.Export")
+@Label("Excel Export")
+@Category({"DRIMS", "Exports"})
+@Description("Workbook produced by ExcelExportService")
+public class ExportEvent extends Event {
+    
+    @Label("Export")
+    @Description("research-data or report")
+    String export;
+    
+    @Label("Filter")
+    @Description("Sheet category for research-data, report type for report")
+    String filter;
+    
+    @Label("Year")
+    @Description("Year filter, 0 for all years")
+    int year;
+    
+    @Label("Documents Fetched")
+    long documentsFetched;
+    
+    @Label("Rows Written")
+    long rowsWritten;
+    
+    @Label("Bytes Written")
+    @DataAmount
+    long bytesWritten;
+    
+    public void addRows(long documents, long rows) {
+        documentsFetched += documents;
+        rowsWritten += rows;
+    }
+    
+    public void finish(String export, String filter, Integer year, long bytesWritten) {
+        end();
+        if (shouldCommit()) {
+            this.export = export;
+            this.filter = filter;
+            this.year = year != null ? year : 0;
+            this.bytesWritten = bytesWritten;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.drims.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.drims.Report")
+@Label("Report Generation")
+@Category({"DRIMS", "Reports"})
+@Description("NAAC, NBA or NIRF report computed by ReportService")
+public class ReportEvent extends Event {
+    
+    @Label("Report Type")
+    String reportType;
+    
+    @Label("Year")
+    @Description("Year filter, 0 for all years")
+    int year;
+    
+    @Label("Faculty Id")
+    String facultyId;
+    
+    @Label("Documents Fetched")
+    long documentsFetched;
+    
+    @Label("Rows Processed")
+    @Description("Approved publications counted into the report")
+    long rowsProcessed;
+    
+    public void addDocumentsFetched(long count) {
+        documentsFetched += count;
+    }
+    
+    public void finish(String reportType, Integer year, String facultyId, long rowsProcessed) {
+        end();
+        if (shouldCommit()) {
+            this.reportType = reportType;
+            this.year = year != null ? year : 0;
+            this.facultyId = facultyId;
+            this.rowsProcessed = rowsProcessed;
+            commit();
+        }
+    }
+}
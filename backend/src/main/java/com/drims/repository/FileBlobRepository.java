@@ -0,0 +1,9 @@
+package com.drims.repository;
+
+import com.drims.entity.FileBlob;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FileBlobRepository extends MongoRepository<FileBlob, String> {
+}
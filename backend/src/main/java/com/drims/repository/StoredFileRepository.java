@@ -0,0 +1,13 @@
+package com.drims.repository;
+
+import com.drims.entity.StoredFile;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface StoredFileRepository extends MongoRepository<StoredFile, String> {
+    Optional<StoredFile> findByPath(String path);
+    boolean existsByPath(String path);
+}
@@ -1,5 +1,6 @@
 package com.drims.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -52,12 +53,15 @@ public class SecurityConfig {
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll() // Allow all OPTIONS requests for CORS preflight FIRST
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // Streamed bodies (evidence.zip, .jfr) finish on an async dispatch of an already authorized request
                 .requestMatchers("/api/auth/**").permitAll() // Allow all authentication endpoints
                 .requestMatchers(HttpMethod.GET, "/api/files/**").permitAll() // Allow public file downloads
                 .requestMatchers("/api/files/upload").authenticated() // File uploads require authentication
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
                 .requestMatchers("/api/faculty/**").hasAnyRole("FACULTY", "ADMIN")
                 .requestMatchers("/api/student/**").hasAnyRole("STUDENT", "ADMIN") // Allow STUDENT and ADMIN access
+                .requestMatchers("/actuator/health").permitAll() // Liveness probe for the load balancer
+                .requestMatchers("/actuator/**").hasRole("ADMIN") // Metrics and the Prometheus scrape endpoint
                 .anyRequest().authenticated()
             )
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
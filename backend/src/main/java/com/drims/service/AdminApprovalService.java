@@ -1,8 +1,10 @@
 package com.drims.service;
 
 import com.drims.dto.ApprovalActionDTO;
+import com.drims.dto.DocumentPreviewDTO;
 import com.drims.dto.PendingApprovalDTO;
 import com.drims.entity.*;
+import com.drims.jfr.ApprovalEvent;
 import com.drims.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -32,52 +34,43 @@ public class AdminApprovalService {
     private PatentRepository patentRepository;
     
     @Autowired
-    private FacultyProfileRepository facultyProfileRepository;
+    private PublicationStore publicationStore;
+    
+    @Autowired
+    private FacultyProfileCache facultyProfileCache;
     
     @Autowired
     private StudentProfileRepository studentProfileRepository;
     
+    @Autowired
+    private DocumentPreviewService documentPreviewService;
+    
+    @Autowired
+    private DomainMetrics domainMetrics;
+    
     // Get all pending approvals
     public List<PendingApprovalDTO> getPendingApprovals(String type) {
         List<PendingApprovalDTO> pendingList = new ArrayList<>();
         
         List<String> pendingStatuses = Arrays.asList("SUBMITTED", "SENT_BACK");
+        List<String> types = type == null ? PublicationStore.ALL_TYPES : List.of(type.toUpperCase());
         
-        if (type == null || "JOURNAL".equalsIgnoreCase(type)) {
-            journalRepository.findByApprovalStatusIn(pendingStatuses).forEach(journal -> {
-                pendingList.add(convertJournalToPending(journal));
-            });
-        }
-        
-        if (type == null || "CONFERENCE".equalsIgnoreCase(type)) {
-            conferenceRepository.findByApprovalStatusIn(pendingStatuses).forEach(conference -> {
-                pendingList.add(convertConferenceToPending(conference));
-            });
-        }
-        
-        if (type == null || "BOOK".equalsIgnoreCase(type)) {
-            bookRepository.findByApprovalStatusIn(pendingStatuses).forEach(book -> {
-                pendingList.add(convertBookToPending(book));
-            });
-        }
-        
-        if (type == null || "BOOK_CHAPTER".equalsIgnoreCase(type)) {
-            bookChapterRepository.findByApprovalStatusIn(pendingStatuses).forEach(bookChapter -> {
-                pendingList.add(convertBookChapterToPending(bookChapter));
-            });
-        }
-        
-        if (type == null || "PATENT".equalsIgnoreCase(type)) {
-            patentRepository.findByApprovalStatusIn(pendingStatuses).forEach(patent -> {
-                pendingList.add(convertPatentToPending(patent));
-            });
-        }
+        // One query across all types in unified storage mode, one per type otherwise
+        PublicationStore.Publications pending = publicationStore.findByApprovalStatusIn(pendingStatuses, types);
+        pending.getJournals().forEach(journal -> pendingList.add(convertJournalToPending(journal)));
+        pending.getConferences().forEach(conference -> pendingList.add(convertConferenceToPending(conference)));
+        pending.getBooks().forEach(book -> pendingList.add(convertBookToPending(book)));
+        pending.getBookChapters().forEach(bookChapter -> pendingList.add(convertBookChapterToPending(bookChapter)));
+        pending.getPatents().forEach(patent -> pendingList.add(convertPatentToPending(patent)));
         
+        documentPreviewService.attachPreviews(pendingList);
         return pendingList;
     }
     
     // Approve publication
     public void approvePublication(String type, String id, String adminId) {
+        ApprovalEvent event = new ApprovalEvent();
+        event.begin();
         switch (type.toUpperCase()) {
             case "JOURNAL":
                 approveJournal(id, adminId);
@@ -97,10 +90,14 @@ public class AdminApprovalService {
             default:
                 throw new RuntimeException("Invalid publication type: " + type);
         }
+        domainMetrics.approval(type.toUpperCase(), "APPROVED");
+        event.finish(type.toUpperCase(), "APPROVED", id);
     }
     
     // Reject publication (requires remarks)
     public void rejectPublication(String type, String id, String adminId, String remarks) {
+        ApprovalEvent event = new ApprovalEvent();
+        event.begin();
         if (remarks == null || remarks.trim().isEmpty()) {
             throw new RuntimeException("Remarks are required for rejection");
         }
@@ -124,10 +121,14 @@ public class AdminApprovalService {
             default:
                 throw new RuntimeException("Invalid publication type: " + type);
         }
+        domainMetrics.approval(type.toUpperCase(), "REJECTED");
+        event.finish(type.toUpperCase(), "REJECTED", id);
     }
     
     // Send back publication (optional remarks)
     public void sendBackPublication(String type, String id, String adminId, String remarks) {
+        ApprovalEvent event = new ApprovalEvent();
+        event.begin();
         switch (type.toUpperCase()) {
             case "JOURNAL":
                 sendBackJournal(id, adminId, remarks);
@@ -147,10 +148,14 @@ public class AdminApprovalService {
             default:
                 throw new RuntimeException("Invalid publication type: " + type);
         }
+        domainMetrics.approval(type.toUpperCase(), "SENT_BACK");
+        event.finish(type.toUpperCase(), "SENT_BACK", id);
     }
     
     // Lock approved publication
     public void lockPublication(String type, String id, String adminId) {
+        ApprovalEvent event = new ApprovalEvent();
+        event.begin();
         switch (type.toUpperCase()) {
             case "JOURNAL":
                 lockJournal(id, adminId);
@@ -170,6 +175,8 @@ public class AdminApprovalService {
             default:
                 throw new RuntimeException("Invalid publication type: " + type);
         }
+        domainMetrics.approval(type.toUpperCase(), "LOCKED");
+        event.finish(type.toUpperCase(), "LOCKED", id);
     }
     
     // Journal approval methods
@@ -406,8 +413,7 @@ public class AdminApprovalService {
         dto.setFacultyId(journal.getFacultyId());
         dto.setStudentId(journal.getStudentId());
         if (journal.getFacultyId() != null) {
-            facultyProfileRepository.findById(journal.getFacultyId())
-                    .ifPresent(fp -> dto.setFacultyName(fp.getName()));
+            dto.setFacultyName(facultyProfileCache.getName(journal.getFacultyId()));
         }
         if (journal.getStudentId() != null) {
             studentProfileRepository.findById(journal.getStudentId())
@@ -416,6 +422,11 @@ public class AdminApprovalService {
         dto.setApprovalStatus(journal.getApprovalStatus());
         dto.setSubmittedAt(journal.getCreatedAt());
         dto.setUpdatedAt(journal.getUpdatedAt());
+        dto.setDocuments(documents(
+                "acceptanceMail", journal.getAcceptanceMailPath(),
+                "publishedPaper", journal.getPublishedPaperPath(),
+                "indexProof", journal.getIndexProofPath(),
+                "proofDocument", journal.getProofDocumentPath()));
         return dto;
     }
     
@@ -427,8 +438,7 @@ public class AdminApprovalService {
         dto.setFacultyId(conference.getFacultyId());
         dto.setStudentId(conference.getStudentId());
         if (conference.getFacultyId() != null) {
-            facultyProfileRepository.findById(conference.getFacultyId())
-                    .ifPresent(fp -> dto.setFacultyName(fp.getName()));
+            dto.setFacultyName(facultyProfileCache.getName(conference.getFacultyId()));
         }
         if (conference.getStudentId() != null) {
             studentProfileRepository.findById(conference.getStudentId())
@@ -437,6 +447,10 @@ public class AdminApprovalService {
         dto.setApprovalStatus(conference.getApprovalStatus());
         dto.setSubmittedAt(conference.getCreatedAt());
         dto.setUpdatedAt(conference.getUpdatedAt());
+        dto.setDocuments(documents(
+                "registrationReceipt", conference.getRegistrationReceiptPath(),
+                "certificate", conference.getCertificatePath(),
+                "proofDocument", conference.getProofDocumentPath()));
         return dto;
     }
     
@@ -447,12 +461,14 @@ public class AdminApprovalService {
         dto.setTitle(book.getBookTitle());
         dto.setFacultyId(book.getFacultyId());
         if (book.getFacultyId() != null) {
-            facultyProfileRepository.findById(book.getFacultyId())
-                    .ifPresent(fp -> dto.setFacultyName(fp.getName()));
+            dto.setFacultyName(facultyProfileCache.getName(book.getFacultyId()));
         }
         dto.setApprovalStatus(book.getApprovalStatus());
         dto.setSubmittedAt(book.getCreatedAt());
         dto.setUpdatedAt(book.getUpdatedAt());
+        dto.setDocuments(documents(
+                "bookCover", book.getBookCoverPath(),
+                "isbnProof", book.getIsbnProofPath()));
         return dto;
     }
     
@@ -463,12 +479,15 @@ public class AdminApprovalService {
         dto.setTitle(bookChapter.getTitle());
         dto.setFacultyId(bookChapter.getFacultyId());
         if (bookChapter.getFacultyId() != null) {
-            facultyProfileRepository.findById(bookChapter.getFacultyId())
-                    .ifPresent(fp -> dto.setFacultyName(fp.getName()));
+            dto.setFacultyName(facultyProfileCache.getName(bookChapter.getFacultyId()));
         }
         dto.setApprovalStatus(bookChapter.getApprovalStatus());
         dto.setSubmittedAt(bookChapter.getCreatedAt());
         dto.setUpdatedAt(bookChapter.getUpdatedAt());
+        dto.setDocuments(documents(
+                "chapterPdf", bookChapter.getChapterPdfPath(),
+                "isbnProof", bookChapter.getIsbnProofPath(),
+                "proofDocument", bookChapter.getProofDocumentPath()));
         return dto;
     }
     
@@ -479,12 +498,31 @@ public class AdminApprovalService {
         dto.setTitle(patent.getTitle());
         dto.setFacultyId(patent.getFacultyId());
         if (patent.getFacultyId() != null) {
-            facultyProfileRepository.findById(patent.getFacultyId())
-                    .ifPresent(fp -> dto.setFacultyName(fp.getName()));
+            dto.setFacultyName(facultyProfileCache.getName(patent.getFacultyId()));
         }
         dto.setApprovalStatus(patent.getApprovalStatus());
         dto.setSubmittedAt(patent.getCreatedAt());
         dto.setUpdatedAt(patent.getUpdatedAt());
+        dto.setDocuments(documents(
+                "filingProof", patent.getFilingProofPath(),
+                "publicationCertificate", patent.getPublicationCertificatePath(),
+                "grantCertificate", patent.getGrantCertificatePath(),
+                "proofDocument", patent.getProofDocumentPath()));
         return dto;
     }
+    
+    // Document name/path pairs for the uploaded proofs; previews are attached in one batch afterwards
+    private List<DocumentPreviewDTO> documents(String... namesAndPaths) {
+        List<DocumentPreviewDTO> documents = new ArrayList<>();
+        for (int i = 0; i + 1 < namesAndPaths.length; i += 2) {
+            String path = namesAndPaths[i + 1];
+            if (path != null && !path.isBlank()) {
+                DocumentPreviewDTO document = new DocumentPreviewDTO();
+                document.setDocument(namesAndPaths[i]);
+                document.setPath(path);
+                documents.add(document);
+            }
+        }
+        return documents;
+    }
 }
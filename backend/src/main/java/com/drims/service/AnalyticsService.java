@@ -2,7 +2,7 @@ package com.drims.service;
 
 import com.drims.dto.AnalyticsDTO;
 import com.drims.entity.*;
-import com.drims.repository.*;
+import com.drims.jfr.AnalyticsEvent;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -13,124 +13,123 @@ import java.util.Map;
 @Service
 public class AnalyticsService {
     
-    @Autowired
-    private JournalRepository journalRepository;
-    
-    @Autowired
-    private ConferenceRepository conferenceRepository;
+    // Books are not part of the dashboard totals
+    private static final List<String> TYPES = List.of(PublicationStore.JOURNAL, PublicationStore.CONFERENCE,
+            PublicationStore.PATENT, PublicationStore.BOOK_CHAPTER);
     
     @Autowired
-    private PatentRepository patentRepository;
+    private PublicationStore publicationStore;
     
     @Autowired
-    private BookChapterRepository bookChapterRepository;
+    private FacultyProfileCache facultyProfileCache;
     
     @Autowired
-    private FacultyProfileRepository facultyProfileRepository;
+    private AnalyticsSnapshot analyticsSnapshot;
     
     public AnalyticsDTO getAnalytics() {
+        AnalyticsEvent event = new AnalyticsEvent();
+        event.begin();
         AnalyticsDTO analytics = new AnalyticsDTO();
+        Map<String, Integer> facultyIdCounts;
+        int total;
         
-        // Fetch all data once to avoid repetitive DB calls
-        List<Journal> journals = journalRepository.findAll();
-        List<Conference> conferences = conferenceRepository.findAll();
-        List<Patent> patents = patentRepository.findAll();
-        List<BookChapter> bookChapters = bookChapterRepository.findAll();
-        List<FacultyProfile> allFaculty = facultyProfileRepository.findAll();
-        
-        // Year-wise totals
-        Map<Integer, Integer> yearWise = new HashMap<>();
-        addYearWiseCounts(journals, yearWise);
-        addYearWiseCounts(conferences, yearWise);
-        addYearWiseCounts(patents, yearWise);
-        addYearWiseCounts(bookChapters, yearWise);
-        analytics.setYearWiseTotals(yearWise);
-        
-        // Category-wise totals
-        Map<String, Integer> categoryWise = new HashMap<>();
-        categoryWise.put("Journals", journals.size());
-        categoryWise.put("Conferences", conferences.size());
-        categoryWise.put("Patents", patents.size());
-        categoryWise.put("Book Chapters", bookChapters.size());
-        analytics.setCategoryWiseTotals(categoryWise);
-        
-        // Faculty-wise contribution (Optimized in-memory aggregation)
-        // Map<FacultyId, Count>
-        Map<String, Integer> facultyIdCounts = new HashMap<>();
+        AnalyticsSnapshot.Aggregate aggregate = analyticsSnapshot.aggregate(null, null, false, false);
+        if (aggregate != null) {
+            // Answered from the columnar snapshot without reading publications from Mongo
+            analytics.setYearWiseTotals(aggregate.countsByYear(TYPES));
+            analytics.setCategoryWiseTotals(categoryWise(aggregate.count(PublicationStore.JOURNAL),
+                    aggregate.count(PublicationStore.CONFERENCE), aggregate.count(PublicationStore.PATENT),
+                    aggregate.count(PublicationStore.BOOK_CHAPTER)));
+            analytics.setStatusWiseBreakdown(aggregate.countsByStatus(TYPES));
+            facultyIdCounts = aggregate.countsByFacultyId(TYPES);
+            total = TYPES.stream().mapToInt(aggregate::count).sum();
+        } else {
+            // Fetch all data once to avoid repetitive DB calls (one query in unified storage mode)
+            PublicationStore.Publications publications = publicationStore.findAll(TYPES);
+            List<Journal> journals = publications.getJournals();
+            List<Conference> conferences = publications.getConferences();
+            List<Patent> patents = publications.getPatents();
+            List<BookChapter> bookChapters = publications.getBookChapters();
+            
+            // Year, status and faculty counts in one pass over each type's list
+            PublicationTally tally = new PublicationTally();
+            tally.addAll(journals);
+            tally.addAll(conferences);
+            tally.addAll(patents);
+            tally.addAll(bookChapters);
+            analytics.setYearWiseTotals(tally.getYearWise());
+            analytics.setCategoryWiseTotals(categoryWise(journals.size(), conferences.size(), patents.size(), bookChapters.size()));
+            analytics.setStatusWiseBreakdown(tally.getStatusWise());
+            facultyIdCounts = tally.getFacultyIdCounts();
+            total = publications.size();
+        }
         
-        countFacultyContributions(journals, facultyIdCounts);
-        countFacultyContributions(conferences, facultyIdCounts);
-        countFacultyContributions(patents, facultyIdCounts);
-        countFacultyContributions(bookChapters, facultyIdCounts);
-
+        // Faculty-wise contribution, keyed by name for the faculty that have any
         Map<String, Integer> facultyWise = new HashMap<>();
-        for (FacultyProfile faculty : allFaculty) {
-            int count = facultyIdCounts.getOrDefault(faculty.getId(), 0);
+        for (Map.Entry<String, String> faculty : facultyProfileCache.getNameMap().entrySet()) {
+            int count = facultyIdCounts.getOrDefault(faculty.getKey(), 0);
             if (count > 0) {
-                facultyWise.put(faculty.getName(), count);
+                facultyWise.put(faculty.getValue(), count);
             }
         }
         analytics.setFacultyWiseContribution(facultyWise);
         
-        // Status-wise breakdown
-        Map<String, Integer> statusWise = new HashMap<>();
-        addStatusCounts(journals, statusWise);
-        addStatusCounts(conferences, statusWise);
-        addStatusCounts(patents, statusWise);
-        addStatusCounts(bookChapters, statusWise);
-        analytics.setStatusWiseBreakdown(statusWise);
-        
+        event.finish(total, facultyWise.size());
         return analytics;
     }
-
-    // Helper to count contributions per faculty
-    private void countFacultyContributions(List<?> items, Map<String, Integer> counts) {
-        for (Object item : items) {
-             String facultyId = null;
-             if (item instanceof Journal) facultyId = ((Journal) item).getFacultyId();
-             else if (item instanceof Conference) facultyId = ((Conference) item).getFacultyId();
-             else if (item instanceof Patent) facultyId = ((Patent) item).getFacultyId();
-             else if (item instanceof BookChapter) facultyId = ((BookChapter) item).getFacultyId();
-             
-             if (facultyId != null) {
-                 counts.put(facultyId, counts.getOrDefault(facultyId, 0) + 1);
-             }
-        }
-    }
     
-    private void addYearWiseCounts(List<?> items, Map<Integer, Integer> yearWise) {
-        for (Object item : items) {
-            Integer year = null;
-            if (item instanceof Journal) {
-                year = ((Journal) item).getYear();
-            } else if (item instanceof Conference) {
-                year = ((Conference) item).getYear();
-            } else if (item instanceof Patent) {
-                year = ((Patent) item).getYear();
-            } else if (item instanceof BookChapter) {
-                year = ((BookChapter) item).getYear();
-            }
-            if (year != null) {
-                yearWise.put(year, yearWise.getOrDefault(year, 0) + 1);
-            }
-        }
+    private static Map<String, Integer> categoryWise(int journals, int conferences, int patents, int bookChapters) {
+        Map<String, Integer> categoryWise = new HashMap<>();
+        categoryWise.put("Journals", journals);
+        categoryWise.put("Conferences", conferences);
+        categoryWise.put("Patents", patents);
+        categoryWise.put("Book Chapters", bookChapters);
+        return categoryWise;
     }
-    
-    private void addStatusCounts(List<?> items, Map<String, Integer> statusWise) {
-        for (Object item : items) {
-            String status = null;
-            if (item instanceof Journal) {
-                status = ((Journal) item).getStatus();
-            } else if (item instanceof Conference) {
-                status = ((Conference) item).getStatus();
-            } else if (item instanceof Patent) {
-                status = ((Patent) item).getStatus();
-            } else if (item instanceof BookChapter) {
-                status = ((BookChapter) item).getStatus();
+
+    // Dashboard counters, filled in one pass through the Publication interface instead of a pass per
+    // dimension with per-type instanceof checks. Counts are mutable cells, so each element costs one
+    // hash lookup per dimension and no boxing; the Integer maps the DTO needs are built at the end.
+    public static final class PublicationTally {
+        private final Map<Integer, int[]> years = new HashMap<>();
+        private final Map<String, int[]> statuses = new HashMap<>();
+        private final Map<String, int[]> faculty = new HashMap<>();
+        
+        public void addAll(List<? extends Publication> publications) {
+            for (Publication publication : publications) {
+                Integer year = publication.getYear();
+                if (year != null) {
+                    years.computeIfAbsent(year, k -> new int[1])[0]++;
+                }
+                String status = publication.getStatus();
+                if (status != null) {
+                    statuses.computeIfAbsent(status, k -> new int[1])[0]++;
+                }
+                String facultyId = publication.getFacultyId();
+                if (facultyId != null) {
+                    faculty.computeIfAbsent(facultyId, k -> new int[1])[0]++;
+                }
             }
-            if (status != null) {
-                statusWise.put(status, statusWise.getOrDefault(status, 0) + 1);
+        }
+        
+        public Map<Integer, Integer> getYearWise() {
+            return toCounts(years);
+        }
+        
+        public Map<String, Integer> getStatusWise() {
+            return toCounts(statuses);
+        }
+        
+        public Map<String, Integer> getFacultyIdCounts() {
+            return toCounts(faculty);
+        }
+        
+        private static <K> Map<K, Integer> toCounts(Map<K, int[]> cells) {
+            Map<K, Integer> counts = new HashMap<>();
+            for (Map.Entry<K, int[]> cell : cells.entrySet()) {
+                counts.put(cell.getKey(), cell.getValue()[0]);
             }
+            return counts;
         }
     }
 }
@@ -0,0 +1,666 @@
+package com.drims.service;
+
+import com.drims.entity.Journal;
+import com.drims.entity.Publication;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Projections;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Columnar in-memory copy of the publication fields that dashboards and accreditation reports
+ * aggregate over, so AnalyticsService and ReportService answer from primitive-array scans instead
+ * of loading every publication from Mongo. One row per publication: type (byte), year (short),
+ * faculty (int), and status, category, approvalStatus and journal index type as short dictionary
+ * codes, plus the journal impact-factor thresholds the NIRF report uses as bit flags.
+ *
+ * Built at startup from projected cursor scans (of "publications" alone when reads are unified),
+ * then kept current from the same save/delete events and bulk writes that feed the unified
+ * collection. A delete it cannot map to rows marks it stale; readers fall back to Mongo until the
+ * scheduled refresh has rebuilt it. Rebuilds run alongside writes: writes made while scanning are
+ * replayed onto the new columns before they replace the old ones.
+ */
+@Service
+public class AnalyticsSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsSnapshot.class);
+
+    static final short NO_YEAR = Short.MIN_VALUE;
+    static final byte IMPACT_AT_LEAST_2 = 1;
+    static final byte IMPACT_AT_LEAST_3 = 2;
+
+    // Rough per-row cost of the id column: a 24-character ObjectId string and its HashMap entry
+    private static final long ID_BYTES_ESTIMATE = 64 + 48;
+
+    private static final PublicationStore.Kind[] KINDS = PublicationStore.Kind.values();
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private PublicationStore publicationStore;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${analytics.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${analytics.snapshot.batch-size:5000}")
+    private int batchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildMonitor = new Object();
+
+    // Null until the first build finishes; pending is non-null while a rebuild is scanning
+    private volatile Columns columns;
+    private List<Consumer<Columns>> pending;
+    private volatile boolean stale;
+    private volatile Map<String, Object> lastBuild;
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("drims.analytics.snapshot.rows", this, snapshot -> snapshot.rows())
+                .description("Publications held in the columnar analytics snapshot")
+                .register(meterRegistry);
+        Gauge.builder("drims.analytics.snapshot.bytes", this, snapshot -> snapshot.footprintBytes())
+                .description("Estimated heap used by the columnar analytics snapshot")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuildQuietly();
+        }
+    }
+
+    // Rebuilds after deletes the events could not describe row by row
+    @Scheduled(fixedDelayString = "${analytics.snapshot.refresh-interval-ms:10000}")
+    public void refreshIfStale() {
+        if (enabled && stale && columns != null) {
+            rebuildQuietly();
+        }
+    }
+
+    // Without a snapshot the services read from Mongo, so a failed build only costs speed
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Analytics snapshot build failed; analytics and reports read from Mongo until it succeeds: {}", e.getMessage());
+        }
+    }
+
+    public Map<String, Object> rebuild() {
+        return rebuild(this::scan);
+    }
+
+    // Builds from publications already in memory instead of Mongo (benchmarks)
+    public Map<String, Object> rebuildFrom(Collection<? extends Collection<?>> publications) {
+        return rebuild(fresh -> publications.forEach(list -> list.forEach(fresh::upsert)));
+    }
+
+    private Map<String, Object> rebuild(Consumer<Columns> loader) {
+        if (!enabled) {
+            throw new RuntimeException("The analytics snapshot is disabled (analytics.snapshot.enabled=false)");
+        }
+        synchronized (rebuildMonitor) {
+            long start = System.currentTimeMillis();
+            lock.writeLock().lock();
+            try {
+                pending = new ArrayList<>();
+                stale = false;
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            Columns fresh = new Columns();
+            try {
+                loader.accept(fresh);
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    pending = null;
+                    stale = true;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+
+            int replayed;
+            lock.writeLock().lock();
+            try {
+                replayed = pending.size();
+                pending.forEach(op -> op.accept(fresh));
+                pending = null;
+                columns = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            Map<String, Object> build = new LinkedHashMap<>();
+            build.put("rows", fresh.size);
+            build.put("replayedWrites", replayed);
+            build.put("durationMs", System.currentTimeMillis() - start);
+            build.put("finishedAt", LocalDateTime.now().toString());
+            lastBuild = build;
+            log.info("Analytics snapshot built: {} rows in {} ms, ~{} KB", fresh.size, build.get("durationMs"), footprintBytes() / 1024);
+            return build;
+        }
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", enabled);
+        status.put("stale", stale);
+        lock.readLock().lock();
+        try {
+            status.put("ready", columns != null);
+            if (columns != null) {
+                status.put("rows", columns.size);
+                status.put("capacity", columns.ids.length);
+                Map<String, Integer> dictionaries = new LinkedHashMap<>();
+                dictionaries.put("faculty", columns.faculty.size());
+                dictionaries.put("status", columns.statuses.size());
+                dictionaries.put("category", columns.categories.size());
+                dictionaries.put("approvalStatus", columns.approvals.size());
+                dictionaries.put("indexType", columns.indexTypes.size());
+                status.put("dictionaryEntries", dictionaries);
+                status.put("columnBytes", columns.columnBytes());
+                status.put("idBytesEstimate", columns.idBytes());
+                status.put("totalBytesEstimate", columns.columnBytes() + columns.idBytes());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        status.put("lastBuild", lastBuild);
+        return status;
+    }
+
+    long rows() {
+        lock.readLock().lock();
+        try {
+            return columns != null ? columns.size : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long footprintBytes() {
+        lock.readLock().lock();
+        try {
+            return columns != null ? columns.columnBytes() + columns.idBytes() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Incremental updates
+
+    public void upsert(Object publication) {
+        if (publication instanceof Publication) {
+            apply(c -> c.upsert(publication));
+        }
+    }
+
+    // For bulk inserts run under BulkWriteEvents.suppressed(): the batch goes in under one write lock, not per document
+    public void upsertAll(List<?> publications) {
+        if (!enabled || publications.isEmpty() || !(publications.get(0) instanceof Publication)) {
+            return;
+        }
+        // Callers may reuse the list, and a running rebuild replays it later
+        List<?> copy = List.copyOf(publications);
+        apply(c -> copy.forEach(c::upsert));
+    }
+
+    // Deletes arrive as the query that was run against the type's collection
+    public void delete(String collection, Document query) {
+        PublicationStore.Kind kind = PublicationStore.Kind.ofCollection(collection);
+        if (!enabled || kind == null || query == null) {
+            return;
+        }
+        if (query.isEmpty()) {
+            apply(c -> c.removeKind(kind));
+        } else if (query.size() == 1 && (query.get("_id") instanceof ObjectId || query.get("_id") instanceof String)) {
+            String id = idString(query.get("_id"));
+            apply(c -> c.remove(id));
+        } else {
+            stale = true;
+        }
+    }
+
+    private void apply(Consumer<Columns> op) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            // Before the first build there is nothing to update; the build reads the write from Mongo
+            if (columns != null) {
+                op.accept(columns);
+            }
+            if (pending != null) {
+                pending.add(op);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Queries
+
+    /**
+     * Counts over every publication matching the filters, in one pass over the columns.
+     * Returns null when the snapshot cannot answer (disabled, not built yet, or stale), in which
+     * case callers read from Mongo as before.
+     */
+    public Aggregate aggregate(Integer year, String facultyId, boolean approvedOnly, boolean collectIds) {
+        if (!enabled || stale) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            Columns c = columns;
+            if (c == null) {
+                return null;
+            }
+            return c.aggregate(year, facultyId, approvedOnly, collectIds);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Results of one aggregate() pass, decoded from the dictionaries as of that pass
+    public static final class Aggregate {
+        private final int[] counts = new int[KINDS.length];
+        private final int minYear;
+        private final int[][] byYear;
+        private final int[][] byFaculty;
+        private final int[][] byStatus;
+        private final int[][] byCategory;
+        private final int[] journalIndexTypes;
+        private int journalsImpactAtLeast2;
+        private int journalsImpactAtLeast3;
+        private final List<List<String>> ids;
+        private final String[] facultyIds;
+        private final String[] statuses;
+        private final String[] categories;
+        private final String[] indexTypes;
+
+        private Aggregate(Columns c, boolean collectIds) {
+            minYear = c.minYear;
+            int years = c.maxYear >= c.minYear ? c.maxYear - c.minYear + 1 : 0;
+            byYear = new int[KINDS.length][years];
+            byFaculty = new int[KINDS.length][c.faculty.size()];
+            byStatus = new int[KINDS.length][c.statuses.size()];
+            byCategory = new int[KINDS.length][c.categories.size()];
+            journalIndexTypes = new int[c.indexTypes.size()];
+            facultyIds = c.faculty.toArray();
+            statuses = c.statuses.toArray();
+            categories = c.categories.toArray();
+            indexTypes = c.indexTypes.toArray();
+            if (collectIds) {
+                ids = new ArrayList<>(KINDS.length);
+                for (int k = 0; k < KINDS.length; k++) {
+                    ids.add(new ArrayList<>());
+                }
+            } else {
+                ids = null;
+            }
+        }
+
+        public int count(String type) {
+            return counts[kind(type)];
+        }
+
+        public Map<Integer, Integer> countsByYear(Collection<String> types) {
+            Map<Integer, Integer> result = new HashMap<>();
+            for (String type : types) {
+                int[] years = byYear[kind(type)];
+                for (int i = 0; i < years.length; i++) {
+                    if (years[i] > 0) {
+                        result.merge(minYear + i, years[i], Integer::sum);
+                    }
+                }
+            }
+            return result;
+        }
+
+        // Keyed by faculty id; publications without a faculty are left out
+        public Map<String, Integer> countsByFacultyId(Collection<String> types) {
+            return decode(byFaculty, facultyIds, types, null);
+        }
+
+        public Map<String, Integer> countsByStatus(Collection<String> types) {
+            return decode(byStatus, statuses, types, null);
+        }
+
+        public Map<String, Integer> countsByCategory(String type, String nullLabel) {
+            return decode(byCategory, categories, List.of(type), nullLabel);
+        }
+
+        public Map<String, Integer> journalIndexTypes() {
+            Map<String, Integer> result = new HashMap<>();
+            for (int code = 1; code < journalIndexTypes.length; code++) {
+                if (journalIndexTypes[code] > 0) {
+                    result.put(indexTypes[code], journalIndexTypes[code]);
+                }
+            }
+            return result;
+        }
+
+        public int journalsWithImpactAtLeast2() {
+            return journalsImpactAtLeast2;
+        }
+
+        public int journalsWithImpactAtLeast3() {
+            return journalsImpactAtLeast3;
+        }
+
+        public List<String> ids(String type) {
+            if (ids == null) {
+                throw new IllegalStateException("Ids were not collected for this aggregate");
+            }
+            return ids.get(kind(type));
+        }
+
+        private Map<String, Integer> decode(int[][] counts, String[] values, Collection<String> types, String nullLabel) {
+            Map<String, Integer> result = new HashMap<>();
+            for (String type : types) {
+                int[] byCode = counts[kind(type)];
+                for (int code = 0; code < byCode.length; code++) {
+                    String value = code == 0 ? nullLabel : values[code];
+                    if (byCode[code] > 0 && value != null) {
+                        result.merge(value, byCode[code], Integer::sum);
+                    }
+                }
+            }
+            return result;
+        }
+
+        private static int kind(String type) {
+            return PublicationStore.Kind.valueOf(type).ordinal();
+        }
+    }
+
+    // Loading
+
+    private void scan(Columns fresh) {
+        if (publicationStore.isReadingUnified()) {
+            Bson projection = Projections.include("type", "facultyId", "year", "status", "category",
+                    "approvalStatus", "details.indexType", "details.impactFactor");
+            scan("publications", projection, document -> {
+                Document details = document.get("details", Document.class);
+                fresh.upsert(idString(document.get("_id")), PublicationStore.Kind.valueOf(document.getString("type")),
+                        document.getString("facultyId"), document.get("year"), document.getString("status"),
+                        document.getString("category"), document.getString("approvalStatus"),
+                        details != null ? details.get("indexType") : null,
+                        details != null ? details.get("impactFactor") : null);
+            });
+            return;
+        }
+        for (PublicationStore.Kind kind : KINDS) {
+            List<String> fields = new ArrayList<>(List.of("facultyId", kind.yearField, "status", "category", "approvalStatus"));
+            if (kind == PublicationStore.Kind.JOURNAL) {
+                fields.addAll(List.of("indexType", "impactFactor"));
+            }
+            scan(kind.collection, Projections.include(fields), document ->
+                    fresh.upsert(idString(document.get("_id")), kind, document.getString("facultyId"),
+                            document.get(kind.yearField), document.getString("status"), document.getString("category"),
+                            document.getString("approvalStatus"), document.get("indexType"), document.get("impactFactor")));
+        }
+    }
+
+    private void scan(String collection, Bson projection, Consumer<Document> row) {
+        try (MongoCursor<Document> cursor = mongoTemplate.getCollection(collection).find()
+                .projection(projection).batchSize(batchSize).iterator()) {
+            while (cursor.hasNext()) {
+                row.accept(cursor.next());
+            }
+        }
+    }
+
+    private static String idString(Object id) {
+        return id instanceof ObjectId objectId ? objectId.toHexString() : String.valueOf(id);
+    }
+
+    // Dictionary encoding; code 0 stands for null
+    private static final class Dictionary {
+        private final List<String> values = new ArrayList<>(List.of(""));
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final int limit;
+
+        Dictionary(int limit) {
+            this.limit = limit;
+        }
+
+        int encode(String value) {
+            if (value == null) {
+                return 0;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                if (values.size() > limit) {
+                    throw new RuntimeException("Too many distinct values for a dictionary column: " + values.size());
+                }
+                code = values.size();
+                values.add(value);
+                codes.put(value, code);
+            }
+            return code;
+        }
+
+        // -1 when the value has never been seen, so no row can match it
+        int find(String value) {
+            if (value == null) {
+                return 0;
+            }
+            return codes.getOrDefault(value, -1);
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        String[] toArray() {
+            return values.toArray(new String[0]);
+        }
+    }
+
+    private static final class Columns {
+        int size;
+        String[] ids;
+        byte[] types;
+        short[] years;
+        int[] facultyCodes;
+        short[] statusCodes;
+        short[] categoryCodes;
+        short[] approvalCodes;
+        short[] indexTypeCodes;
+        byte[] impactFlags;
+        int minYear = Integer.MAX_VALUE;
+        int maxYear = Integer.MIN_VALUE;
+
+        final Map<String, Integer> rows = new HashMap<>();
+        final Dictionary faculty = new Dictionary(Integer.MAX_VALUE - 1);
+        final Dictionary statuses = new Dictionary(Short.MAX_VALUE);
+        final Dictionary categories = new Dictionary(Short.MAX_VALUE);
+        final Dictionary approvals = new Dictionary(Short.MAX_VALUE);
+        final Dictionary indexTypes = new Dictionary(Short.MAX_VALUE);
+
+        Columns() {
+            allocate(1024);
+        }
+
+        void upsert(Object publication) {
+            if (!(publication instanceof Publication p)) {
+                return;
+            }
+            PublicationStore.Kind kind = PublicationStore.Kind.of(publication.getClass());
+            Journal journal = publication instanceof Journal j ? j : null;
+            upsert(p.getId(), kind, p.getFacultyId(), p.getYear(), p.getStatus(), p.getCategory(), p.getApprovalStatus(),
+                    journal != null ? journal.getIndexType() : null, journal != null ? journal.getImpactFactor() : null);
+        }
+
+        void upsert(String id, PublicationStore.Kind kind, String facultyId, Object year, String status, String category,
+                    String approvalStatus, Object indexType, Object impactFactor) {
+            if (id == null || kind == null) {
+                return;
+            }
+            Integer row = rows.get(id);
+            if (row == null) {
+                if (size == ids.length) {
+                    allocate(size * 2);
+                }
+                row = size++;
+                rows.put(id, row);
+                ids[row] = id;
+            }
+            types[row] = (byte) kind.ordinal();
+            years[row] = encodeYear(year);
+            facultyCodes[row] = faculty.encode(facultyId);
+            statusCodes[row] = (short) statuses.encode(status);
+            categoryCodes[row] = (short) categories.encode(category);
+            approvalCodes[row] = (short) approvals.encode(approvalStatus);
+            indexTypeCodes[row] = (short) indexTypes.encode(indexType instanceof String s ? s : null);
+            impactFlags[row] = impactFlags(impactFactor);
+        }
+
+        void remove(String id) {
+            Integer row = rows.remove(id);
+            if (row == null) {
+                return;
+            }
+            // Move the last row into the hole so the columns stay dense
+            int last = --size;
+            if (row != last) {
+                ids[row] = ids[last];
+                types[row] = types[last];
+                years[row] = years[last];
+                facultyCodes[row] = facultyCodes[last];
+                statusCodes[row] = statusCodes[last];
+                categoryCodes[row] = categoryCodes[last];
+                approvalCodes[row] = approvalCodes[last];
+                indexTypeCodes[row] = indexTypeCodes[last];
+                impactFlags[row] = impactFlags[last];
+                rows.put(ids[row], row);
+            }
+            ids[last] = null;
+        }
+
+        void removeKind(PublicationStore.Kind kind) {
+            List<String> removed = new ArrayList<>();
+            for (int row = 0; row < size; row++) {
+                if (types[row] == kind.ordinal()) {
+                    removed.add(ids[row]);
+                }
+            }
+            removed.forEach(this::remove);
+        }
+
+        Aggregate aggregate(Integer year, String facultyId, boolean approvedOnly, boolean collectIds) {
+            Aggregate result = new Aggregate(this, collectIds);
+            int yearFilter = year == null ? Integer.MIN_VALUE : year;
+            int facultyFilter = facultyId == null ? Integer.MIN_VALUE : faculty.find(facultyId);
+            int approved = approvals.find("APPROVED");
+            int locked = approvals.find("LOCKED");
+            int journal = PublicationStore.Kind.JOURNAL.ordinal();
+            if (facultyFilter == -1 || (year != null && (year < Short.MIN_VALUE + 1 || year > Short.MAX_VALUE))) {
+                return result;
+            }
+
+            final short[] years = this.years;
+            final int[] facultyCodes = this.facultyCodes;
+            final short[] approvalCodes = this.approvalCodes;
+            final byte[] types = this.types;
+            for (int row = 0; row < size; row++) {
+                int rowYear = years[row];
+                if (year != null && rowYear != yearFilter) continue;
+                if (facultyId != null && facultyCodes[row] != facultyFilter) continue;
+                if (approvedOnly && approvalCodes[row] != approved && approvalCodes[row] != locked) continue;
+                int kind = types[row];
+                result.counts[kind]++;
+                if (rowYear != NO_YEAR) {
+                    result.byYear[kind][rowYear - minYear]++;
+                }
+                result.byFaculty[kind][facultyCodes[row]]++;
+                result.byStatus[kind][statusCodes[row]]++;
+                result.byCategory[kind][categoryCodes[row]]++;
+                if (kind == journal) {
+                    result.journalIndexTypes[indexTypeCodes[row]]++;
+                    if ((impactFlags[row] & IMPACT_AT_LEAST_2) != 0) result.journalsImpactAtLeast2++;
+                    if ((impactFlags[row] & IMPACT_AT_LEAST_3) != 0) result.journalsImpactAtLeast3++;
+                }
+                if (result.ids != null) {
+                    result.ids.get(kind).add(ids[row]);
+                }
+            }
+            return result;
+        }
+
+        long columnBytes() {
+            // Every row costs 1 + 2 + 4 + 2 + 2 + 2 + 2 + 1 bytes of primitives plus a 4-byte id reference
+            return (long) ids.length * 20;
+        }
+
+        long idBytes() {
+            return size * ID_BYTES_ESTIMATE;
+        }
+
+        private short encodeYear(Object year) {
+            if (!(year instanceof Number number) || number.intValue() <= NO_YEAR || number.intValue() > Short.MAX_VALUE) {
+                return NO_YEAR;
+            }
+            int value = number.intValue();
+            minYear = Math.min(minYear, value);
+            maxYear = Math.max(maxYear, value);
+            return (short) value;
+        }
+
+        // Same parsing and thresholds as the NIRF report's quality metrics
+        private static byte impactFlags(Object impactFactor) {
+            if (!(impactFactor instanceof String text)) {
+                return 0;
+            }
+            try {
+                double impact = Double.parseDouble(text);
+                return (byte) ((impact >= 2.0 ? IMPACT_AT_LEAST_2 : 0) | (impact >= 3.0 ? IMPACT_AT_LEAST_3 : 0));
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+
+        private void allocate(int capacity) {
+            ids = ids == null ? new String[capacity] : Arrays.copyOf(ids, capacity);
+            types = types == null ? new byte[capacity] : Arrays.copyOf(types, capacity);
+            years = years == null ? new short[capacity] : Arrays.copyOf(years, capacity);
+            facultyCodes = facultyCodes == null ? new int[capacity] : Arrays.copyOf(facultyCodes, capacity);
+            statusCodes = statusCodes == null ? new short[capacity] : Arrays.copyOf(statusCodes, capacity);
+            categoryCodes = categoryCodes == null ? new short[capacity] : Arrays.copyOf(categoryCodes, capacity);
+            approvalCodes = approvalCodes == null ? new short[capacity] : Arrays.copyOf(approvalCodes, capacity);
+            indexTypeCodes = indexTypeCodes == null ? new short[capacity] : Arrays.copyOf(indexTypeCodes, capacity);
+            impactFlags = impactFlags == null ? new byte[capacity] : Arrays.copyOf(impactFlags, capacity);
+        }
+    }
+}
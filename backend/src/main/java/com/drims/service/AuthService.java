@@ -5,7 +5,6 @@ import com.drims.dto.LoginRequest;
 import com.drims.entity.FacultyProfile;
 import com.drims.entity.StudentProfile;
 import com.drims.entity.User;
-import com.drims.repository.FacultyProfileRepository;
 import com.drims.repository.StudentProfileRepository;
 import com.drims.repository.UserRepository;
 import com.drims.security.JwtTokenProvider;
@@ -22,7 +21,7 @@ public class AuthService {
     private UserRepository userRepository;
     
     @Autowired
-    private FacultyProfileRepository facultyProfileRepository;
+    private FacultyProfileCache facultyProfileCache;
     
     @Autowired
     private StudentProfileRepository studentProfileRepository;
@@ -74,7 +73,7 @@ public class AuthService {
         if (user.getFacultyId() == null) {
             throw new RuntimeException("Faculty profile not found");
         }
-        return facultyProfileRepository.findById(user.getFacultyId())
+        return facultyProfileCache.findById(user.getFacultyId())
                 .orElseThrow(() -> new RuntimeException("Faculty profile not found"));
     }
     
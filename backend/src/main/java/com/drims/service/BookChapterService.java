@@ -4,10 +4,14 @@ import com.drims.dto.BookChapterDTO;
 import com.drims.entity.BookChapter;
 import com.drims.repository.BookChapterRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -16,6 +20,15 @@ public class BookChapterService {
     @Autowired
     private BookChapterRepository bookChapterRepository;
     
+    @Autowired
+    private DuplicateDetectionService duplicateDetectionService;
+    
+    @Autowired
+    private DomainMetrics domainMetrics;
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
     public BookChapterDTO createBookChapter(String facultyId, BookChapterDTO dto) {
         BookChapter bookChapter = new BookChapter();
         bookChapter.setFacultyId(facultyId);
@@ -37,6 +50,8 @@ public class BookChapterService {
         bookChapter.setUpdatedAt(LocalDateTime.now());
         
         bookChapter = bookChapterRepository.save(bookChapter);
+        domainMetrics.submissions("BOOK_CHAPTER", "form", 1);
+        duplicateDetectionService.indexBookChapter(bookChapter);
         return convertToDTO(bookChapter);
     }
     
@@ -75,6 +90,7 @@ public class BookChapterService {
         bookChapter.setUpdatedAt(LocalDateTime.now());
         
         bookChapter = bookChapterRepository.save(bookChapter);
+        duplicateDetectionService.indexBookChapter(bookChapter);
         return convertToDTO(bookChapter);
     }
     
@@ -90,6 +106,25 @@ public class BookChapterService {
                 .collect(Collectors.toList());
     }
     
+    // Sparse variants: fields == null means the full document
+    public List<BookChapterDTO> getBookChaptersByFaculty(String facultyId, Set<String> fields) {
+        return findBookChapters(new Query(Criteria.where("facultyId").is(facultyId)), fields);
+    }
+    
+    public List<BookChapterDTO> getAllBookChapters(Set<String> fields) {
+        return findBookChapters(new Query(), fields);
+    }
+    
+    // Pushes the field selection down to Mongo so unselected fields never leave the database
+    private List<BookChapterDTO> findBookChapters(Query query, Set<String> fields) {
+        if (fields != null) {
+            fields.forEach(field -> query.fields().include(field));
+        }
+        return mongoTemplate.find(query, BookChapter.class).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+    
     public void deleteBookChapter(String id, String facultyId) {
         BookChapter bookChapter = bookChapterRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Book chapter not found"));
@@ -104,6 +139,7 @@ public class BookChapterService {
         }
         
         bookChapterRepository.delete(bookChapter);
+        duplicateDetectionService.remove("BOOK_CHAPTER", id);
     }
     
     private BookChapterDTO convertToDTO(BookChapter bookChapter) {
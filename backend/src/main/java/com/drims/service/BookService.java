@@ -4,10 +4,14 @@ import com.drims.dto.BookDTO;
 import com.drims.entity.Book;
 import com.drims.repository.BookRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -16,6 +20,15 @@ public class BookService {
     @Autowired
     private BookRepository bookRepository;
     
+    @Autowired
+    private DuplicateDetectionService duplicateDetectionService;
+    
+    @Autowired
+    private DomainMetrics domainMetrics;
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
     public BookDTO createBook(String facultyId, BookDTO dto) {
         Book book = new Book();
         book.setFacultyId(facultyId);
@@ -33,6 +46,8 @@ public class BookService {
         book.setUpdatedAt(LocalDateTime.now());
         
         book = bookRepository.save(book);
+        domainMetrics.submissions("BOOK", "form", 1);
+        duplicateDetectionService.indexBook(book);
         return convertToDTO(book);
     }
     
@@ -65,6 +80,7 @@ public class BookService {
         book.setUpdatedAt(LocalDateTime.now());
         
         book = bookRepository.save(book);
+        duplicateDetectionService.indexBook(book);
         return convertToDTO(book);
     }
     
@@ -80,6 +96,25 @@ public class BookService {
                 .collect(Collectors.toList());
     }
     
+    // Sparse variants: fields == null means the full document
+    public List<BookDTO> getBooksByFaculty(String facultyId, Set<String> fields) {
+        return findBooks(new Query(Criteria.where("facultyId").is(facultyId)), fields);
+    }
+    
+    public List<BookDTO> getAllBooks(Set<String> fields) {
+        return findBooks(new Query(), fields);
+    }
+    
+    // Pushes the field selection down to Mongo so unselected fields never leave the database
+    private List<BookDTO> findBooks(Query query, Set<String> fields) {
+        if (fields != null) {
+            fields.forEach(field -> query.fields().include(field));
+        }
+        return mongoTemplate.find(query, Book.class).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+    
     public void deleteBook(String id, String facultyId) {
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Book not found"));
@@ -94,6 +129,7 @@ public class BookService {
         }
         
         bookRepository.delete(book);
+        duplicateDetectionService.remove("BOOK", id);
     }
     
     private BookDTO convertToDTO(Book book) {
@@ -4,10 +4,14 @@ import com.drims.dto.ConferenceDTO;
 import com.drims.entity.Conference;
 import com.drims.repository.ConferenceRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -16,6 +20,15 @@ public class ConferenceService {
     @Autowired
     private ConferenceRepository conferenceRepository;
     
+    @Autowired
+    private DuplicateDetectionService duplicateDetectionService;
+    
+    @Autowired
+    private DomainMetrics domainMetrics;
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
     public ConferenceDTO createConference(String facultyId, ConferenceDTO dto) {
         Conference conference = new Conference();
         conference.setFacultyId(facultyId);
@@ -43,6 +56,8 @@ public class ConferenceService {
         conference.setUpdatedAt(LocalDateTime.now());
         
         conference = conferenceRepository.save(conference);
+        domainMetrics.submissions("CONFERENCE", "form", 1);
+        duplicateDetectionService.indexConference(conference);
         return convertToDTO(conference);
     }
     
@@ -82,6 +97,7 @@ public class ConferenceService {
         conference.setUpdatedAt(LocalDateTime.now());
         
         conference = conferenceRepository.save(conference);
+        duplicateDetectionService.indexConference(conference);
         return convertToDTO(conference);
     }
     
@@ -97,6 +113,25 @@ public class ConferenceService {
                 .collect(Collectors.toList());
     }
     
+    // Sparse variants: fields == null means the full document
+    public List<ConferenceDTO> getConferencesByFaculty(String facultyId, Set<String> fields) {
+        return findConferences(new Query(Criteria.where("facultyId").is(facultyId)), fields);
+    }
+    
+    public List<ConferenceDTO> getAllConferences(Set<String> fields) {
+        return findConferences(new Query(), fields);
+    }
+    
+    // Pushes the field selection down to Mongo so unselected fields never leave the database
+    private List<ConferenceDTO> findConferences(Query query, Set<String> fields) {
+        if (fields != null) {
+            fields.forEach(field -> query.fields().include(field));
+        }
+        return mongoTemplate.find(query, Conference.class).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+    
     public void deleteConference(String id, String facultyId) {
         Conference conference = conferenceRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Conference not found"));
@@ -111,6 +146,7 @@ public class ConferenceService {
         }
         
         conferenceRepository.delete(conference);
+        duplicateDetectionService.remove("CONFERENCE", id);
     }
     
     private ConferenceDTO convertToDTO(Conference conference) {
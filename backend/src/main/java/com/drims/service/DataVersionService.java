@@ -0,0 +1,72 @@
+package com.drims.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-collection write counters used to build ETags for read endpoints.
+ * Every save/delete bumps the collection's version (see DataVersionEventListener), so a
+ * client holding the current ETag can be answered with 304 without touching Mongo.
+ */
+@Service
+public class DataVersionService {
+
+    public static final String JOURNALS = "journals";
+    public static final String CONFERENCES = "conferences";
+    public static final String PATENTS = "patents";
+    public static final String BOOK_CHAPTERS = "book_chapters";
+    public static final String BOOKS = "books";
+    public static final String FACULTY_PROFILES = "faculty_profiles";
+    public static final String TARGETS = "targets";
+    public static final String STUDENT_PROFILES = "student_profiles";
+    public static final String FILE_PREVIEWS = "file_previews";
+
+    // Versions restart at zero on every boot, so the boot time keeps old ETags from matching
+    private final long epoch = System.currentTimeMillis();
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastModified = new ConcurrentHashMap<>();
+
+    public void bump(String collection) {
+        versions.computeIfAbsent(collection, c -> new AtomicLong()).incrementAndGet();
+        lastModified.put(collection, System.currentTimeMillis());
+    }
+
+    // For writes that bypass repository events (dropped collections, bulk operations)
+    public void bumpAll() {
+        for (String collection : Arrays.asList(JOURNALS, CONFERENCES, PATENTS, BOOK_CHAPTERS, BOOKS,
+                FACULTY_PROFILES, TARGETS, STUDENT_PROFILES, FILE_PREVIEWS)) {
+            bump(collection);
+        }
+    }
+
+    public long getVersion(String collection) {
+        AtomicLong version = versions.get(collection);
+        return version != null ? version.get() : 0L;
+    }
+
+    // Strong ETag for a resource computed from the given collections and request parameters
+    public String etag(String resource, String[] collections, Object... params) {
+        StringBuilder descriptor = new StringBuilder(resource).append('|').append(epoch);
+        for (String collection : collections) {
+            descriptor.append('|').append(collection).append('=').append(getVersion(collection));
+        }
+        for (Object param : params) {
+            descriptor.append('|').append(param);
+        }
+        return DigestUtils.md5DigestAsHex(descriptor.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public long lastModified(String[] collections) {
+        long latest = epoch;
+        for (String collection : collections) {
+            latest = Math.max(latest, lastModified.getOrDefault(collection, epoch));
+        }
+        return latest;
+    }
+}
@@ -0,0 +1,255 @@
+package com.drims.service;
+
+import com.drims.dto.DocumentPreviewDTO;
+import com.drims.dto.PendingApprovalDTO;
+import com.drims.entity.FileBlob;
+import com.drims.entity.FilePreview;
+import com.drims.entity.StoredFile;
+import com.drims.storage.StorageBackend;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Renders reviewer previews (first-page text and a PNG thumbnail) for uploaded proofs, stored
+ * next to the blob in the StorageBackend.
+ * Jobs live in the file_previews collection, queued by FileStorageService when a new blob is
+ * stored, so they survive restarts. A poller claims PENDING jobs with findAndModify and hands
+ * them to a small bounded pool; nothing is rendered on the request path.
+ */
+@Service
+public class DocumentPreviewService {
+    
+    private static final int SNIPPET_LENGTH = 1000;
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
+    @Autowired
+    private FileStorageService fileStorageService;
+    
+    @Autowired
+    private DataVersionService dataVersionService;
+    
+    @Autowired
+    private StorageBackend storageBackend;
+    
+    @Value("${preview.workers:2}")
+    private int workers;
+    
+    @Value("${preview.max-attempts:3}")
+    private int maxAttempts;
+    
+    @Value("${preview.thumbnail-width:240}")
+    private int thumbnailWidth;
+    
+    private ThreadPoolExecutor executor;
+    
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        // Queue capacity equals the pool size: the poller never claims more than it can run soon
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers), runnable -> {
+                    Thread thread = new Thread(runnable, "pdf-preview-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    // Jobs claimed by a previous process never finished; blobs stored before this pipeline have no job yet
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        mongoTemplate.updateMulti(new Query(Criteria.where("status").is("RUNNING")),
+                Update.update("status", "PENDING"), FilePreview.class);
+        Query blobs = new Query(Criteria.where("deletingAt").exists(false));
+        blobs.fields().include("_id");
+        try (Stream<FileBlob> stream = mongoTemplate.stream(blobs, FileBlob.class)) {
+            stream.forEach(blob -> mongoTemplate.upsert(
+                    new Query(Criteria.where("_id").is(blob.getId())),
+                    new Update().setOnInsert("status", "PENDING")
+                            .setOnInsert("attempts", 0)
+                            .setOnInsert("createdAt", LocalDateTime.now()),
+                    FilePreview.class));
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${preview.poll-interval-ms:2000}")
+    public void dispatch() {
+        while (executor.getActiveCount() + executor.getQueue().size() < workers) {
+            FilePreview job = mongoTemplate.findAndModify(
+                    new Query(Criteria.where("status").is("PENDING")).with(Sort.by(Sort.Direction.ASC, "createdAt")),
+                    new Update().set("status", "RUNNING").set("startedAt", LocalDateTime.now()).inc("attempts", 1),
+                    FindAndModifyOptions.options().returnNew(true),
+                    FilePreview.class);
+            if (job == null) {
+                return;
+            }
+            executor.execute(() -> render(job));
+        }
+    }
+    
+    // Fills in preview status, snippet and URLs on documents already listed on each pending item
+    public void attachPreviews(List<PendingApprovalDTO> pendingList) {
+        List<DocumentPreviewDTO> documents = pendingList.stream()
+                .filter(dto -> dto.getDocuments() != null)
+                .flatMap(dto -> dto.getDocuments().stream())
+                .collect(Collectors.toList());
+        if (documents.isEmpty()) {
+            return;
+        }
+        
+        Set<String> paths = documents.stream().map(DocumentPreviewDTO::getPath).collect(Collectors.toSet());
+        Map<String, String> shaByPath = mongoTemplate.find(
+                new Query(Criteria.where("path").in(paths)), StoredFile.class).stream()
+                .collect(Collectors.toMap(StoredFile::getPath, StoredFile::getSha256, (a, b) -> a));
+        Map<String, FilePreview> previews = mongoTemplate.find(
+                new Query(Criteria.where("_id").in(new HashSet<>(shaByPath.values()))), FilePreview.class).stream()
+                .collect(Collectors.toMap(FilePreview::getId, preview -> preview));
+        
+        for (DocumentPreviewDTO document : documents) {
+            String sha256 = shaByPath.get(document.getPath());
+            FilePreview preview = sha256 != null ? previews.get(sha256) : null;
+            if (preview == null) {
+                // Legacy file not yet moved into the blob store
+                document.setPreviewStatus("UNAVAILABLE");
+                continue;
+            }
+            document.setPreviewStatus(preview.getStatus());
+            if ("READY".equals(preview.getStatus())) {
+                String encodedPath = URLEncoder.encode(document.getPath(), StandardCharsets.UTF_8);
+                document.setPageCount(preview.getPageCount());
+                document.setFirstPageText(preview.getTextSnippet());
+                document.setThumbnailUrl("/api/files/preview/thumbnail?path=" + encodedPath);
+                document.setTextUrl("/api/files/preview/text?path=" + encodedPath);
+            }
+        }
+    }
+    
+    // Local file of a rendered artifact ("png" or "txt") for a stored path, if its preview is ready
+    public Optional<Path> findArtifact(String filePath, String extension) {
+        return fileStorageService.findSha256(filePath)
+                .flatMap(sha256 -> storageBackend.localFile(fileStorageService.previewKey(sha256, extension)))
+                .filter(Files::isRegularFile);
+    }
+    
+    // Direct URL of a rendered artifact when the backend serves objects itself (S3)
+    public Optional<URI> findArtifactUrl(String filePath, String extension, String contentType) {
+        Optional<String> key = fileStorageService.findSha256(filePath)
+                .map(sha256 -> fileStorageService.previewKey(sha256, extension));
+        if (key.isEmpty() || storageBackend.localFile(key.get()).isPresent()) {
+            return Optional.empty();
+        }
+        try {
+            return storageBackend.exists(key.get())
+                    ? storageBackend.presign(key.get(), "preview." + extension, contentType)
+                    : Optional.empty();
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+    
+    private void render(FilePreview job) {
+        String sha256 = job.getId();
+        try {
+            // Temp-file stream cache keeps large scans off the heap; remote blobs are downloaded to a temp file first
+            try (FileStorageService.LocalCopy pdf = fileStorageService.fetchBlob(sha256);
+                 PDDocument document = Loader.loadPDF(pdf.path().toFile(), IOUtils.createTempFileOnlyStreamCache())) {
+                PDFTextStripper stripper = new PDFTextStripper();
+                stripper.setStartPage(1);
+                stripper.setEndPage(1);
+                String text = stripper.getText(document).strip();
+                
+                BufferedImage thumbnail = null;
+                if (document.getNumberOfPages() > 0) {
+                    PDRectangle page = document.getPage(0).getCropBox();
+                    float scale = page.getWidth() > 0 ? thumbnailWidth / page.getWidth() : 1f;
+                    thumbnail = new PDFRenderer(document).renderImage(0, scale, ImageType.RGB);
+                }
+                
+                Path txt = fileStorageService.createTempFile();
+                try {
+                    Files.write(txt, text.getBytes(StandardCharsets.UTF_8));
+                    fileStorageService.storePreview(sha256, "txt", txt, "text/plain; charset=UTF-8");
+                } finally {
+                    Files.deleteIfExists(txt);
+                }
+                if (thumbnail != null) {
+                    Path png = fileStorageService.createTempFile();
+                    try {
+                        ImageIO.write(thumbnail, "png", png.toFile());
+                        fileStorageService.storePreview(sha256, "png", png, "image/png");
+                    } finally {
+                        Files.deleteIfExists(png);
+                    }
+                }
+                
+                mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(sha256)),
+                        new Update().set("status", "READY")
+                                .set("pageCount", document.getNumberOfPages())
+                                .set("textSnippet", text.length() > SNIPPET_LENGTH ? text.substring(0, SNIPPET_LENGTH) : text)
+                                .set("finishedAt", LocalDateTime.now())
+                                .unset("lastError"),
+                        FilePreview.class);
+            }
+        } catch (Exception | LinkageError e) {
+            // Encrypted or malformed PDFs fail every time; retry only up to the limit
+            boolean retry = job.getAttempts() != null && job.getAttempts() < maxAttempts && blobExists(sha256);
+            mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(sha256)),
+                    new Update().set("status", retry ? "PENDING" : "FAILED")
+                            .set("lastError", String.valueOf(e.getMessage()))
+                            .set("finishedAt", LocalDateTime.now()),
+                    FilePreview.class);
+        }
+        dataVersionService.bump(DataVersionService.FILE_PREVIEWS);
+    }
+    
+    private boolean blobExists(String sha256) {
+        try {
+            return fileStorageService.blobExists(sha256);
+        } catch (IOException e) {
+            return true; // Unknown (backend unreachable): let the next attempt decide
+        }
+    }
+}
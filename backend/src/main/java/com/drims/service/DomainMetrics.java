@@ -0,0 +1,124 @@
+package com.drims.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Business-level Micrometer meters, next to the HTTP, Mongo and repository timers Actuator
+ * records on its own. Tag values are always drawn from small fixed sets (publication types,
+ * approval actions, owner types) so the Prometheus series count stays bounded.
+ */
+@Component
+public class DomainMetrics {
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    // source: "form" (faculty entry), "student", "import" (bulk import)
+    public void submissions(String type, String source, int count) {
+        Counter.builder("drims.submissions")
+                .description("Publications submitted for review")
+                .tag("type", type)
+                .tag("source", source)
+                .register(meterRegistry)
+                .increment(count);
+    }
+    
+    // action: APPROVED, REJECTED, SENT_BACK, LOCKED
+    public void approval(String type, String action) {
+        Counter.builder("drims.approvals")
+                .description("Admin review decisions")
+                .tag("type", type)
+                .tag("action", action)
+                .register(meterRegistry)
+                .increment();
+    }
+    
+    public void upload(String ownerType, long bytes, boolean deduplicated) {
+        Counter.builder("drims.uploads")
+                .description("Proof documents uploaded")
+                .tag("owner.type", ownerType)
+                .tag("deduplicated", String.valueOf(deduplicated))
+                .register(meterRegistry)
+                .increment();
+        DistributionSummary.builder("drims.upload.size")
+                .description("Size of uploaded proof documents")
+                .baseUnit("bytes")
+                .tag("owner.type", ownerType)
+                .register(meterRegistry)
+                .record(bytes);
+    }
+    
+    public void export(String export, long nanos, long bytes, boolean success) {
+        Timer.builder("drims.exports")
+                .description("Time to produce an export")
+                .tag("export", export)
+                .tag("outcome", success ? "SUCCESS" : "FAILURE")
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        if (success) {
+            DistributionSummary.builder("drims.export.size")
+                    .description("Size of produced exports")
+                    .baseUnit("bytes")
+                    .tag("export", export)
+                    .register(meterRegistry)
+                    .record(bytes);
+        }
+    }
+    
+    // Times a streamed export and counts the bytes written through it
+    public void streamedExport(String export, OutputStream out, StreamWriter writer) throws IOException {
+        long start = System.nanoTime();
+        CountingOutputStream counting = new CountingOutputStream(out);
+        boolean success = false;
+        try {
+            writer.write(counting);
+            success = true;
+        } finally {
+            export(export, System.nanoTime() - start, counting.count, success);
+        }
+    }
+    
+    // reason: expired, signature, malformed, unsupported, empty, invalid
+    public void jwtValidationFailure(String reason) {
+        Counter.builder("drims.jwt.validation.failures")
+                .description("Rejected bearer tokens")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+    
+    @FunctionalInterface
+    public interface StreamWriter {
+        void write(OutputStream out) throws IOException;
+    }
+    
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+        
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+        
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+        
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
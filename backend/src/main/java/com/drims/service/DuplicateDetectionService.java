@@ -0,0 +1,338 @@
+package com.drims.service;
+
+import com.drims.dedup.MinHasher;
+import com.drims.dto.DuplicateClusterDTO;
+import com.drims.entity.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Finds publications entered more than once (co-authors submitting the same paper,
+ * students and guides submitting the same conference paper).
+ *
+ * Candidates are only compared when they share a block: the same DOI / application number / ISBN,
+ * the same ISSN and year, or an LSH band of the title MinHash. Each submission therefore touches
+ * a handful of candidates instead of the whole corpus.
+ */
+@Service
+public class DuplicateDetectionService {
+
+    private static final int NUM_HASHES = 64;
+    private static final int BANDS = 16;
+    private static final int SHINGLE_SIZE = 5;
+    private static final double TITLE_THRESHOLD = 0.8;
+    private static final int MAX_BLOCK_SIZE = 200; // Oversized blocks (e.g. placeholder DOIs) are not compared
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final MinHasher minHasher = new MinHasher(NUM_HASHES, BANDS, SHINGLE_SIZE, 0x5EEDL);
+
+    // All index state is guarded by "this"
+    private final Map<String, Fingerprint> fingerprints = new HashMap<>(); // "TYPE:id" -> fingerprint
+    private final Map<String, Set<String>> blocks = new HashMap<>(); // block key -> member keys
+    private final Map<String, Map<String, Double>> edges = new HashMap<>(); // key -> (duplicate key -> score)
+    private Map<String, String> clusterOf; // key -> cluster representative, rebuilt lazily
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    // Batch pass over the full corpus
+    public synchronized Map<String, Object> rebuild() {
+        fingerprints.clear();
+        blocks.clear();
+        edges.clear();
+        clusterOf = null;
+
+        try (Stream<Journal> journals = mongoTemplate.stream(projection("title", "doi", "issn", "year"), Journal.class)) {
+            journals.forEach(this::indexJournal);
+        }
+        try (Stream<Conference> conferences = mongoTemplate.stream(projection("title", "year"), Conference.class)) {
+            conferences.forEach(this::indexConference);
+        }
+        try (Stream<Patent> patents = mongoTemplate.stream(projection("title", "applicationNumber", "year"), Patent.class)) {
+            patents.forEach(this::indexPatent);
+        }
+        try (Stream<BookChapter> chapters = mongoTemplate.stream(projection("title", "year"), BookChapter.class)) {
+            chapters.forEach(this::indexBookChapter);
+        }
+        try (Stream<Book> books = mongoTemplate.stream(projection("bookTitle", "isbn", "publicationYear"), Book.class)) {
+            books.forEach(this::indexBook);
+        }
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("indexedPublications", fingerprints.size());
+        stats.put("duplicateClusters", getClusters(null).size());
+        return stats;
+    }
+
+    // Incremental indexing, called on every create/update
+    public void indexJournal(Journal journal) {
+        index("JOURNAL", journal.getId(), journal.getTitle(), journal.getDoi(), issnYear(journal), journal.getYear());
+    }
+
+    public void indexConference(Conference conference) {
+        index("CONFERENCE", conference.getId(), conference.getTitle(), null, null, conference.getYear());
+    }
+
+    public void indexPatent(Patent patent) {
+        index("PATENT", patent.getId(), patent.getTitle(), patent.getApplicationNumber(), null, patent.getYear());
+    }
+
+    public void indexBookChapter(BookChapter bookChapter) {
+        index("BOOK_CHAPTER", bookChapter.getId(), bookChapter.getTitle(), null, null, bookChapter.getYear());
+    }
+
+    public void indexBook(Book book) {
+        index("BOOK", book.getId(), book.getBookTitle(), book.getIsbn(), null, book.getPublicationYear());
+    }
+
+    // Existing publications a new record would be clustered with, checked without indexing it (bulk import)
+    public List<String> findDuplicates(Object publication) {
+        if (publication instanceof Journal journal) {
+            return findDuplicates("JOURNAL", journal.getTitle(), journal.getDoi(), issnYear(journal), journal.getYear());
+        } else if (publication instanceof Conference conference) {
+            return findDuplicates("CONFERENCE", conference.getTitle(), null, null, conference.getYear());
+        } else if (publication instanceof Patent patent) {
+            return findDuplicates("PATENT", patent.getTitle(), patent.getApplicationNumber(), null, patent.getYear());
+        } else if (publication instanceof BookChapter bookChapter) {
+            return findDuplicates("BOOK_CHAPTER", bookChapter.getTitle(), null, null, bookChapter.getYear());
+        } else if (publication instanceof Book book) {
+            return findDuplicates("BOOK", book.getBookTitle(), book.getIsbn(), null, book.getPublicationYear());
+        }
+        throw new IllegalArgumentException("Not a publication: " + publication);
+    }
+
+    public synchronized void remove(String type, String id) {
+        removeKey(key(type, id));
+    }
+
+    // Number of publications when every duplicate cluster is counted once
+    public synchronized long countDistinct(String type, Collection<String> ids) {
+        Map<String, String> clusters = clusters();
+        Set<String> seen = new HashSet<>();
+        for (String id : ids) {
+            String key = key(type, id);
+            seen.add(clusters.getOrDefault(key, key));
+        }
+        return seen.size();
+    }
+
+    public synchronized List<DuplicateClusterDTO> getClusters(String type) {
+        Map<String, List<String>> members = new TreeMap<>();
+        clusters().forEach((key, representative) -> members.computeIfAbsent(representative, r -> new ArrayList<>()).add(key));
+
+        List<DuplicateClusterDTO> result = new ArrayList<>();
+        for (Map.Entry<String, List<String>> entry : members.entrySet()) {
+            String clusterType = entry.getKey().substring(0, entry.getKey().indexOf(':'));
+            if (type != null && !type.equalsIgnoreCase(clusterType)) {
+                continue;
+            }
+            List<String> keys = entry.getValue();
+            Collections.sort(keys);
+            List<String> ids = new ArrayList<>();
+            List<String> titles = new ArrayList<>();
+            double maxScore = 0;
+            for (String key : keys) {
+                Fingerprint fingerprint = fingerprints.get(key);
+                ids.add(fingerprint.id);
+                titles.add(fingerprint.title);
+                for (double score : edges.getOrDefault(key, Collections.emptyMap()).values()) {
+                    maxScore = Math.max(maxScore, score);
+                }
+            }
+            result.add(new DuplicateClusterDTO(entry.getKey(), clusterType, ids, titles, maxScore));
+        }
+        return result;
+    }
+
+    private synchronized void index(String type, String id, String title, String identifier, String issnYear, Integer year) {
+        if (id == null) {
+            return;
+        }
+        String key = key(type, id);
+        removeKey(key);
+
+        Fingerprint fingerprint = fingerprint(type, id, title, identifier, issnYear, year);
+
+        // Collect candidates from every block this publication falls into
+        Set<String> candidates = new HashSet<>();
+        for (String blockKey : fingerprint.blockKeys) {
+            Set<String> block = blocks.computeIfAbsent(blockKey, k -> new HashSet<>());
+            if (block.size() < MAX_BLOCK_SIZE) {
+                candidates.addAll(block);
+            }
+            block.add(key);
+        }
+        fingerprints.put(key, fingerprint);
+
+        for (String candidate : candidates) {
+            double score = score(fingerprint, fingerprints.get(candidate));
+            if (score >= TITLE_THRESHOLD) {
+                edges.computeIfAbsent(key, k -> new HashMap<>()).put(candidate, score);
+                edges.computeIfAbsent(candidate, k -> new HashMap<>()).put(key, score);
+                clusterOf = null;
+            }
+        }
+    }
+
+    private synchronized List<String> findDuplicates(String type, String title, String identifier, String issnYear,
+                                                     Integer year) {
+        Fingerprint fingerprint = fingerprint(type, null, title, identifier, issnYear, year);
+        Set<String> candidates = new TreeSet<>();
+        for (String blockKey : fingerprint.blockKeys) {
+            Set<String> block = blocks.get(blockKey);
+            if (block != null && block.size() < MAX_BLOCK_SIZE) {
+                candidates.addAll(block);
+            }
+        }
+        List<String> ids = new ArrayList<>();
+        for (String candidate : candidates) {
+            Fingerprint existing = fingerprints.get(candidate);
+            if (score(fingerprint, existing) >= TITLE_THRESHOLD) {
+                ids.add(existing.id);
+            }
+        }
+        return ids;
+    }
+
+    private Fingerprint fingerprint(String type, String id, String title, String identifier, String issnYear,
+                                    Integer year) {
+        String normalizedTitle = MinHasher.normalize(title);
+        Fingerprint fingerprint = new Fingerprint();
+        fingerprint.id = id;
+        fingerprint.title = title;
+        fingerprint.identifier = normalizeIdentifier(identifier);
+        fingerprint.year = year;
+        fingerprint.signature = normalizedTitle.isEmpty() ? null : minHasher.signature(normalizedTitle);
+
+        if (fingerprint.identifier != null) {
+            fingerprint.blockKeys.add("ID|" + type + "|" + fingerprint.identifier);
+        }
+        if (issnYear != null) {
+            fingerprint.blockKeys.add("ISSN|" + issnYear.toLowerCase());
+        }
+        if (fingerprint.signature != null) {
+            int[] bandHashes = minHasher.bandHashes(fingerprint.signature);
+            for (int band = 0; band < bandHashes.length; band++) {
+                fingerprint.blockKeys.add("LSH|" + type + "|" + band + "|" + bandHashes[band]);
+            }
+        }
+        return fingerprint;
+    }
+
+    private double score(Fingerprint a, Fingerprint b) {
+        if (a.identifier != null && b.identifier != null) {
+            return a.identifier.equals(b.identifier) ? 1.0 : 0.0; // Different DOIs are different papers
+        }
+        if (a.signature == null || b.signature == null) {
+            return 0.0;
+        }
+        if (a.year != null && b.year != null && Math.abs(a.year - b.year) > 1) {
+            return 0.0;
+        }
+        return minHasher.similarity(a.signature, b.signature);
+    }
+
+    private void removeKey(String key) {
+        Fingerprint old = fingerprints.remove(key);
+        if (old == null) {
+            return;
+        }
+        for (String blockKey : old.blockKeys) {
+            Set<String> block = blocks.get(blockKey);
+            if (block != null) {
+                block.remove(key);
+                if (block.isEmpty()) {
+                    blocks.remove(blockKey);
+                }
+            }
+        }
+        Map<String, Double> neighbours = edges.remove(key);
+        if (neighbours != null) {
+            for (String neighbour : neighbours.keySet()) {
+                Map<String, Double> back = edges.get(neighbour);
+                if (back != null) {
+                    back.remove(key);
+                    if (back.isEmpty()) {
+                        edges.remove(neighbour);
+                    }
+                }
+            }
+            clusterOf = null;
+        }
+    }
+
+    // Connected components over duplicate edges; the smallest key represents the cluster
+    private Map<String, String> clusters() {
+        if (clusterOf != null) {
+            return clusterOf;
+        }
+        Map<String, String> result = new HashMap<>();
+        for (String start : edges.keySet()) {
+            if (result.containsKey(start)) {
+                continue;
+            }
+            List<String> component = new ArrayList<>();
+            Deque<String> queue = new ArrayDeque<>();
+            queue.add(start);
+            Set<String> visited = new HashSet<>(Collections.singleton(start));
+            while (!queue.isEmpty()) {
+                String current = queue.poll();
+                component.add(current);
+                for (String next : edges.getOrDefault(current, Collections.emptyMap()).keySet()) {
+                    if (visited.add(next)) {
+                        queue.add(next);
+                    }
+                }
+            }
+            String representative = Collections.min(component);
+            component.forEach(member -> result.put(member, representative));
+        }
+        clusterOf = result;
+        return result;
+    }
+
+    private static Query projection(String... fields) {
+        Query query = new Query();
+        query.fields().include(fields);
+        return query;
+    }
+
+    private static String issnYear(Journal journal) {
+        return journal.getIssn() != null && !journal.getIssn().isBlank() ? journal.getIssn() + "|" + journal.getYear() : null;
+    }
+
+    private static String key(String type, String id) {
+        return type.toUpperCase() + ":" + id;
+    }
+
+    private static String normalizeIdentifier(String identifier) {
+        if (identifier == null) {
+            return null;
+        }
+        String normalized = identifier.trim().toLowerCase()
+                .replaceFirst("^https?://(dx\\.)?doi\\.org/", "")
+                .replaceFirst("^doi:\\s*", "")
+                .replaceAll("[\\s-]", "");
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    private static class Fingerprint {
+        String id;
+        String title;
+        String identifier; // DOI, patent application number or ISBN
+        Integer year;
+        int[] signature;
+        List<String> blockKeys = new ArrayList<>();
+    }
+}
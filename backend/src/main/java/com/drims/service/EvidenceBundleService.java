@@ -0,0 +1,240 @@
+package com.drims.service;
+
+import com.drims.entity.StudentProfile;
+import com.drims.repository.StudentProfileRepository;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Builds the accreditation evidence ZIP straight onto the response stream: a manifest.csv
+ * followed by every proof PDF of approved/locked publications, laid out as
+ * {faculty}/{type}/{year}_{title}_{id}/{document}.pdf. Publications are streamed from Mongo
+ * (projected to the fields needed here) once for the manifest and once for the files, so
+ * memory stays bounded by one publication and one copy buffer regardless of bundle size.
+ */
+@Service
+public class EvidenceBundleService {
+    
+    private static final List<String> EVIDENCE_STATUSES = List.of("APPROVED", "LOCKED");
+    
+    // type -> collection, folder, title field, year field, document fields
+    private static final List<EvidenceType> TYPES = List.of(
+            new EvidenceType("JOURNAL", DataVersionService.JOURNALS, "journals", "title", "year",
+                    List.of("acceptanceMailPath", "publishedPaperPath", "indexProofPath", "proofDocumentPath")),
+            new EvidenceType("CONFERENCE", DataVersionService.CONFERENCES, "conferences", "title", "year",
+                    List.of("registrationReceiptPath", "certificatePath", "proofDocumentPath")),
+            new EvidenceType("PATENT", DataVersionService.PATENTS, "patents", "title", "year",
+                    List.of("filingProofPath", "publicationCertificatePath", "grantCertificatePath", "proofDocumentPath")),
+            new EvidenceType("BOOK_CHAPTER", DataVersionService.BOOK_CHAPTERS, "book_chapters", "title", "year",
+                    List.of("chapterPdfPath", "isbnProofPath", "proofDocumentPath")),
+            new EvidenceType("BOOK", DataVersionService.BOOKS, "books", "bookTitle", "publicationYear",
+                    List.of("bookCoverPath", "isbnProofPath"))
+    );
+    
+    private static final String[] MANIFEST_HEADER = {"publicationType", "publicationId", "owner", "year", "title",
+            "approvalStatus", "document", "storedPath", "zipEntry", "sizeBytes", "status"};
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
+    @Autowired
+    private FileStorageService fileStorageService;
+    
+    @Autowired
+    private FacultyProfileCache facultyProfileCache;
+    
+    @Autowired
+    private StudentProfileRepository studentProfileRepository;
+    
+    public void writeBundle(String reportType, Integer year, String facultyId, OutputStream out) throws IOException {
+        Map<String, String> studentNames = new HashMap<>();
+        ZipOutputStream zip = new ZipOutputStream(out);
+        
+        // Pass 1: manifest.csv, so auditors can open it before the PDFs finish downloading
+        zip.putNextEntry(new ZipEntry("manifest.csv"));
+        Writer manifest = new OutputStreamWriter(zip, StandardCharsets.UTF_8);
+        manifest.write("# " + reportType + " evidence bundle, year=" + (year != null ? year : "all")
+                + (facultyId != null ? ", facultyId=" + facultyId : "") + "\n");
+        writeCsvRow(manifest, MANIFEST_HEADER);
+        forEachDocument(year, facultyId, studentNames, (item, document, storedPath) -> {
+            long size = fileStorageService.storedFileSize(storedPath);
+            writeCsvRow(manifest, item.type.name, item.id, item.owner, item.year, item.title, item.approvalStatus,
+                    document, storedPath, size >= 0 ? item.entryName(document) : "",
+                    String.valueOf(Math.max(size, 0)), size >= 0 ? "INCLUDED" : "MISSING");
+        });
+        manifest.flush();
+        zip.closeEntry();
+        
+        // Pass 2: the PDFs themselves, STORED since they are already compressed
+        byte[] buffer = new byte[64 * 1024];
+        forEachDocument(year, facultyId, studentNames, (item, document, storedPath) -> {
+            // Remote blobs are fetched once to a temp file, which serves both the CRC pass and the copy
+            try (FileStorageService.LocalCopy copy = fetch(storedPath)) {
+                // Skip files removed since the manifest pass rather than failing the whole download
+                if (copy == null || !Files.isRegularFile(copy.path())) {
+                    return;
+                }
+                Path file = copy.path();
+                ZipEntry entry = new ZipEntry(item.entryName(document));
+                entry.setMethod(ZipEntry.STORED);
+                entry.setSize(Files.size(file));
+                entry.setCrc(crc32(file, buffer));
+                zip.putNextEntry(entry);
+                try (InputStream in = Files.newInputStream(file)) {
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        zip.write(buffer, 0, read);
+                    }
+                }
+                zip.closeEntry();
+            }
+        });
+        
+        // finish() rather than close(): the servlet container owns the response stream
+        zip.finish();
+        zip.flush();
+    }
+    
+    private void forEachDocument(Integer year, String facultyId, Map<String, String> studentNames,
+                                 DocumentVisitor visitor) throws IOException {
+        Map<String, String> facultyNames = facultyProfileCache.getNameMap();
+        for (EvidenceType type : TYPES) {
+            Query query = new Query(Criteria.where("approvalStatus").in(EVIDENCE_STATUSES));
+            if (year != null) {
+                query.addCriteria(Criteria.where(type.yearField).is(year));
+            }
+            if (facultyId != null) {
+                query.addCriteria(Criteria.where("facultyId").is(facultyId));
+            }
+            query.fields().include("facultyId", "studentId", "approvalStatus", type.titleField, type.yearField);
+            type.documentFields.forEach(field -> query.fields().include(field));
+            
+            try (Stream<Document> publications = mongoTemplate.stream(query, Document.class, type.collection)) {
+                Iterator<Document> iterator = publications.iterator();
+                while (iterator.hasNext()) {
+                    Document publication = iterator.next();
+                    EvidenceItem item = new EvidenceItem(type, publication, owner(publication, facultyNames, studentNames));
+                    for (String field : type.documentFields) {
+                        String storedPath = publication.getString(field);
+                        if (storedPath == null || storedPath.isBlank()) {
+                            continue;
+                        }
+                        visitor.visit(item, documentName(field), storedPath);
+                    }
+                }
+            }
+        }
+    }
+    
+    private FileStorageService.LocalCopy fetch(String storedPath) {
+        try {
+            return fileStorageService.fetchStoredFile(storedPath);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+    
+    private String owner(Document publication, Map<String, String> facultyNames, Map<String, String> studentNames) {
+        String facultyId = publication.getString("facultyId");
+        if (facultyId != null) {
+            return facultyNames.getOrDefault(facultyId, facultyId);
+        }
+        String studentId = publication.getString("studentId");
+        if (studentId != null) {
+            return studentNames.computeIfAbsent(studentId, id -> studentProfileRepository.findById(id)
+                    .map(StudentProfile::getName).map(name -> "Student " + name).orElse("Student " + id));
+        }
+        return "Unassigned";
+    }
+    
+    // acceptanceMailPath -> acceptanceMail
+    private static String documentName(String field) {
+        return field.substring(0, field.length() - "Path".length());
+    }
+    
+    private static long crc32(Path file, byte[] buffer) throws IOException {
+        CRC32 crc = new CRC32();
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+    
+    private static void writeCsvRow(Writer writer, String... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String value = values[i] != null ? values[i] : "";
+            if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+                value = "\"" + value.replace("\"", "\"\"") + "\"";
+            }
+            writer.write(value);
+        }
+        writer.write('\n');
+    }
+    
+    private static String slug(String value, int maxLength) {
+        String slug = value == null ? "" : value.replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_+|_+$", "");
+        if (slug.isEmpty()) {
+            slug = "untitled";
+        }
+        return slug.length() > maxLength ? slug.substring(0, maxLength) : slug;
+    }
+    
+    @FunctionalInterface
+    private interface DocumentVisitor {
+        void visit(EvidenceItem item, String document, String storedPath) throws IOException;
+    }
+    
+    private record EvidenceType(String name, String collection, String folder, String titleField, String yearField,
+                                List<String> documentFields) {
+    }
+    
+    private static final class EvidenceItem {
+        private final EvidenceType type;
+        private final String id;
+        private final String owner;
+        private final String year;
+        private final String title;
+        private final String approvalStatus;
+        private final String folder;
+        
+        EvidenceItem(EvidenceType type, Document publication, String owner) {
+            this.type = type;
+            this.id = String.valueOf(publication.get("_id"));
+            this.owner = owner;
+            Object yearValue = publication.get(type.yearField);
+            this.year = yearValue != null ? yearValue.toString() : "";
+            this.title = publication.getString(type.titleField);
+            this.approvalStatus = publication.getString("approvalStatus");
+            this.folder = slug(owner, 60) + "/" + type.folder + "/"
+                    + (year.isEmpty() ? "" : year + "_") + slug(title, 60) + "_" + id;
+        }
+        
+        String entryName(String document) {
+            return folder + "/" + document + ".pdf";
+        }
+    }
+}
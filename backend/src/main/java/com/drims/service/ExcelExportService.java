@@ -1,7 +1,7 @@
 package com.drims.service;
 
 import com.drims.entity.*;
-import com.drims.repository.*;
+import com.drims.jfr.ExportEvent;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +9,7 @@ import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -16,26 +17,14 @@ import java.util.Map;
 public class ExcelExportService {
     
     @Autowired
-    private JournalRepository journalRepository;
+    private PublicationStore publicationStore;
     
     @Autowired
-    private ConferenceRepository conferenceRepository;
-    
-    @Autowired
-    private PatentRepository patentRepository;
-    
-    @Autowired
-    private BookChapterRepository bookChapterRepository;
-    
-    @Autowired
-    private BookRepository bookRepository;
-    
-    @Autowired
-    private FacultyProfileRepository facultyProfileRepository;
+    private FacultyProfileCache facultyProfileCache;
     
 
     
-    private void createJournalSheet(Workbook workbook, Integer year, Map<String, String> facultyNames) {
+    private void createJournalSheet(Workbook workbook, List<Journal> journals, Map<String, String> facultyNames, ExportEvent event) {
         Sheet sheet = workbook.createSheet("Journals");
         int rowNum = 0;
         
@@ -45,7 +34,6 @@ public class ExcelExportService {
         createHeaderRow(headerRow, headers, workbook);
         
         // Data
-        List<Journal> journals = year != null ? journalRepository.findByYear(year) : journalRepository.findAll();
         for (Journal journal : journals) {
             Row row = sheet.createRow(rowNum++);
             String facultyName = facultyNames.getOrDefault(journal.getFacultyId(), "");
@@ -61,38 +49,59 @@ public class ExcelExportService {
             row.createCell(9).setCellValue(journal.getImpactFactor() != null ? journal.getImpactFactor() : "");
             row.createCell(10).setCellValue(journal.getStatus());
         }
+        event.addRows(journals.size(), journals.size());
         
         // autoSizeColumns(sheet, headers.length); // Disabled for performance
     }
     
     public byte[] exportToExcel(Integer year, String category) throws IOException {
+        ExportEvent event = new ExportEvent();
+        event.begin();
         Workbook workbook = new XSSFWorkbook();
         
-        // Optimize: Fetch all faculty names once
-        List<FacultyProfile> profiles = facultyProfileRepository.findAll();
-        java.util.Map<String, String> facultyNames = profiles.stream()
-            .collect(java.util.stream.Collectors.toMap(FacultyProfile::getId, FacultyProfile::getName, (a, b) -> a));
+        // Faculty names come from the shared profile cache
+        Map<String, String> facultyNames = facultyProfileCache.getNameMap();
 
+        // Every requested sheet's rows in one fetch (one query in unified storage mode)
+        List<String> types = new ArrayList<>();
         if (category == null || category.equals("Journals")) {
-            createJournalSheet(workbook, year, facultyNames);
+            types.add(PublicationStore.JOURNAL);
         }
         if (category == null || category.equals("Conferences")) {
-            createConferenceSheet(workbook, year, facultyNames);
+            types.add(PublicationStore.CONFERENCE);
         }
         if (category == null || category.equals("Patents")) {
-            createPatentSheet(workbook, year, facultyNames);
+            types.add(PublicationStore.PATENT);
         }
         if (category == null || category.equals("BookChapters")) {
-            createBookChapterSheet(workbook, year, facultyNames);
+            types.add(PublicationStore.BOOK_CHAPTER);
         }
         if (category == null || category.equals("Books")) {
-            createBookSheet(workbook, year, facultyNames);
+            types.add(PublicationStore.BOOK);
+        }
+        PublicationStore.Publications publications = publicationStore.findByYear(year, types);
+
+        if (types.contains(PublicationStore.JOURNAL)) {
+            createJournalSheet(workbook, publications.getJournals(), facultyNames, event);
+        }
+        if (types.contains(PublicationStore.CONFERENCE)) {
+            createConferenceSheet(workbook, publications.getConferences(), facultyNames, event);
+        }
+        if (types.contains(PublicationStore.PATENT)) {
+            createPatentSheet(workbook, publications.getPatents(), facultyNames, event);
+        }
+        if (types.contains(PublicationStore.BOOK_CHAPTER)) {
+            createBookChapterSheet(workbook, publications.getBookChapters(), facultyNames, event);
+        }
+        if (types.contains(PublicationStore.BOOK)) {
+            createBookSheet(workbook, publications.getBooks(), facultyNames, event);
         }
         
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
         workbook.write(outputStream);
         workbook.close();
         
+        event.finish("research-data", category, year, outputStream.size());
         return outputStream.toByteArray();
     }
     
@@ -100,7 +109,7 @@ public class ExcelExportService {
     // Actually I need to be careful not to overwrite the previously edited createJournalSheet if I select a large range.
     // I will target from createConferenceSheet onwards.
 
-    private void createConferenceSheet(Workbook workbook, Integer year, java.util.Map<String, String> facultyNames) {
+    private void createConferenceSheet(Workbook workbook, List<Conference> conferences, java.util.Map<String, String> facultyNames, ExportEvent event) {
         Sheet sheet = workbook.createSheet("Conferences");
         int rowNum = 0;
         
@@ -108,7 +117,6 @@ public class ExcelExportService {
         String[] headers = {"Faculty Name", "Title", "Conference Name", "Authors", "Year", "Location", "Date", "Status"};
         createHeaderRow(headerRow, headers, workbook);
         
-        List<Conference> conferences = year != null ? conferenceRepository.findByYear(year) : conferenceRepository.findAll();
         for (Conference conference : conferences) {
             Row row = sheet.createRow(rowNum++);
             String facultyName = facultyNames.getOrDefault(conference.getFacultyId(), "");
@@ -121,9 +129,10 @@ public class ExcelExportService {
             row.createCell(6).setCellValue(conference.getDate() != null ? conference.getDate() : "");
             row.createCell(7).setCellValue(conference.getStatus());
         }
+        event.addRows(conferences.size(), conferences.size());
     }
     
-    private void createPatentSheet(Workbook workbook, Integer year, java.util.Map<String, String> facultyNames) {
+    private void createPatentSheet(Workbook workbook, List<Patent> patents, java.util.Map<String, String> facultyNames, ExportEvent event) {
         Sheet sheet = workbook.createSheet("Patents");
         int rowNum = 0;
         
@@ -131,7 +140,6 @@ public class ExcelExportService {
         String[] headers = {"Faculty Name", "Title", "Patent Number", "Inventors", "Year", "Country", "Status"};
         createHeaderRow(headerRow, headers, workbook);
         
-        List<Patent> patents = year != null ? patentRepository.findByYear(year) : patentRepository.findAll();
         for (Patent patent : patents) {
             Row row = sheet.createRow(rowNum++);
             String facultyName = facultyNames.getOrDefault(patent.getFacultyId(), "");
@@ -143,9 +151,10 @@ public class ExcelExportService {
             row.createCell(5).setCellValue(patent.getCountry() != null ? patent.getCountry() : "");
             row.createCell(6).setCellValue(patent.getStatus());
         }
+        event.addRows(patents.size(), patents.size());
     }
     
-    private void createBookChapterSheet(Workbook workbook, Integer year, java.util.Map<String, String> facultyNames) {
+    private void createBookChapterSheet(Workbook workbook, List<BookChapter> bookChapters, java.util.Map<String, String> facultyNames, ExportEvent event) {
         Sheet sheet = workbook.createSheet("Book Chapters");
         int rowNum = 0;
         
@@ -153,7 +162,6 @@ public class ExcelExportService {
         String[] headers = {"Faculty Name", "Title", "Book Title", "Authors", "Editors", "Publisher", "Year", "Pages", "ISBN", "Status"};
         createHeaderRow(headerRow, headers, workbook);
         
-        List<BookChapter> bookChapters = year != null ? bookChapterRepository.findByYear(year) : bookChapterRepository.findAll();
         for (BookChapter bookChapter : bookChapters) {
             Row row = sheet.createRow(rowNum++);
             String facultyName = facultyNames.getOrDefault(bookChapter.getFacultyId(), "");
@@ -168,9 +176,10 @@ public class ExcelExportService {
             row.createCell(8).setCellValue(bookChapter.getIsbn() != null ? bookChapter.getIsbn() : "");
             row.createCell(9).setCellValue(bookChapter.getStatus());
         }
+        event.addRows(bookChapters.size(), bookChapters.size());
     }
     
-    private void createBookSheet(Workbook workbook, Integer year, java.util.Map<String, String> facultyNames) {
+    private void createBookSheet(Workbook workbook, List<Book> books, java.util.Map<String, String> facultyNames, ExportEvent event) {
         Sheet sheet = workbook.createSheet("Books");
         int rowNum = 0;
         
@@ -178,7 +187,6 @@ public class ExcelExportService {
         String[] headers = {"Faculty Name", "Book Title", "Publisher", "ISBN", "Publication Year", "Category", "Role", "Status"};
         createHeaderRow(headerRow, headers, workbook);
         
-        List<Book> books = year != null ? bookRepository.findByPublicationYear(year) : bookRepository.findAll();
         for (Book book : books) {
             Row row = sheet.createRow(rowNum++);
             String facultyName = facultyNames.getOrDefault(book.getFacultyId(), "");
@@ -191,6 +199,7 @@ public class ExcelExportService {
             row.createCell(6).setCellValue(book.getRole() != null ? book.getRole() : "");
             row.createCell(7).setCellValue(book.getApprovalStatus() != null ? book.getApprovalStatus() : "");
         }
+        event.addRows(books.size(), books.size());
     }
     
     private void createHeaderRow(Row headerRow, String[] headers, Workbook workbook) {
@@ -216,6 +225,8 @@ public class ExcelExportService {
     
     // Export report data to Excel
     public byte[] exportReportToExcel(Map<String, Object> reportData, String reportType) throws IOException {
+        ExportEvent event = new ExportEvent();
+        event.begin();
         Workbook workbook = new XSSFWorkbook();
         Sheet sheet = workbook.createSheet(reportType + " Report");
         int rowNum = 0;
@@ -246,11 +257,14 @@ public class ExcelExportService {
                 row.createCell(1).setCellValue(entry.getValue().toString());
             }
         }
+        event.addRows(0, reportData.size());
         
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
         workbook.write(outputStream);
         workbook.close();
         
+        Object year = reportData.get("year");
+        event.finish("report", reportType, year instanceof Integer y ? y : null, outputStream.size());
         return outputStream.toByteArray();
     }
 }
@@ -0,0 +1,198 @@
+package com.drims.service;
+
+import com.drims.entity.FacultyProfile;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Matches free-text author names from imported files ("Dr. S V Phani Kumar", "Phani Kumar S.V.",
+ * "Mr.R. Prathap Kumar") to faculty profiles. Names are compared after dropping honorifics and
+ * punctuation, first as written, then as an order-insensitive set of the non-initial tokens, then
+ * as surname plus initials ("Satti S.K."). Scopus author ids and ORCID iDs from bibliographic
+ * exports are matched against the ids stored on the profiles. A key shared by two faculty
+ * members is ambiguous and never matches.
+ */
+@Component
+public class FacultyNameMatcher {
+    
+    private static final Set<String> HONORIFICS = Set.of("dr", "prof", "professor", "mr", "mrs", "ms", "miss", "sri", "smt");
+    
+    @Autowired
+    private FacultyProfileCache facultyProfileCache;
+    
+    // Rebuilt whenever the cache hands out a new profile list (after any profile change)
+    private volatile Index index;
+    
+    public Optional<String> match(String name) {
+        String normalized = normalize(name);
+        if (normalized.isEmpty()) {
+            return Optional.empty();
+        }
+        Index current = index();
+        String id = current.byName.get(normalized);
+        if (id == null) {
+            id = current.byTokens.get(tokenKey(normalized));
+        }
+        if (id == null) {
+            id = current.byInitials.get(initialsKey(normalized));
+        }
+        return Optional.ofNullable(id).filter(match -> !match.isEmpty());
+    }
+    
+    // First faculty member whose Scopus author id or ORCID iD appears in a ;/, separated id list
+    public Optional<String> matchAuthorIds(String ids) {
+        if (ids == null) {
+            return Optional.empty();
+        }
+        Index current = index();
+        for (String id : ids.split("\\s*[,;|]\\s*")) {
+            String match = current.byAuthorId.get(authorIdKey(id));
+            if (match != null && !match.isEmpty()) {
+                return Optional.of(match);
+            }
+        }
+        return Optional.empty();
+    }
+    
+    // First faculty member found in a comma/semicolon/"and" separated author list
+    public Optional<String> matchFirst(String names) {
+        if (names == null) {
+            return Optional.empty();
+        }
+        for (String name : names.split("\\s*(?:[,;&\\n]|\\band\\b)\\s*")) {
+            Optional<String> id = match(name);
+            if (id.isPresent()) {
+                return id;
+            }
+        }
+        return Optional.empty();
+    }
+    
+    static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder();
+        for (String token : name.toLowerCase().replaceAll("[^a-z]+", " ").trim().split(" ")) {
+            if (token.isEmpty() || HONORIFICS.contains(token)) {
+                continue;
+            }
+            if (normalized.length() > 0) {
+                normalized.append(' ');
+            }
+            normalized.append(token);
+        }
+        return normalized.toString();
+    }
+    
+    // "r prathap kumar" and "prathap kumar r" both become "kumar prathap"
+    private static String tokenKey(String normalized) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : normalized.split(" ")) {
+            if (token.length() > 1) {
+                tokens.add(token);
+            }
+        }
+        Collections.sort(tokens);
+        return String.join(" ", tokens);
+    }
+    
+    // "satti s k" -> "satti k s": the one full token is the surname, the rest must be initials
+    private static String initialsKey(String normalized) {
+        String surname = null;
+        List<String> initials = new ArrayList<>();
+        for (String token : normalized.split(" ")) {
+            if (token.length() == 1) {
+                initials.add(token);
+            } else if (surname == null) {
+                surname = token;
+            } else {
+                return "";
+            }
+        }
+        if (surname == null || initials.isEmpty()) {
+            return "";
+        }
+        Collections.sort(initials);
+        return surname + " " + String.join(" ", initials);
+    }
+    
+    // A profile name yields one initials key per choice of surname: "satish kumar satti" -> "satti k s", ...
+    private static List<String> initialsKeys(String normalized) {
+        String[] tokens = normalized.split(" ");
+        List<String> keys = new ArrayList<>();
+        if (tokens.length < 2) {
+            return keys;
+        }
+        for (int i = 0; i < tokens.length; i++) {
+            if (tokens[i].length() < 2) {
+                continue;
+            }
+            List<String> initials = new ArrayList<>();
+            for (int j = 0; j < tokens.length; j++) {
+                if (j != i) {
+                    initials.add(tokens[j].substring(0, 1));
+                }
+            }
+            Collections.sort(initials);
+            keys.add(tokens[i] + " " + String.join(" ", initials));
+        }
+        return keys;
+    }
+    
+    // ORCID iDs are compared without the URL prefix and hyphens, Scopus ids as digits
+    private static String authorIdKey(String id) {
+        return id == null ? "" : id.toLowerCase().replaceFirst("^https?://orcid\\.org/", "").replaceAll("[^0-9x]", "");
+    }
+    
+    private Index index() {
+        List<FacultyProfile> profiles = facultyProfileCache.findAll();
+        Index current = index;
+        if (current != null && current.profiles == profiles) {
+            return current;
+        }
+        Index built = new Index(profiles);
+        for (FacultyProfile profile : profiles) {
+            String normalized = normalize(profile.getName());
+            if (normalized.isEmpty()) {
+                continue;
+            }
+            put(built.byName, normalized, profile.getId());
+            put(built.byTokens, tokenKey(normalized), profile.getId());
+            for (String key : initialsKeys(normalized)) {
+                put(built.byInitials, key, profile.getId());
+            }
+        }
+        for (FacultyProfile profile : profiles) {
+            put(built.byAuthorId, authorIdKey(profile.getScopusId()), profile.getId());
+            put(built.byAuthorId, authorIdKey(profile.getOrcidId()), profile.getId());
+        }
+        index = built;
+        return built;
+    }
+    
+    // An empty id marks a key claimed by more than one faculty member
+    private static void put(Map<String, String> keys, String key, String id) {
+        if (key.isEmpty()) {
+            return;
+        }
+        String existing = keys.putIfAbsent(key, id);
+        if (existing != null && !existing.equals(id)) {
+            keys.put(key, "");
+        }
+    }
+    
+    private static final class Index {
+        private final List<FacultyProfile> profiles;
+        private final Map<String, String> byName = new HashMap<>();
+        private final Map<String, String> byTokens = new HashMap<>();
+        private final Map<String, String> byInitials = new HashMap<>();
+        private final Map<String, String> byAuthorId = new HashMap<>();
+        
+        Index(List<FacultyProfile> profiles) {
+            this.profiles = profiles;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.drims.service;
+
+import com.drims.entity.FacultyProfile;
+import com.drims.repository.FacultyProfileRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Read-through cache for faculty profiles. Profiles are read on nearly every request
+ * (auth, reports, exports, approvals) but change only on profile edits and seed loads,
+ * which must call {@link #evict(FacultyProfile)} or {@link #invalidateAll()}.
+ */
+@Component
+public class FacultyProfileCache {
+
+    private static final String ALL_KEY = "all";
+
+    @Autowired
+    private FacultyProfileRepository facultyProfileRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${cache.faculty-profiles.max-size:10000}")
+    private long maxSize;
+
+    @Value("${cache.faculty-profiles.expire-minutes:30}")
+    private long expireMinutes;
+
+    private Cache<String, Optional<FacultyProfile>> byId;
+    private Cache<String, Optional<FacultyProfile>> byEmail;
+    private Cache<String, Optional<FacultyProfile>> byUserId;
+    private Cache<String, List<FacultyProfile>> allProfiles;
+    private Cache<String, Map<String, String>> namesById;
+
+    @PostConstruct
+    public void init() {
+        byId = newCache("faculty.byId", maxSize);
+        byEmail = newCache("faculty.byEmail", maxSize);
+        byUserId = newCache("faculty.byUserId", maxSize);
+        allProfiles = newCache("faculty.all", 1);
+        namesById = newCache("faculty.namesById", 1);
+    }
+
+    public Optional<FacultyProfile> findById(String id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return byId.get(id, facultyProfileRepository::findById);
+    }
+
+    public Optional<FacultyProfile> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return byEmail.get(email, facultyProfileRepository::findByEmail);
+    }
+
+    public Optional<FacultyProfile> findByUserId(String userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        return byUserId.get(userId, facultyProfileRepository::findByUserId);
+    }
+
+    public List<FacultyProfile> findAll() {
+        return allProfiles.get(ALL_KEY, key -> {
+            List<FacultyProfile> profiles = List.copyOf(facultyProfileRepository.findAll());
+            // Warm the id cache so per-id lookups after a list load don't go to Mongo
+            profiles.forEach(profile -> byId.put(profile.getId(), Optional.of(profile)));
+            return profiles;
+        });
+    }
+
+    // facultyId -> name, shared by reports, exports and analytics
+    public Map<String, String> getNameMap() {
+        return namesById.get(ALL_KEY, key -> {
+            Map<String, String> names = new HashMap<>();
+            for (FacultyProfile profile : findAll()) {
+                names.putIfAbsent(profile.getId(), profile.getName());
+            }
+            return Collections.unmodifiableMap(names);
+        });
+    }
+
+    public String getName(String facultyId) {
+        return findById(facultyId).map(FacultyProfile::getName).orElse(null);
+    }
+
+    // Write-through invalidation for a single profile
+    public void evict(FacultyProfile profile) {
+        if (profile.getId() != null) {
+            byId.invalidate(profile.getId());
+        }
+        if (profile.getEmail() != null) {
+            byEmail.invalidate(profile.getEmail());
+        }
+        if (profile.getUserId() != null) {
+            byUserId.invalidate(profile.getUserId());
+        }
+        allProfiles.invalidateAll();
+        namesById.invalidateAll();
+    }
+
+    public void invalidateAll() {
+        byId.invalidateAll();
+        byEmail.invalidateAll();
+        byUserId.invalidateAll();
+        allProfiles.invalidateAll();
+        namesById.invalidateAll();
+    }
+
+    public Map<String, Map<String, Object>> getStats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        stats.put("byId", describe(byId));
+        stats.put("byEmail", describe(byEmail));
+        stats.put("byUserId", describe(byUserId));
+        stats.put("allProfiles", describe(allProfiles));
+        stats.put("namesById", describe(namesById));
+        return stats;
+    }
+
+    // Hit/miss/eviction counts are exported as cache.* meters tagged with the cache name
+    private <V> Cache<String, V> newCache(String name, long size) {
+        Cache<String, V> cache = Caffeine.newBuilder()
+                .maximumSize(size)
+                .expireAfterWrite(Duration.ofMinutes(expireMinutes))
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+    }
+
+    private static Map<String, Object> describe(Cache<String, ?> cache) {
+        CacheStats cacheStats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hits", cacheStats.hitCount());
+        result.put("misses", cacheStats.missCount());
+        result.put("hitRate", cacheStats.hitRate());
+        result.put("evictions", cacheStats.evictionCount());
+        return result;
+    }
+}
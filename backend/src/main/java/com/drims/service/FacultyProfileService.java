@@ -21,8 +21,11 @@ public class FacultyProfileService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private FacultyProfileCache facultyProfileCache;
+    
     public FacultyProfileDTO getProfileByEmail(String email) {
-        FacultyProfile profile = facultyProfileRepository.findByEmail(email)
+        FacultyProfile profile = facultyProfileCache.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("Profile not found"));
         return convertToDTO(profile);
     }
@@ -41,17 +44,18 @@ public class FacultyProfileService {
         profile.setUpdatedAt(LocalDateTime.now());
         
         profile = facultyProfileRepository.save(profile);
+        facultyProfileCache.evict(profile);
         return convertToDTO(profile);
     }
     
     public List<FacultyProfileDTO> getAllProfiles() {
-        return facultyProfileRepository.findAll().stream()
+        return facultyProfileCache.findAll().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
     
     public FacultyProfileDTO getProfileById(String id) {
-        FacultyProfile profile = facultyProfileRepository.findById(id)
+        FacultyProfile profile = facultyProfileCache.findById(id)
                 .orElseThrow(() -> new RuntimeException("Profile not found"));
         return convertToDTO(profile);
     }
@@ -0,0 +1,163 @@
+package com.drims.service;
+
+import com.drims.entity.FileBlob;
+import com.drims.entity.StoredFile;
+import com.drims.repository.StoredFileRepository;
+import com.drims.storage.StorageBackend;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Moves files written under their logical path (before the content-addressed store existed)
+ * into the blob store and reports how much disk the deduplication saves. Safe to re-run:
+ * files that already have a StoredFile reference are skipped.
+ */
+@Service
+public class FileStorageMigrationService {
+    
+    @Autowired
+    private FileStorageService fileStorageService;
+    
+    @Autowired
+    private StoredFileRepository storedFileRepository;
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
+    @Autowired
+    private StorageBackend storageBackend;
+    
+    public synchronized Map<String, Object> migrateLegacyFiles() {
+        Path root = fileStorageService.uploadRoot();
+        long[] counters = new long[6]; // scanned, migrated, duplicates, skipped, failed, bytesReclaimed
+        
+        if (Files.isDirectory(root)) {
+            try {
+                Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                    @Override
+                    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                        if (dir.equals(root.resolve(FileStorageService.BLOBS_DIR))
+                                || dir.equals(root.resolve(FileStorageService.TMP_DIR))
+                                || dir.equals(root.resolve(FileStorageService.QUARANTINE_DIR))) {
+                            return FileVisitResult.SKIP_SUBTREE;
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+                    
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                        counters[0]++;
+                        String logicalPath = root.relativize(file).toString().replace("\\", "/");
+                        if (storedFileRepository.existsByPath(logicalPath)) {
+                            counters[3]++;
+                            return FileVisitResult.CONTINUE;
+                        }
+                        try {
+                            if (migrateFile(file, logicalPath, attrs.size())) {
+                                counters[2]++;
+                                counters[5] += attrs.size();
+                            }
+                            counters[1]++;
+                        } catch (Exception e) {
+                            counters[4]++;
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+                    
+                    @Override
+                    public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                        // Remove the per-user directories that are now empty
+                        if (!dir.equals(root)) {
+                            try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+                                if (!entries.iterator().hasNext()) {
+                                    Files.delete(dir);
+                                }
+                            }
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            } catch (IOException e) {
+                throw new RuntimeException("File migration failed: " + e.getMessage(), e);
+            }
+        }
+        
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("scannedFiles", counters[0]);
+        report.put("migratedFiles", counters[1]);
+        report.put("duplicateFiles", counters[2]);
+        report.put("alreadyMigrated", counters[3]);
+        report.put("failedFiles", counters[4]);
+        report.put("bytesReclaimed", counters[5]);
+        report.put("storage", getStorageReport());
+        return report;
+    }
+    
+    // Logical bytes (what users uploaded) against physical bytes (what is in the blob store)
+    public Map<String, Object> getStorageReport() {
+        Document references = totals(StoredFile.class);
+        Document blobs = totals(FileBlob.class);
+        long logicalBytes = references.get("bytes", Number.class).longValue();
+        long physicalBytes = blobs.get("bytes", Number.class).longValue();
+        
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("backend", storageBackend.getName());
+        report.put("references", references.get("count", Number.class).longValue());
+        report.put("blobs", blobs.get("count", Number.class).longValue());
+        report.put("logicalBytes", logicalBytes);
+        report.put("physicalBytes", physicalBytes);
+        report.put("bytesSaved", logicalBytes - physicalBytes);
+        return report;
+    }
+    
+    // Returns true when the content was already in the blob store (the legacy copy is dropped)
+    private boolean migrateFile(Path file, String logicalPath, long size) throws IOException {
+        MessageDigest digest = FileStorageService.newDigest();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        String sha256 = HexFormat.of().formatHex(digest.digest());
+        
+        // Reference first: until the blob exists, loadFile keeps serving the legacy copy
+        String[] segments = logicalPath.split("/");
+        StoredFile storedFile = new StoredFile();
+        storedFile.setPath(logicalPath);
+        storedFile.setSha256(sha256);
+        storedFile.setOwnerType(segments.length > 1 ? segments[0] : null);
+        storedFile.setOwnerId(segments.length > 2 ? segments[1] : null);
+        storedFile.setCategory(segments.length > 3 ? segments[2] : null);
+        storedFile.setOriginalFilename(file.getFileName().toString());
+        storedFile.setSize(size);
+        storedFile.setCreatedAt(LocalDateTime.now());
+        storedFile = storedFileRepository.save(storedFile);
+        
+        try {
+            return fileStorageService.linkBlob(sha256, size, file);
+        } catch (IOException | RuntimeException e) {
+            storedFileRepository.delete(storedFile);
+            throw e;
+        }
+    }
+    
+    private Document totals(Class<?> entityClass) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.group().count().as("count").sum("size").as("bytes"));
+        Document result = mongoTemplate.aggregate(aggregation, entityClass, Document.class).getUniqueMappedResult();
+        return result != null ? result : new Document("count", 0L).append("bytes", 0L);
+    }
+}
@@ -1,24 +1,104 @@
 package com.drims.service;
 
+import com.drims.entity.FileBlob;
+import com.drims.entity.FilePreview;
+import com.drims.entity.StoredFile;
+import com.drims.repository.StoredFileRepository;
+import com.drims.storage.StorageBackend;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Content-addressed upload store. Uploads are validated and hashed (SHA-256) in a single pass
+ * while they stream to a temp file, then kept once under the key blobs/aa/bb/&lt;sha256&gt;.pdf in
+ * the configured StorageBackend (local disk or an S3-compatible bucket).
+ * Each upload still gets its own logical path (userType/userId/category/uuid.pdf), recorded as
+ * a StoredFile that references the blob, so paths saved on publications keep working. Files written before this store existed are
+ * served from their logical path until FileStorageMigrationService moves them.
+ */
 @Service
 public class FileStorageService {
     
+    static final String BLOBS_DIR = "blobs";
+    static final String TMP_DIR = "tmp";
+    static final String QUARANTINE_DIR = "quarantine";
+    
+    public static final long MAX_FILE_SIZE = 10 * 1024 * 1024;
+    private static final byte[] PDF_MAGIC = "%PDF-".getBytes(StandardCharsets.US_ASCII);
+    
+    // Striped locks so a blob is never deleted while another upload of the same content links it.
+    // They only cover this process; across instances the FileBlob document's deletingAt does (see unlinkBlob).
+    private static final Object[] BLOB_LOCKS = new Object[64];
+    
+    // A link that finds the content mid-delete polls for this long before giving up
+    private static final long LINK_WAIT_MILLIS = 50;
+    private static final int LINK_ATTEMPTS = 100;
+    // A delete still unfinished after this is taken to have died with its instance
+    private static final Duration STALE_DELETE = Duration.ofMinutes(15);
+    
+    static {
+        for (int i = 0; i < BLOB_LOCKS.length; i++) {
+            BLOB_LOCKS[i] = new Object();
+        }
+    }
+    
     @Value("${file.upload.dir}")
     private String uploadDir;
     
+    @Autowired
+    private StoredFileRepository storedFileRepository;
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
+    @Autowired
+    private StorageQuotaService storageQuotaService;
+    
+    @Autowired
+    private StorageBackend storageBackend;
+    
+    @Autowired
+    private DomainMetrics domainMetrics;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        mongoTemplate.indexOps(StoredFile.class).ensureIndex(new Index().on("path", Sort.Direction.ASC).unique());
+        mongoTemplate.indexOps(StoredFile.class).ensureIndex(new Index().on("sha256", Sort.Direction.ASC));
+    }
+    
     // Store file for faculty
     public String storeFile(MultipartFile file, String facultyId, String category) {
         return storeFileForUser(file, "faculty", facultyId, category);
@@ -29,6 +109,17 @@ public class FileStorageService {
         return storeFileForUser(file, "student", studentId, category);
     }
     
+    // Store a raw request body for faculty or student, validated as it streams in
+    public String storeStream(InputStream in, long declaredLength, String userType, String userId,
+                              String category, String originalFilename) {
+        // Reject oversized bodies from the header alone, before reading anything
+        if (declaredLength > MAX_FILE_SIZE) {
+            throw new RuntimeException("File size exceeds 10MB limit");
+        }
+        storageQuotaService.checkQuota(userType, userId, declaredLength);
+        return storeValidatedStream(in, userType, userId, category, originalFilename);
+    }
+    
     // Generic file storage method
     private String storeFileForUser(MultipartFile file, String userType, String userId, String category) {
         if (file == null || file.isEmpty()) {
@@ -36,7 +127,7 @@ public class FileStorageService {
         }
         
         // Validate file size (max 10MB)
-        if (file.getSize() > 10 * 1024 * 1024) {
+        if (file.getSize() > MAX_FILE_SIZE) {
             throw new RuntimeException("File size exceeds 10MB limit");
         }
         
@@ -52,33 +143,175 @@ public class FileStorageService {
             throw new RuntimeException("Only PDF files are allowed");
         }
         
+        storageQuotaService.checkQuota(userType, userId, file.getSize());
+        
+        try (InputStream in = file.getInputStream()) {
+            return storeValidatedStream(in, userType, userId, category, originalFilename);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store file: " + e.getMessage(), e);
+        }
+    }
+    
+    // Shared by multipart and raw-body uploads: one pass to a temp file, then an atomic move into the blob store
+    private String storeValidatedStream(InputStream in, String userType, String userId, String category,
+                                        String originalFilename) {
+        // Generate unique logical filename
+        String extension = originalFilename != null && originalFilename.contains(".") 
+                ? originalFilename.substring(originalFilename.lastIndexOf(".")) 
+                : ".pdf";
+        String filename = UUID.randomUUID().toString() + extension;
+        String logicalPath = userType + "/" + userId + "/" + category + "/" + filename;
+        
         try {
-            // Create directory structure: uploads/userType/userId/category
-            Path uploadPath = Paths.get(uploadDir, userType, userId, category);
-            Files.createDirectories(uploadPath);
-            
-            // Generate unique filename
-            String extension = originalFilename != null && originalFilename.contains(".") 
-                    ? originalFilename.substring(originalFilename.lastIndexOf(".")) 
-                    : ".pdf";
-            String filename = UUID.randomUUID().toString() + extension;
-            
-            // Save file
-            Path filePath = uploadPath.resolve(filename);
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+            SpooledUpload upload = spool(in);
+            try {
+                storageQuotaService.reserve(userType, userId, category, upload.size());
+            } catch (RuntimeException e) {
+                deleteQuietly(upload.temp());
+                throw e;
+            }
+            boolean linked = false;
+            boolean deduplicated;
+            try {
+                deduplicated = linkBlob(upload.sha256(), upload.size(), upload.temp());
+                linked = true;
+                
+                StoredFile storedFile = new StoredFile();
+                storedFile.setPath(logicalPath);
+                storedFile.setSha256(upload.sha256());
+                storedFile.setOwnerType(userType);
+                storedFile.setOwnerId(userId);
+                storedFile.setCategory(category);
+                storedFile.setOriginalFilename(originalFilename);
+                storedFile.setSize(upload.size());
+                storedFile.setCreatedAt(LocalDateTime.now());
+                storedFileRepository.save(storedFile);
+            } catch (IOException | RuntimeException e) {
+                // No StoredFile accounts for the reference linkBlob added, so give it back
+                if (linked) {
+                    unlinkQuietly(upload.sha256(), e);
+                }
+                deleteQuietly(upload.temp());
+                storageQuotaService.release(userType, userId, category, upload.size());
+                throw e;
+            }
+            domainMetrics.upload(userType, upload.size(), deduplicated);
             
-            // Return relative path: userType/userId/category/filename
-            return Paths.get(userType, userId, category, filename).toString().replace("\\", "/");
+            return logicalPath;
         } catch (IOException e) {
             throw new RuntimeException("Failed to store file: " + e.getMessage(), e);
         }
     }
     
+    // Copies the stream to a temp file while checking the %PDF- magic, the size limit and the SHA-256,
+    // so a bad upload fails at its first offending byte instead of after the full transfer
+    SpooledUpload spool(InputStream in) throws IOException {
+        MessageDigest digest = newDigest();
+        Path temp = createTempFile();
+        boolean complete = false;
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            byte[] buffer = new byte[64 * 1024];
+            long size = 0;
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                for (int i = 0; i < read && size + i < PDF_MAGIC.length; i++) {
+                    if (buffer[i] != PDF_MAGIC[(int) size + i]) {
+                        throw new RuntimeException("Only PDF files are allowed");
+                    }
+                }
+                size += read;
+                if (size > MAX_FILE_SIZE) {
+                    throw new RuntimeException("File size exceeds 10MB limit");
+                }
+                digest.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+            }
+            if (size == 0) {
+                throw new RuntimeException("File is empty or null");
+            }
+            if (size < PDF_MAGIC.length) {
+                throw new RuntimeException("Only PDF files are allowed");
+            }
+            complete = true;
+            return new SpooledUpload(temp, size, HexFormat.of().formatHex(digest.digest()));
+        } finally {
+            if (!complete) {
+                deleteQuietly(temp);
+            }
+        }
+    }
+    
+    // Adds a reference to the blob for sha256, moving source into the store if the content is new.
+    // The source file is always consumed on success. Returns true when the content was already stored.
+    // If storing fails the reference is dropped again, so a failed upload never pins the blob.
+    boolean linkBlob(String sha256, long size, Path source) throws IOException {
+        synchronized (lockFor(sha256)) {
+            addReference(sha256, size);
+            try {
+                // Queue the preview once per distinct content; DocumentPreviewService picks it up
+                mongoTemplate.upsert(
+                        new Query(Criteria.where("_id").is(sha256)),
+                        new Update().setOnInsert("status", "PENDING")
+                                .setOnInsert("attempts", 0)
+                                .setOnInsert("createdAt", LocalDateTime.now()),
+                        FilePreview.class);
+                String key = blobKey(sha256);
+                if (storageBackend.exists(key)) {
+                    Files.delete(source);
+                    return true;
+                }
+                storageBackend.put(key, source, "application/pdf");
+                return false;
+            } catch (IOException | RuntimeException e) {
+                unlinkQuietly(sha256, e);
+                throw e;
+            }
+        }
+    }
+    
+    // Increments refCount, creating the document for new content. A document being deleted is not
+    // matched, so the upsert collides with it on _id; the link then waits until the delete has removed
+    // the object and the document, and stores the content afresh instead of reusing an object that is going away.
+    private void addReference(String sha256, long size) throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                mongoTemplate.upsert(
+                        new Query(Criteria.where("_id").is(sha256).and("deletingAt").exists(false)),
+                        new Update().inc("refCount", 1)
+                                .setOnInsert("size", size)
+                                .setOnInsert("createdAt", LocalDateTime.now()),
+                        FileBlob.class);
+                return;
+            } catch (DuplicateKeyException e) {
+                if (finishStaleDelete(sha256)) {
+                    continue;
+                }
+                if (attempt >= LINK_ATTEMPTS) {
+                    throw new RuntimeException("File content is being deleted, please try again", e);
+                }
+                try {
+                    Thread.sleep(LINK_WAIT_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while storing file", interrupted);
+                }
+            }
+        }
+    }
+    
+    // Undoes linkBlob for an upload that failed after it; the original failure is the one reported
+    private void unlinkQuietly(String sha256, Exception cause) {
+        try {
+            unlinkBlob(sha256);
+        } catch (IOException | RuntimeException e) {
+            cause.addSuppressed(e);
+        }
+    }
+    
     // Load file as Resource for downloading
     public Resource loadFileAsResource(String filePath) {
         try {
-            Path file = Paths.get(uploadDir).resolve(filePath).normalize();
-            Resource resource = new UrlResource(file.toUri());
+            Resource resource = new UrlResource(resolveStoredFile(filePath).toUri());
             
             if (resource.exists() && resource.isReadable()) {
                 return resource;
@@ -90,19 +323,256 @@ public class FileStorageService {
         }
     }
     
-    // Load file as Path (backward compatibility)
+    // Resolve a logical path to the local file holding its content, rejecting paths that escape the upload directory.
+    // Blobs kept in a remote backend have no local file; see presignedDownloadUrl and fetchStoredFile.
+    public Path resolveStoredFile(String filePath) {
+        Path file = loadFile(filePath);
+        if (!Files.isRegularFile(file) || !Files.isReadable(file)) {
+            throw new RuntimeException("File not found: " + filePath);
+        }
+        return file;
+    }
+    
+    // Load file as Path (backward compatibility); blob-backed paths resolve to the blob when it is on local disk
     public Path loadFile(String filePath) {
-        return Paths.get(uploadDir).resolve(filePath).normalize();
+        Optional<StoredFile> storedFile = storedFileRepository.findByPath(filePath);
+        if (storedFile.isPresent()) {
+            Optional<Path> blob = storageBackend.localFile(blobKey(storedFile.get().getSha256()));
+            // A reference whose blob is missing is mid-migration; the legacy copy is still in place
+            if (blob.isPresent() && Files.exists(blob.get())) {
+                return blob.get();
+            }
+        }
+        return legacyPath(filePath);
     }
     
-    // Delete file
+    // Direct download URL for a blob-backed path when the backend can serve it (S3); empty means serve it locally
+    public Optional<URI> presignedDownloadUrl(String filePath, String filename) {
+        Optional<StoredFile> storedFile = storedFileRepository.findByPath(filePath);
+        if (storedFile.isEmpty() || storageBackend.localFile(blobKey(storedFile.get().getSha256())).isPresent()) {
+            return Optional.empty();
+        }
+        String key = blobKey(storedFile.get().getSha256());
+        try {
+            return storageBackend.exists(key)
+                    ? storageBackend.presign(key, filename, "application/pdf")
+                    : Optional.empty();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not locate file: " + filePath, e);
+        }
+    }
+    
+    // Size of the content behind a logical path, or -1 when it is missing
+    public long storedFileSize(String filePath) {
+        try {
+            Optional<StoredFile> storedFile = storedFileRepository.findByPath(filePath);
+            if (storedFile.isPresent()) {
+                Optional<StorageBackend.StoredObject> blob = storageBackend.stat(blobKey(storedFile.get().getSha256()));
+                if (blob.isPresent()) {
+                    return blob.get().size();
+                }
+            }
+            Path legacy = legacyPath(filePath);
+            return Files.isRegularFile(legacy) ? Files.size(legacy) : -1;
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        }
+    }
+    
+    // The content behind a logical path as a local file: the file itself on local disk, otherwise a temp download
+    public LocalCopy fetchStoredFile(String filePath) throws IOException {
+        Optional<StoredFile> storedFile = storedFileRepository.findByPath(filePath);
+        if (storedFile.isPresent() && blobExists(storedFile.get().getSha256())) {
+            return fetchBlob(storedFile.get().getSha256());
+        }
+        return new LocalCopy(resolveStoredFile(filePath), false);
+    }
+    
+    LocalCopy fetchBlob(String sha256) throws IOException {
+        String key = blobKey(sha256);
+        Optional<Path> local = storageBackend.localFile(key);
+        if (local.isPresent()) {
+            if (!Files.isRegularFile(local.get())) {
+                throw new NoSuchFileException(key);
+            }
+            return new LocalCopy(local.get(), false);
+        }
+        Path temp = createTempFile();
+        try (InputStream in = storageBackend.open(key)) {
+            Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            return new LocalCopy(temp, true);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(temp);
+            throw e;
+        }
+    }
+    
+    boolean blobExists(String sha256) throws IOException {
+        return storageBackend.exists(blobKey(sha256));
+    }
+    
+    // Delete file: drops the reference and removes the blob once nothing points at it
     public boolean deleteFile(String filePath) {
         try {
-            Path file = Paths.get(uploadDir).resolve(filePath).normalize();
-            return Files.deleteIfExists(file);
+            Optional<StoredFile> storedFile = storedFileRepository.findByPath(filePath);
+            if (storedFile.isEmpty()) {
+                Path legacy = legacyPath(filePath);
+                long size = Files.exists(legacy) ? Files.size(legacy) : 0L;
+                boolean deleted = Files.deleteIfExists(legacy);
+                String[] segments = filePath.split("/");
+                if (deleted && segments.length > 3) {
+                    storageQuotaService.release(segments[0], segments[1], segments[2], size);
+                }
+                return deleted;
+            }
+            StoredFile reference = storedFile.get();
+            storedFileRepository.delete(reference);
+            unlinkBlob(reference.getSha256());
+            storageQuotaService.release(reference.getOwnerType(), reference.getOwnerId(), reference.getCategory(),
+                    reference.getSize() != null ? reference.getSize() : 0L);
+            return true;
         } catch (IOException e) {
             throw new RuntimeException("Failed to delete file: " + filePath, e);
         }
     }
+    
+    void unlinkBlob(String sha256) throws IOException {
+        synchronized (lockFor(sha256)) {
+            FileBlob blob = mongoTemplate.findAndModify(
+                    new Query(Criteria.where("_id").is(sha256)),
+                    new Update().inc("refCount", -1),
+                    FindAndModifyOptions.options().returnNew(true),
+                    FileBlob.class);
+            if (blob != null && blob.getRefCount() != null && blob.getRefCount() <= 0) {
+                // Claim the delete in Mongo so that, across instances, exactly one removes the object and
+                // links arriving meanwhile wait for it rather than deduplicating against it (see addReference)
+                LocalDateTime deletingAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+                long claimed = mongoTemplate.updateFirst(
+                        new Query(Criteria.where("_id").is(sha256).and("refCount").lte(0).and("deletingAt").exists(false)),
+                        Update.update("deletingAt", deletingAt),
+                        FileBlob.class).getModifiedCount();
+                if (claimed == 1) {
+                    finishDelete(sha256, deletingAt);
+                }
+            }
+        }
+    }
+    
+    // The object and previews go first; the document last, since its removal is what lets waiting links proceed
+    private void finishDelete(String sha256, LocalDateTime deletingAt) throws IOException {
+        storageBackend.delete(blobKey(sha256));
+        deletePreview(sha256);
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(sha256).and("deletingAt").is(deletingAt)), FileBlob.class);
+    }
+    
+    // Completes a delete claimed by an instance that stopped part-way; true when there was one
+    private boolean finishStaleDelete(String sha256) throws IOException {
+        FileBlob stale = mongoTemplate.findOne(new Query(Criteria.where("_id").is(sha256)
+                .and("deletingAt").lt(LocalDateTime.now().minus(STALE_DELETE))), FileBlob.class);
+        if (stale == null) {
+            return false;
+        }
+        finishDelete(sha256, stale.getDeletingAt());
+        return true;
+    }
+    
+    // Removes a blob file that no FileBlob document accounts for (left behind by an interrupted delete),
+    // and finishes deletes that were claimed but never completed
+    boolean deleteBlobIfUnreferenced(String sha256) throws IOException {
+        synchronized (lockFor(sha256)) {
+            if (finishStaleDelete(sha256)) {
+                return true;
+            }
+            if (mongoTemplate.exists(new Query(Criteria.where("_id").is(sha256)), FileBlob.class)) {
+                return false;
+            }
+            boolean deleted = storageBackend.delete(blobKey(sha256));
+            deletePreview(sha256);
+            return deleted;
+        }
+    }
+    
+    // The sha256 behind a content-addressed path, empty for legacy files
+    public Optional<String> findSha256(String filePath) {
+        return storedFileRepository.findByPath(filePath).map(StoredFile::getSha256);
+    }
+    
+    // Preview artifacts live beside the blob: <sha256>.png and <sha256>.txt
+    String previewKey(String sha256, String extension) {
+        return blobDirectory(sha256) + sha256 + "." + extension;
+    }
+    
+    // Moves a rendered artifact into the store next to its blob (the temp file is consumed)
+    void storePreview(String sha256, String extension, Path temp, String contentType) throws IOException {
+        storageBackend.put(previewKey(sha256, extension), temp, contentType);
+    }
+    
+    private void deletePreview(String sha256) throws IOException {
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(sha256)), FilePreview.class);
+        storageBackend.delete(previewKey(sha256, "png"));
+        storageBackend.delete(previewKey(sha256, "txt"));
+    }
+    
+    Path uploadRoot() {
+        return Paths.get(uploadDir).toAbsolutePath().normalize();
+    }
+    
+    // blobs/aa/bb/<sha256>.pdf keeps directories (and S3 listing pages) small
+    String blobKey(String sha256) {
+        return blobDirectory(sha256) + sha256 + ".pdf";
+    }
+    
+    private static String blobDirectory(String sha256) {
+        return BLOBS_DIR + "/" + sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/";
+    }
+    
+    Path createTempFile() throws IOException {
+        Path tmpDir = uploadRoot().resolve(TMP_DIR);
+        Files.createDirectories(tmpDir);
+        return Files.createTempFile(tmpDir, "upload-", ".part");
+    }
+    
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 not available", e);
+        }
+    }
+    
+    static void deleteQuietly(Path path) {
+        if (path != null) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException ignored) {
+                // Leftover temp files are harmless
+            }
+        }
+    }
+    
+    private Path legacyPath(String filePath) {
+        Path root = uploadRoot();
+        Path file = root.resolve(filePath).normalize();
+        if (!file.startsWith(root)) {
+            throw new RuntimeException("Invalid file path: " + filePath);
+        }
+        return file;
+    }
+    
+    private static Object lockFor(String sha256) {
+        return BLOB_LOCKS[Math.floorMod(sha256.hashCode(), BLOB_LOCKS.length)];
+    }
+    
+    record SpooledUpload(Path temp, long size, String sha256) {
+    }
+    
+    // A readable local file; temporary copies (downloaded from a remote backend) are deleted on close
+    public record LocalCopy(Path path, boolean temporary) implements AutoCloseable {
+        @Override
+        public void close() {
+            if (temporary) {
+                deleteQuietly(path);
+            }
+        }
+    }
 }
-
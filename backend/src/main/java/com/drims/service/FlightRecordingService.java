@@ -0,0 +1,117 @@
+package com.drims.service;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Starts and stops in-process JDK Flight Recorder recordings for the admin diagnostics
+ * endpoint, so production can be profiled without attaching an agent. At most one recording
+ * runs at a time and every recording is time-boxed: it stops by itself after its duration and
+ * its file is kept until it is downloaded or the next recording starts. The com.drims.* events
+ * (com.drims.jfr) are enabled in every recording; with no recording running they are not
+ * committed and cost next to nothing.
+ */
+@Service
+public class FlightRecordingService {
+    
+    @Value("${diagnostics.jfr.max-duration-seconds:600}")
+    private long maxDurationSeconds;
+    
+    private Recording recording;
+    private Path file;
+    private LocalDateTime startedAt;
+    private String settingsName;
+    
+    public synchronized Map<String, Object> start(long durationSeconds, String settings) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new RuntimeException("A recording is already running");
+        }
+        if (durationSeconds <= 0 || durationSeconds > maxDurationSeconds) {
+            throw new RuntimeException("Duration must be between 1 and " + maxDurationSeconds + " seconds");
+        }
+        Configuration configuration;
+        try {
+            // "default" is the low-overhead continuous profile, "profile" samples more often
+            configuration = Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new RuntimeException("Unknown recording settings: " + settings);
+        }
+        discard();
+        try {
+            file = Files.createTempFile("drims-", ".jfr");
+            recording = new Recording(configuration);
+            recording.setName("drims-admin");
+            recording.enable("com.drims.*");
+            recording.setDuration(Duration.ofSeconds(durationSeconds));
+            recording.setDestination(file);
+            recording.setToDisk(true);
+            recording.start();
+            startedAt = LocalDateTime.now();
+            settingsName = settings;
+        } catch (IOException | RuntimeException e) {
+            discard();
+            throw new RuntimeException("Failed to start recording: " + e.getMessage(), e);
+        }
+        return status();
+    }
+    
+    // Stops the recording if it is still running and hands over its file; the caller deletes it
+    public synchronized Path stop() {
+        if (recording == null) {
+            throw new RuntimeException("No recording to stop");
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        Path result = file;
+        recording.close();
+        recording = null;
+        file = null;
+        startedAt = null;
+        return result;
+    }
+    
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("state", recording.getState().name());
+        status.put("settings", settingsName);
+        status.put("startedAt", startedAt);
+        status.put("durationSeconds", recording.getDuration() != null ? recording.getDuration().getSeconds() : null);
+        status.put("size", recording.getSize());
+        return status;
+    }
+    
+    @PreDestroy
+    public synchronized void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // Temp file; the OS cleans it up eventually
+            }
+            file = null;
+        }
+        startedAt = null;
+    }
+}
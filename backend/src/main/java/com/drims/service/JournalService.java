@@ -4,10 +4,14 @@ import com.drims.dto.JournalDTO;
 import com.drims.entity.Journal;
 import com.drims.repository.JournalRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -16,6 +20,15 @@ public class JournalService {
     @Autowired
     private JournalRepository journalRepository;
     
+    @Autowired
+    private DuplicateDetectionService duplicateDetectionService;
+    
+    @Autowired
+    private DomainMetrics domainMetrics;
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
     public JournalDTO createJournal(String facultyId, JournalDTO dto) {
         Journal journal = new Journal();
         journal.setFacultyId(facultyId);
@@ -48,6 +61,8 @@ public class JournalService {
         journal.setUpdatedAt(LocalDateTime.now());
         
         journal = journalRepository.save(journal);
+        domainMetrics.submissions("JOURNAL", "form", 1);
+        duplicateDetectionService.indexJournal(journal);
         return convertToDTO(journal);
     }
     
@@ -99,6 +114,7 @@ public class JournalService {
         journal.setUpdatedAt(LocalDateTime.now());
         
         journal = journalRepository.save(journal);
+        duplicateDetectionService.indexJournal(journal);
         return convertToDTO(journal);
     }
     
@@ -114,6 +130,25 @@ public class JournalService {
                 .collect(Collectors.toList());
     }
     
+    // Sparse variants: fields == null means the full document
+    public List<JournalDTO> getJournalsByFaculty(String facultyId, Set<String> fields) {
+        return findJournals(new Query(Criteria.where("facultyId").is(facultyId)), fields);
+    }
+    
+    public List<JournalDTO> getAllJournals(Set<String> fields) {
+        return findJournals(new Query(), fields);
+    }
+    
+    // Pushes the field selection down to Mongo so unselected fields never leave the database
+    private List<JournalDTO> findJournals(Query query, Set<String> fields) {
+        if (fields != null) {
+            fields.forEach(field -> query.fields().include(field));
+        }
+        return mongoTemplate.find(query, Journal.class).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+    
     public void deleteJournal(String id, String facultyId) {
         Journal journal = journalRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Journal not found"));
@@ -128,6 +163,7 @@ public class JournalService {
         }
         
         journalRepository.delete(journal);
+        duplicateDetectionService.remove("JOURNAL", id);
     }
     
     private JournalDTO convertToDTO(Journal journal) {
@@ -0,0 +1,414 @@
+package com.drims.service;
+
+import com.drims.entity.*;
+import com.drims.storage.StorageBackend;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Reclaims uploads that no publication references: files of deleted publications, paths
+ * replaced on update, and uploads from abandoned forms. The live set is every *Path field of
+ * the publication collections. Unreferenced files older than the grace period are quarantined
+ * first and deleted on a later run if they are still unreferenced, so an upload whose form is
+ * saved late is never lost. Each run does a bounded, rate-limited amount of work and resumes
+ * the reference scan where the previous run stopped.
+ */
+@Service
+public class OrphanFileCollector {
+    
+    private static final List<Class<?>> PUBLICATION_TYPES = List.of(
+            Journal.class, Conference.class, Patent.class, BookChapter.class, Book.class);
+    
+    private static final Map<Class<?>, List<String>> PATH_FIELDS = new HashMap<>();
+    
+    static {
+        for (Class<?> type : PUBLICATION_TYPES) {
+            List<String> fields = new ArrayList<>();
+            for (Field field : type.getDeclaredFields()) {
+                if (field.getType() == String.class && field.getName().endsWith("Path")) {
+                    fields.add(field.getName());
+                }
+            }
+            PATH_FIELDS.put(type, List.copyOf(fields));
+        }
+    }
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
+    @Autowired
+    private FileStorageService fileStorageService;
+    
+    @Autowired
+    private StorageBackend storageBackend;
+    
+    @Value("${file.gc.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${file.gc.grace-hours:24}")
+    private long graceHours;
+    
+    @Value("${file.gc.batch-size:500}")
+    private int batchSize;
+    
+    @Value("${file.gc.max-ops-per-second:20}")
+    private int maxOpsPerSecond;
+    
+    private final AtomicBoolean running = new AtomicBoolean();
+    
+    // Reference scan resumes after this StoredFile id; null starts from the beginning
+    private volatile ObjectId referenceCursor;
+    
+    private volatile Map<String, Object> lastRun = Map.of();
+    
+    @Scheduled(fixedDelayString = "${file.gc.interval-ms:3600000}", initialDelayString = "${file.gc.initial-delay-ms:600000}")
+    public void scheduledCollect() {
+        if (enabled) {
+            collect();
+        }
+    }
+    
+    public Map<String, Object> collect() {
+        if (!running.compareAndSet(false, true)) {
+            return Map.of("skipped", "A collection run is already in progress");
+        }
+        try {
+            Instant cutoff = Instant.now().minus(Duration.ofHours(graceHours));
+            Budget budget = new Budget(batchSize, maxOpsPerSecond);
+            Map<String, Long> counters = new LinkedHashMap<>();
+            for (String key : List.of("liveReferences", "referencesScanned", "quarantined", "restored", "deleted",
+                    "bytesFreed", "tempFilesDeleted", "orphanBlobsDeleted", "failures")) {
+                counters.put(key, 0L);
+            }
+            
+            Set<String> live = buildLiveSet();
+            counters.put("liveReferences", (long) live.size());
+            
+            collectReferences(live, cutoff, budget, counters);
+            collectLegacyFiles(live, cutoff, budget, counters);
+            collectQuarantine(live, cutoff, budget, counters);
+            collectTempFiles(cutoff, budget, counters);
+            collectOrphanBlobs(cutoff, budget, counters);
+            
+            Map<String, Object> report = new LinkedHashMap<>(counters);
+            report.put("budgetExhausted", budget.exhausted());
+            report.put("finishedAt", LocalDateTime.now().toString());
+            lastRun = report;
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+    
+    public Map<String, Object> getLastRun() {
+        return lastRun;
+    }
+    
+    // Projection over the *Path fields only; everything else stays in Mongo
+    private Set<String> buildLiveSet() {
+        Set<String> live = new HashSet<>();
+        for (Class<?> type : PUBLICATION_TYPES) {
+            List<String> fields = PATH_FIELDS.get(type);
+            Query query = new Query();
+            fields.forEach(field -> query.fields().include(field));
+            try (Stream<Document> documents = mongoTemplate.stream(query, Document.class,
+                    mongoTemplate.getCollectionName(type))) {
+                documents.forEach(document -> {
+                    for (String field : fields) {
+                        String path = normalize(document.getString(field));
+                        if (path != null) {
+                            live.add(path);
+                        }
+                    }
+                });
+            }
+        }
+        return live;
+    }
+    
+    // Content-addressed uploads: mark, then drop the reference (the blob goes with its last reference)
+    private void collectReferences(Set<String> live, Instant cutoff, Budget budget, Map<String, Long> counters) {
+        LocalDateTime cutoffTime = LocalDateTime.ofInstant(cutoff, ZoneId.systemDefault());
+        while (!budget.exhausted()) {
+            Query page = new Query().with(Sort.by(Sort.Direction.ASC, "_id")).limit(batchSize);
+            if (referenceCursor != null) {
+                page.addCriteria(Criteria.where("_id").gt(referenceCursor));
+            }
+            List<StoredFile> references = mongoTemplate.find(page, StoredFile.class);
+            for (StoredFile reference : references) {
+                referenceCursor = new ObjectId(reference.getId());
+                increment(counters, "referencesScanned", 1);
+                try {
+                    if (live.contains(reference.getPath())) {
+                        if (reference.getQuarantinedAt() != null && budget.take()) {
+                            setQuarantinedAt(reference, null);
+                            increment(counters, "restored", 1);
+                        }
+                    } else if (reference.getCreatedAt() != null && reference.getCreatedAt().isAfter(cutoffTime)) {
+                        // Still inside the grace period; the form may not have been saved yet
+                    } else if (reference.getQuarantinedAt() == null) {
+                        if (budget.take()) {
+                            setQuarantinedAt(reference, LocalDateTime.now());
+                            increment(counters, "quarantined", 1);
+                        }
+                    } else if (reference.getQuarantinedAt().isBefore(cutoffTime)
+                            && !isReferenced(reference.getPath()) && budget.take()) {
+                        fileStorageService.deleteFile(reference.getPath());
+                        increment(counters, "deleted", 1);
+                        increment(counters, "bytesFreed", reference.getSize() != null ? reference.getSize() : 0);
+                    }
+                } catch (RuntimeException e) {
+                    increment(counters, "failures", 1);
+                }
+                if (budget.exhausted()) {
+                    return;
+                }
+            }
+            if (references.size() < batchSize) {
+                referenceCursor = null; // Wrapped around; the next run starts a fresh pass
+                return;
+            }
+        }
+    }
+    
+    // Files written before the content-addressed store: move unreferenced ones into uploads/quarantine
+    private void collectLegacyFiles(Set<String> live, Instant cutoff, Budget budget, Map<String, Long> counters) {
+        Path root = fileStorageService.uploadRoot();
+        Set<Path> skipped = Set.of(root.resolve(FileStorageService.BLOBS_DIR),
+                root.resolve(FileStorageService.TMP_DIR), root.resolve(FileStorageService.QUARANTINE_DIR));
+        walk(root, budget, counters, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                return skipped.contains(dir) ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+            }
+            
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                String path = root.relativize(file).toString().replace("\\", "/");
+                if (live.contains(path) || attrs.lastModifiedTime().toInstant().isAfter(cutoff)) {
+                    return FileVisitResult.CONTINUE;
+                }
+                // Mid-migration: the reference is handled by the reference scan
+                if (mongoTemplate.exists(new Query(Criteria.where("path").is(path)), StoredFile.class)) {
+                    return FileVisitResult.CONTINUE;
+                }
+                if (!budget.take()) {
+                    return FileVisitResult.TERMINATE;
+                }
+                Path target = root.resolve(FileStorageService.QUARANTINE_DIR).resolve(path);
+                Files.createDirectories(target.getParent());
+                Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+                // The quarantine clock starts now, not at the original upload time
+                Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+                increment(counters, "quarantined", 1);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+    
+    // Quarantined legacy files: restore if referenced again, delete once the grace period has passed
+    private void collectQuarantine(Set<String> live, Instant cutoff, Budget budget, Map<String, Long> counters) {
+        Path root = fileStorageService.uploadRoot();
+        Path quarantine = root.resolve(FileStorageService.QUARANTINE_DIR);
+        walk(quarantine, budget, counters, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                String path = quarantine.relativize(file).toString().replace("\\", "/");
+                if (live.contains(path)) {
+                    if (!budget.take()) {
+                        return FileVisitResult.TERMINATE;
+                    }
+                    Path original = root.resolve(path);
+                    Files.createDirectories(original.getParent());
+                    Files.move(file, original, StandardCopyOption.REPLACE_EXISTING);
+                    increment(counters, "restored", 1);
+                } else if (attrs.lastModifiedTime().toInstant().isBefore(cutoff) && !isReferenced(path)) {
+                    if (!budget.take()) {
+                        return FileVisitResult.TERMINATE;
+                    }
+                    Files.delete(file);
+                    increment(counters, "deleted", 1);
+                    increment(counters, "bytesFreed", attrs.size());
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+    
+    // Temp files from uploads that died mid-transfer
+    private void collectTempFiles(Instant cutoff, Budget budget, Map<String, Long> counters) {
+        walk(fileStorageService.uploadRoot().resolve(FileStorageService.TMP_DIR), budget, counters,
+                new SimpleFileVisitor<>() {
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                        if (attrs.lastModifiedTime().toInstant().isBefore(cutoff)) {
+                            if (!budget.take()) {
+                                return FileVisitResult.TERMINATE;
+                            }
+                            Files.deleteIfExists(file);
+                            increment(counters, "tempFilesDeleted", 1);
+                            increment(counters, "bytesFreed", attrs.size());
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+    }
+    
+    // Blob-store objects without a FileBlob document (an interrupted delete), listed from the active backend
+    private void collectOrphanBlobs(Instant cutoff, Budget budget, Map<String, Long> counters) {
+        if (budget.exhausted()) {
+            return;
+        }
+        try (Stream<StorageBackend.StoredObject> objects = storageBackend.list(FileStorageService.BLOBS_DIR + "/")) {
+            Iterator<StorageBackend.StoredObject> iterator = objects.iterator();
+            while (iterator.hasNext() && !budget.exhausted()) {
+                StorageBackend.StoredObject object = iterator.next();
+                String name = object.key().substring(object.key().lastIndexOf('/') + 1);
+                if (object.lastModified().isAfter(cutoff)) {
+                    continue;
+                }
+                try {
+                    // Preview artifacts whose blob is gone
+                    if (!name.endsWith(".pdf")) {
+                        String sha256 = name.substring(0, Math.min(name.length(), 64));
+                        if (!fileStorageService.blobExists(sha256) && budget.take()) {
+                            storageBackend.delete(object.key());
+                            increment(counters, "orphanBlobsDeleted", 1);
+                            increment(counters, "bytesFreed", object.size());
+                        }
+                        continue;
+                    }
+                    if (fileStorageService.deleteBlobIfUnreferenced(name.substring(0, name.length() - 4))) {
+                        budget.take();
+                        increment(counters, "orphanBlobsDeleted", 1);
+                        increment(counters, "bytesFreed", object.size());
+                    }
+                } catch (IOException | RuntimeException e) {
+                    increment(counters, "failures", 1);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            increment(counters, "failures", 1);
+        }
+    }
+    
+    // Re-checked right before a delete, in case a publication picked the path up after the live set was built
+    private boolean isReferenced(String path) {
+        for (Class<?> type : PUBLICATION_TYPES) {
+            List<Criteria> matches = new ArrayList<>();
+            for (String field : PATH_FIELDS.get(type)) {
+                matches.add(Criteria.where(field).is(path));
+            }
+            if (mongoTemplate.exists(new Query(new Criteria().orOperator(matches)), type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private void setQuarantinedAt(StoredFile reference, LocalDateTime quarantinedAt) {
+        Query query = new Query(Criteria.where("_id").is(new ObjectId(reference.getId())));
+        Update update = quarantinedAt != null
+                ? Update.update("quarantinedAt", quarantinedAt)
+                : new Update().unset("quarantinedAt");
+        mongoTemplate.updateFirst(query, update, StoredFile.class);
+    }
+    
+    private static void walk(Path start, Budget budget, Map<String, Long> counters, FileVisitor<Path> visitor) {
+        if (!Files.isDirectory(start) || budget.exhausted()) {
+            return;
+        }
+        try {
+            Files.walkFileTree(start, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    return visitor.preVisitDirectory(dir, attrs);
+                }
+                
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    try {
+                        return visitor.visitFile(file, attrs);
+                    } catch (IOException | RuntimeException e) {
+                        increment(counters, "failures", 1);
+                        return FileVisitResult.CONTINUE;
+                    }
+                }
+                
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                    increment(counters, "failures", 1);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            increment(counters, "failures", 1);
+        }
+    }
+    
+    private static String normalize(String path) {
+        if (path == null || path.isBlank()) {
+            return null;
+        }
+        String normalized = path.trim().replace("\\", "/");
+        return normalized.startsWith("/") ? normalized.substring(1) : normalized;
+    }
+    
+    private static void increment(Map<String, Long> counters, String key, long amount) {
+        counters.merge(key, amount, Long::sum);
+    }
+    
+    // Caps the number of mutations per run and spaces them out to limit disk and Mongo load
+    private static final class Budget {
+        private int remaining;
+        private final long pauseMillis;
+        
+        Budget(int operations, int operationsPerSecond) {
+            this.remaining = operations;
+            this.pauseMillis = operationsPerSecond > 0 ? 1000L / operationsPerSecond : 0L;
+        }
+        
+        boolean take() {
+            if (remaining <= 0) {
+                return false;
+            }
+            remaining--;
+            if (pauseMillis > 0) {
+                try {
+                    Thread.sleep(pauseMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    remaining = 0;
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        boolean exhausted() {
+            return remaining <= 0;
+        }
+    }
+}
@@ -4,10 +4,14 @@ import com.drims.dto.PatentDTO;
 import com.drims.entity.Patent;
 import com.drims.repository.PatentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -16,6 +20,15 @@ public class PatentService {
     @Autowired
     private PatentRepository patentRepository;
     
+    @Autowired
+    private DuplicateDetectionService duplicateDetectionService;
+    
+    @Autowired
+    private DomainMetrics domainMetrics;
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
     public PatentDTO createPatent(String facultyId, PatentDTO dto) {
         Patent patent = new Patent();
         patent.setFacultyId(facultyId);
@@ -37,6 +50,8 @@ public class PatentService {
         patent.setUpdatedAt(LocalDateTime.now());
         
         patent = patentRepository.save(patent);
+        domainMetrics.submissions("PATENT", "form", 1);
+        duplicateDetectionService.indexPatent(patent);
         return convertToDTO(patent);
     }
     
@@ -77,6 +92,7 @@ public class PatentService {
         patent.setUpdatedAt(LocalDateTime.now());
         
         patent = patentRepository.save(patent);
+        duplicateDetectionService.indexPatent(patent);
         return convertToDTO(patent);
     }
     
@@ -92,6 +108,25 @@ public class PatentService {
                 .collect(Collectors.toList());
     }
     
+    // Sparse variants: fields == null means the full document
+    public List<PatentDTO> getPatentsByFaculty(String facultyId, Set<String> fields) {
+        return findPatents(new Query(Criteria.where("facultyId").is(facultyId)), fields);
+    }
+    
+    public List<PatentDTO> getAllPatents(Set<String> fields) {
+        return findPatents(new Query(), fields);
+    }
+    
+    // Pushes the field selection down to Mongo so unselected fields never leave the database
+    private List<PatentDTO> findPatents(Query query, Set<String> fields) {
+        if (fields != null) {
+            fields.forEach(field -> query.fields().include(field));
+        }
+        return mongoTemplate.find(query, Patent.class).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+    
     public void deletePatent(String id, String facultyId) {
         Patent patent = patentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Patent not found"));
@@ -106,6 +141,7 @@ public class PatentService {
         }
         
         patentRepository.delete(patent);
+        duplicateDetectionService.remove("PATENT", id);
     }
     
     private PatentDTO convertToDTO(Patent patent) {
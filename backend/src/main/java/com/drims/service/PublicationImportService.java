@@ -0,0 +1,780 @@
+package com.drims.service;
+
+import com.drims.config.BulkWriteEvents;
+import com.drims.dedup.MinHasher;
+import com.drims.dto.ImportReportDTO;
+import com.drims.entity.*;
+import com.drims.importer.*;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk publication import. Readers stream records one at a time; each record is validated and
+ * normalized into an entity, checked against existing publications (DuplicateDetectionService)
+ * and against earlier rows of the same file, and queued. Queues are written with unordered
+ * BulkOperations inserts per type once they reach the batch size, so memory is bounded by one
+ * batch per type. Imported records enter the normal review workflow as SUBMITTED.
+ * In dry-run mode everything except the writes happens, so the report shows what an import would do.
+ */
+@Service
+public class PublicationImportService {
+    
+    private static final List<String> TYPES = List.of("JOURNAL", "CONFERENCE", "PATENT", "BOOK_CHAPTER", "BOOK");
+    private static final Pattern YEAR = Pattern.compile("(?<!\\d)((?:19|20)\\d{2})(?!\\d)");
+    private static final Pattern TWO_DIGIT_YEAR = Pattern.compile("^\\d{1,2}[./-]\\d{1,2}[./-](\\d{2})$");
+    private static final Pattern VOLUME = Pattern.compile("(?i)vol(?:ume)?\\.?\\s*:?\\s*([\\w-]+)");
+    private static final Pattern ISSUE = Pattern.compile("(?i)(?:issue|no)\\.?\\s*:?\\s*([\\w-]+)");
+    private static final Pattern ISSN = Pattern.compile("^(\\d{4})-?(\\d{3}[\\dXx])$");
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
+    @Autowired
+    private DuplicateDetectionService duplicateDetectionService;
+    
+    @Autowired
+    private DataVersionService dataVersionService;
+    
+    @Autowired
+    private PublicationStore publicationStore;
+    
+    @Autowired
+    private AnalyticsSnapshot analyticsSnapshot;
+    
+    @Autowired
+    private FacultyNameMatcher facultyNameMatcher;
+    
+    @Autowired
+    private FacultyProfileCache facultyProfileCache;
+    
+    @Autowired
+    private DomainMetrics domainMetrics;
+    
+    @Value("${import.batch-size:500}")
+    private int batchSize;
+    
+    @Value("${import.max-reported-issues:1000}")
+    private int maxReportedIssues;
+    
+    // ownerFacultyId: every row belongs to this faculty member (faculty self-import); null resolves owners per row
+    public ImportReportDTO importFile(MultipartFile file, String ownerFacultyId, boolean dryRun) {
+        if (file == null || file.isEmpty()) {
+            throw new RuntimeException("File is empty or null");
+        }
+        String filename = file.getOriginalFilename() != null ? file.getOriginalFilename() : "";
+        String extension = filename.contains(".")
+                ? filename.substring(filename.lastIndexOf('.') + 1).toLowerCase() : "";
+        try {
+            switch (extension) {
+                case "xlsx":
+                    return importExcel(file, ownerFacultyId, dryRun);
+                case "bib":
+                    return importText(file, ownerFacultyId, dryRun, new BibtexPublicationReader()::read);
+                case "ris":
+                    return importText(file, ownerFacultyId, dryRun, new RisPublicationReader()::read);
+                case "csv":
+                case "tsv":
+                case "txt":
+                    return importText(file, ownerFacultyId, dryRun, new CsvPublicationReader()::read);
+                default:
+                    throw new RuntimeException("Unsupported file type '" + filename
+                            + "'. Upload an .xlsx workbook or a .bib, .ris or .csv export");
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Import failed: " + e.getMessage(), e);
+        }
+    }
+    
+    private ImportReportDTO importExcel(MultipartFile file, String ownerFacultyId, boolean dryRun) throws IOException {
+        // POI's package reader needs random access to the zip; spool to disk rather than memory
+        Path temp = Files.createTempFile("import-", ".xlsx");
+        try {
+            file.transferTo(temp);
+            return importRecords(handler -> new XlsxPublicationReader().read(temp.toFile(), handler),
+                    ownerFacultyId, dryRun);
+        } finally {
+            FileStorageService.deleteQuietly(temp);
+        }
+    }
+    
+    // BibTeX, RIS and CSV are parsed straight off the upload stream
+    private ImportReportDTO importText(MultipartFile file, String ownerFacultyId, boolean dryRun,
+                                       TextReader reader) throws IOException {
+        String source = file.getOriginalFilename();
+        try (Reader input = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            return importRecords(handler -> reader.read(input, source, handler), ownerFacultyId, dryRun);
+        }
+    }
+    
+    @FunctionalInterface
+    private interface TextReader {
+        void read(Reader input, String source, ImportRecordHandler handler) throws IOException;
+    }
+    
+    public ImportReportDTO importRecords(ImportSource source, String ownerFacultyId, boolean dryRun) throws IOException {
+        ImportSession session = new ImportSession(ownerFacultyId, dryRun);
+        source.read(session);
+        return session.finish();
+    }
+    
+    private class ImportSession implements ImportRecordHandler {
+        private final String ownerFacultyId;
+        private final ImportReportDTO report = new ImportReportDTO();
+        private final Map<String, ImportReportDTO.SourceSummary> sources = new LinkedHashMap<>();
+        private final Map<String, List<Object>> pending = new HashMap<>();
+        private final Map<String, List<ImportRecord>> pendingRecords = new HashMap<>();
+        private final Set<String> seenKeys = new HashSet<>(); // Rows already accepted from this file
+        
+        ImportSession(String ownerFacultyId, boolean dryRun) {
+            this.ownerFacultyId = ownerFacultyId;
+            report.setDryRun(dryRun);
+            TYPES.forEach(type -> report.getImportedByType().put(type, 0));
+        }
+        
+        @Override
+        public void skipSource(String source, String reason) {
+            ImportReportDTO.SourceSummary summary = summary(source, null);
+            summary.setSkippedReason(reason);
+        }
+        
+        @Override
+        public void invalid(String source, int line, String message) {
+            ImportReportDTO.SourceSummary summary = summary(source, null);
+            summary.setRecords(summary.getRecords() + 1);
+            summary.setErrors(summary.getErrors() + 1);
+            report.setRecordsRead(report.getRecordsRead() + 1);
+            report.setErrors(report.getErrors() + 1);
+            issue(new ImportRecord(source, line, null, null, Map.of()), "ERROR", List.of(message), null);
+        }
+        
+        @Override
+        public void record(ImportRecord record) {
+            String type = record.getType() != null ? record.getType() : resolveType(record);
+            ImportReportDTO.SourceSummary summary = summary(record.getSource(), type);
+            summary.setRecords(summary.getRecords() + 1);
+            report.setRecordsRead(report.getRecordsRead() + 1);
+            
+            List<String> errors = new ArrayList<>();
+            Object publication = null;
+            if (type == null) {
+                errors.add("Publication type is missing or unknown (expected Journal, Conference, Patent, Book Chapter or Book)");
+            } else {
+                String ownerId = resolveOwner(record, errors);
+                publication = build(type, record, ownerId, errors);
+            }
+            if (!errors.isEmpty()) {
+                summary.setErrors(summary.getErrors() + 1);
+                report.setErrors(report.getErrors() + 1);
+                issue(record, "ERROR", errors, null);
+                return;
+            }
+            
+            if (!seenKeys.add(fileKey(type, publication))) {
+                duplicate(record, summary, List.of("Repeats an earlier row of this file"), null);
+                return;
+            }
+            List<String> existing = duplicateDetectionService.findDuplicates(publication);
+            if (!existing.isEmpty()) {
+                duplicate(record, summary, List.of("Matches an existing " + type.toLowerCase().replace('_', ' ')), existing);
+                return;
+            }
+            
+            summary.setImported(summary.getImported() + 1);
+            report.setImported(report.getImported() + 1);
+            report.getImportedByType().merge(type, 1, Integer::sum);
+            if (!report.isDryRun()) {
+                // Ids are assigned up front so the duplicate index can reference the rows once they are written
+                assignId(publication, new ObjectId().toHexString());
+                pending.computeIfAbsent(type, t -> new ArrayList<>()).add(publication);
+                pendingRecords.computeIfAbsent(type, t -> new ArrayList<>()).add(record);
+                if (pending.get(type).size() >= batchSize) {
+                    flush(type);
+                }
+            }
+        }
+        
+        ImportReportDTO finish() {
+            for (String type : TYPES) {
+                flush(type);
+            }
+            report.setSources(new ArrayList<>(sources.values()));
+            return report;
+        }
+        
+        private void flush(String type) {
+            List<Object> batch = pending.remove(type);
+            List<ImportRecord> records = pendingRecords.remove(type);
+            if (batch == null || batch.isEmpty()) {
+                return;
+            }
+            Set<Integer> failed = new HashSet<>();
+            try {
+                BulkWriteEvents.suppressed(() -> mongoTemplate
+                        .bulkOps(BulkOperations.BulkMode.UNORDERED, batch.get(0).getClass())
+                        .insert(batch)
+                        .execute());
+            } catch (BulkOperationException e) {
+                for (BulkWriteError error : e.getErrors()) {
+                    failed.add(error.getIndex());
+                    rejectAfterWrite(type, records.get(error.getIndex()), error.getMessage());
+                }
+            } catch (RuntimeException e) {
+                Throwable cause = e.getCause();
+                if (!(cause instanceof MongoBulkWriteException bulk)) {
+                    throw new RuntimeException("Import failed while writing " + type.toLowerCase() + " records: "
+                            + e.getMessage(), e);
+                }
+                for (BulkWriteError error : bulk.getWriteErrors()) {
+                    failed.add(error.getIndex());
+                    rejectAfterWrite(type, records.get(error.getIndex()), error.getMessage());
+                }
+            }
+            // The insert ran with save events suppressed (BulkWriteEvents), and no events fire at all for a
+            // batch that failed part-way, so the rows that were written are applied here once each: the
+            // duplicate index (never event-driven), the unified mirror, the analytics snapshot and one version bump
+            List<Object> written = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                if (!failed.contains(i)) {
+                    index(batch.get(i));
+                    written.add(batch.get(i));
+                }
+            }
+            publicationStore.mirrorAll(written);
+            analyticsSnapshot.upsertAll(written);
+            dataVersionService.bump(collectionFor(type));
+            domainMetrics.submissions(type, "import", batch.size() - failed.size());
+        }
+        
+        private void rejectAfterWrite(String type, ImportRecord record, String message) {
+            ImportReportDTO.SourceSummary summary = summary(record.getSource(), record.getType());
+            summary.setImported(summary.getImported() - 1);
+            summary.setErrors(summary.getErrors() + 1);
+            report.setImported(report.getImported() - 1);
+            report.getImportedByType().merge(type, -1, Integer::sum);
+            report.setErrors(report.getErrors() + 1);
+            issue(record, "ERROR", List.of("Write failed: " + message), null);
+        }
+        
+        private void duplicate(ImportRecord record, ImportReportDTO.SourceSummary summary, List<String> messages,
+                               List<String> duplicateOf) {
+            summary.setDuplicates(summary.getDuplicates() + 1);
+            report.setDuplicates(report.getDuplicates() + 1);
+            issue(record, "DUPLICATE", messages, duplicateOf);
+        }
+        
+        private void issue(ImportRecord record, String status, List<String> messages, List<String> duplicateOf) {
+            if (report.getIssues().size() >= maxReportedIssues) {
+                report.setIssuesTruncated(true);
+                return;
+            }
+            String title = record.get("title") != null ? record.get("title") : record.get("bookTitle");
+            report.getIssues().add(new ImportReportDTO.RowIssue(record.getSource(), record.getLine(), status,
+                    title, messages, duplicateOf));
+        }
+        
+        private ImportReportDTO.SourceSummary summary(String source, String type) {
+            ImportReportDTO.SourceSummary summary = sources.computeIfAbsent(source, s -> {
+                ImportReportDTO.SourceSummary created = new ImportReportDTO.SourceSummary();
+                created.setSource(s);
+                created.setType(type);
+                return created;
+            });
+            // Exports mix types in one file; the summary only names a type all of its records share
+            if (summary.getRecords() > 0 && !Objects.equals(summary.getType(), type)) {
+                summary.setType(null);
+            }
+            return summary;
+        }
+        
+        private String resolveOwner(ImportRecord record, List<String> errors) {
+            if (ownerFacultyId != null) {
+                return ownerFacultyId;
+            }
+            String email = record.get("ownerEmail");
+            if (email != null) {
+                Optional<FacultyProfile> profile = facultyProfileCache.findByEmail(email.toLowerCase());
+                if (profile.isPresent()) {
+                    return profile.get().getId();
+                }
+            }
+            Optional<String> byAuthorId = facultyNameMatcher.matchAuthorIds(record.get("authorIds"));
+            if (byAuthorId.isPresent()) {
+                return byAuthorId.get();
+            }
+            String ownerName = record.get("ownerName");
+            Optional<String> ownerId = facultyNameMatcher.matchFirst(ownerName);
+            if (ownerId.isEmpty() && ownerName == null) {
+                ownerId = facultyNameMatcher.matchFirst(record.get("authors"));
+            }
+            if (ownerId.isEmpty()) {
+                errors.add(ownerName != null
+                        ? "No faculty member matches '" + ownerName + "'"
+                        : "Faculty member is missing (expected an 'Author name (VFSTR)' or 'Faculty Email' column)");
+                return null;
+            }
+            return ownerId.get();
+        }
+    }
+    
+    private Object build(String type, ImportRecord record, String ownerId, List<String> errors) {
+        Integer year = year(record, errors);
+        String status = status(type, record, errors);
+        String category = category(record.get("category"));
+        LocalDateTime now = LocalDateTime.now();
+        switch (type) {
+            case "JOURNAL": {
+                Journal journal = new Journal();
+                journal.setFacultyId(ownerId);
+                journal.setTitle(required(record, "title", "Title is required", errors));
+                journal.setJournalName(firstNonNull(text(record, "journalName"), text(record, "venue")));
+                if (journal.getJournalName() == null) {
+                    errors.add("Journal name is required");
+                }
+                List<String> authors = authors(required(record, "authors", "Authors is required", errors));
+                journal.setAuthors(author(authors, 0));
+                journal.setAuthor2(author(authors, 1));
+                journal.setAuthor3(author(authors, 2));
+                journal.setAuthor4(author(authors, 3));
+                journal.setAuthor5(author(authors, 4));
+                // Anything past six authors stays with the last slot rather than being dropped
+                journal.setAuthor6(authors.size() > 5 ? String.join(", ", authors.subList(5, authors.size())) : null);
+                journal.setYear(year);
+                String[] volumeIssue = volumeIssue(record);
+                journal.setVolume(volumeIssue[0]);
+                journal.setIssue(volumeIssue[1]);
+                journal.setPages(text(record, "pages"));
+                journal.setDoi(doi(record.get("doi")));
+                journal.setImpactFactor(text(record, "impactFactor"));
+                journal.setStatus(status);
+                journal.setCategory(category);
+                journal.setIndexType(indexType(record.get("indexType")));
+                journal.setPublisher(text(record, "publisher"));
+                journal.setIssn(issn(record.get("issn")));
+                journal.setOpenAccess(openAccess(record.get("openAccess")));
+                journal.setApprovalStatus("SUBMITTED");
+                journal.setCreatedAt(now);
+                journal.setUpdatedAt(now);
+                return journal;
+            }
+            case "CONFERENCE": {
+                Conference conference = new Conference();
+                conference.setFacultyId(ownerId);
+                conference.setTitle(required(record, "title", "Title is required", errors));
+                conference.setConferenceName(firstNonNull(text(record, "conferenceName"), text(record, "venue"),
+                        text(record, "journalName")));
+                if (conference.getConferenceName() == null) {
+                    errors.add("Conference name is required");
+                }
+                conference.setOrganizer(firstNonNull(text(record, "organizer"), text(record, "publisher")));
+                conference.setAuthors(required(record, "authors", "Authors is required", errors));
+                conference.setYear(year);
+                conference.setLocation(text(record, "location"));
+                conference.setDate(text(record, "date"));
+                conference.setStatus(status);
+                conference.setCategory(category);
+                conference.setRegistrationAmount(text(record, "registrationAmount"));
+                conference.setPaymentMode(text(record, "paymentMode"));
+                conference.setApprovalStatus("SUBMITTED");
+                conference.setCreatedAt(now);
+                conference.setUpdatedAt(now);
+                return conference;
+            }
+            case "PATENT": {
+                Patent patent = new Patent();
+                patent.setFacultyId(ownerId);
+                patent.setTitle(required(record, "title", "Title is required", errors));
+                patent.setApplicationNumber(text(record, "applicationNumber"));
+                patent.setFilingDate(text(record, "filingDate"));
+                patent.setPatentNumber(firstNonNull(text(record, "patentNumber"), text(record, "publishedNumber")));
+                patent.setInventors(required(record, "authors", "Inventors are required", errors));
+                patent.setYear(year);
+                patent.setCountry(text(record, "country"));
+                patent.setStatus(status);
+                patent.setCategory(category);
+                patent.setApprovalStatus("SUBMITTED");
+                patent.setCreatedAt(now);
+                patent.setUpdatedAt(now);
+                return patent;
+            }
+            case "BOOK_CHAPTER": {
+                BookChapter bookChapter = new BookChapter();
+                bookChapter.setFacultyId(ownerId);
+                bookChapter.setTitle(required(record, "title", "Title is required", errors));
+                bookChapter.setBookTitle(firstNonNull(text(record, "bookTitle"), text(record, "venue")));
+                if (bookChapter.getBookTitle() == null) {
+                    errors.add("Book title is required");
+                }
+                bookChapter.setAuthors(required(record, "authors", "Authors is required", errors));
+                bookChapter.setEditors(text(record, "editors"));
+                bookChapter.setPublisher(text(record, "publisher"));
+                bookChapter.setYear(year);
+                bookChapter.setPages(text(record, "pages"));
+                bookChapter.setIsbn(firstNonNull(text(record, "isbn"), text(record, "issn")));
+                bookChapter.setStatus(status);
+                bookChapter.setCategory(category);
+                bookChapter.setApprovalStatus("SUBMITTED");
+                bookChapter.setCreatedAt(now);
+                bookChapter.setUpdatedAt(now);
+                return bookChapter;
+            }
+            default: {
+                Book book = new Book();
+                book.setFacultyId(ownerId);
+                book.setBookTitle(firstNonNull(text(record, "bookTitle"), text(record, "title")));
+                if (book.getBookTitle() == null) {
+                    errors.add("Book title is required");
+                }
+                book.setPublisher(text(record, "publisher"));
+                book.setIsbn(text(record, "isbn"));
+                book.setPublicationYear(year);
+                String role = text(record, "role");
+                book.setRole(role != null && role.toLowerCase().startsWith("edit") ? "Editor" : "Author");
+                book.setCategory(category);
+                if (category == null) {
+                    errors.add("Category (National/International) is required");
+                }
+                book.setStatus(status);
+                book.setApprovalStatus("SUBMITTED");
+                book.setCreatedAt(now);
+                book.setUpdatedAt(now);
+                return book;
+            }
+        }
+    }
+    
+    private static void assignId(Object publication, String id) {
+        if (publication instanceof Journal journal) {
+            journal.setId(id);
+        } else if (publication instanceof Conference conference) {
+            conference.setId(id);
+        } else if (publication instanceof Patent patent) {
+            patent.setId(id);
+        } else if (publication instanceof BookChapter bookChapter) {
+            bookChapter.setId(id);
+        } else if (publication instanceof Book book) {
+            book.setId(id);
+        }
+    }
+    
+    private void index(Object publication) {
+        if (publication instanceof Journal journal) {
+            duplicateDetectionService.indexJournal(journal);
+        } else if (publication instanceof Conference conference) {
+            duplicateDetectionService.indexConference(conference);
+        } else if (publication instanceof Patent patent) {
+            duplicateDetectionService.indexPatent(patent);
+        } else if (publication instanceof BookChapter bookChapter) {
+            duplicateDetectionService.indexBookChapter(bookChapter);
+        } else if (publication instanceof Book book) {
+            duplicateDetectionService.indexBook(book);
+        }
+    }
+    
+    // Same identity the duplicate detector blocks on: identifier when present, otherwise title and year
+    private static String fileKey(String type, Object publication) {
+        String identifier = null;
+        String title;
+        Integer year;
+        if (publication instanceof Journal journal) {
+            identifier = journal.getDoi();
+            title = journal.getTitle();
+            year = journal.getYear();
+        } else if (publication instanceof Conference conference) {
+            title = conference.getTitle();
+            year = conference.getYear();
+        } else if (publication instanceof Patent patent) {
+            identifier = patent.getApplicationNumber();
+            title = patent.getTitle();
+            year = patent.getYear();
+        } else if (publication instanceof BookChapter bookChapter) {
+            title = bookChapter.getTitle();
+            year = bookChapter.getYear();
+        } else {
+            Book book = (Book) publication;
+            identifier = book.getIsbn();
+            title = book.getBookTitle();
+            year = book.getPublicationYear();
+        }
+        if (identifier != null && !identifier.isBlank()) {
+            return type + "|id|" + identifier.toLowerCase().replaceAll("[\\s-]", "");
+        }
+        return type + "|" + MinHasher.normalize(title) + "|" + year;
+    }
+    
+    private static String collectionFor(String type) {
+        switch (type) {
+            case "JOURNAL":
+                return DataVersionService.JOURNALS;
+            case "CONFERENCE":
+                return DataVersionService.CONFERENCES;
+            case "PATENT":
+                return DataVersionService.PATENTS;
+            case "BOOK_CHAPTER":
+                return DataVersionService.BOOK_CHAPTERS;
+            default:
+                return DataVersionService.BOOKS;
+        }
+    }
+    
+    // Type column when present; exports without one (Google Scholar) are typed by their venue
+    private static String resolveType(ImportRecord record) {
+        String value = record.get("type");
+        if (value != null) {
+            return normalizeType(value);
+        }
+        if (record.get("conferenceName") != null) {
+            return "CONFERENCE";
+        }
+        if (record.get("journalName") != null) {
+            return "JOURNAL";
+        }
+        String venue = record.get("venue");
+        if (venue == null) {
+            return null;
+        }
+        String lower = venue.toLowerCase();
+        if (lower.contains("conference") || lower.contains("proceedings") || lower.contains("symposium")
+                || lower.contains("workshop")) {
+            return "CONFERENCE";
+        }
+        return "JOURNAL";
+    }
+    
+    static String normalizeType(String value) {
+        if (value == null) {
+            return null;
+        }
+        String compact = value.toLowerCase().replaceAll("[^a-z]", "");
+        if (compact.startsWith("journal") || compact.equals("article") || compact.equals("review")
+                || compact.equals("letter") || compact.equals("note") || compact.equals("editorial")) {
+            return "JOURNAL";
+        }
+        if (compact.startsWith("conference") || compact.equals("inproceedings") || compact.equals("proceedings")) {
+            return "CONFERENCE";
+        }
+        if (compact.startsWith("patent")) {
+            return "PATENT";
+        }
+        if (compact.startsWith("bookchapter") || compact.equals("chapter") || compact.equals("incollection")
+                || compact.equals("inbook")) {
+            return "BOOK_CHAPTER";
+        }
+        if (compact.startsWith("book")) {
+            return "BOOK";
+        }
+        return null;
+    }
+    
+    private static Integer year(ImportRecord record, List<String> errors) {
+        int maxYear = Year.now().getValue() + 1;
+        for (String field : List.of("year", "date", "filingDate")) {
+            String value = record.get(field);
+            if (value == null) {
+                continue;
+            }
+            Matcher matcher = YEAR.matcher(value);
+            Integer year = null;
+            if (matcher.find()) {
+                year = Integer.parseInt(matcher.group(1));
+            } else {
+                // Short dates such as 28.1.25
+                Matcher shortDate = TWO_DIGIT_YEAR.matcher(value.trim());
+                if (shortDate.matches()) {
+                    year = 2000 + Integer.parseInt(shortDate.group(1));
+                }
+            }
+            if (year != null && year >= 2000 && year <= maxYear) {
+                return year;
+            }
+        }
+        // A Year column holding something else (a month, a day) falls through to the date columns first
+        String value = record.get("year");
+        errors.add(value != null ? "Year must be between 2000 and " + maxYear + ": '" + value + "'" : "Year is required");
+        return null;
+    }
+    
+    private static String status(String type, ImportRecord record, List<String> errors) {
+        String value = firstNonNull(record.get("status"), record.getDefaultStatus(), statusInIndexColumn(record));
+        if (value == null) {
+            errors.add("Status is required");
+            return null;
+        }
+        String lower = value.toLowerCase();
+        if (lower.contains("grant")) {
+            return "Granted";
+        }
+        if (lower.contains("file")) {
+            return "Filed";
+        }
+        if (lower.contains("yet to") || lower.contains("accept") || lower.contains("in press")) {
+            return "Accepted";
+        }
+        // Scopus "Publication Stage" is Final or Article in Press
+        if (lower.contains("publish") || lower.equals("final")) {
+            return "Published";
+        }
+        if (lower.contains("communicat") || lower.contains("submit") || lower.contains("review")) {
+            return "CONFERENCE".equals(type) ? "Communicated" : "Submitted";
+        }
+        errors.add("Unknown status '" + value + "'");
+        return null;
+    }
+    
+    // Sheets without a status column sometimes record it under Indexing ("Accepted" rather than "Scopus")
+    private static String statusInIndexColumn(ImportRecord record) {
+        String value = record.get("indexType");
+        return value != null && isStatusWord(value) ? value : null;
+    }
+    
+    private static boolean isStatusWord(String value) {
+        return value.toLowerCase().matches(".*(publish|accept|submit|communicat|review|filed|grant).*");
+    }
+    
+    private static String category(String value) {
+        if (value == null) {
+            return null;
+        }
+        String lower = value.toLowerCase();
+        if (lower.contains("international")) {
+            return "International";
+        }
+        return lower.contains("national") ? "National" : null;
+    }
+    
+    private static String indexType(String value) {
+        if (value == null || isStatusWord(value)) {
+            return null;
+        }
+        String compact = value.toUpperCase().replaceAll("[^A-Z]", "");
+        if (compact.startsWith("SCIE") || compact.equals("SCIEXPANDED")) {
+            return "SCIE";
+        }
+        if (compact.equals("SCI")) {
+            return "SCI";
+        }
+        if (compact.startsWith("SCOPUS")) {
+            return "Scopus";
+        }
+        if (compact.equals("ESCI")) {
+            return "ESCI";
+        }
+        if (compact.equals("WOS") || compact.startsWith("WEBOFSCIENCE")) {
+            return "Web of Science (WoS)";
+        }
+        if (compact.startsWith("UGC")) {
+            return "UGC CARE";
+        }
+        return value.trim();
+    }
+    
+    private static String openAccess(String value) {
+        if (value == null) {
+            return null;
+        }
+        String lower = value.toLowerCase();
+        if (lower.contains("open")) {
+            return "Open Access";
+        }
+        return lower.contains("sub") ? "Subscription" : value.trim();
+    }
+    
+    static String doi(String value) {
+        if (value == null) {
+            return null;
+        }
+        String doi = value.trim().replaceFirst("(?i)^https?://(dx\\.)?doi\\.org/", "").replaceFirst("(?i)^doi:\\s*", "");
+        return doi.isEmpty() ? null : doi;
+    }
+    
+    private static String issn(String value) {
+        if (value == null) {
+            return null;
+        }
+        Matcher matcher = ISSN.matcher(value.trim().replace(" ", ""));
+        return matcher.matches() ? matcher.group(1) + "-" + matcher.group(2).toUpperCase() : value.trim();
+    }
+    
+    // "Vol 12, Issue 3" -> {12, 3}; separate Volume/Issue columns win
+    private static String[] volumeIssue(ImportRecord record) {
+        String volume = text(record, "volume");
+        String issue = text(record, "issue");
+        String combined = record.get("volumeIssue");
+        if (combined != null) {
+            Matcher volumeMatch = VOLUME.matcher(combined);
+            Matcher issueMatch = ISSUE.matcher(combined);
+            boolean parsed = false;
+            if (volume == null && volumeMatch.find()) {
+                volume = volumeMatch.group(1);
+                parsed = true;
+            }
+            if (issue == null && issueMatch.find()) {
+                issue = issueMatch.group(1);
+                parsed = true;
+            }
+            if (!parsed && volume == null) {
+                volume = combined.trim();
+            }
+        }
+        return new String[]{volume, issue};
+    }
+    
+    private static List<String> authors(String value) {
+        List<String> authors = new ArrayList<>();
+        if (value != null) {
+            for (String author : value.split("\\s*[,;\\n]\\s*")) {
+                if (!author.isBlank()) {
+                    authors.add(author.trim());
+                }
+            }
+        }
+        return authors;
+    }
+    
+    private static String author(List<String> authors, int index) {
+        return index < authors.size() ? authors.get(index) : null;
+    }
+    
+    private static String required(ImportRecord record, String field, String message, List<String> errors) {
+        String value = text(record, field);
+        if (value == null) {
+            errors.add(message);
+        }
+        return value;
+    }
+    
+    // Trimmed, with runs of whitespace (including line breaks inside cells) collapsed
+    private static String text(ImportRecord record, String field) {
+        String value = record.get(field);
+        return value == null ? null : value.replaceAll("\\s+", " ");
+    }
+    
+    @SafeVarargs
+    private static <T> T firstNonNull(T... values) {
+        for (T value : values) {
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,239 @@
+package com.drims.service;
+
+import com.drims.entity.PublicationRecord;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Backfills the unified "publications" collection from the five per-type collections while
+ * the application keeps serving (see PublicationStore for the storage modes). Safe to run
+ * alongside dual writes: copies replace the mirrored record only when it is not newer than the
+ * copy read by the backfill (by updatedAt), so a live mirrored write is never overwritten with
+ * older data, and a prune pass then removes records whose publication was deleted while it ran.
+ * Completion is recorded in the "migrations" collection, which is what lets "unified" mode switch
+ * reads over on every instance. Re-running is harmless and reconciles any drift, including edits
+ * made while an instance ran in legacy mode and mirrored nothing.
+ */
+@Service
+public class PublicationMigrationService {
+
+    private static final Logger log = LoggerFactory.getLogger(PublicationMigrationService.class);
+    private static final String MIGRATIONS = "migrations";
+    private static final String MARKER_ID = "publications";
+    private static final int DUPLICATE_KEY = 11000;
+
+    @Autowired
+    private PublicationStore publicationStore;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Value("${publications.backfill.batch-size:1000}")
+    private int batchSize;
+
+    private volatile Map<String, Object> lastRun;
+
+    // Dual-writing instances make sure the indexes exist; "unified" also backfills if it never completed
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!publicationStore.isDualWriting()) {
+            // Writes from this instance are not mirrored, so an earlier backfill can no longer be trusted
+            if (isComplete()) {
+                mongoTemplate.remove(new Query(Criteria.where("_id").is(MARKER_ID)), MIGRATIONS);
+                log.warn("Storage mode is legacy: unified publications backfill marked stale; backfill again before switching to unified");
+            }
+            return;
+        }
+        ensureIndexes();
+        if (isComplete()) {
+            publicationStore.setBackfilled(true);
+            log.info("Unified publications collection is backfilled; storage mode {}", publicationStore.getStorageMode());
+        } else if ("unified".equals(publicationStore.getStorageMode())) {
+            log.info("Unified publications collection not backfilled yet; reads stay on the per-type collections until it is");
+            backfill();
+        }
+    }
+
+    public synchronized Map<String, Object> backfill() {
+        if (!publicationStore.isDualWriting()) {
+            throw new RuntimeException("Set publications.storage-mode=dual-write before backfilling, "
+                    + "otherwise writes made during the backfill are not mirrored");
+        }
+        ensureIndexes();
+        long start = System.currentTimeMillis();
+        Map<String, Object> copied = new LinkedHashMap<>();
+        Map<String, Object> pruned = new LinkedHashMap<>();
+        for (PublicationStore.Kind kind : PublicationStore.Kind.values()) {
+            copied.put(kind.name(), copy(kind));
+        }
+        // After the copy, so records of publications deleted while copying are caught too
+        for (PublicationStore.Kind kind : PublicationStore.Kind.values()) {
+            pruned.put(kind.name(), prune(kind));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("storageMode", publicationStore.getStorageMode());
+        report.put("copied", copied);
+        report.put("pruned", pruned);
+        report.put("counts", counts());
+        report.put("durationMs", System.currentTimeMillis() - start);
+        report.put("finishedAt", LocalDateTime.now().toString());
+
+        mongoTemplate.save(new Document("_id", MARKER_ID).append("completedAt", new Date()).append("report", report), MIGRATIONS);
+        publicationStore.setBackfilled(true);
+        dataVersionService.bumpAll();
+        lastRun = report;
+        log.info("Unified publications backfill finished: copied {}, pruned {}", copied, pruned);
+        return report;
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("storageMode", publicationStore.getStorageMode());
+        status.put("dualWriting", publicationStore.isDualWriting());
+        status.put("readingUnified", publicationStore.isReadingUnified());
+        Document marker = mongoTemplate.findById(MARKER_ID, Document.class, MIGRATIONS);
+        status.put("backfillCompletedAt", marker != null ? marker.get("completedAt") : null);
+        status.put("counts", counts());
+        status.put("lastRun", lastRun);
+        return status;
+    }
+
+    // Forgets the backfill, e.g. after the per-type collections were dropped
+    public void reset() {
+        publicationStore.dropMirror();
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(MARKER_ID)), MIGRATIONS);
+        publicationStore.setBackfilled(false);
+    }
+
+    private boolean isComplete() {
+        return mongoTemplate.exists(new Query(Criteria.where("_id").is(MARKER_ID)), MIGRATIONS);
+    }
+
+    private Map<String, Long> copy(PublicationStore.Kind kind) {
+        Map<String, Long> copied = new LinkedHashMap<>();
+        copied.put("inserted", 0L);
+        copied.put("refreshed", 0L);
+        copied.put("keptNewer", 0L);
+        List<PublicationRecord> batch = new ArrayList<>(batchSize);
+        try (Stream<?> publications = mongoTemplate.stream(new Query(), kind.entityClass)) {
+            Iterator<?> iterator = publications.iterator();
+            while (iterator.hasNext()) {
+                batch.add(publicationStore.toRecord(iterator.next()));
+                if (batch.size() >= batchSize || !iterator.hasNext()) {
+                    refresh(batch, copied);
+                    batch.clear();
+                }
+            }
+        }
+        return copied;
+    }
+
+    // Upserts each record unless the mirror holds a newer write of it. The guarded filter then
+    // misses, so the upsert's insert fails on the existing _id instead, which leaves it in place.
+    private void refresh(List<PublicationRecord> records, Map<String, Long> copied) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PublicationRecord.class);
+        for (PublicationRecord record : records) {
+            Criteria criteria = Criteria.where("_id").is(record.getId());
+            Object updatedAt = record.getDetails().get("updatedAt");
+            if (updatedAt != null) {
+                criteria = criteria.orOperator(
+                        Criteria.where("details.updatedAt").exists(false),
+                        Criteria.where("details.updatedAt").lte(updatedAt));
+            }
+            bulk.replaceOne(new Query(criteria), record, FindAndReplaceOptions.options().upsert());
+        }
+        BulkWriteResult result;
+        int keptNewer = 0;
+        try {
+            result = bulk.execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw e;
+                }
+            }
+            result = e.getResult();
+            keptNewer = e.getErrors().size();
+        }
+        copied.merge("inserted", (long) result.getUpserts().size(), Long::sum);
+        copied.merge("refreshed", (long) result.getModifiedCount(), Long::sum);
+        copied.merge("keptNewer", (long) keptNewer, Long::sum);
+    }
+
+    private long prune(PublicationStore.Kind kind) {
+        long pruned = 0;
+        Query query = new Query(Criteria.where("type").is(kind.name()));
+        query.fields().include("_id");
+        List<String> ids = new ArrayList<>(batchSize);
+        try (Stream<PublicationRecord> records = mongoTemplate.stream(query, PublicationRecord.class)) {
+            Iterator<PublicationRecord> iterator = records.iterator();
+            while (iterator.hasNext()) {
+                ids.add(iterator.next().getId());
+                if (ids.size() >= batchSize || !iterator.hasNext()) {
+                    pruned += removeOrphans(kind, ids);
+                    ids.clear();
+                }
+            }
+        }
+        return pruned;
+    }
+
+    private long removeOrphans(PublicationStore.Kind kind, List<String> ids) {
+        // Raw documents get no id conversion, so match the stored ObjectIds directly
+        List<Object> storedIds = ids.stream().map(id -> ObjectId.isValid(id) ? (Object) new ObjectId(id) : id).toList();
+        Query existing = new Query(Criteria.where("_id").in(storedIds));
+        existing.fields().include("_id");
+        Set<String> live = new HashSet<>();
+        for (Document document : mongoTemplate.find(existing, Document.class, kind.collection)) {
+            live.add(document.get("_id").toString());
+        }
+        List<String> orphans = ids.stream().filter(id -> !live.contains(id)).toList();
+        if (orphans.isEmpty()) {
+            return 0;
+        }
+        return mongoTemplate.remove(new Query(Criteria.where("_id").in(orphans)), PublicationRecord.class).getDeletedCount();
+    }
+
+    private Map<String, Object> counts() {
+        Map<String, Object> counts = new LinkedHashMap<>();
+        for (PublicationStore.Kind kind : PublicationStore.Kind.values()) {
+            Map<String, Long> count = new LinkedHashMap<>();
+            count.put("collection", mongoTemplate.getCollection(kind.collection).estimatedDocumentCount());
+            count.put("unified", mongoTemplate.count(new Query(Criteria.where("type").is(kind.name())), PublicationRecord.class));
+            counts.put(kind.name(), count);
+        }
+        return counts;
+    }
+
+    private void ensureIndexes() {
+        IndexOperations indexOps = mongoTemplate.indexOps(PublicationRecord.class);
+        new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext())
+                .resolveIndexFor(PublicationRecord.class)
+                .forEach(indexOps::ensureIndex);
+    }
+}
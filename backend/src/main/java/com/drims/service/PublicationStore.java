@@ -0,0 +1,313 @@
+package com.drims.service;
+
+import com.drims.entity.*;
+import com.drims.repository.*;
+import lombok.Getter;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Cross-type publication reads, and the optional unified "publications" collection
+ * (one document per publication with a type discriminator, the shared fields at top level and
+ * the rest in a details subdocument). publications.storage-mode:
+ *   legacy     - only the five per-type collections (default)
+ *   dual-write - every publication write is mirrored into "publications"; reads stay on the
+ *                per-type collections while PublicationMigrationService backfills
+ *   unified    - still dual-writing, and cross-type reads (analytics, reports, exports, pending
+ *                approvals) become one indexed query on "publications" once the backfill is complete
+ * The per-type collections stay the system of record for single-publication CRUD, so switching
+ * back to legacy is just a property change.
+ */
+@Service
+public class PublicationStore {
+
+    private static final Logger log = LoggerFactory.getLogger(PublicationStore.class);
+
+    public static final String JOURNAL = "JOURNAL";
+    public static final String CONFERENCE = "CONFERENCE";
+    public static final String PATENT = "PATENT";
+    public static final String BOOK_CHAPTER = "BOOK_CHAPTER";
+    public static final String BOOK = "BOOK";
+    public static final List<String> ALL_TYPES = List.of(JOURNAL, CONFERENCE, PATENT, BOOK_CHAPTER, BOOK);
+
+    // Type -> entity class, its own collection, and where the shared title/year live in it
+    enum Kind {
+        JOURNAL(Journal.class, "journals", "title", "year"),
+        CONFERENCE(Conference.class, "conferences", "title", "year"),
+        PATENT(Patent.class, "patents", "title", "year"),
+        BOOK_CHAPTER(BookChapter.class, "book_chapters", "title", "year"),
+        BOOK(Book.class, "books", "bookTitle", "publicationYear");
+
+        final Class<?> entityClass;
+        final String collection;
+        final String titleField;
+        final String yearField;
+
+        Kind(Class<?> entityClass, String collection, String titleField, String yearField) {
+            this.entityClass = entityClass;
+            this.collection = collection;
+            this.titleField = titleField;
+            this.yearField = yearField;
+        }
+
+        static Kind of(Class<?> type) {
+            for (Kind kind : values()) {
+                if (kind.entityClass == type) {
+                    return kind;
+                }
+            }
+            return null;
+        }
+
+        static Kind ofCollection(String collection) {
+            for (Kind kind : values()) {
+                if (kind.collection.equals(collection)) {
+                    return kind;
+                }
+            }
+            return null;
+        }
+    }
+
+    @Autowired
+    private JournalRepository journalRepository;
+
+    @Autowired
+    private ConferenceRepository conferenceRepository;
+
+    @Autowired
+    private PatentRepository patentRepository;
+
+    @Autowired
+    private BookChapterRepository bookChapterRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${publications.storage-mode:legacy}")
+    private String storageMode;
+
+    // Set by PublicationMigrationService once "publications" holds everything
+    private volatile boolean backfilled;
+
+    // Publications of each requested type; types that were not requested stay empty
+    @Getter
+    public static class Publications {
+        private final List<Journal> journals = new ArrayList<>();
+        private final List<Conference> conferences = new ArrayList<>();
+        private final List<Patent> patents = new ArrayList<>();
+        private final List<BookChapter> bookChapters = new ArrayList<>();
+        private final List<Book> books = new ArrayList<>();
+
+        public int size() {
+            return journals.size() + conferences.size() + patents.size() + bookChapters.size() + books.size();
+        }
+
+        void add(Object publication) {
+            if (publication instanceof Journal journal) journals.add(journal);
+            else if (publication instanceof Conference conference) conferences.add(conference);
+            else if (publication instanceof Patent patent) patents.add(patent);
+            else if (publication instanceof BookChapter bookChapter) bookChapters.add(bookChapter);
+            else if (publication instanceof Book book) books.add(book);
+        }
+    }
+
+    public String getStorageMode() {
+        return storageMode == null ? "legacy" : storageMode;
+    }
+
+    public boolean isDualWriting() {
+        return "dual-write".equals(storageMode) || "unified".equals(storageMode);
+    }
+
+    public boolean isReadingUnified() {
+        return "unified".equals(storageMode) && backfilled;
+    }
+
+    void setBackfilled(boolean backfilled) {
+        this.backfilled = backfilled;
+    }
+
+    // All publications of the given types
+    public Publications findAll(Collection<String> types) {
+        return findByYear(null, types);
+    }
+
+    // Publications of the given types in one year (all years when year is null)
+    public Publications findByYear(Integer year, Collection<String> types) {
+        if (isReadingUnified()) {
+            return findUnified(types, year != null ? Criteria.where("year").is(year) : null);
+        }
+        Publications publications = new Publications();
+        if (types.contains(JOURNAL)) {
+            publications.journals.addAll(year != null ? journalRepository.findByYear(year) : journalRepository.findAll());
+        }
+        if (types.contains(CONFERENCE)) {
+            publications.conferences.addAll(year != null ? conferenceRepository.findByYear(year) : conferenceRepository.findAll());
+        }
+        if (types.contains(PATENT)) {
+            publications.patents.addAll(year != null ? patentRepository.findByYear(year) : patentRepository.findAll());
+        }
+        if (types.contains(BOOK_CHAPTER)) {
+            publications.bookChapters.addAll(year != null ? bookChapterRepository.findByYear(year) : bookChapterRepository.findAll());
+        }
+        if (types.contains(BOOK)) {
+            publications.books.addAll(year != null ? bookRepository.findByPublicationYear(year) : bookRepository.findAll());
+        }
+        return publications;
+    }
+
+    public Publications findByApprovalStatusIn(List<String> approvalStatuses, Collection<String> types) {
+        if (isReadingUnified()) {
+            return findUnified(types, Criteria.where("approvalStatus").in(approvalStatuses));
+        }
+        Publications publications = new Publications();
+        if (types.contains(JOURNAL)) {
+            publications.journals.addAll(journalRepository.findByApprovalStatusIn(approvalStatuses));
+        }
+        if (types.contains(CONFERENCE)) {
+            publications.conferences.addAll(conferenceRepository.findByApprovalStatusIn(approvalStatuses));
+        }
+        if (types.contains(PATENT)) {
+            publications.patents.addAll(patentRepository.findByApprovalStatusIn(approvalStatuses));
+        }
+        if (types.contains(BOOK_CHAPTER)) {
+            publications.bookChapters.addAll(bookChapterRepository.findByApprovalStatusIn(approvalStatuses));
+        }
+        if (types.contains(BOOK)) {
+            publications.books.addAll(bookRepository.findByApprovalStatusIn(approvalStatuses));
+        }
+        return publications;
+    }
+
+    private Publications findUnified(Collection<String> types, Criteria condition) {
+        Query query = new Query();
+        // All types means no type condition at all, so the condition's own index applies
+        if (!types.containsAll(ALL_TYPES)) {
+            query.addCriteria(Criteria.where("type").in(types));
+        }
+        if (condition != null) {
+            query.addCriteria(condition);
+        }
+        Publications publications = new Publications();
+        try (Stream<PublicationRecord> records = mongoTemplate.stream(query, PublicationRecord.class)) {
+            records.forEach(record -> publications.add(toEntity(record)));
+        }
+        return publications;
+    }
+
+    // Dual writes
+
+    public void mirror(Object publication) {
+        if (!isDualWriting()) {
+            return;
+        }
+        PublicationRecord record = toRecord(publication);
+        if (record != null) {
+            mongoTemplate.save(record);
+        }
+    }
+
+    // For bulk inserts run under BulkWriteEvents.suppressed(): one bulk replace per batch instead of a save per document
+    public void mirrorAll(List<?> publications) {
+        if (!isDualWriting() || publications.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PublicationRecord.class);
+        int queued = 0;
+        for (Object publication : publications) {
+            PublicationRecord record = toRecord(publication);
+            if (record != null) {
+                bulk.replaceOne(new Query(Criteria.where("_id").is(record.getId())), record,
+                        FindAndReplaceOptions.options().upsert());
+                queued++;
+            }
+        }
+        if (queued > 0) {
+            bulk.execute();
+        }
+    }
+
+    // Deletes arrive as the query that was run against the type's collection
+    public void mirrorDelete(String collection, Document query) {
+        Kind kind = Kind.ofCollection(collection);
+        if (!isDualWriting() || kind == null || query == null) {
+            return;
+        }
+        if (query.isEmpty()) {
+            mongoTemplate.remove(new Query(Criteria.where("type").is(kind.name())), PublicationRecord.class);
+        } else if (query.size() == 1 && query.containsKey("_id")) {
+            mongoTemplate.remove(new Query(Criteria.where("_id").is(query.get("_id"))), PublicationRecord.class);
+        } else {
+            // Repositories here only delete by id or everything; anything else is reconciled by the next backfill
+            log.warn("Unified publications not updated for delete on {} by {}; run the publications backfill", collection, query.keySet());
+        }
+    }
+
+    public void dropMirror() {
+        mongoTemplate.dropCollection(PublicationRecord.class);
+    }
+
+    // Conversion between a typed entity and its unified record
+
+    PublicationRecord toRecord(Object publication) {
+        Kind kind = publication == null ? null : Kind.of(publication.getClass());
+        if (kind == null) {
+            return null;
+        }
+        Document details = new Document();
+        mongoTemplate.getConverter().write(publication, details);
+        Object id = details.remove("_id");
+        details.remove("_class");
+
+        PublicationRecord record = new PublicationRecord();
+        record.setId(id instanceof ObjectId objectId ? objectId.toHexString() : (String) id);
+        record.setType(kind.name());
+        record.setFacultyId((String) details.remove("facultyId"));
+        record.setStudentId((String) details.remove("studentId"));
+        record.setTitle((String) details.remove(kind.titleField));
+        record.setYear((Integer) details.remove(kind.yearField));
+        record.setCategory((String) details.remove("category"));
+        record.setStatus((String) details.remove("status"));
+        record.setApprovalStatus((String) details.remove("approvalStatus"));
+        record.setDetails(details);
+        return record;
+    }
+
+    Object toEntity(PublicationRecord record) {
+        Kind kind = Kind.valueOf(record.getType());
+        Document document = record.getDetails() != null
+                ? new Document(record.getDetails()) : new Document();
+        document.put("_id", record.getId());
+        putIfPresent(document, "facultyId", record.getFacultyId());
+        putIfPresent(document, "studentId", record.getStudentId());
+        putIfPresent(document, kind.titleField, record.getTitle());
+        putIfPresent(document, kind.yearField, record.getYear());
+        putIfPresent(document, "category", record.getCategory());
+        putIfPresent(document, "status", record.getStatus());
+        putIfPresent(document, "approvalStatus", record.getApprovalStatus());
+        return mongoTemplate.getConverter().read(kind.entityClass, document);
+    }
+
+    private static void putIfPresent(Document document, String key, Object value) {
+        if (value != null) {
+            document.put(key, value);
+        }
+    }
+}
@@ -1,7 +1,8 @@
 package com.drims.service;
 
 import com.drims.entity.*;
-import com.drims.repository.*;
+import com.drims.jfr.ReportEvent;
+import com.drims.repository.StudentProfileRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -13,41 +14,74 @@ import java.util.stream.Collectors;
 public class ReportService {
     
     @Autowired
-    private JournalRepository journalRepository;
+    private PublicationStore publicationStore;
     
     @Autowired
-    private ConferenceRepository conferenceRepository;
+    private FacultyProfileCache facultyProfileCache;
     
     @Autowired
-    private PatentRepository patentRepository;
-    
-    @Autowired
-    private BookChapterRepository bookChapterRepository;
-    
-    @Autowired
-    private BookRepository bookRepository;
+    private StudentProfileRepository studentProfileRepository;
     
     @Autowired
-    private FacultyProfileRepository facultyProfileRepository;
+    private DuplicateDetectionService duplicateDetectionService;
     
     @Autowired
-    private StudentProfileRepository studentProfileRepository;
+    private AnalyticsSnapshot analyticsSnapshot;
     
     // NAAC Report
     public Map<String, Object> generateNAACReport(Integer year, String facultyId) {
+        ReportEvent event = new ReportEvent();
+        event.begin();
+        Map<String, Object> report = buildNAACReport(approvedFromSnapshot(year, facultyId), year, facultyId, event);
+        event.finish("NAAC", year, facultyId, approvedCount(report));
+        return report;
+    }
+    
+    // Approved and locked publications counted from the columnar snapshot; null when it cannot answer
+    private AnalyticsSnapshot.Aggregate approvedFromSnapshot(Integer year, String facultyId) {
+        return analyticsSnapshot.aggregate(year, facultyId, true, true);
+    }
+    
+    private Map<String, Object> buildNAACReport(AnalyticsSnapshot.Aggregate approved, Integer year, String facultyId, ReportEvent event) {
+        if (approved == null) {
+            return buildNAACReport(year, facultyId, event);
+        }
+        Map<String, Object> report = new HashMap<>();
+        String[] types = {PublicationStore.JOURNAL, PublicationStore.CONFERENCE, PublicationStore.PATENT,
+            PublicationStore.BOOK_CHAPTER, PublicationStore.BOOK};
+        String[] keys = {"Journals", "Conferences", "Patents", "BookChapters", "Books"};
+        for (int i = 0; i < types.length; i++) {
+            report.put("total" + keys[i], approved.count(types[i]));
+            // Same counts with every duplicate cluster (co-author / student-guide entries) counted once
+            report.put("unique" + keys[i], duplicateDetectionService.countDistinct(types[i], approved.ids(types[i])));
+            String categoryKey = Character.toLowerCase(keys[i].charAt(0)) + keys[i].substring(1) + "ByCategory";
+            report.put(categoryKey, approved.countsByCategory(types[i], "Not Specified"));
+        }
+        report.put("yearWiseJournals", approved.countsByYear(List.of(PublicationStore.JOURNAL)));
+        report.put("yearWiseConferences", approved.countsByYear(List.of(PublicationStore.CONFERENCE)));
+        
+        Map<String, Integer> facultyWiseJournals = new HashMap<>();
+        approved.countsByFacultyId(List.of(PublicationStore.JOURNAL))
+            .forEach((id, count) -> facultyWiseJournals.merge(getFacultyName(id), count, Integer::sum));
+        report.put("facultyWiseJournals", facultyWiseJournals);
+        report.put("generatedAt", LocalDateTime.now());
+        report.put("year", year);
+        report.put("facultyId", facultyId);
+        
+        return report;
+    }
+    
+    private Map<String, Object> buildNAACReport(Integer year, String facultyId, ReportEvent event) {
         Map<String, Object> report = new HashMap<>();
         
-        // Filter by year if provided
-        List<Journal> allJournals = year != null ? 
-            journalRepository.findByYear(year) : journalRepository.findAll();
-        List<Conference> allConferences = year != null ? 
-            conferenceRepository.findByYear(year) : conferenceRepository.findAll();
-        List<Patent> allPatents = year != null ? 
-            patentRepository.findByYear(year) : patentRepository.findAll();
-        List<BookChapter> allBookChapters = year != null ? 
-            bookChapterRepository.findByYear(year) : bookChapterRepository.findAll();
-        List<Book> allBooks = year != null ? 
-            bookRepository.findByPublicationYear(year) : bookRepository.findAll();
+        // Filter by year if provided (one query in unified storage mode)
+        PublicationStore.Publications publications = publicationStore.findByYear(year, PublicationStore.ALL_TYPES);
+        List<Journal> allJournals = publications.getJournals();
+        List<Conference> allConferences = publications.getConferences();
+        List<Patent> allPatents = publications.getPatents();
+        List<BookChapter> allBookChapters = publications.getBookChapters();
+        List<Book> allBooks = publications.getBooks();
+        event.addDocumentsFetched(publications.size());
         
         // Filter by faculty if provided
         if (facultyId != null) {
@@ -136,6 +170,17 @@ public class ReportService {
         report.put("totalPatents", allPatents.size());
         report.put("totalBookChapters", allBookChapters.size());
         report.put("totalBooks", allBooks.size());
+        // Same counts with every duplicate cluster (co-author / student-guide entries) counted once
+        report.put("uniqueJournals", duplicateDetectionService.countDistinct("JOURNAL",
+            allJournals.stream().map(Journal::getId).collect(Collectors.toList())));
+        report.put("uniqueConferences", duplicateDetectionService.countDistinct("CONFERENCE",
+            allConferences.stream().map(Conference::getId).collect(Collectors.toList())));
+        report.put("uniquePatents", duplicateDetectionService.countDistinct("PATENT",
+            allPatents.stream().map(Patent::getId).collect(Collectors.toList())));
+        report.put("uniqueBookChapters", duplicateDetectionService.countDistinct("BOOK_CHAPTER",
+            allBookChapters.stream().map(BookChapter::getId).collect(Collectors.toList())));
+        report.put("uniqueBooks", duplicateDetectionService.countDistinct("BOOK",
+            allBooks.stream().map(Book::getId).collect(Collectors.toList())));
         report.put("journalsByCategory", journalsByCategory);
         report.put("conferencesByCategory", conferencesByCategory);
         report.put("patentsByCategory", patentsByCategory);
@@ -153,12 +198,21 @@ public class ReportService {
     
     // NBA Report
     public Map<String, Object> generateNBAReport(Integer year, String facultyId) {
-        Map<String, Object> report = generateNAACReport(year, facultyId);
+        ReportEvent event = new ReportEvent();
+        event.begin();
+        AnalyticsSnapshot.Aggregate approved = approvedFromSnapshot(year, facultyId);
+        Map<String, Object> report = buildNAACReport(approved, year, facultyId, event);
         report.put("reportType", "NBA");
         
+        if (approved != null) {
+            report.put("indexTypeDistribution", approved.journalIndexTypes());
+            event.finish("NBA", year, facultyId, approvedCount(report));
+            return report;
+        }
+        
         // Additional NBA-specific metrics
-        List<Journal> allJournals = year != null ? 
-            journalRepository.findByYear(year) : journalRepository.findAll();
+        List<Journal> allJournals = publicationStore.findByYear(year, List.of(PublicationStore.JOURNAL)).getJournals();
+        event.addDocumentsFetched(allJournals.size());
         
         if (facultyId != null) {
             allJournals = allJournals.stream()
@@ -177,19 +231,32 @@ public class ReportService {
         
         report.put("indexTypeDistribution", indexTypeDistribution);
         
+        event.finish("NBA", year, facultyId, approvedCount(report));
         return report;
     }
     
     // NIRF Report
     public Map<String, Object> generateNIRFReport(Integer year, String facultyId) {
-        Map<String, Object> report = generateNAACReport(year, facultyId);
+        ReportEvent event = new ReportEvent();
+        event.begin();
+        AnalyticsSnapshot.Aggregate approved = approvedFromSnapshot(year, facultyId);
+        Map<String, Object> report = buildNAACReport(approved, year, facultyId, event);
         report.put("reportType", "NIRF");
         
+        if (approved != null) {
+            report.put("highImpactJournals", (long) approved.journalsWithImpactAtLeast3());
+            report.put("publicationQualityScore", qualityScore(approved.journalsWithImpactAtLeast2(),
+                approved.count(PublicationStore.JOURNAL) + approved.count(PublicationStore.CONFERENCE)));
+            event.finish("NIRF", year, facultyId, approvedCount(report));
+            return report;
+        }
+        
         // Additional NIRF-specific metrics
-        List<Journal> allJournals = year != null ? 
-            journalRepository.findByYear(year) : journalRepository.findAll();
-        List<Conference> allConferences = year != null ? 
-            conferenceRepository.findByYear(year) : conferenceRepository.findAll();
+        PublicationStore.Publications publications = publicationStore.findByYear(year,
+            List.of(PublicationStore.JOURNAL, PublicationStore.CONFERENCE));
+        List<Journal> allJournals = publications.getJournals();
+        List<Conference> allConferences = publications.getConferences();
+        event.addDocumentsFetched(allJournals.size() + allConferences.size());
         
         if (facultyId != null) {
             allJournals = allJournals.stream()
@@ -223,13 +290,21 @@ public class ReportService {
         report.put("highImpactJournals", highImpactJournals);
         report.put("publicationQualityScore", calculateQualityScore(allJournals, allConferences));
         
+        event.finish("NIRF", year, facultyId, approvedCount(report));
         return report;
     }
     
+    private static long approvedCount(Map<String, Object> report) {
+        long count = 0;
+        for (String key : List.of("totalJournals", "totalConferences", "totalPatents", "totalBookChapters", "totalBooks")) {
+            count += ((Number) report.get(key)).longValue();
+        }
+        return count;
+    }
+    
     private String getFacultyName(String facultyId) {
-        return facultyProfileRepository.findById(facultyId)
-            .map(FacultyProfile::getName)
-            .orElse("Unknown Faculty");
+        String name = facultyProfileCache.getName(facultyId);
+        return name != null ? name : "Unknown Faculty";
     }
     
     private double calculateQualityScore(List<Journal> journals, List<Conference> conferences) {
@@ -249,6 +324,10 @@ public class ReportService {
             }
         }
         
+        return qualityScore(highQualityCount, totalPublications);
+    }
+    
+    private static double qualityScore(long highQualityCount, long totalPublications) {
         return totalPublications > 0 ? (double) highQualityCount / totalPublications * 100 : 0.0;
     }
 }
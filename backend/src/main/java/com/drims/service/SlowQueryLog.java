@@ -0,0 +1,396 @@
+package com.drims.service;
+
+import com.drims.config.RepositoryInvocationContext;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Mongo command listener that keeps the commands slower than a threshold in a ring buffer,
+ * with the filter shape (every value replaced by "?"), the collection and the repository
+ * method that issued it. Slow commands are also grouped by shape; once a shape has been slow
+ * more than once, the next slow occurrence is explained in the background and the winning
+ * plan is cached, so a query that scans a whole collection (a missing index) is visible from
+ * the admin diagnostics endpoint without reproducing it.
+ */
+@Component
+public class SlowQueryLog implements CommandListener {
+
+    private static final Set<String> QUERY_COMMANDS = Set.of(
+            "find", "aggregate", "count", "distinct", "findAndModify", "update", "delete");
+
+    // Session and cluster fields the driver adds; explain must be sent without them
+    private static final Set<String> DRIVER_FIELDS = Set.of("lsid", "txnNumber", "autocommit", "startTransaction");
+
+    private static final BsonValue REDACTED = new BsonString("?");
+
+    // Winning-plan fields that describe the access path; the rest (filter, indexBounds) holds query values
+    private static final List<String> PLAN_FIELDS = List.of("stage", "indexName", "keyPattern", "direction");
+
+    // Explain runs through the same client; a lazy proxy breaks the client -> listener -> template cycle
+    @Lazy
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${diagnostics.slow-query.enabled:true}")
+    private boolean enabled;
+
+    @Value("${diagnostics.slow-query.threshold-ms:100}")
+    private long thresholdMs;
+
+    @Value("${diagnostics.slow-query.buffer-size:200}")
+    private int bufferSize;
+
+    @Value("${diagnostics.slow-query.max-shapes:500}")
+    private int maxShapes;
+
+    @Value("${diagnostics.slow-query.explain-after:2}")
+    private int explainAfter;
+
+    private final Map<Integer, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+    private final Deque<Map<String, Object>> recent = new ArrayDeque<>();
+
+    // One explain at a time, off the driver's thread, with a short queue
+    private final ThreadPoolExecutor explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(16), runnable -> {
+                Thread thread = new Thread(runnable, "slow-query-explain");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private record InFlight(String database, String collection, String command, String shape,
+                            String repositoryMethod, BsonDocument explainable) {
+    }
+
+    private static final class ShapeStats {
+        private final String collection;
+        private final String command;
+        private final String shape;
+        private long count;
+        private long totalMs;
+        private long maxMs;
+        private String repositoryMethod;
+        private LocalDateTime lastSeen;
+        private volatile boolean explainRequested;
+        private volatile Map<String, Object> plan;
+
+        ShapeStats(String collection, String command, String shape) {
+            this.collection = collection;
+            this.command = command;
+            this.shape = shape;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (!enabled || !QUERY_COMMANDS.contains(event.getCommandName())) {
+            return;
+        }
+        // The command document is only valid during this callback, so the shape is taken now
+        BsonDocument command = event.getCommand();
+        String collection = collectionOf(event.getCommandName(), command);
+        String shape = shapeOf(event.getCommandName(), command);
+        ShapeStats stats = shapes.get(key(collection, event.getCommandName(), shape));
+        // Keep the real command only for shapes already known to be slow and not yet explained
+        BsonDocument explainable = stats != null && stats.plan == null && !stats.explainRequested
+                && stats.count + 1 >= explainAfter ? explainable(command) : null;
+        inFlight.put(event.getRequestId(), new InFlight(event.getDatabaseName(), collection,
+                event.getCommandName(), shape, RepositoryInvocationContext.current(), explainable));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        completed(event.getRequestId(), event.getElapsedTime(TimeUnit.MILLISECONDS), null);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        completed(event.getRequestId(), event.getElapsedTime(TimeUnit.MILLISECONDS),
+                event.getThrowable().getClass().getSimpleName());
+    }
+
+    private void completed(int requestId, long elapsedMs, String failure) {
+        InFlight command = inFlight.remove(requestId);
+        if (command == null || elapsedMs < thresholdMs) {
+            return;
+        }
+        String method = command.repositoryMethod() != null ? command.repositoryMethod() : "none";
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("at", LocalDateTime.now());
+        entry.put("elapsedMs", elapsedMs);
+        entry.put("collection", command.collection());
+        entry.put("command", command.command());
+        entry.put("shape", command.shape());
+        entry.put("repositoryMethod", method);
+        if (failure != null) {
+            entry.put("failure", failure);
+        }
+        synchronized (recent) {
+            recent.addFirst(entry);
+            while (recent.size() > bufferSize) {
+                recent.removeLast();
+            }
+        }
+
+        String key = key(command.collection(), command.command(), command.shape());
+        ShapeStats stats = shapes.get(key);
+        if (stats == null && shapes.size() < maxShapes) {
+            stats = shapes.computeIfAbsent(key, k -> new ShapeStats(command.collection(), command.command(),
+                    command.shape()));
+        }
+        if (stats == null) {
+            return;
+        }
+        boolean explain;
+        synchronized (stats) {
+            stats.count++;
+            stats.totalMs += elapsedMs;
+            stats.maxMs = Math.max(stats.maxMs, elapsedMs);
+            stats.repositoryMethod = method;
+            stats.lastSeen = LocalDateTime.now();
+            explain = command.explainable() != null && stats.count >= explainAfter && !stats.explainRequested;
+            if (explain) {
+                stats.explainRequested = true;
+            }
+        }
+        if (explain) {
+            ShapeStats target = stats;
+            try {
+                explainExecutor.execute(() -> target.plan = explain(command.database(), command.explainable()));
+            } catch (RejectedExecutionException e) {
+                // Queue full: the next slow occurrence asks again
+                target.explainRequested = false;
+            }
+        }
+    }
+
+    // Recent slow commands (newest first) and per-shape totals, slowest total first
+    public Map<String, Object> report() {
+        List<Map<String, Object>> entries;
+        synchronized (recent) {
+            entries = new ArrayList<>(recent);
+        }
+        List<Map<String, Object>> shapeReport = new ArrayList<>();
+        List<ShapeStats> sorted = new ArrayList<>(shapes.values());
+        sorted.sort(Comparator.comparingLong((ShapeStats stats) -> stats.totalMs).reversed());
+        for (ShapeStats stats : sorted) {
+            Map<String, Object> shape = new LinkedHashMap<>();
+            synchronized (stats) {
+                shape.put("collection", stats.collection);
+                shape.put("command", stats.command);
+                shape.put("shape", stats.shape);
+                shape.put("count", stats.count);
+                shape.put("totalMs", stats.totalMs);
+                shape.put("maxMs", stats.maxMs);
+                shape.put("avgMs", stats.count == 0 ? 0 : stats.totalMs / stats.count);
+                shape.put("repositoryMethod", stats.repositoryMethod);
+                shape.put("lastSeen", stats.lastSeen);
+            }
+            shape.put("plan", stats.plan);
+            shapeReport.add(shape);
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("enabled", enabled);
+        report.put("thresholdMs", thresholdMs);
+        report.put("recent", entries);
+        report.put("shapes", shapeReport);
+        return report;
+    }
+
+    public void clear() {
+        synchronized (recent) {
+            recent.clear();
+        }
+        shapes.clear();
+    }
+
+    private Map<String, Object> explain(String database, BsonDocument command) {
+        Map<String, Object> plan = new LinkedHashMap<>();
+        try {
+            Document result = mongoTemplate.getMongoDatabaseFactory().getMongoDatabase(database)
+                    .runCommand(new BsonDocument("explain", command).append("verbosity", new BsonString("queryPlanner")));
+            Document queryPlanner = queryPlanner(result);
+            Document winningPlan = queryPlanner != null ? queryPlanner.get("winningPlan", Document.class) : null;
+            // Slot-based engine plans nest the classic plan tree under queryPlan
+            if (winningPlan != null && winningPlan.containsKey("queryPlan")) {
+                winningPlan = winningPlan.get("queryPlan", Document.class);
+            }
+            if (winningPlan == null) {
+                plan.put("error", "Explain returned no winning plan");
+                return plan;
+            }
+            List<String> stages = new ArrayList<>();
+            describeStages(winningPlan, stages);
+            plan.put("stages", String.join(" > ", stages));
+            plan.put("collectionScan", stages.contains("COLLSCAN"));
+            plan.put("winningPlan", planTree(winningPlan));
+        } catch (RuntimeException e) {
+            plan.put("error", e.getMessage());
+        }
+        plan.put("explainedAt", LocalDateTime.now());
+        return plan;
+    }
+
+    // find/count explain at the top level; aggregate nests it in the first $cursor stage
+    private static Document queryPlanner(Document result) {
+        if (result.containsKey("queryPlanner")) {
+            return result.get("queryPlanner", Document.class);
+        }
+        List<?> stages = result.get("stages", List.class);
+        if (stages != null && !stages.isEmpty() && stages.get(0) instanceof Document first
+                && first.get("$cursor") instanceof Document cursor) {
+            return cursor.get("queryPlanner", Document.class);
+        }
+        return null;
+    }
+
+    private static void describeStages(Document stage, List<String> stages) {
+        String name = stage.getString("stage");
+        if (name != null) {
+            stages.add(stage.containsKey("indexName") ? name + "(" + stage.getString("indexName") + ")" : name);
+        }
+        if (stage.get("inputStage") instanceof Document input) {
+            describeStages(input, stages);
+        }
+        if (stage.get("inputStages") instanceof List<?> inputs) {
+            for (Object input : inputs) {
+                if (input instanceof Document document) {
+                    describeStages(document, stages);
+                }
+            }
+        }
+    }
+
+    // The plan tree without filter and indexBounds, which carry the query's literal values
+    private static Document planTree(Document stage) {
+        Document tree = new Document();
+        for (String field : PLAN_FIELDS) {
+            if (stage.containsKey(field)) {
+                tree.append(field, stage.get(field));
+            }
+        }
+        if (stage.get("inputStage") instanceof Document input) {
+            tree.append("inputStage", planTree(input));
+        }
+        if (stage.get("inputStages") instanceof List<?> inputs) {
+            List<Document> trees = new ArrayList<>();
+            for (Object input : inputs) {
+                if (input instanceof Document document) {
+                    trees.add(planTree(document));
+                }
+            }
+            tree.append("inputStages", trees);
+        }
+        return tree;
+    }
+
+    private static String key(String collection, String command, String shape) {
+        return collection + " " + command + " " + shape;
+    }
+
+    private static String collectionOf(String commandName, BsonDocument command) {
+        BsonValue value = command.get(commandName);
+        return value != null && value.isString() ? value.asString().getValue() : "unknown";
+    }
+
+    // The part of the command that decides the plan, with values redacted
+    private static String shapeOf(String commandName, BsonDocument command) {
+        BsonDocument shape = new BsonDocument();
+        switch (commandName) {
+            case "find" -> {
+                copyRedacted(command, "filter", shape);
+                copyAsIs(command, "sort", shape);
+                copyAsIs(command, "projection", shape);
+            }
+            case "aggregate" -> copyRedacted(command, "pipeline", shape);
+            case "count", "distinct", "findAndModify" -> {
+                copyRedacted(command, "query", shape);
+                copyAsIs(command, "key", shape);
+                copyAsIs(command, "sort", shape);
+            }
+            case "update", "delete" -> {
+                String statements = commandName.equals("update") ? "updates" : "deletes";
+                BsonValue list = command.get(statements);
+                if (list != null && list.isArray() && !list.asArray().isEmpty()
+                        && list.asArray().get(0).isDocument()) {
+                    copyRedacted(list.asArray().get(0).asDocument(), "q", shape);
+                }
+            }
+            default -> {
+            }
+        }
+        return shape.toJson();
+    }
+
+    private static void copyRedacted(BsonDocument from, String field, BsonDocument to) {
+        BsonValue value = from.get(field);
+        if (value != null) {
+            to.append(field, redact(value));
+        }
+    }
+
+    // Sort and projection documents hold field names and directions, never user data
+    private static void copyAsIs(BsonDocument from, String field, BsonDocument to) {
+        BsonValue value = from.get(field);
+        if (value != null) {
+            to.append(field, value);
+        }
+    }
+
+    private static BsonValue redact(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument redacted = new BsonDocument();
+            value.asDocument().forEach((name, inner) -> redacted.append(name, redact(inner)));
+            return redacted;
+        }
+        if (value.isArray()) {
+            // ["a", "b", "c"] and ["d"] are the same shape
+            BsonArray redacted = new BsonArray();
+            for (BsonValue element : value.asArray()) {
+                BsonValue inner = redact(element);
+                if (!redacted.contains(inner)) {
+                    redacted.add(inner);
+                }
+            }
+            return redacted;
+        }
+        // "$field" references in pipelines are part of the shape, not data
+        if (value.isString() && value.asString().getValue().startsWith("$")) {
+            return value;
+        }
+        return REDACTED;
+    }
+
+    private static BsonDocument explainable(BsonDocument command) {
+        BsonDocument copy = new BsonDocument();
+        command.forEach((name, value) -> {
+            if (!name.startsWith("$") && !DRIVER_FIELDS.contains(name)) {
+                copy.append(name, value);
+            }
+        });
+        // Deep copy: nested documents may still be views over the driver's buffer
+        return copy.clone();
+    }
+}
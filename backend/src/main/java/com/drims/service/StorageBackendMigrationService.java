@@ -0,0 +1,106 @@
+package com.drims.service;
+
+import com.drims.storage.StorageBackend;
+import com.drims.storage.StorageBackendFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Copies every blob-store object (PDFs and preview artifacts) from one storage backend to
+ * another, e.g. local disk to S3 before switching storage.backend. Objects already present in
+ * the target with the same size are skipped, so an interrupted run can simply be repeated. PDFs
+ * are re-hashed on the way and rejected if the content no longer matches its SHA-256 key.
+ * Source objects are left in place; remove them once the new backend is live.
+ */
+@Service
+public class StorageBackendMigrationService {
+    
+    @Autowired
+    private StorageBackendFactory storageBackendFactory;
+    
+    @Autowired
+    private FileStorageService fileStorageService;
+    
+    public synchronized Map<String, Object> migrate(String from, String to) {
+        if (from == null || to == null || from.trim().equalsIgnoreCase(to.trim())) {
+            throw new RuntimeException("Source and target storage backends must differ");
+        }
+        long[] counters = new long[5]; // scanned, copied, skipped, failed, bytesCopied
+        try (StorageBackend source = storageBackendFactory.create(from);
+             StorageBackend target = storageBackendFactory.create(to);
+             Stream<StorageBackend.StoredObject> objects = source.list(FileStorageService.BLOBS_DIR + "/")) {
+            Iterator<StorageBackend.StoredObject> iterator = objects.iterator();
+            while (iterator.hasNext()) {
+                StorageBackend.StoredObject object = iterator.next();
+                counters[0]++;
+                try {
+                    if (target.stat(object.key()).filter(existing -> existing.size() == object.size()).isPresent()) {
+                        counters[2]++;
+                        continue;
+                    }
+                    copy(source, target, object.key());
+                    counters[1]++;
+                    counters[4] += object.size();
+                } catch (IOException | RuntimeException e) {
+                    counters[3]++;
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Storage migration failed: " + e.getMessage(), e);
+        }
+        
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("from", from);
+        report.put("to", to);
+        report.put("scannedObjects", counters[0]);
+        report.put("copiedObjects", counters[1]);
+        report.put("alreadyPresent", counters[2]);
+        report.put("failedObjects", counters[3]);
+        report.put("bytesCopied", counters[4]);
+        report.put("finishedAt", LocalDateTime.now().toString());
+        return report;
+    }
+    
+    // Through a local temp file: put() consumes its source, and S3 needs the length up front
+    private void copy(StorageBackend source, StorageBackend target, String key) throws IOException {
+        Path temp = fileStorageService.createTempFile();
+        try {
+            MessageDigest digest = FileStorageService.newDigest();
+            try (InputStream in = source.open(key);
+                 OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                in.transferTo(out);
+            }
+            String name = key.substring(key.lastIndexOf('/') + 1);
+            if (name.endsWith(".pdf") && !name.equals(HexFormat.of().formatHex(digest.digest()) + ".pdf")) {
+                throw new IOException("Content does not match its key: " + key);
+            }
+            target.put(key, temp, contentType(name));
+        } finally {
+            FileStorageService.deleteQuietly(temp);
+        }
+    }
+    
+    private static String contentType(String name) {
+        if (name.endsWith(".png")) {
+            return "image/png";
+        }
+        if (name.endsWith(".txt")) {
+            return "text/plain; charset=UTF-8";
+        }
+        return "application/pdf";
+    }
+}
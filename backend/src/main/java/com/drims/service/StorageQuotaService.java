@@ -0,0 +1,150 @@
+package com.drims.service;
+
+import com.drims.entity.StorageUsage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-account storage accounting. Each upload reserves its bytes with a single conditional $inc
+ * (the update only matches while the account stays within quota), so concurrent uploads cannot
+ * overshoot; deletes release them. Accounts are charged the logical size of what they uploaded,
+ * even when the content is deduplicated in the blob store. StorageUsageReconciler corrects drift
+ * in the background.
+ */
+@Service
+public class StorageQuotaService {
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
+    @Value("${storage.quota.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${storage.quota.faculty-bytes:524288000}")
+    private long facultyQuotaBytes;
+    
+    @Value("${storage.quota.student-bytes:104857600}")
+    private long studentQuotaBytes;
+    
+    // Cheap pre-check before any bytes are read; the reservation below is the authoritative check
+    public void checkQuota(String ownerType, String ownerId, long bytes) {
+        if (!enabled || bytes <= 0) {
+            return;
+        }
+        StorageUsage usage = mongoTemplate.findById(usageId(ownerType, ownerId), StorageUsage.class);
+        long used = usage != null && usage.getTotalBytes() != null ? usage.getTotalBytes() : 0L;
+        long quota = quotaFor(ownerType, usage);
+        if (used + bytes > quota) {
+            throw new RuntimeException(quotaMessage(used, quota));
+        }
+    }
+    
+    public void reserve(String ownerType, String ownerId, String category, long bytes) {
+        StorageUsage usage = ensureUsage(ownerType, ownerId);
+        Criteria criteria = Criteria.where("_id").is(usage.getId());
+        if (enabled) {
+            criteria = criteria.and("totalBytes").lte(quotaFor(ownerType, usage) - bytes);
+        }
+        long matched = mongoTemplate.updateFirst(new Query(criteria), change(category, bytes, 1), StorageUsage.class)
+                .getMatchedCount();
+        if (matched == 0) {
+            StorageUsage current = mongoTemplate.findById(usage.getId(), StorageUsage.class);
+            long used = current != null && current.getTotalBytes() != null ? current.getTotalBytes() : 0L;
+            throw new RuntimeException(quotaMessage(used, quotaFor(ownerType, current)));
+        }
+    }
+    
+    public void release(String ownerType, String ownerId, String category, long bytes) {
+        if (ownerType == null || ownerId == null) {
+            return;
+        }
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(usageId(ownerType, ownerId))),
+                change(category, -bytes, -1), StorageUsage.class);
+    }
+    
+    public List<StorageUsage> getAllUsage() {
+        List<StorageUsage> usage = mongoTemplate.find(
+                new Query().with(Sort.by(Sort.Direction.DESC, "totalBytes")), StorageUsage.class);
+        usage.forEach(entry -> entry.setQuotaBytes(quotaFor(entry.getOwnerType(), entry)));
+        return usage;
+    }
+    
+    public StorageUsage getUsage(String ownerType, String ownerId) {
+        StorageUsage usage = ensureUsage(ownerType, ownerId);
+        usage.setQuotaBytes(quotaFor(ownerType, usage));
+        return usage;
+    }
+    
+    // Per-account override; null restores the configured default
+    public StorageUsage setQuota(String ownerType, String ownerId, Long quotaBytes) {
+        ensureUsage(ownerType, ownerId);
+        Update update = quotaBytes != null ? Update.update("quotaBytes", quotaBytes) : new Update().unset("quotaBytes");
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(usageId(ownerType, ownerId))), update,
+                StorageUsage.class);
+        return getUsage(ownerType, ownerId);
+    }
+    
+    public Map<String, Object> getSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("enabled", enabled);
+        summary.put("defaultFacultyQuotaBytes", facultyQuotaBytes);
+        summary.put("defaultStudentQuotaBytes", studentQuotaBytes);
+        summary.put("accounts", getAllUsage());
+        return summary;
+    }
+    
+    static String usageId(String ownerType, String ownerId) {
+        return ownerType + ":" + ownerId;
+    }
+    
+    // Categories come from the request path; keep them usable as Mongo field names
+    static String categoryKey(String category) {
+        return category.replace('.', '_').replace('$', '_');
+    }
+    
+    private StorageUsage ensureUsage(String ownerType, String ownerId) {
+        String id = usageId(ownerType, ownerId);
+        mongoTemplate.upsert(new Query(Criteria.where("_id").is(id)),
+                new Update().setOnInsert("ownerType", ownerType)
+                        .setOnInsert("ownerId", ownerId)
+                        .setOnInsert("totalBytes", 0L)
+                        .setOnInsert("fileCount", 0L)
+                        .setOnInsert("version", 0L)
+                        .setOnInsert("updatedAt", LocalDateTime.now()),
+                StorageUsage.class);
+        return mongoTemplate.findById(id, StorageUsage.class);
+    }
+    
+    private Update change(String category, long bytes, long files) {
+        Update update = new Update().inc("totalBytes", bytes)
+                .inc("fileCount", files)
+                .inc("version", 1)
+                .set("updatedAt", LocalDateTime.now());
+        if (category != null) {
+            update.inc("bytesByCategory." + categoryKey(category), bytes);
+        }
+        return update;
+    }
+    
+    private long quotaFor(String ownerType, StorageUsage usage) {
+        if (usage != null && usage.getQuotaBytes() != null) {
+            return usage.getQuotaBytes();
+        }
+        return "student".equals(ownerType) ? studentQuotaBytes : facultyQuotaBytes;
+    }
+    
+    private static String quotaMessage(long used, long quota) {
+        return "Storage quota exceeded: " + (used / (1024 * 1024)) + "MB of " + (quota / (1024 * 1024)) + "MB used";
+    }
+}
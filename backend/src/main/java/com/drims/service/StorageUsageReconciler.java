@@ -0,0 +1,174 @@
+package com.drims.service;
+
+import com.drims.entity.StorageUsage;
+import com.drims.entity.StoredFile;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Recomputes storage usage from the source of truth (StoredFile references plus legacy files
+ * still under their logical path) and corrects the $inc counters kept by StorageQuotaService.
+ * Runs in the background only; an account whose counters changed while the pass was running
+ * is left for the next pass instead of being overwritten with a stale total.
+ */
+@Service
+public class StorageUsageReconciler {
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
+    @Autowired
+    private FileStorageService fileStorageService;
+    
+    private volatile Map<String, Object> lastRun = Map.of();
+    
+    @Scheduled(fixedDelayString = "${storage.reconcile.interval-ms:21600000}",
+            initialDelayString = "${storage.reconcile.initial-delay-ms:300000}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+    
+    public synchronized Map<String, Object> reconcile() {
+        // Versions first: any counter change after this point makes that account's recount stale
+        Map<String, Long> versions = new HashMap<>();
+        for (StorageUsage usage : mongoTemplate.findAll(StorageUsage.class)) {
+            versions.put(usage.getId(), usage.getVersion() != null ? usage.getVersion() : 0L);
+        }
+        
+        Map<String, Totals> actual = new HashMap<>();
+        Aggregation byOwner = Aggregation.newAggregation(
+                Aggregation.group("ownerType", "ownerId", "category").sum("size").as("bytes").count().as("files"));
+        try (Stream<Document> groups = mongoTemplate.aggregateStream(byOwner, StoredFile.class, Document.class)) {
+            groups.forEach(group -> {
+                Document key = group.get("_id", Document.class);
+                if (key == null || key.getString("ownerType") == null || key.getString("ownerId") == null) {
+                    return;
+                }
+                actual.computeIfAbsent(StorageQuotaService.usageId(key.getString("ownerType"), key.getString("ownerId")),
+                                id -> new Totals(key.getString("ownerType"), key.getString("ownerId")))
+                        .add(key.getString("category"), group.get("bytes", Number.class).longValue(),
+                                group.get("files", Number.class).longValue());
+            });
+        }
+        long legacyFiles = countLegacyFiles(actual);
+        
+        Set<String> accounts = new HashSet<>(versions.keySet());
+        accounts.addAll(actual.keySet());
+        int corrected = 0;
+        int skipped = 0;
+        for (String id : accounts) {
+            Totals totals = actual.get(id);
+            Update update = new Update()
+                    .set("totalBytes", totals != null ? totals.bytes : 0L)
+                    .set("fileCount", totals != null ? totals.files : 0L)
+                    .set("bytesByCategory", totals != null ? totals.bytesByCategory : Map.of())
+                    .set("reconciledAt", LocalDateTime.now())
+                    .inc("version", 1);
+            if (versions.containsKey(id)) {
+                long matched = mongoTemplate.updateFirst(
+                        new Query(Criteria.where("_id").is(id).and("version").is(versions.get(id))),
+                        update, StorageUsage.class).getMatchedCount();
+                if (matched == 0) {
+                    skipped++;
+                    continue;
+                }
+            } else {
+                // Accounts with files but no counters yet (uploads before accounting existed)
+                update.setOnInsert("ownerType", totals.ownerType).setOnInsert("ownerId", totals.ownerId);
+                mongoTemplate.upsert(new Query(Criteria.where("_id").is(id)), update, StorageUsage.class);
+            }
+            corrected++;
+        }
+        
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("accounts", accounts.size());
+        report.put("reconciled", corrected);
+        report.put("skippedConcurrentWrites", skipped);
+        report.put("legacyFilesCounted", legacyFiles);
+        report.put("bytesTracked", actual.values().stream().mapToLong(totals -> totals.bytes).sum());
+        report.put("finishedAt", LocalDateTime.now().toString());
+        lastRun = report;
+        return report;
+    }
+    
+    public Map<String, Object> getLastRun() {
+        return lastRun;
+    }
+    
+    // Files written before the blob store: uploads/{ownerType}/{ownerId}/{category}/{file}
+    private long countLegacyFiles(Map<String, Totals> actual) {
+        Path root = fileStorageService.uploadRoot();
+        if (!Files.isDirectory(root)) {
+            return 0;
+        }
+        Set<Path> skipped = Set.of(root.resolve(FileStorageService.BLOBS_DIR),
+                root.resolve(FileStorageService.TMP_DIR), root.resolve(FileStorageService.QUARANTINE_DIR));
+        long[] count = {0};
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    return skipped.contains(dir) ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+                }
+                
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    String path = root.relativize(file).toString().replace("\\", "/");
+                    String[] segments = path.split("/");
+                    // Mid-migration files are already counted through their reference
+                    if (segments.length < 4
+                            || mongoTemplate.exists(new Query(Criteria.where("path").is(path)), StoredFile.class)) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                    actual.computeIfAbsent(StorageQuotaService.usageId(segments[0], segments[1]),
+                            id -> new Totals(segments[0], segments[1])).add(segments[2], attrs.size(), 1);
+                    count[0]++;
+                    return FileVisitResult.CONTINUE;
+                }
+                
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            throw new RuntimeException("Storage reconciliation failed: " + e.getMessage(), e);
+        }
+        return count[0];
+    }
+    
+    private static final class Totals {
+        private final String ownerType;
+        private final String ownerId;
+        private long bytes;
+        private long files;
+        private final Map<String, Long> bytesByCategory = new HashMap<>();
+        
+        Totals(String ownerType, String ownerId) {
+            this.ownerType = ownerType;
+            this.ownerId = ownerId;
+        }
+        
+        void add(String category, long categoryBytes, long categoryFiles) {
+            bytes += categoryBytes;
+            files += categoryFiles;
+            if (category != null) {
+                bytesByCategory.merge(StorageQuotaService.categoryKey(category), categoryBytes, Long::sum);
+            }
+        }
+    }
+}
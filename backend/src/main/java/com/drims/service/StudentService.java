@@ -30,6 +30,12 @@ public class StudentService {
     @Autowired
     private FacultyProfileRepository facultyProfileRepository;
     
+    @Autowired
+    private DuplicateDetectionService duplicateDetectionService;
+    
+    @Autowired
+    private DomainMetrics domainMetrics;
+    
     // Student Profile Methods
     public StudentProfileDTO getStudentProfile(String registerNumber) {
         StudentProfile profile = studentProfileRepository.findByRegisterNumber(registerNumber)
@@ -70,6 +76,8 @@ public class StudentService {
         journal.setUpdatedAt(LocalDateTime.now());
         
         journal = journalRepository.save(journal);
+        domainMetrics.submissions("JOURNAL", "student", 1);
+        duplicateDetectionService.indexJournal(journal);
         return convertJournalToDTO(journal);
     }
     
@@ -118,6 +126,8 @@ public class StudentService {
         conference.setUpdatedAt(LocalDateTime.now());
         
         conference = conferenceRepository.save(conference);
+        domainMetrics.submissions("CONFERENCE", "student", 1);
+        duplicateDetectionService.indexConference(conference);
         return convertConferenceToDTO(conference);
     }
     
@@ -0,0 +1,104 @@
+package com.drims.service;
+
+import com.drims.config.BulkWriteEvents;
+import com.drims.entity.FacultyProfile;
+import com.drims.synthetic.SyntheticDataGenerator;
+import com.drims.synthetic.SyntheticDataSink;
+import com.drims.synthetic.SyntheticDataSpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a {@link SyntheticDataGenerator} dataset to MongoDB with unordered bulk inserts, one
+ * batch per type at a time (mirrored into the unified publications collection when dual-writing,
+ * and into the analytics snapshot), then brings the caches, data versions and duplicate index up
+ * to date since bulk writes bypass the services. Used by the "synthetic" profile, SyntheticDataCli
+ * and the load test harness.
+ */
+@Service
+public class SyntheticDataService {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataService.class);
+    private static final long PROGRESS_EVERY = 100_000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private FacultyProfileCache facultyProfileCache;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private DuplicateDetectionService duplicateDetectionService;
+
+    @Autowired
+    private PublicationStore publicationStore;
+
+    @Autowired
+    private AnalyticsSnapshot analyticsSnapshot;
+
+    // A generator whose faculty and students can log in (faculty123 / student123)
+    public SyntheticDataGenerator newGenerator(SyntheticDataSpec spec) {
+        // One BCrypt hash for everyone: hashing per user would dominate generation time
+        if (spec.getFacultyPasswordHash() == null) {
+            spec.setFacultyPasswordHash(passwordEncoder.encode(SyntheticDataGenerator.FACULTY_PASSWORD));
+        }
+        if (spec.getStudentPasswordHash() == null) {
+            spec.setStudentPasswordHash(passwordEncoder.encode(SyntheticDataGenerator.STUDENT_PASSWORD));
+        }
+        return new SyntheticDataGenerator(spec);
+    }
+
+    // Generated identifiers are fixed (SYN000001, synthetic.faculty1@...), so a second run would hit unique indexes
+    public boolean isLoaded() {
+        return mongoTemplate.exists(Query.query(Criteria.where("employeeId").is("SYN000001")), FacultyProfile.class);
+    }
+
+    // Documents written per collection
+    public Map<String, Long> write(SyntheticDataGenerator generator) {
+        if (isLoaded()) {
+            throw new RuntimeException("Synthetic data is already loaded; clear the database (--clear-db) before generating again");
+        }
+        Map<String, Long> counts = new LinkedHashMap<>();
+        long start = System.nanoTime();
+        long[] written = {0, PROGRESS_EVERY};
+        generator.generate(new SyntheticDataSink() {
+            @Override
+            public <T> void write(Class<T> type, List<T> batch) {
+                BulkWriteEvents.suppressed(() -> mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type).insert(batch).execute());
+                publicationStore.mirrorAll(batch);
+                analyticsSnapshot.upsertAll(batch);
+                counts.merge(mongoTemplate.getCollectionName(type), (long) batch.size(), Long::sum);
+                written[0] += batch.size();
+                if (written[0] >= written[1]) {
+                    log.info("Synthetic data: {} documents written", written[0]);
+                    written[1] += PROGRESS_EVERY;
+                }
+            }
+        });
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("Synthetic data: {} documents in {} s ({} docs/s): {}", written[0], String.format("%.1f", seconds),
+                Math.round(written[0] / Math.max(seconds, 1e-3)), counts);
+
+        facultyProfileCache.invalidateAll();
+        dataVersionService.bumpAll();
+        duplicateDetectionService.rebuild();
+        return counts;
+    }
+}
@@ -0,0 +1,236 @@
+package com.drims.storage;
+
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Objects in an S3-compatible bucket (AWS S3, MinIO, ...). Large objects go up as multipart
+ * uploads streamed from the spooled file part by part; downloads are handed to clients as
+ * presigned GET URLs so the bytes never pass through the app server.
+ */
+public class S3StorageBackend implements StorageBackend {
+    
+    // S3 rejects parts smaller than 5MB (except the last one)
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+    
+    private final S3Client client;
+    private final S3Presigner presigner;
+    private final String bucket;
+    private final String keyPrefix;
+    private final long partSize;
+    private final Duration presignTtl;
+    
+    public S3StorageBackend(S3Client client, S3Presigner presigner, String bucket, String keyPrefix,
+                            long partSize, Duration presignTtl) {
+        this.client = client;
+        this.presigner = presigner;
+        this.bucket = bucket;
+        this.keyPrefix = keyPrefix == null || keyPrefix.isEmpty() || keyPrefix.endsWith("/")
+                ? (keyPrefix == null ? "" : keyPrefix) : keyPrefix + "/";
+        this.partSize = Math.max(partSize, MIN_PART_SIZE);
+        this.presignTtl = presignTtl;
+    }
+    
+    @Override
+    public String getName() {
+        return "s3";
+    }
+    
+    @Override
+    public Optional<StoredObject> stat(String key) throws IOException {
+        try {
+            HeadObjectResponse head = client.headObject(builder -> builder.bucket(bucket).key(objectKey(key)));
+            return Optional.of(new StoredObject(key, head.contentLength(), head.lastModified()));
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return Optional.empty();
+            }
+            throw new IOException("S3 stat failed for " + key + ": " + e.getMessage(), e);
+        } catch (SdkException e) {
+            throw new IOException("S3 stat failed for " + key + ": " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        long size = Files.size(source);
+        try {
+            if (size <= partSize) {
+                client.putObject(builder -> builder.bucket(bucket).key(objectKey(key)).contentType(contentType),
+                        RequestBody.fromFile(source));
+            } else {
+                putMultipart(objectKey(key), source, size, contentType);
+            }
+        } catch (SdkException e) {
+            throw new IOException("S3 upload failed for " + key + ": " + e.getMessage(), e);
+        }
+        Files.deleteIfExists(source);
+    }
+    
+    private void putMultipart(String objectKey, Path source, long size, String contentType) {
+        String uploadId = client.createMultipartUpload(builder -> builder.bucket(bucket).key(objectKey)
+                .contentType(contentType)).uploadId();
+        try {
+            List<CompletedPart> parts = new ArrayList<>();
+            for (long offset = 0, partNumber = 1; offset < size; offset += partSize, partNumber++) {
+                long position = offset;
+                long length = Math.min(partSize, size - offset);
+                int number = (int) partNumber;
+                // The provider reopens the region on every attempt, so SDK retries replay the part from disk
+                RequestBody body = RequestBody.fromContentProvider(() -> openRegion(source, position, length),
+                        length, contentType);
+                UploadPartResponse response = client.uploadPart(builder -> builder.bucket(bucket).key(objectKey)
+                        .uploadId(uploadId).partNumber(number).contentLength(length), body);
+                parts.add(CompletedPart.builder().partNumber(number).eTag(response.eTag()).build());
+            }
+            client.completeMultipartUpload(builder -> builder.bucket(bucket).key(objectKey).uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build()));
+        } catch (RuntimeException e) {
+            // Incomplete parts are billed until aborted
+            try {
+                client.abortMultipartUpload(builder -> builder.bucket(bucket).key(objectKey).uploadId(uploadId));
+            } catch (SdkException ignored) {
+                // A bucket lifecycle rule cleans up what this could not
+            }
+            throw e;
+        }
+    }
+    
+    @Override
+    public InputStream open(String key) throws IOException {
+        try {
+            ResponseInputStream<GetObjectResponse> in = client.getObject(builder -> builder.bucket(bucket)
+                    .key(objectKey(key)));
+            return in;
+        } catch (NoSuchKeyException e) {
+            throw new NoSuchFileException(key);
+        } catch (SdkException e) {
+            throw new IOException("S3 download failed for " + key + ": " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public boolean delete(String key) throws IOException {
+        // DeleteObject succeeds for missing keys, so check first to report what was removed
+        if (!exists(key)) {
+            return false;
+        }
+        try {
+            client.deleteObject(builder -> builder.bucket(bucket).key(objectKey(key)));
+            return true;
+        } catch (SdkException e) {
+            throw new IOException("S3 delete failed for " + key + ": " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public Stream<StoredObject> list(String prefix) throws IOException {
+        try {
+            return client.listObjectsV2Paginator(builder -> builder.bucket(bucket).prefix(objectKey(prefix)))
+                    .contents().stream()
+                    .map(object -> new StoredObject(object.key().substring(keyPrefix.length()), object.size(),
+                            object.lastModified()));
+        } catch (SdkException e) {
+            throw new IOException("S3 listing failed for " + prefix + ": " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public Optional<URI> presign(String key, String filename, String contentType) {
+        String disposition = "inline; filename=\"" + URLEncoder.encode(filename, StandardCharsets.UTF_8) + "\"";
+        return Optional.of(URI.create(presigner.presignGetObject(request -> request
+                .signatureDuration(presignTtl)
+                .getObjectRequest(get -> get.bucket(bucket).key(objectKey(key))
+                        .responseContentType(contentType)
+                        .responseContentDisposition(disposition)))
+                .url().toString()));
+    }
+    
+    @Override
+    public Optional<Path> localFile(String key) {
+        return Optional.empty();
+    }
+    
+    @Override
+    public void close() {
+        presigner.close();
+        client.close();
+    }
+    
+    private String objectKey(String key) {
+        return keyPrefix + key;
+    }
+    
+    private static InputStream openRegion(Path source, long position, long length) {
+        try {
+            FileChannel channel = FileChannel.open(source, StandardOpenOption.READ);
+            channel.position(position);
+            return new BoundedInputStream(Channels.newInputStream(channel), length);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read upload part: " + e.getMessage(), e);
+        }
+    }
+    
+    // Reads at most limit bytes of the underlying stream
+    private static final class BoundedInputStream extends InputStream {
+        private final InputStream in;
+        private long remaining;
+        
+        BoundedInputStream(InputStream in, long limit) {
+            this.in = in;
+            this.remaining = limit;
+        }
+        
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int value = in.read();
+            if (value >= 0) {
+                remaining--;
+            }
+            return value;
+        }
+        
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = in.read(buffer, offset, (int) Math.min(length, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+        
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.drims.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Where blob-store objects (proof PDFs and their preview artifacts) are kept. Keys are
+ * slash-separated relative names such as blobs/aa/bb/&lt;sha256&gt;.pdf. Upload spooling, legacy
+ * files and quarantine stay on local disk; only the content-addressed objects go through here.
+ *
+ * With S3 several backend instances can share one bucket and database: blob reference counts and
+ * deletes are coordinated through the file_blobs documents (see FileStorageService.unlinkBlob).
+ * The application as a whole is still single-instance, though. DataVersionService ETags and the
+ * AnalyticsSnapshot are per-process and only see that process's writes, so a second instance would
+ * answer 304s and dashboard figures that miss the first one's changes.
+ */
+public interface StorageBackend extends AutoCloseable {
+    
+    String getName();
+    
+    // Size and modification time of an object, empty when it does not exist
+    Optional<StoredObject> stat(String key) throws IOException;
+    
+    default boolean exists(String key) throws IOException {
+        return stat(key).isPresent();
+    }
+    
+    // Stores source under key, replacing any existing object. The source file is consumed.
+    void put(String key, Path source, String contentType) throws IOException;
+    
+    // Throws NoSuchFileException when the object does not exist
+    InputStream open(String key) throws IOException;
+    
+    // Returns true when an object was removed
+    boolean delete(String key) throws IOException;
+    
+    // Every object under prefix; the caller closes the stream
+    Stream<StoredObject> list(String prefix) throws IOException;
+    
+    // A time-limited URL clients can fetch the object from directly, when the backend supports it
+    Optional<URI> presign(String key, String filename, String contentType);
+    
+    // The object as a file on local disk, when the backend keeps it there
+    Optional<Path> localFile(String key);
+    
+    @Override
+    default void close() {
+    }
+    
+    record StoredObject(String key, long size, Instant lastModified) {
+    }
+}
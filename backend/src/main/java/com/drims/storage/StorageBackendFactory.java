@@ -0,0 +1,94 @@
+package com.drims.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.net.URI;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+// Builds storage backends by name ("local" or "s3"); used for the active backend and by the migration tool
+@Component
+public class StorageBackendFactory {
+    
+    @Value("${file.upload.dir}")
+    private String uploadDir;
+    
+    @Value("${storage.s3.bucket:drims-uploads}")
+    private String bucket;
+    
+    @Value("${storage.s3.region:us-east-1}")
+    private String region;
+    
+    // Blank for AWS; http://localhost:9000 for a local MinIO
+    @Value("${storage.s3.endpoint:}")
+    private String endpoint;
+    
+    @Value("${storage.s3.path-style-access:false}")
+    private boolean pathStyleAccess;
+    
+    // Blank falls back to the default AWS chain (environment, instance/task role, ...)
+    @Value("${storage.s3.access-key:}")
+    private String accessKey;
+    
+    @Value("${storage.s3.secret-key:}")
+    private String secretKey;
+    
+    // Some S3 stand-ins reject the trailing-checksum header the SDK sends on downloads
+    @Value("${storage.s3.checksum-validation:true}")
+    private boolean checksumValidation;
+    
+    @Value("${storage.s3.key-prefix:}")
+    private String keyPrefix;
+    
+    @Value("${storage.s3.multipart-part-size:8388608}")
+    private long multipartPartSize;
+    
+    @Value("${storage.s3.presign-ttl-minutes:15}")
+    private long presignTtlMinutes;
+    
+    public StorageBackend create(String type) {
+        switch (type == null ? "" : type.trim().toLowerCase()) {
+            case "local":
+                return new LocalStorageBackend(Paths.get(uploadDir));
+            case "s3":
+                return createS3();
+            default:
+                throw new RuntimeException("Unknown storage backend: " + type + " (expected local or s3)");
+        }
+    }
+    
+    private StorageBackend createS3() {
+        AwsCredentialsProvider credentials = accessKey.isBlank()
+                ? DefaultCredentialsProvider.create()
+                : StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+        S3Configuration s3Configuration = S3Configuration.builder()
+                .pathStyleAccessEnabled(pathStyleAccess)
+                .checksumValidationEnabled(checksumValidation)
+                .build();
+        
+        S3ClientBuilder client = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials)
+                .serviceConfiguration(s3Configuration);
+        S3Presigner.Builder presigner = S3Presigner.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials)
+                .serviceConfiguration(s3Configuration);
+        if (!endpoint.isBlank()) {
+            client.endpointOverride(URI.create(endpoint));
+            presigner.endpointOverride(URI.create(endpoint));
+        }
+        return new S3StorageBackend(client.build(), presigner.build(), bucket, keyPrefix, multipartPartSize,
+                Duration.ofMinutes(presignTtlMinutes));
+    }
+}
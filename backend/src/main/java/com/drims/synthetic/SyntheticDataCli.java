@@ -0,0 +1,26 @@
+package com.drims.synthetic;
+
+import com.drims.DRIMSApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+
+/**
+ * Generates synthetic data into the configured MongoDB and exits, without starting the web server:
+ *
+ *   mvn spring-boot:run -Dspring-boot.run.main-class=com.drims.synthetic.SyntheticDataCli \
+ *       -Dspring-boot.run.arguments="--synthetic.publications=1000000 --synthetic.faculty=5000"
+ *
+ * or from the packaged jar:
+ *
+ *   java -cp target/drims-backend-1.0.0.jar -Dloader.main=com.drims.synthetic.SyntheticDataCli \
+ *       org.springframework.boot.loader.launch.PropertiesLauncher --synthetic.publications=1000000
+ */
+public class SyntheticDataCli {
+
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(DRIMSApplication.class);
+        application.setAdditionalProfiles("synthetic");
+        application.setWebApplicationType(WebApplicationType.NONE);
+        System.exit(SpringApplication.exit(application.run(args)));
+    }
+}
@@ -0,0 +1,408 @@
+package com.drims.synthetic;
+
+import com.drims.entity.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Deterministic synthetic department data for scale testing: faculty profiles with logins and
+ * yearly research targets, students with guides, and publications across the five types, handed
+ * to a {@link SyntheticDataSink} in batches so millions of documents never sit in memory at once.
+ * Shaped like the hand-loaded data but skewed the way real departments are: a few prolific
+ * faculty author most of the output, years cluster on the last few, older records are mostly
+ * approved while recent ones are still in review, a share of conferences and journals are student
+ * papers linked to the student's guide, and ~2% of titles are re-entered duplicates.
+ * The same spec always yields the same documents, ids included.
+ */
+public class SyntheticDataGenerator {
+
+    public static final String FACULTY_PASSWORD = "faculty123";
+    public static final String STUDENT_PASSWORD = "student123";
+    public static final String DEPARTMENT = "Computer Science and Engineering";
+    // Latest year in the data; fixed rather than the clock so a seed always gives the same dataset
+    public static final int LATEST_YEAR = 2025;
+
+    private static final String[] WORDS = {
+            "deep", "learning", "secure", "network", "cloud", "edge", "federated", "graph", "neural",
+            "adaptive", "hybrid", "optimization", "framework", "analysis", "detection", "wireless",
+            "sensor", "blockchain", "privacy", "energy", "efficient", "scheduling", "vision", "language",
+            "model", "robust", "distributed", "quantum", "routing", "classification", "segmentation",
+            "recommendation", "iot", "healthcare", "prediction", "attention", "transformer", "survey"};
+    private static final String[] JOURNALS = {
+            "IEEE Access", "Computer Networks", "Cluster Computing", "ACM Computing Surveys",
+            "Journal of Supercomputing", "Pattern Recognition Letters", "Expert Systems with Applications",
+            "Multimedia Tools and Applications", "Wireless Personal Communications", "Scientific Reports"};
+    private static final String[] PUBLISHERS = {"IEEE", "Elsevier", "Springer", "Wiley", "Taylor & Francis", "CRC Press"};
+    private static final String[] DESIGNATIONS = {"Professor", "Associate Professor", "Associate Professor",
+            "Assistant Professor", "Assistant Professor", "Assistant Professor", "Assistant Professor"};
+    private static final String[] AREAS = {"Machine Learning", "Computer Networks", "Cyber Security",
+            "Cloud Computing", "Internet of Things", "Data Mining", "Image Processing", "NLP"};
+    private static final String[] PROGRAMS = {"B.Tech", "B.Tech", "B.Tech", "B.Tech", "M.Tech", "Ph.D."};
+    private static final String[] LOCATIONS = {"Guntur", "Hyderabad", "Chennai", "Bengaluru", "Singapore", "London"};
+    private static final String[] STATUS = {"Published", "Published", "Published", "Accepted", "Submitted"};
+    private static final String[] CONFERENCE_STATUS = {"Published", "Published", "Accepted", "Communicated"};
+    private static final String[] PATENT_STATUS = {"Filed", "Filed", "Published", "Granted"};
+    private static final String[] CATEGORY = {"International", "International", "National"};
+    private static final String[] INDEX = {"SCI", "SCIE", "Scopus", "Scopus", "ESCI", "UGC CARE"};
+    private static final String[] REMARKS = {"Proof document missing", "Index proof does not match the journal",
+            "Duplicate of an existing entry", "Author list incomplete"};
+    private static final int RECENT_TITLES = 4096;
+
+    private final SyntheticDataSpec spec;
+    private final SplittableRandom random;
+    private final LocalDateTime createdAt = LocalDateTime.of(LATEST_YEAR, 1, 1, 9, 0);
+
+    private final List<FacultyProfile> faculty = new ArrayList<>();
+    private final List<StudentProfile> students = new ArrayList<>();
+    private final Map<Class<?>, List<?>> pending = new LinkedHashMap<>();
+    private final String[] recentTitles = new String[RECENT_TITLES];
+    private int titleCount;
+    private SyntheticDataSink sink;
+
+    public SyntheticDataGenerator(SyntheticDataSpec spec) {
+        this.spec = spec;
+        this.random = new SplittableRandom(spec.getSeed());
+    }
+
+    public void generate(SyntheticDataSink sink) {
+        this.sink = sink;
+        for (int i = 0; i < spec.getFaculty(); i++) {
+            facultyMember(i);
+        }
+        for (int i = 0; i < spec.getStudents(); i++) {
+            student(i);
+        }
+        // Profiles first, so publications never reference a profile that is not written yet
+        flush();
+        for (int i = 0; i < spec.getPublications(); i++) {
+            int kind = random.nextInt(100);
+            if (kind < 45) {
+                add(Journal.class, journal());
+            } else if (kind < 75) {
+                add(Conference.class, conference());
+            } else if (kind < 85) {
+                add(Patent.class, patent());
+            } else if (kind < 95) {
+                add(BookChapter.class, bookChapter());
+            } else {
+                add(Book.class, book());
+            }
+        }
+        flush();
+    }
+
+    public List<FacultyProfile> getFaculty() {
+        return faculty;
+    }
+
+    public List<StudentProfile> getStudents() {
+        return students;
+    }
+
+    private void facultyMember(int i) {
+        FacultyProfile profile = new FacultyProfile();
+        profile.setId(objectId());
+        profile.setEmployeeId(String.format("SYN%06d", i + 1));
+        profile.setName("Synthetic Faculty " + (i + 1));
+        profile.setDesignation(pick(DESIGNATIONS));
+        profile.setDepartment(DEPARTMENT);
+        profile.setResearchAreas(List.of(pick(AREAS), pick(AREAS)));
+        profile.setEmail("synthetic.faculty" + (i + 1) + "@drims.edu");
+        profile.setCreatedAt(createdAt);
+        profile.setUpdatedAt(createdAt);
+        faculty.add(profile);
+
+        if (spec.getFacultyPasswordHash() != null) {
+            User user = new User();
+            user.setId(objectId());
+            user.setEmail(profile.getEmail());
+            user.setPassword(spec.getFacultyPasswordHash());
+            user.setRole("FACULTY");
+            user.setFacultyId(profile.getId());
+            user.setCreatedAt(createdAt);
+            user.setUpdatedAt(createdAt);
+            profile.setUserId(user.getId());
+            add(User.class, user);
+        }
+        add(FacultyProfile.class, profile);
+
+        // Targets for the last three years, so year-over-year comparisons have something to show
+        for (int year = LATEST_YEAR - 2; year <= LATEST_YEAR; year++) {
+            Target target = new Target();
+            target.setId(objectId());
+            target.setFacultyId(profile.getId());
+            target.setYear(year);
+            target.setJournalTarget(1 + random.nextInt(3));
+            target.setConferenceTarget(1 + random.nextInt(3));
+            target.setPatentTarget(random.nextInt(2));
+            target.setBookChapterTarget(random.nextInt(2));
+            target.setCreatedAt(createdAt);
+            target.setUpdatedAt(createdAt);
+            add(Target.class, target);
+        }
+    }
+
+    private void student(int i) {
+        FacultyProfile guide = prolificFaculty();
+        StudentProfile profile = new StudentProfile();
+        profile.setId(objectId());
+        profile.setRegisterNumber(String.format("SYN%07d", i + 1));
+        profile.setName("Synthetic Student " + (i + 1));
+        profile.setDepartment(DEPARTMENT);
+        profile.setProgram(pick(PROGRAMS));
+        profile.setYear((1 + random.nextInt(4)) + " Year");
+        profile.setGuideId(guide.getId());
+        profile.setGuideName(guide.getName());
+        profile.setCreatedAt(createdAt);
+        profile.setUpdatedAt(createdAt);
+        students.add(profile);
+
+        if (spec.getStudentPasswordHash() != null) {
+            User user = new User();
+            user.setId(objectId());
+            user.setRegisterNumber(profile.getRegisterNumber());
+            user.setPassword(spec.getStudentPasswordHash());
+            user.setRole("STUDENT");
+            user.setStudentId(profile.getId());
+            user.setCreatedAt(createdAt);
+            user.setUpdatedAt(createdAt);
+            profile.setUserId(user.getId());
+            add(User.class, user);
+        }
+        add(StudentProfile.class, profile);
+    }
+
+    private Journal journal() {
+        Journal journal = new Journal();
+        journal.setId(objectId());
+        // One in twenty journal papers is a student's own submission
+        StudentProfile student = studentAuthor(20);
+        if (student != null) {
+            journal.setStudentId(student.getId());
+        } else {
+            journal.setFacultyId(prolificFaculty().getId());
+        }
+        journal.setTitle(title());
+        journal.setJournalName(pick(JOURNALS));
+        journal.setAuthors(author());
+        if (random.nextBoolean()) {
+            journal.setAuthor2(author());
+        }
+        journal.setYear(year());
+        journal.setVolume(String.valueOf(1 + random.nextInt(40)));
+        journal.setIssue(String.valueOf(1 + random.nextInt(12)));
+        journal.setPages(pages());
+        journal.setDoi("10.5555/syn." + Long.toString(random.nextLong() & Long.MAX_VALUE, 36));
+        journal.setImpactFactor(String.format(Locale.ROOT, "%.2f", random.nextDouble(0.5, 8)));
+        journal.setStatus(pick(STATUS));
+        journal.setCategory(pick(CATEGORY));
+        journal.setIndexType(pick(INDEX));
+        journal.setPublisher(pick(PUBLISHERS));
+        journal.setIssn(String.format("%04d-%04d", random.nextInt(10_000), random.nextInt(10_000)));
+        journal.setOpenAccess(random.nextInt(3) == 0 ? "Open Access" : "Subscription");
+        journal.setCreatedAt(submittedAt(journal.getYear()));
+        journal.setUpdatedAt(journal.getCreatedAt());
+        journal.setApprovalStatus(approvalStatus(journal.getYear(), student != null));
+        journal.setApprovedAt(reviewedAt(journal.getApprovalStatus(), journal.getCreatedAt()));
+        journal.setRemarks(remarks(journal.getApprovalStatus()));
+        return journal;
+    }
+
+    private Conference conference() {
+        Conference conference = new Conference();
+        conference.setId(objectId());
+        // One in five conference papers is a student's, under their guide
+        StudentProfile student = studentAuthor(5);
+        if (student != null) {
+            conference.setStudentId(student.getId());
+            conference.setIsStudentPublication(true);
+            conference.setStudentName(student.getName());
+            conference.setStudentRegisterNumber(student.getRegisterNumber());
+            conference.setGuideId(student.getGuideId());
+            conference.setGuideName(student.getGuideName());
+        } else {
+            conference.setFacultyId(prolificFaculty().getId());
+            conference.setIsStudentPublication(false);
+        }
+        conference.setTitle(title());
+        conference.setConferenceName("International Conference on " + capitalize(pick(WORDS)) + " Systems");
+        conference.setOrganizer(pick(PUBLISHERS));
+        conference.setAuthors(author());
+        conference.setYear(year());
+        conference.setLocation(pick(LOCATIONS));
+        conference.setDate(String.format("%d-%02d-%02d", conference.getYear(), 1 + random.nextInt(12), 1 + random.nextInt(28)));
+        conference.setStatus(pick(CONFERENCE_STATUS));
+        conference.setCategory(pick(CATEGORY));
+        conference.setCreatedAt(submittedAt(conference.getYear()));
+        conference.setUpdatedAt(conference.getCreatedAt());
+        conference.setApprovalStatus(approvalStatus(conference.getYear(), student != null));
+        conference.setApprovedAt(reviewedAt(conference.getApprovalStatus(), conference.getCreatedAt()));
+        conference.setRemarks(remarks(conference.getApprovalStatus()));
+        return conference;
+    }
+
+    private Patent patent() {
+        Patent patent = new Patent();
+        FacultyProfile member = prolificFaculty();
+        patent.setId(objectId());
+        patent.setFacultyId(member.getId());
+        patent.setTitle(title());
+        patent.setYear(year());
+        patent.setApplicationNumber(String.format("%d41%07d", patent.getYear(), random.nextInt(10_000_000)));
+        patent.setFilingDate(String.format("%d-%02d-01", patent.getYear(), 1 + random.nextInt(12)));
+        patent.setInventors(member.getName() + ", " + author());
+        patent.setCountry("India");
+        patent.setStatus(pick(PATENT_STATUS));
+        patent.setCategory("National");
+        patent.setCreatedAt(submittedAt(patent.getYear()));
+        patent.setUpdatedAt(patent.getCreatedAt());
+        patent.setApprovalStatus(approvalStatus(patent.getYear(), false));
+        patent.setApprovedAt(reviewedAt(patent.getApprovalStatus(), patent.getCreatedAt()));
+        patent.setRemarks(remarks(patent.getApprovalStatus()));
+        return patent;
+    }
+
+    private BookChapter bookChapter() {
+        BookChapter chapter = new BookChapter();
+        chapter.setId(objectId());
+        chapter.setFacultyId(prolificFaculty().getId());
+        chapter.setTitle(title());
+        chapter.setBookTitle("Advances in " + capitalize(pick(WORDS)) + " " + capitalize(pick(WORDS)));
+        chapter.setAuthors(author());
+        chapter.setEditors("Editor " + (1 + random.nextInt(500)));
+        chapter.setPublisher(pick(PUBLISHERS));
+        chapter.setYear(year());
+        chapter.setPages(pages());
+        chapter.setIsbn("978-" + (1_000_000_000L + random.nextInt(1_000_000_000)));
+        chapter.setStatus(pick(STATUS));
+        chapter.setCategory(pick(CATEGORY));
+        chapter.setCreatedAt(submittedAt(chapter.getYear()));
+        chapter.setUpdatedAt(chapter.getCreatedAt());
+        chapter.setApprovalStatus(approvalStatus(chapter.getYear(), false));
+        chapter.setApprovedAt(reviewedAt(chapter.getApprovalStatus(), chapter.getCreatedAt()));
+        chapter.setRemarks(remarks(chapter.getApprovalStatus()));
+        return chapter;
+    }
+
+    private Book book() {
+        Book book = new Book();
+        book.setId(objectId());
+        book.setFacultyId(prolificFaculty().getId());
+        book.setBookTitle(title());
+        book.setPublisher(pick(PUBLISHERS));
+        book.setIsbn("979-" + (1_000_000_000L + random.nextInt(1_000_000_000)));
+        book.setPublicationYear(year());
+        book.setRole(random.nextInt(4) == 0 ? "Editor" : "Author");
+        book.setCategory(pick(CATEGORY));
+        book.setStatus(pick(STATUS));
+        book.setCreatedAt(submittedAt(book.getPublicationYear()));
+        book.setUpdatedAt(book.getCreatedAt());
+        book.setApprovalStatus(approvalStatus(book.getPublicationYear(), false));
+        book.setApprovedAt(reviewedAt(book.getApprovalStatus(), book.getCreatedAt()));
+        book.setRemarks(remarks(book.getApprovalStatus()));
+        return book;
+    }
+
+    // Cubing a uniform draw favours low indexes: the first tenth of the faculty write about half the output
+    private FacultyProfile prolificFaculty() {
+        double u = random.nextDouble();
+        return faculty.get((int) (u * u * u * faculty.size()));
+    }
+
+    private StudentProfile studentAuthor(int oneIn) {
+        if (students.isEmpty() || random.nextInt(oneIn) != 0) {
+            return null;
+        }
+        return students.get(random.nextInt(students.size()));
+    }
+
+    // Mostly the last six years, with a tail back ten years before that
+    private int year() {
+        return random.nextInt(4) == 0 ? LATEST_YEAR - 15 + random.nextInt(10) : LATEST_YEAR - 5 + random.nextInt(6);
+    }
+
+    // Older records have been through review; the last two years still have a queue, longer for students
+    private String approvalStatus(int year, boolean student) {
+        int draw = random.nextInt(100);
+        if (year < LATEST_YEAR - 1) {
+            return draw < 80 ? "APPROVED" : draw < 95 ? "LOCKED" : draw < 98 ? "REJECTED" : "SENT_BACK";
+        }
+        int submitted = student ? 45 : 25;
+        return draw < submitted ? "SUBMITTED"
+                : draw < submitted + 10 ? "SENT_BACK"
+                : draw < submitted + 14 ? "REJECTED"
+                : "APPROVED";
+    }
+
+    private LocalDateTime reviewedAt(String approvalStatus, LocalDateTime submittedAt) {
+        return "SUBMITTED".equals(approvalStatus) ? null : submittedAt.plusDays(1 + random.nextInt(30));
+    }
+
+    private String remarks(String approvalStatus) {
+        return "REJECTED".equals(approvalStatus) || "SENT_BACK".equals(approvalStatus) ? pick(REMARKS) : null;
+    }
+
+    private LocalDateTime submittedAt(int year) {
+        return LocalDateTime.of(year, 1 + random.nextInt(12), 1 + random.nextInt(28), random.nextInt(24), random.nextInt(60));
+    }
+
+    // About 2% of titles re-enter a recent one, as a co-author filing the same paper would
+    private String title() {
+        if (titleCount > 0 && random.nextInt(50) == 0) {
+            return recentTitles[random.nextInt(Math.min(titleCount, RECENT_TITLES))];
+        }
+        StringBuilder title = new StringBuilder(capitalize(pick(WORDS)));
+        int words = 4 + random.nextInt(7);
+        for (int w = 1; w < words; w++) {
+            title.append(' ').append(pick(WORDS));
+        }
+        String value = title.append(" (").append(Long.toString(random.nextLong() & Long.MAX_VALUE, 36)).append(')').toString();
+        recentTitles[titleCount++ % RECENT_TITLES] = value;
+        return value;
+    }
+
+    private String author() {
+        return faculty.isEmpty() || random.nextBoolean()
+                ? "Co Author " + (1 + random.nextInt(10_000))
+                : faculty.get(random.nextInt(faculty.size())).getName();
+    }
+
+    private String pages() {
+        int start = 1 + random.nextInt(300);
+        return start + "-" + (start + 5 + random.nextInt(20));
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    // ObjectId-shaped and assigned up front, so profiles, users and publications can reference each other
+    private String objectId() {
+        return String.format("%08x%016x", random.nextInt(), random.nextLong());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void add(Class<T> type, T document) {
+        List<T> batch = (List<T>) pending.computeIfAbsent(type, t -> new ArrayList<>(spec.getBatchSize()));
+        batch.add(document);
+        if (batch.size() >= spec.getBatchSize()) {
+            sink.write(type, batch);
+            batch.clear();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void flush() {
+        for (Map.Entry<Class<?>, List<?>> entry : pending.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                sink.write((Class<Object>) entry.getKey(), (List<Object>) entry.getValue());
+                entry.getValue().clear();
+            }
+        }
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
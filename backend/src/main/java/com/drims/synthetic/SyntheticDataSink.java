@@ -0,0 +1,9 @@
+package com.drims.synthetic;
+
+import java.util.List;
+
+// Receives generated documents a batch at a time; the list is reused after the call returns
+public interface SyntheticDataSink {
+
+    <T> void write(Class<T> type, List<T> batch);
+}
@@ -0,0 +1,19 @@
+package com.drims.synthetic;
+
+import lombok.Data;
+
+// Size and seed of a synthetic dataset; the same spec always generates the same documents
+@Data
+public class SyntheticDataSpec {
+
+    private int faculty = 200;
+    private int publications = 20_000;
+    private int students = 100;
+    private long seed = 42L;
+    // Documents per type handed to the sink at a time
+    private int batchSize = 1000;
+
+    // BCrypt hashes for the generated logins; when null no users are generated
+    private String facultyPasswordHash;
+    private String studentPasswordHash;
+}
@@ -0,0 +1,33 @@
+package com.drims.benchmarks;
+
+import com.drims.dto.AnalyticsDTO;
+import com.drims.service.AnalyticsService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// AnalyticsService.getAnalytics(): the admin dashboard's full-corpus aggregation
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class AnalyticsBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int publications;
+
+    private AnalyticsService analyticsService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Backend backend = Backend.over(SyntheticData.generate(publications));
+        analyticsService = backend.service(AnalyticsService.class);
+    }
+
+    @Benchmark
+    public AnalyticsDTO getAnalytics() {
+        return analyticsService.getAnalytics();
+    }
+}
@@ -0,0 +1,110 @@
+package com.drims.benchmarks;
+
+import com.drims.dto.AnalyticsDTO;
+import com.drims.service.AnalyticsService;
+import com.drims.service.AnalyticsSnapshot;
+import com.drims.service.ReportService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Dashboard and report computation answered from the columnar AnalyticsSnapshot instead of
+// publication lists (compare with AnalyticsBenchmark and ReportBenchmark at the same sizes).
+// Setup checks every answer against the list-based one; AnalyticsSnapshotScanBenchmark covers millions of rows
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+public class AnalyticsSnapshotBenchmark {
+
+    @Param({"10000", "100000"})
+    public int publications;
+
+    private AnalyticsSnapshot snapshot;
+    private AnalyticsService analyticsService;
+    private ReportService reportService;
+    private String facultyId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Backend backend = Backend.over(SyntheticData.generate(publications));
+        backend.duplicateDetection();
+        snapshot = backend.service(AnalyticsSnapshot.class);
+        analyticsService = backend.service(AnalyticsService.class);
+        reportService = backend.service(ReportService.class);
+        facultyId = backend.data.faculty.get(0).getId();
+
+        // Results from the publication lists first, then the same calls answered by the snapshot
+        List<Supplier<Object>> calls = List.of(
+                analyticsService::getAnalytics,
+                () -> reportService.generateNAACReport(null, null),
+                () -> reportService.generateNAACReport(2024, null),
+                () -> reportService.generateNAACReport(null, facultyId),
+                () -> reportService.generateNBAReport(2023, null),
+                () -> reportService.generateNIRFReport(null, null));
+        List<Object> expected = calls.stream().map(call -> normalize(call.get())).toList();
+
+        Beans.set(snapshot, "enabled", true);
+        SyntheticData data = backend.data;
+        System.out.println("Snapshot build: " + snapshot.rebuildFrom(List.of(data.journals, data.conferences,
+                data.patents, data.bookChapters, data.books)));
+        System.out.println("Snapshot status: " + snapshot.status());
+        for (int i = 0; i < calls.size(); i++) {
+            Object actual = normalize(calls.get(i).get());
+            if (!expected.get(i).equals(actual)) {
+                throw new IllegalStateException("Snapshot result differs for call " + i + ":\n  lists:    "
+                        + expected.get(i) + "\n  snapshot: " + actual);
+            }
+        }
+    }
+
+    @Benchmark
+    public AnalyticsDTO analytics() {
+        return analyticsService.getAnalytics();
+    }
+
+    @Benchmark
+    public Map<String, Object> naacAllYears() {
+        return reportService.generateNAACReport(null, null);
+    }
+
+    @Benchmark
+    public Map<String, Object> naacOneFaculty() {
+        return reportService.generateNAACReport(null, facultyId);
+    }
+
+    @Benchmark
+    public Map<String, Object> nirfAllYears() {
+        return reportService.generateNIRFReport(null, null);
+    }
+
+    @Benchmark
+    public AnalyticsSnapshot.Aggregate scanOnly() {
+        return snapshot.aggregate(null, null, false, false);
+    }
+
+    // Compares the way the JSON responses would: numbers by value, maps by content, no timestamps
+    private static Object normalize(Object value) {
+        if (value instanceof AnalyticsDTO dto) {
+            return normalize(Map.of("year", dto.getYearWiseTotals(), "category", dto.getCategoryWiseTotals(),
+                    "faculty", dto.getFacultyWiseContribution(), "status", dto.getStatusWiseBreakdown()));
+        } else if (value instanceof Map<?, ?> map) {
+            Map<String, Object> normalized = new TreeMap<>();
+            map.forEach((key, v) -> {
+                if (!"generatedAt".equals(key)) {
+                    normalized.put(String.valueOf(key), normalize(v));
+                }
+            });
+            return normalized;
+        } else if (value instanceof Double || value instanceof Float) {
+            return ((Number) value).doubleValue();
+        } else if (value instanceof Number number) {
+            return number.longValue();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,67 @@
+package com.drims.benchmarks;
+
+import com.drims.entity.Publication;
+import com.drims.service.AnalyticsSnapshot;
+import com.drims.synthetic.SyntheticDataGenerator;
+import com.drims.synthetic.SyntheticDataSink;
+import com.drims.synthetic.SyntheticDataSpec;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// AnalyticsSnapshot.aggregate() alone over millions of rows. The generator streams straight into
+// the snapshot, so only the columns are kept in memory (no publication lists, no services)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class AnalyticsSnapshotScanBenchmark {
+
+    @Param({"1000000", "4000000"})
+    public int publications;
+
+    private AnalyticsSnapshot snapshot;
+    private String facultyId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        snapshot = new Beans().create(AnalyticsSnapshot.class);
+        Beans.set(snapshot, "enabled", true);
+        snapshot.rebuildFrom(List.of());
+
+        SyntheticDataSpec spec = new SyntheticDataSpec();
+        spec.setFaculty(Math.max(10, publications / 50));
+        spec.setStudents(Math.max(10, publications / 200));
+        spec.setPublications(publications);
+        spec.setSeed(SyntheticData.DEFAULT_SEED);
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(spec);
+        generator.generate(new SyntheticDataSink() {
+            @Override
+            public <T> void write(Class<T> type, List<T> batch) {
+                if (Publication.class.isAssignableFrom(type)) {
+                    snapshot.upsertAll(batch);
+                }
+            }
+        });
+        facultyId = generator.getFaculty().get(0).getId();
+        System.out.println("Snapshot status: " + snapshot.status());
+    }
+
+    @Benchmark
+    public AnalyticsSnapshot.Aggregate everything() {
+        return snapshot.aggregate(null, null, false, false);
+    }
+
+    @Benchmark
+    public AnalyticsSnapshot.Aggregate approvedOneYear() {
+        return snapshot.aggregate(2024, null, true, false);
+    }
+
+    @Benchmark
+    public AnalyticsSnapshot.Aggregate approvedOneFaculty() {
+        return snapshot.aggregate(null, facultyId, true, false);
+    }
+}
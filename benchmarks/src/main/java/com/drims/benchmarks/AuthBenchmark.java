@@ -0,0 +1,115 @@
+package com.drims.benchmarks;
+
+import com.drims.dto.JwtResponse;
+import com.drims.dto.LoginRequest;
+import com.drims.entity.User;
+import com.drims.repository.UserRepository;
+import com.drims.security.JwtTokenProvider;
+import com.drims.service.AuthService;
+import com.drims.service.DomainMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request and per-login authentication cost: JWT issue, validate and claim parsing as
+ * JwtAuthenticationFilter does on every request, the BCrypt check at the strength
+ * SecurityConfig uses (10) and one step up, and AuthService.login end to end.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthBenchmark {
+
+    // application.properties default; HS512 is chosen from its length as in production
+    private static final String SECRET = "DRIMS_SECRET_KEY_2024_DEPARTMENT_RESEARCH_INFORMATION_MANAGEMENT_SYSTEM_SECURE_KEY";
+    private static final String PASSWORD = "faculty123";
+
+    private JwtTokenProvider tokenProvider;
+    private String token;
+    private String tamperedToken;
+    private String hash10;
+    private String hash12;
+    private PasswordEncoder bcrypt10;
+    private PasswordEncoder bcrypt12;
+    private AuthService authService;
+    private LoginRequest loginRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Beans beans = new Beans();
+        beans.register(new SimpleMeterRegistry());
+        beans.create(DomainMetrics.class);
+        tokenProvider = beans.create(JwtTokenProvider.class);
+        Beans.set(tokenProvider, "jwtSecret", SECRET);
+        Beans.set(tokenProvider, "jwtExpiration", 86_400_000L);
+        token = tokenProvider.generateToken("faculty0@drims.edu", null, "FACULTY", "f0", null);
+        tamperedToken = token.substring(0, token.length() - 4) + "AAAA";
+
+        bcrypt10 = new BCryptPasswordEncoder();
+        bcrypt12 = new BCryptPasswordEncoder(12);
+        hash10 = bcrypt10.encode(PASSWORD);
+        hash12 = bcrypt12.encode(PASSWORD);
+
+        User user = new User();
+        user.setEmail("faculty0@drims.edu");
+        user.setPassword(hash10);
+        user.setRole("FACULTY");
+        user.setFacultyId("f0");
+        beans.register(InMemoryRepository.of(UserRepository.class, List.of(user)));
+        beans.register(bcrypt10);
+        authService = beans.create(AuthService.class);
+        loginRequest = new LoginRequest();
+        loginRequest.setEmail(user.getEmail());
+        loginRequest.setPassword(PASSWORD);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken("faculty0@drims.edu", null, "FACULTY", "f0", null);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateTamperedToken() {
+        return tokenProvider.validateToken(tamperedToken);
+    }
+
+    // What the filter does for an authenticated request: validate, then read identity and role
+    @Benchmark
+    public String authenticateRequest() {
+        if (!tokenProvider.validateToken(token)) {
+            throw new IllegalStateException("Token rejected");
+        }
+        return tokenProvider.getIdentifierFromToken(token) + tokenProvider.getRoleFromToken(token);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean bcryptStrength10() {
+        return bcrypt10.matches(PASSWORD, hash10);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean bcryptStrength12() {
+        return bcrypt12.matches(PASSWORD, hash12);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public JwtResponse login() {
+        return authService.login(loginRequest);
+    }
+}
@@ -0,0 +1,63 @@
+package com.drims.benchmarks;
+
+import com.drims.repository.*;
+import com.drims.service.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.List;
+
+/**
+ * The backend services wired by hand over {@link InMemoryRepository} fakes holding a
+ * {@link SyntheticData} corpus, the way Spring would wire them over MongoDB.
+ */
+public final class Backend {
+
+    public final SyntheticData data;
+    public final Beans beans = new Beans();
+
+    private Backend(SyntheticData data) {
+        this.data = data;
+        beans.register(new SimpleMeterRegistry());
+        beans.register(InMemoryRepository.of(FacultyProfileRepository.class, data.faculty));
+        beans.register(InMemoryRepository.of(JournalRepository.class, data.journals));
+        beans.register(InMemoryRepository.of(ConferenceRepository.class, data.conferences));
+        beans.register(InMemoryRepository.of(PatentRepository.class, data.patents));
+        beans.register(InMemoryRepository.of(BookChapterRepository.class, data.bookChapters));
+        beans.register(InMemoryRepository.of(BookRepository.class, data.books));
+        beans.register(InMemoryRepository.of(StudentProfileRepository.class, List.of()));
+        beans.register(InMemoryRepository.of(UserRepository.class, List.of()));
+
+        FacultyProfileCache facultyProfileCache = beans.create(FacultyProfileCache.class);
+        Beans.set(facultyProfileCache, "maxSize", 10_000L);
+        Beans.set(facultyProfileCache, "expireMinutes", 30L);
+        facultyProfileCache.init();
+        beans.create(DomainMetrics.class);
+        // No storage mode is injected, so cross-type reads go through the repositories above (legacy)
+        beans.create(PublicationStore.class);
+        // Disabled until a benchmark enables and fills it, so the services read the repositories
+        beans.create(AnalyticsSnapshot.class);
+    }
+
+    public static Backend over(SyntheticData data) {
+        return new Backend(data);
+    }
+
+    // Indexes the corpus the way DuplicateDetectionService.rebuild() does from Mongo at startup
+    public DuplicateDetectionService duplicateDetection() {
+        DuplicateDetectionService service = beans.get(DuplicateDetectionService.class);
+        if (service == null) {
+            service = beans.create(DuplicateDetectionService.class);
+            data.journals.forEach(service::indexJournal);
+            data.conferences.forEach(service::indexConference);
+            data.patents.forEach(service::indexPatent);
+            data.bookChapters.forEach(service::indexBookChapter);
+            data.books.forEach(service::indexBook);
+        }
+        return service;
+    }
+
+    public <T> T service(Class<T> type) {
+        T service = beans.get(type);
+        return service != null ? service : beans.create(type);
+    }
+}
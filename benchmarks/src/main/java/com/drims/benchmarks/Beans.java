@@ -0,0 +1,75 @@
+package com.drims.benchmarks;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Just enough dependency injection to wire backend services by hand: @Autowired fields are
+ * filled by type from the registered instances, @Value fields are set by name. Dependencies a
+ * benchmark does not register (MongoTemplate, ...) stay null, so a code path that needs one
+ * fails loudly instead of reaching a database.
+ */
+public final class Beans {
+
+    private final List<Object> instances = new ArrayList<>();
+
+    public Beans register(Object instance) {
+        instances.add(instance);
+        return this;
+    }
+
+    // Creates, injects and registers a bean
+    public <T> T create(Class<T> type) {
+        try {
+            T bean = type.getDeclaredConstructor().newInstance();
+            inject(bean);
+            register(bean);
+            return bean;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create " + type.getName(), e);
+        }
+    }
+
+    public <T> T get(Class<T> type) {
+        for (Object instance : instances) {
+            if (type.isInstance(instance)) {
+                return type.cast(instance);
+            }
+        }
+        return null;
+    }
+
+    private void inject(Object bean) throws IllegalAccessException {
+        for (Class<?> type = bean.getClass(); type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Autowired.class)) {
+                    Object dependency = get(field.getType());
+                    if (dependency != null) {
+                        field.setAccessible(true);
+                        field.set(bean, dependency);
+                    }
+                }
+            }
+        }
+    }
+
+    // Stands in for @Value("${...}")
+    public static void set(Object bean, String fieldName, Object value) {
+        for (Class<?> type = bean.getClass(); type != Object.class; type = type.getSuperclass()) {
+            try {
+                Field field = type.getDeclaredField(fieldName);
+                field.setAccessible(true);
+                field.set(bean, value);
+                return;
+            } catch (NoSuchFieldException e) {
+                // Declared on a superclass
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        throw new IllegalArgumentException("No field " + fieldName + " on " + bean.getClass().getName());
+    }
+}
@@ -0,0 +1,99 @@
+package com.drims.benchmarks;
+
+import com.drims.entity.*;
+import com.drims.service.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The services' private convertToDTO mappers, called through method handles on a page of entities
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMapperBenchmark {
+
+    private static final int PAGE = 1000;
+
+    private Backend backend;
+    private List<Journal> journals;
+    private List<Conference> conferences;
+    private List<Patent> patents;
+    private List<BookChapter> bookChapters;
+    private List<Book> books;
+    private List<FacultyProfile> faculty;
+    private MethodHandle journalMapper;
+    private MethodHandle conferenceMapper;
+    private MethodHandle patentMapper;
+    private MethodHandle bookChapterMapper;
+    private MethodHandle bookMapper;
+    private MethodHandle facultyMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        backend = Backend.over(SyntheticData.generate(PAGE * 10));
+        SyntheticData data = backend.data;
+        journals = data.journals.subList(0, Math.min(PAGE, data.journals.size()));
+        conferences = data.conferences.subList(0, Math.min(PAGE, data.conferences.size()));
+        patents = data.patents.subList(0, Math.min(PAGE, data.patents.size()));
+        bookChapters = data.bookChapters.subList(0, Math.min(PAGE, data.bookChapters.size()));
+        books = data.books.subList(0, Math.min(PAGE, data.books.size()));
+        faculty = data.faculty;
+        journalMapper = mapper(JournalService.class, Journal.class);
+        conferenceMapper = mapper(ConferenceService.class, Conference.class);
+        patentMapper = mapper(PatentService.class, Patent.class);
+        bookChapterMapper = mapper(BookChapterService.class, BookChapter.class);
+        bookMapper = mapper(BookService.class, Book.class);
+        facultyMapper = mapper(FacultyProfileService.class, FacultyProfile.class);
+    }
+
+    // convertToDTO bound to a service instance, typed (Object)Object so every call site is invokeExact
+    private MethodHandle mapper(Class<?> serviceType, Class<?> entityType) throws ReflectiveOperationException {
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(serviceType, MethodHandles.lookup());
+        MethodHandle convert = lookup.unreflect(serviceType.getDeclaredMethod("convertToDTO", entityType));
+        return convert.bindTo(backend.service(serviceType)).asType(MethodType.methodType(Object.class, Object.class));
+    }
+
+    private static void mapAll(MethodHandle mapper, List<?> entities, Blackhole blackhole) throws Throwable {
+        for (Object entity : entities) {
+            blackhole.consume((Object) mapper.invokeExact(entity));
+        }
+    }
+
+    @Benchmark
+    public void journals(Blackhole blackhole) throws Throwable {
+        mapAll(journalMapper, journals, blackhole);
+    }
+
+    @Benchmark
+    public void conferences(Blackhole blackhole) throws Throwable {
+        mapAll(conferenceMapper, conferences, blackhole);
+    }
+
+    @Benchmark
+    public void patents(Blackhole blackhole) throws Throwable {
+        mapAll(patentMapper, patents, blackhole);
+    }
+
+    @Benchmark
+    public void bookChapters(Blackhole blackhole) throws Throwable {
+        mapAll(bookChapterMapper, bookChapters, blackhole);
+    }
+
+    @Benchmark
+    public void books(Blackhole blackhole) throws Throwable {
+        mapAll(bookMapper, books, blackhole);
+    }
+
+    @Benchmark
+    public void facultyProfiles(Blackhole blackhole) throws Throwable {
+        mapAll(facultyMapper, faculty, blackhole);
+    }
+}
@@ -0,0 +1,38 @@
+package com.drims.benchmarks;
+
+import com.drims.service.ExcelExportService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// ExcelExportService row writing: one sheet, and the full five-sheet research-data workbook
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ExcelExportBenchmark {
+
+    @Param({"1000", "10000"})
+    public int publications;
+
+    private ExcelExportService excelExportService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Backend backend = Backend.over(SyntheticData.generate(publications));
+        excelExportService = backend.service(ExcelExportService.class);
+    }
+
+    @Benchmark
+    public byte[] journalsSheet() throws IOException {
+        return excelExportService.exportToExcel(null, "Journals");
+    }
+
+    @Benchmark
+    public byte[] allSheets() throws IOException {
+        return excelExportService.exportToExcel(null, null);
+    }
+}
@@ -0,0 +1,202 @@
+package com.drims.benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory stand-in for a Spring Data repository interface, so services can be benchmarked
+ * without MongoDB. Derived queries are answered by parsing the method name the same way Spring
+ * Data does for the subset the repositories use: findBy/existsBy/countBy with And-joined
+ * equality criteria and an "In" suffix for collection arguments. Anything else (paging,
+ * MongoTemplate queries) throws, so a benchmark never silently measures a no-op.
+ */
+public final class InMemoryRepository implements InvocationHandler {
+
+    private static final Map<String, Method> GETTERS = new ConcurrentHashMap<>();
+
+    private final Class<?> entityType;
+    private final Map<Object, Object> rows = new LinkedHashMap<>();
+    private final Map<Method, Query> queries = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    private InMemoryRepository(Class<?> entityType) {
+        this.entityType = entityType;
+    }
+
+    public static <R> R of(Class<R> repositoryType, Collection<?> entities) {
+        InMemoryRepository handler = new InMemoryRepository(entityTypeOf(repositoryType));
+        entities.forEach(handler::save);
+        Object proxy = Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType}, handler);
+        return repositoryType.cast(proxy);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        if (method.getDeclaringClass() == Object.class) {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> "InMemoryRepository<" + entityType.getSimpleName() + ">";
+            };
+        }
+        String name = method.getName();
+        int arity = args == null ? 0 : args.length;
+        synchronized (rows) {
+            switch (name) {
+                case "findAll":
+                    if (arity == 0) {
+                        // Mongo hands back a fresh list on every call; so does this
+                        return new ArrayList<>(rows.values());
+                    }
+                    break;
+                case "findById":
+                    return Optional.ofNullable(rows.get(args[0]));
+                case "existsById":
+                    return rows.containsKey(args[0]);
+                case "count":
+                    return (long) rows.size();
+                case "save":
+                    return save(args[0]);
+                case "saveAll":
+                case "insert":
+                    if (args[0] instanceof Iterable<?> entities) {
+                        List<Object> saved = new ArrayList<>();
+                        entities.forEach(entity -> saved.add(save(entity)));
+                        return saved;
+                    }
+                    return save(args[0]);
+                case "deleteById":
+                    rows.remove(args[0]);
+                    return null;
+                case "delete":
+                    rows.remove(property(args[0], "id"));
+                    return null;
+                case "deleteAll":
+                    rows.clear();
+                    return null;
+                default:
+                    break;
+            }
+            Query query = queries.computeIfAbsent(method, Query::parse);
+            if (query == null) {
+                throw new UnsupportedOperationException(method.toString());
+            }
+            return query.run(rows.values(), args, method.getReturnType());
+        }
+    }
+
+    private Object save(Object entity) {
+        Object id = property(entity, "id");
+        if (id == null) {
+            id = String.format("%024x", ids.incrementAndGet());
+            setProperty(entity, "id", id);
+        }
+        rows.put(id, entity);
+        return entity;
+    }
+
+    private static Class<?> entityTypeOf(Class<?> repositoryType) {
+        for (Type type : repositoryType.getGenericInterfaces()) {
+            if (type instanceof ParameterizedType parameterized) {
+                return (Class<?>) parameterized.getActualTypeArguments()[0];
+            }
+        }
+        throw new IllegalArgumentException(repositoryType + " does not declare its entity type");
+    }
+
+    static Object property(Object entity, String name) {
+        try {
+            Method getter = GETTERS.computeIfAbsent(entity.getClass().getName() + "#" + name, key -> {
+                try {
+                    return entity.getClass().getMethod("get" + Character.toUpperCase(name.charAt(0)) + name.substring(1));
+                } catch (NoSuchMethodException e) {
+                    return null;
+                }
+            });
+            if (getter == null) {
+                throw new NoSuchMethodException(name);
+            }
+            return getter.invoke(entity);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("No property " + name + " on " + entity.getClass().getSimpleName(), e);
+        }
+    }
+
+    private static void setProperty(Object entity, String name, Object value) {
+        try {
+            Method setter = entity.getClass().getMethod("set" + Character.toUpperCase(name.charAt(0)) + name.substring(1), value.getClass());
+            setter.invoke(entity, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("No setter for " + name + " on " + entity.getClass().getSimpleName(), e);
+        }
+    }
+
+    // findByFacultyIdAndYear -> [facultyId = ?0, year = ?1]; findByApprovalStatusIn -> [approvalStatus in ?0]
+    private record Query(String verb, String[] properties, boolean[] in) {
+
+        static Query parse(Method method) {
+            String name = method.getName();
+            int by = name.indexOf("By");
+            if (by < 0) {
+                return null;
+            }
+            String verb = name.substring(0, by);
+            if (!verb.equals("find") && !verb.equals("exists") && !verb.equals("count")) {
+                return null;
+            }
+            String[] parts = name.substring(by + 2).split("And");
+            if (parts.length != method.getParameterCount()) {
+                return null;
+            }
+            String[] properties = new String[parts.length];
+            boolean[] in = new boolean[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                String part = parts[i];
+                in[i] = part.endsWith("In") && Collection.class.isAssignableFrom(method.getParameterTypes()[i]);
+                if (in[i]) {
+                    part = part.substring(0, part.length() - 2);
+                }
+                properties[i] = Character.toLowerCase(part.charAt(0)) + part.substring(1);
+            }
+            return new Query(verb, properties, in);
+        }
+
+        Object run(Collection<Object> rows, Object[] args, Class<?> returnType) {
+            List<Object> matches = new ArrayList<>();
+            for (Object row : rows) {
+                if (matches(row, args)) {
+                    matches.add(row);
+                    if (verb.equals("exists") || returnType == Optional.class) {
+                        break;
+                    }
+                }
+            }
+            if (verb.equals("exists")) {
+                return !matches.isEmpty();
+            }
+            if (verb.equals("count")) {
+                return (long) matches.size();
+            }
+            if (returnType == Optional.class) {
+                return matches.isEmpty() ? Optional.empty() : Optional.of(matches.get(0));
+            }
+            return matches;
+        }
+
+        private boolean matches(Object row, Object[] args) {
+            for (int i = 0; i < properties.length; i++) {
+                Object value = property(row, properties[i]);
+                if (in[i] ? !((Collection<?>) args[i]).contains(value) : !Objects.equals(value, args[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
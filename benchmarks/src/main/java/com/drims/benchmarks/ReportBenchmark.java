@@ -0,0 +1,51 @@
+package com.drims.benchmarks;
+
+import com.drims.service.ReportService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// NAAC and NIRF report computation, department-wide and for the most prolific faculty member
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ReportBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int publications;
+
+    private ReportService reportService;
+    private String facultyId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Backend backend = Backend.over(SyntheticData.generate(publications));
+        backend.duplicateDetection();
+        reportService = backend.service(ReportService.class);
+        facultyId = backend.data.faculty.get(0).getId();
+    }
+
+    @Benchmark
+    public Map<String, Object> naacAllYears() {
+        return reportService.generateNAACReport(null, null);
+    }
+
+    @Benchmark
+    public Map<String, Object> naacOneYear() {
+        return reportService.generateNAACReport(2024, null);
+    }
+
+    @Benchmark
+    public Map<String, Object> naacOneFaculty() {
+        return reportService.generateNAACReport(null, facultyId);
+    }
+
+    @Benchmark
+    public Map<String, Object> nirfAllYears() {
+        return reportService.generateNIRFReport(null, null);
+    }
+}
@@ -0,0 +1,80 @@
+package com.drims.benchmarks;
+
+import com.drims.entity.*;
+import com.drims.synthetic.SyntheticDataGenerator;
+import com.drims.synthetic.SyntheticDataSink;
+import com.drims.synthetic.SyntheticDataSpec;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic publication corpus for the benchmarks, collected in memory from the backend's
+ * {@link SyntheticDataGenerator}: the same size and seed always give the same records, and the
+ * same shape as the "synthetic" profile and the load test (one faculty per ~50 publications with
+ * a few prolific authors, clustered years, realistic approval mixes, ~2% re-entered titles).
+ */
+public final class SyntheticData {
+
+    public static final long DEFAULT_SEED = 42L;
+
+    public final List<FacultyProfile> faculty = new ArrayList<>();
+    public final List<StudentProfile> students = new ArrayList<>();
+    public final List<Target> targets = new ArrayList<>();
+    public final List<Journal> journals = new ArrayList<>();
+    public final List<Conference> conferences = new ArrayList<>();
+    public final List<Patent> patents = new ArrayList<>();
+    public final List<BookChapter> bookChapters = new ArrayList<>();
+    public final List<Book> books = new ArrayList<>();
+
+    private SyntheticData() {
+    }
+
+    public static SyntheticData generate(int publications) {
+        return generate(publications, DEFAULT_SEED);
+    }
+
+    public static SyntheticData generate(int publications, long seed) {
+        SyntheticDataSpec spec = new SyntheticDataSpec();
+        spec.setFaculty(Math.max(10, publications / 50));
+        spec.setStudents(Math.max(10, publications / 200));
+        spec.setPublications(publications);
+        spec.setSeed(seed);
+        // No password hashes: the repositories are fakes, so logins are not generated
+
+        SyntheticData data = new SyntheticData();
+        new SyntheticDataGenerator(spec).generate(new SyntheticDataSink() {
+            @Override
+            public <T> void write(Class<T> type, List<T> batch) {
+                data.listFor(type).addAll(batch);
+            }
+        });
+        return data;
+    }
+
+    public int size() {
+        return journals.size() + conferences.size() + patents.size() + bookChapters.size() + books.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> listFor(Class<T> type) {
+        if (type == FacultyProfile.class) {
+            return (List<T>) faculty;
+        } else if (type == StudentProfile.class) {
+            return (List<T>) students;
+        } else if (type == Target.class) {
+            return (List<T>) targets;
+        } else if (type == Journal.class) {
+            return (List<T>) journals;
+        } else if (type == Conference.class) {
+            return (List<T>) conferences;
+        } else if (type == Patent.class) {
+            return (List<T>) patents;
+        } else if (type == BookChapter.class) {
+            return (List<T>) bookChapters;
+        } else if (type == Book.class) {
+            return (List<T>) books;
+        }
+        throw new IllegalArgumentException("Unexpected synthetic type " + type.getSimpleName());
+    }
+}
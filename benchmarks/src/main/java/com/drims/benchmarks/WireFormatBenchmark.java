@@ -0,0 +1,145 @@
+package com.drims.benchmarks;
+
+import com.drims.dto.FieldSelection;
+import com.drims.entity.*;
+import com.drims.service.*;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The five admin publication list responses for a whole corpus (every journal, conference, patent,
+ * book chapter and book as its DTO) written as JSON, Smile and CBOR, with mappers built the way
+ * WebConfig builds them. serialize is the encoding alone; gzip adds Tomcat's response compression
+ * at the default level. Payload sizes, plain and gzipped, are printed once per trial, and setup
+ * checks that the binary formats decode to the same tree as the JSON.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class WireFormatBenchmark {
+
+    @Param({"20000"})
+    public int publications;
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    private ObjectMapper mapper;
+    private List<List<Object>> responses;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        Backend backend = Backend.over(SyntheticData.generate(publications));
+        SyntheticData data = backend.data;
+        responses = List.of(
+                toDtos(backend, JournalService.class, Journal.class, data.journals),
+                toDtos(backend, ConferenceService.class, Conference.class, data.conferences),
+                toDtos(backend, PatentService.class, Patent.class, data.patents),
+                toDtos(backend, BookChapterService.class, BookChapter.class, data.bookChapters),
+                toDtos(backend, BookService.class, Book.class, data.books));
+
+        mapper = mapper(format);
+        ObjectMapper json = mapper("json");
+        long bytes = 0;
+        long gzipBytes = 0;
+        for (List<Object> response : responses) {
+            byte[] encoded = mapper.writeValueAsBytes(response);
+            JsonNode decoded = mapper.readTree(encoded);
+            if (!decoded.equals(json.readTree(json.writeValueAsBytes(response)))) {
+                throw new IllegalStateException(format + " does not decode to the same tree as JSON");
+            }
+            bytes += encoded.length;
+            gzipBytes += gzip(encoded);
+        }
+        System.out.printf(Locale.ROOT, "%n%s, %d publications: %,d bytes, %,d gzipped%n", format, publications, bytes, gzipBytes);
+    }
+
+    // Boot's Jackson settings (java.time as ISO strings) plus the sparse-fieldset filters, as in WebConfig
+    private static ObjectMapper mapper(String format) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .filters(FieldSelection.defaultFilters());
+        switch (format) {
+            case "smile" -> builder.factory(new SmileFactory());
+            case "cbor" -> builder.factory(new CBORFactory());
+            default -> {
+            }
+        }
+        return builder.build();
+    }
+
+    private static List<Object> toDtos(Backend backend, Class<?> serviceType, Class<?> entityType, List<?> entities) throws Throwable {
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(serviceType, MethodHandles.lookup());
+        MethodHandle convert = lookup.unreflect(serviceType.getDeclaredMethod("convertToDTO", entityType))
+                .bindTo(backend.service(serviceType));
+        List<Object> dtos = new ArrayList<>(entities.size());
+        for (Object entity : entities) {
+            dtos.add(convert.invoke(entity));
+        }
+        return dtos;
+    }
+
+    private static long gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(body);
+        }
+        return buffer.size();
+    }
+
+    @Benchmark
+    public long serialize() throws IOException {
+        long bytes = 0;
+        for (List<Object> response : responses) {
+            bytes += mapper.writeValueAsBytes(response).length;
+        }
+        return bytes;
+    }
+
+    @Benchmark
+    public long serializeGzip() throws IOException {
+        long bytes = 0;
+        for (List<Object> response : responses) {
+            CountingOutputStream counter = new CountingOutputStream();
+            try (GZIPOutputStream out = new GZIPOutputStream(counter, 8192)) {
+                mapper.writeValue(out, response);
+            }
+            bytes += counter.count;
+        }
+        return bytes;
+    }
+
+    // The compressed bytes only need counting, not keeping
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
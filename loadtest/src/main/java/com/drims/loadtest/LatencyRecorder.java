@@ -0,0 +1,125 @@
+package com.drims.loadtest;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps every measured latency per endpoint so percentiles are exact rather than bucketed.
+ * At a few thousand requests per second over a few minutes that is a few MB of longs.
+ */
+public class LatencyRecorder {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+
+    public void start() {
+        endpoints.clear();
+        recording = true;
+    }
+
+    public void stop() {
+        recording = false;
+    }
+
+    public void record(String endpoint, long nanos, int status) {
+        if (recording) {
+            endpoints.computeIfAbsent(endpoint, Endpoint::new).add(nanos, status);
+        }
+    }
+
+    public Map<String, Object> summary(String endpoint, double seconds) {
+        Endpoint stats = endpoints.get(endpoint);
+        return stats != null ? stats.summary(seconds) : null;
+    }
+
+    public SortedSet<String> endpoints() {
+        return new TreeSet<>(endpoints.keySet());
+    }
+
+    // All endpoints pooled
+    public Map<String, Object> total(double seconds) {
+        Endpoint total = new Endpoint("total");
+        for (Endpoint endpoint : endpoints.values()) {
+            total.addAll(endpoint);
+        }
+        return total.summary(seconds);
+    }
+
+    private static final class Endpoint {
+        private final String name;
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+        private final Map<Integer, Integer> statuses = new TreeMap<>();
+
+        Endpoint(String name) {
+            this.name = name;
+        }
+
+        synchronized void add(long nanos, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            statuses.merge(status, 1, Integer::sum);
+            // 0 is a transport failure; 304 is a successful conditional poll
+            if (status == 0 || status >= 400) {
+                errors++;
+            }
+        }
+
+        synchronized void addAll(Endpoint other) {
+            synchronized (other) {
+                for (int i = 0; i < other.count; i++) {
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = other.latencies[i];
+                }
+                errors += other.errors;
+                other.statuses.forEach((status, n) -> statuses.merge(status, n, Integer::sum));
+            }
+        }
+
+        synchronized Map<String, Object> summary(double seconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            long sum = 0;
+            for (long latency : sorted) {
+                sum += latency;
+            }
+            Map<String, Object> latency = new LinkedHashMap<>();
+            latency.put("min", millis(count > 0 ? sorted[0] : 0));
+            latency.put("mean", millis(count > 0 ? sum / count : 0));
+            latency.put("p50", millis(percentile(sorted, 0.50)));
+            latency.put("p90", millis(percentile(sorted, 0.90)));
+            latency.put("p95", millis(percentile(sorted, 0.95)));
+            latency.put("p99", millis(percentile(sorted, 0.99)));
+            latency.put("max", millis(count > 0 ? sorted[count - 1] : 0));
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("endpoint", name);
+            summary.put("requests", count);
+            summary.put("errors", errors);
+            summary.put("throughputPerSecond", Math.round(count / seconds * 100) / 100.0);
+            Map<String, Integer> statusCounts = new LinkedHashMap<>();
+            statuses.forEach((status, n) -> statusCounts.put(String.valueOf(status), n));
+            summary.put("statusCounts", statusCounts);
+            summary.put("latencyMs", latency);
+            return summary;
+        }
+
+        // Nearest-rank percentile
+        private static long percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(p * sorted.length);
+            return sorted[Math.max(0, rank - 1)];
+        }
+
+        private static double millis(long nanos) {
+            return Math.round(nanos / 1_000.0) / 1_000.0;
+        }
+    }
+}
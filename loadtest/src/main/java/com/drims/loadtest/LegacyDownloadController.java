@@ -0,0 +1,48 @@
+package com.drims.loadtest;
+
+import com.drims.service.FileStorageService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The /api/files/download handler as it was before downloads were written directly (Content-Length,
+ * validators, ranges and sendfile in FileController): the file comes back as an unsized UrlResource
+ * for Spring MVC to copy. Only the load test's JVM picks this up (the backend's component scan covers
+ * com.drims), and --downloads=legacy points the download actions at it for the "before" run.
+ */
+@RestController
+public class LegacyDownloadController {
+
+    static final String PATH = "/api/files/legacy-download";
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @GetMapping(PATH)
+    public ResponseEntity<Resource> downloadFile(@RequestParam String path) {
+        try {
+            Resource resource = fileStorageService.loadFileAsResource(path);
+
+            // Determine content type
+            String contentType = "application/pdf";
+            String filename = path.contains("/") ? path.substring(path.lastIndexOf("/") + 1) : path;
+
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(contentType))
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            "inline; filename=\"" + URLEncoder.encode(filename, StandardCharsets.UTF_8.toString()) + "\"")
+                    .body(resource);
+        } catch (Exception e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
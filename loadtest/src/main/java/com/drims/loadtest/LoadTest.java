@@ -0,0 +1,185 @@
+package com.drims.loadtest;
+
+import com.drims.DRIMSApplication;
+import com.drims.entity.FacultyProfile;
+import com.drims.entity.StudentProfile;
+import com.drims.service.FileStorageService;
+import com.drims.service.SyntheticDataService;
+import com.drims.synthetic.SyntheticDataGenerator;
+import com.drims.synthetic.SyntheticDataSpec;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * End-to-end load test: starts an in-process MongoDB stand-in (mongo-java-server, in memory),
+ * boots the backend against it on a random port, seeds synthetic data (SyntheticDataService)
+ * on top of the usual startup data, drives the scripted workload over HTTP and writes the JSON
+ * report. Exits with status 1 when --baseline is given and an endpoint's p95 regressed past
+ * --max-regression. With --logging=legacy or current the backend logs at its real levels into
+ * --log-file, so two runs compare the per-request cost of the old and the shipped logging setup.
+ */
+public class LoadTest {
+
+    // Typical proof sizes: a scanned page, a short paper, a long scanned document
+    private static final int[] FILE_SIZES = {256 * 1024, 1024 * 1024, 4 * 1024 * 1024};
+    private static final byte[] PDF_HEADER = "%PDF-1.4\n".getBytes(StandardCharsets.US_ASCII);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        System.setProperty("logging.level.de.bwaldvogel", "ERROR");
+        switch (options.logging) {
+            case "legacy" -> {
+                // What application.properties set before logging moved to logback-spring.xml
+                System.setProperty("logging.config", "classpath:logback-legacy.xml");
+                System.setProperty("logging.level.org.springframework.security", "DEBUG");
+                System.setProperty("logging.level.com.drims", "DEBUG");
+            }
+            case "current" -> {
+                // The backend's own logback-spring.xml and levels
+            }
+            default -> {
+                System.setProperty("logging.level.root", "WARN");
+                System.setProperty("logging.level.com.drims", "WARN");
+            }
+        }
+        // Both configurations log to the console; send it to a file the way a deployment would
+        PrintStream console = System.out;
+        PrintStream backendLog = null;
+        if (!"quiet".equals(options.logging)) {
+            if (options.logFile.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(options.logFile.toAbsolutePath().getParent());
+            }
+            backendLog = new PrintStream(new BufferedOutputStream(Files.newOutputStream(options.logFile)), false, StandardCharsets.UTF_8);
+            System.setOut(backendLog);
+        }
+
+        MongoServer mongo = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = mongo.bind();
+        // System properties outrank application.properties, default properties would not
+        System.setProperty("spring.data.mongodb.uri",
+                "mongodb://" + address.getHostString() + ":" + address.getPort() + "/drims");
+        System.setProperty("server.port", "0");
+        // Uploaded proofs live only as long as the run
+        Path uploads = Files.createTempDirectory("drims-loadtest-uploads");
+        System.setProperty("file.upload.dir", uploads.toString());
+        // The seeded proofs are noise behind a PDF header; rendering them would only fail, mid-run
+        System.setProperty("preview.poll-interval-ms", String.valueOf(Integer.MAX_VALUE));
+        // The stand-in does not implement explain; keep the slow-query log but skip its plans
+        System.setProperty("diagnostics.slow-query.explain-after", String.valueOf(Integer.MAX_VALUE));
+
+        int exitCode = 0;
+        ConfigurableApplicationContext context = null;
+        try {
+            console.println("Booting backend against in-process Mongo on port " + address.getPort() + "...");
+            long bootStart = System.nanoTime();
+            context = SpringApplication.run(DRIMSApplication.class);
+            double bootSeconds = (System.nanoTime() - bootStart) / 1e9;
+            String baseUrl = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+
+            console.printf("Seeding %d faculty, %d publications, %d students (seed %d)...%n",
+                    options.faculty, options.publications, options.students, options.seed);
+            long seedStart = System.nanoTime();
+            SyntheticDataSpec spec = new SyntheticDataSpec();
+            spec.setFaculty(options.faculty);
+            spec.setPublications(options.publications);
+            spec.setStudents(options.students);
+            spec.setSeed(options.seed);
+            SyntheticDataService synthetic = context.getBean(SyntheticDataService.class);
+            SyntheticDataGenerator generator = synthetic.newGenerator(spec);
+            Map<String, Long> seeded = new LinkedHashMap<>(synthetic.write(generator));
+            List<String> files = seedFiles(context, options, generator.getFaculty());
+            seeded.put("files", (long) files.size());
+            double seedSeconds = (System.nanoTime() - seedStart) / 1e9;
+
+            LatencyRecorder recorder = new LatencyRecorder();
+            Workload workload = new Workload(baseUrl, recorder, options,
+                    generator.getFaculty().stream().map(FacultyProfile::getEmail).toList(),
+                    generator.getStudents().stream().map(StudentProfile::getRegisterNumber).toList(), files);
+            console.printf("Running %d users: %ds warm-up, %ds measured...%n",
+                    options.users, options.warmupSeconds, options.durationSeconds);
+            long logBytesBefore = logBytes(backendLog, options);
+            double seconds = workload.run();
+            long logBytesDuringRun = logBytes(backendLog, options) - logBytesBefore;
+
+            LoadTestReport report = new LoadTestReport(options, workload.effectiveMix());
+            report.setup(bootSeconds, seedSeconds, seeded);
+            report.results(recorder, workload.logins(), seconds);
+            if (backendLog != null) {
+                report.logging(options.logging, options.logFile, logBytesDuringRun);
+            }
+            report.write(options.output);
+            report.print(console);
+            console.println("\nReport written to " + options.output.toAbsolutePath());
+
+            if (options.baseline != null) {
+                List<String> regressions = report.compare(options.baseline, options.maxRegression, console);
+                if (!regressions.isEmpty()) {
+                    console.println("\nRegressions:");
+                    regressions.forEach(regression -> console.println("  " + regression));
+                    exitCode = 1;
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Load test failed: " + e.getMessage());
+            exitCode = 2;
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            mongo.shutdownNow();
+            deleteQuietly(uploads);
+            if (backendLog != null) {
+                backendLog.flush();
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    // Proof PDFs for the download actions, stored the way the upload endpoints store them. The
+    // content is seeded noise behind a PDF header: downloads only need the bytes.
+    private static List<String> seedFiles(ConfigurableApplicationContext context, LoadTestOptions options,
+                                          List<FacultyProfile> faculty) {
+        FileStorageService storage = context.getBean(FileStorageService.class);
+        SplittableRandom random = new SplittableRandom(options.seed);
+        List<String> paths = new ArrayList<>();
+        for (int i = 0; i < options.files; i++) {
+            byte[] body = new byte[FILE_SIZES[i % FILE_SIZES.length]];
+            random.nextBytes(body);
+            System.arraycopy(PDF_HEADER, 0, body, 0, PDF_HEADER.length);
+            String owner = faculty.get(i % faculty.size()).getId();
+            paths.add(storage.storeStream(new ByteArrayInputStream(body), body.length, "faculty", owner, "journals", "proof-" + i + ".pdf"));
+        }
+        return paths;
+    }
+
+    private static void deleteQuietly(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            // Temp directory; the OS cleans it up eventually
+        }
+    }
+
+    // Bytes the backend has logged so far, or 0 when it logs nowhere measurable
+    private static long logBytes(PrintStream backendLog, LoadTestOptions options) throws IOException {
+        if (backendLog == null) {
+            return 0;
+        }
+        backendLog.flush();
+        return Files.size(options.logFile);
+    }
+}
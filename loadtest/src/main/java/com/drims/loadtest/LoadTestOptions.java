@@ -0,0 +1,118 @@
+package com.drims.loadtest;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Command-line options: --name=value, all optional
+public class LoadTestOptions {
+
+    int faculty = 200;
+    int publications = 20_000;
+    int students = 100;
+    long seed = 42L;
+    int users = 8;
+    int warmupSeconds = 15;
+    int durationSeconds = 60;
+    int thinkMillis = 0;
+    Map<String, Integer> mix = new LinkedHashMap<>();
+    Path output = Path.of("target", "loadtest-report.json");
+    Path baseline;
+    double maxRegression = 0.25;
+    int files = 12;
+    String downloads = "current";
+    String logging = "quiet";
+    Path logFile = Path.of("target", "loadtest-backend.log");
+
+    static final String USAGE = """
+            Usage: java -jar target/loadtest.jar [options]
+
+              --faculty=N            synthetic faculty to seed (default 200)
+              --publications=M       synthetic publications to seed (default 20000)
+              --students=S           synthetic students to seed (default 100)
+              --seed=X               random seed; same seed, same data (default 42)
+              --users=U              concurrent virtual users (default 8)
+              --warmup=SECONDS       warm-up before measuring, not reported (default 15)
+              --duration=SECONDS     measured run (default 60)
+              --think=MILLIS         pause between a user's requests (default 0, closed loop)
+              --mix=action:weight,.. override action weights; weight 0 disables (see README)
+              --out=FILE             JSON report (default target/loadtest-report.json)
+              --baseline=FILE        earlier report to compare against
+              --max-regression=R     fail if an endpoint's p95 grows by more than R (default 0.25)
+              --files=F              proof PDFs to upload for the download actions (default 12)
+              --downloads=MODE       current (/api/files/download) or legacy (the handler before
+                                     ranges, validators and sendfile) (default current)
+              --logging=MODE         backend logging: quiet (WARN only), legacy (synchronous
+                                     console, Spring Security and com.drims at DEBUG) or current
+                                     (the shipped async JSON configuration) (default quiet)
+              --log-file=FILE        where legacy/current backend logs go (default target/loadtest-backend.log)
+            """;
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (arg.equals("--help") || arg.equals("-h")) {
+                System.out.println(USAGE);
+                System.exit(0);
+            }
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            String name = arg.substring(2, eq);
+            String value = arg.substring(eq + 1);
+            switch (name) {
+                case "faculty" -> options.faculty = Integer.parseInt(value);
+                case "publications" -> options.publications = Integer.parseInt(value);
+                case "students" -> options.students = Integer.parseInt(value);
+                case "seed" -> options.seed = Long.parseLong(value);
+                case "users" -> options.users = Integer.parseInt(value);
+                case "warmup" -> options.warmupSeconds = Integer.parseInt(value);
+                case "duration" -> options.durationSeconds = Integer.parseInt(value);
+                case "think" -> options.thinkMillis = Integer.parseInt(value);
+                case "mix" -> {
+                    for (String entry : value.split(",")) {
+                        String[] parts = entry.split(":");
+                        options.mix.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+                    }
+                }
+                case "out" -> options.output = Path.of(value);
+                case "baseline" -> options.baseline = Path.of(value);
+                case "max-regression" -> options.maxRegression = Double.parseDouble(value);
+                case "files" -> options.files = Integer.parseInt(value);
+                case "downloads" -> options.downloads = value;
+                case "logging" -> options.logging = value;
+                case "log-file" -> options.logFile = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        if (options.faculty < 1 || options.users < 1 || options.durationSeconds < 1) {
+            throw new IllegalArgumentException("--faculty, --users and --duration must be at least 1");
+        }
+        if (!List.of("current", "legacy").contains(options.downloads)) {
+            throw new IllegalArgumentException("--downloads must be current or legacy");
+        }
+        if (!List.of("quiet", "legacy", "current").contains(options.logging)) {
+            throw new IllegalArgumentException("--logging must be quiet, legacy or current");
+        }
+        return options;
+    }
+
+    Map<String, Object> describe() {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("faculty", faculty);
+        config.put("publications", publications);
+        config.put("students", students);
+        config.put("seed", seed);
+        config.put("users", users);
+        config.put("warmupSeconds", warmupSeconds);
+        config.put("durationSeconds", durationSeconds);
+        config.put("thinkMillis", thinkMillis);
+        config.put("mix", mix);
+        config.put("files", files);
+        config.put("downloads", downloads);
+        config.put("logging", logging);
+        return config;
+    }
+}
@@ -0,0 +1,119 @@
+package com.drims.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.*;
+
+/**
+ * The JSON artifact of a run (configuration, environment, seeded document counts and
+ * per-endpoint throughput and latency percentiles) and its comparison with a baseline run.
+ */
+public class LoadTestReport {
+
+    private static final int MIN_SAMPLES = 20;
+
+    private final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final Map<String, Object> report = new LinkedHashMap<>();
+    private final List<Map<String, Object>> endpoints = new ArrayList<>();
+
+    public LoadTestReport(LoadTestOptions options, Map<String, Integer> mix) {
+        report.put("generatedAt", OffsetDateTime.now().toString());
+        Map<String, Object> environment = new LinkedHashMap<>();
+        environment.put("javaVersion", System.getProperty("java.version"));
+        environment.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        environment.put("maxHeapMb", Runtime.getRuntime().maxMemory() / (1024 * 1024));
+        environment.put("os", System.getProperty("os.name") + " " + System.getProperty("os.arch"));
+        report.put("environment", environment);
+        Map<String, Object> config = options.describe();
+        config.put("mix", mix);
+        report.put("config", config);
+    }
+
+    public void setup(double bootSeconds, double seedSeconds, Map<String, Long> seeded) {
+        report.put("bootSeconds", round(bootSeconds));
+        report.put("seedSeconds", round(seedSeconds));
+        report.put("seededDocuments", seeded);
+    }
+
+    public void results(LatencyRecorder recorder, LatencyRecorder logins, double seconds) {
+        report.put("measuredSeconds", round(seconds));
+        report.put("total", recorder.total(seconds));
+        for (String endpoint : recorder.endpoints()) {
+            endpoints.add(recorder.summary(endpoint, seconds));
+        }
+        report.put("endpoints", endpoints);
+        report.put("logins", logins.summary("auth.login", seconds));
+    }
+
+    // Log volume of a --logging=legacy/current run, warm-up included
+    public void logging(String mode, Path file, long bytesDuringRun) {
+        Map<String, Object> logging = new LinkedHashMap<>();
+        logging.put("mode", mode);
+        logging.put("file", file.toAbsolutePath().toString());
+        logging.put("bytesDuringRun", bytesDuringRun);
+        report.put("logging", logging);
+    }
+
+    public void write(Path file) throws IOException {
+        if (file.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+        }
+        mapper.writeValue(file.toFile(), report);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void print(PrintStream out) {
+        out.printf("%n%-28s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        List<Map<String, Object>> rows = new ArrayList<>(endpoints);
+        rows.add((Map<String, Object>) report.get("total"));
+        for (Map<String, Object> row : rows) {
+            Map<String, Object> latency = (Map<String, Object>) row.get("latencyMs");
+            out.printf("%-28s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    row.get("endpoint"), row.get("requests"), row.get("errors"), row.get("throughputPerSecond"),
+                    latency.get("p50"), latency.get("p95"), latency.get("p99"), latency.get("max"));
+        }
+    }
+
+    // Endpoints whose p95 grew by more than maxRegression (0.25 = 25%) against the baseline
+    @SuppressWarnings("unchecked")
+    public List<String> compare(Path baselineFile, double maxRegression, PrintStream out) throws IOException {
+        JsonNode baseline = mapper.readTree(baselineFile.toFile());
+        Map<String, JsonNode> before = new HashMap<>();
+        for (JsonNode endpoint : baseline.path("endpoints")) {
+            before.put(endpoint.path("endpoint").asText(), endpoint);
+        }
+        List<String> regressions = new ArrayList<>();
+        out.printf("%nAgainst %s:%n%-28s %11s %11s %8s %11s %11s%n", baselineFile,
+                "endpoint", "p95 before", "p95 now", "change", "req/s before", "req/s now");
+        for (Map<String, Object> endpoint : endpoints) {
+            String name = (String) endpoint.get("endpoint");
+            JsonNode old = before.get(name);
+            if (old == null) {
+                continue;
+            }
+            double oldP95 = old.path("latencyMs").path("p95").asDouble();
+            double newP95 = ((Number) ((Map<String, Object>) endpoint.get("latencyMs")).get("p95")).doubleValue();
+            double change = oldP95 > 0 ? newP95 / oldP95 - 1 : 0;
+            out.printf("%-28s %11.2f %11.2f %+7.1f%% %11.1f %11.1f%n", name, oldP95, newP95, change * 100,
+                    old.path("throughputPerSecond").asDouble(), ((Number) endpoint.get("throughputPerSecond")).doubleValue());
+            // A p95 over a handful of requests is noise, not a regression
+            int samples = Math.min(old.path("requests").asInt(), ((Number) endpoint.get("requests")).intValue());
+            if (change > maxRegression && samples >= MIN_SAMPLES) {
+                regressions.add(String.format(Locale.ROOT, "%s p95 %.2f ms -> %.2f ms (%+.1f%%)", name, oldP95, newP95, change * 100));
+            }
+        }
+        return regressions;
+    }
+
+    private static double round(double seconds) {
+        return Math.round(seconds * 100) / 100.0;
+    }
+}
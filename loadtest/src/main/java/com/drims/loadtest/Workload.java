@@ -0,0 +1,368 @@
+package com.drims.loadtest;
+
+import com.drims.synthetic.SyntheticDataGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * The scripted API mix. Each virtual user logs in once as a faculty member, a student and the
+ * admin (the logins are measured as auth.login) and then loops, picking the next action by
+ * weight: faculty profile reads and journal CRUD, student submissions, admin pending-approval
+ * polling (conditional, with the ETag from the previous poll, as the dashboard does), approvals,
+ * analytics, the NAAC report, an Excel export, and proof PDF downloads (whole files and 64 KB
+ * ranges). Every request is timed per action name.
+ */
+public class Workload {
+
+    // Action -> weight; weights are relative
+    static final Map<String, Integer> DEFAULT_MIX = new LinkedHashMap<>();
+
+    static {
+        DEFAULT_MIX.put("faculty.profile", 8);
+        DEFAULT_MIX.put("faculty.journals.list", 12);
+        DEFAULT_MIX.put("faculty.conferences.list", 6);
+        DEFAULT_MIX.put("faculty.journals.create", 5);
+        DEFAULT_MIX.put("faculty.journals.update", 3);
+        DEFAULT_MIX.put("faculty.journals.delete", 2);
+        DEFAULT_MIX.put("student.journals.submit", 4);
+        DEFAULT_MIX.put("student.journals.list", 4);
+        DEFAULT_MIX.put("admin.approvals.pending", 20);
+        DEFAULT_MIX.put("admin.approvals.approve", 2);
+        DEFAULT_MIX.put("admin.analytics", 4);
+        DEFAULT_MIX.put("admin.reports.naac", 2);
+        DEFAULT_MIX.put("admin.export.journals", 1);
+        DEFAULT_MIX.put("files.download", 4);
+        DEFAULT_MIX.put("files.download.range", 4);
+    }
+
+    // Range reads of this size at 64 KB-aligned offsets, the way a PDF viewer fetches pages
+    private static final int RANGE_BYTES = 64 * 1024;
+    private static final int RANGE_OFFSETS = 4;
+
+    private static final String ADMIN_EMAIL = "admin@drims.edu";
+    private static final String ADMIN_PASSWORD = "admin123";
+
+    private final String baseUrl;
+    private final LatencyRecorder recorder;
+    // Logins happen once per user as warm-up starts, so they are reported apart from the mix
+    private final LatencyRecorder logins = new LatencyRecorder();
+    private final LoadTestOptions options;
+    private final List<String> facultyEmails;
+    private final List<String> studentRegisterNumbers;
+    private final List<String> files;
+    private final String downloadPath;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, Consumer<VirtualUser>> actions = new LinkedHashMap<>();
+    private final String[] names;
+    private final int[] cumulativeWeights;
+
+    private volatile boolean running;
+    private volatile RuntimeException failure;
+
+    public Workload(String baseUrl, LatencyRecorder recorder, LoadTestOptions options,
+                    List<String> facultyEmails, List<String> studentRegisterNumbers, List<String> files) {
+        this.baseUrl = baseUrl;
+        this.recorder = recorder;
+        this.options = options;
+        this.facultyEmails = facultyEmails;
+        this.studentRegisterNumbers = studentRegisterNumbers;
+        this.files = files;
+        this.downloadPath = "legacy".equals(options.downloads) ? LegacyDownloadController.PATH : "/api/files/download";
+
+        actions.put("faculty.profile", user -> user.get("faculty.profile", user.facultyToken, "/api/faculty/profile"));
+        actions.put("faculty.journals.list", user -> user.get("faculty.journals.list", user.facultyToken, "/api/faculty/journals"));
+        actions.put("faculty.conferences.list", user -> user.get("faculty.conferences.list", user.facultyToken, "/api/faculty/conferences"));
+        actions.put("faculty.journals.create", VirtualUser::createJournal);
+        actions.put("faculty.journals.update", VirtualUser::updateJournal);
+        actions.put("faculty.journals.delete", VirtualUser::deleteJournal);
+        actions.put("student.journals.submit", VirtualUser::submitStudentJournal);
+        actions.put("student.journals.list", user -> user.get("student.journals.list", user.studentToken, "/api/student/journals"));
+        actions.put("admin.approvals.pending", VirtualUser::pollPendingApprovals);
+        actions.put("admin.approvals.approve", VirtualUser::approve);
+        actions.put("admin.analytics", user -> user.get("admin.analytics", user.adminToken, "/api/admin/analytics"));
+        actions.put("admin.reports.naac", user -> user.get("admin.reports.naac", user.adminToken, "/api/admin/reports/naac?year=2024"));
+        actions.put("admin.export.journals", user -> user.get("admin.export.journals", user.adminToken, "/api/admin/export?category=Journals&year=2024"));
+        actions.put("files.download", VirtualUser::download);
+        actions.put("files.download.range", VirtualUser::downloadRange);
+
+        Map<String, Integer> mix = new LinkedHashMap<>(DEFAULT_MIX);
+        options.mix.forEach((name, weight) -> {
+            if (!actions.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown action in --mix: " + name + " (known: " + actions.keySet() + ")");
+            }
+            mix.put(name, weight);
+        });
+        mix.values().removeIf(weight -> weight <= 0);
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("--mix disables every action");
+        }
+        names = mix.keySet().toArray(new String[0]);
+        cumulativeWeights = new int[names.length];
+        int total = 0;
+        for (int i = 0; i < names.length; i++) {
+            total += mix.get(names[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    Map<String, Integer> effectiveMix() {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            mix.put(names[i], cumulativeWeights[i] - (i > 0 ? cumulativeWeights[i - 1] : 0));
+        }
+        return mix;
+    }
+
+    // Warm-up, then the measured window; returns the measured window's length in seconds
+    public double run() throws InterruptedException {
+        running = true;
+        CountDownLatch finished = new CountDownLatch(options.users);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < options.users; i++) {
+            VirtualUser user = new VirtualUser(i);
+            Thread thread = new Thread(() -> {
+                try {
+                    user.loop();
+                } catch (RuntimeException e) {
+                    failure = e;
+                    running = false;
+                } finally {
+                    finished.countDown();
+                }
+            }, "vu-" + i);
+            thread.setDaemon(true);
+            threads.add(thread);
+        }
+        logins.start();
+        threads.forEach(Thread::start);
+        // Users only finish early when one of them fails
+        if (!finished.await(options.warmupSeconds, TimeUnit.SECONDS)) {
+            recorder.start();
+        }
+        long start = System.nanoTime();
+        finished.await(options.durationSeconds, TimeUnit.SECONDS);
+        recorder.stop();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        running = false;
+        finished.await();
+        if (failure != null) {
+            throw failure;
+        }
+        return seconds;
+    }
+
+    LatencyRecorder logins() {
+        return logins;
+    }
+
+    private final class VirtualUser {
+        private final SplittableRandom random;
+        private final Deque<String> ownJournals = new ArrayDeque<>();
+        private final Deque<String[]> pending = new ArrayDeque<>();
+        private String facultyToken;
+        private String studentToken;
+        private String adminToken;
+        private String pendingEtag;
+        private int sequence;
+        private final int id;
+
+        VirtualUser(int id) {
+            this.id = id;
+            this.random = new SplittableRandom(options.seed + id);
+        }
+
+        void loop() {
+            facultyToken = login("{\"email\":\"" + facultyEmails.get(id % facultyEmails.size()) + "\",\"password\":\""
+                    + SyntheticDataGenerator.FACULTY_PASSWORD + "\"}");
+            if (!studentRegisterNumbers.isEmpty()) {
+                studentToken = login("{\"registerNumber\":\"" + studentRegisterNumbers.get(id % studentRegisterNumbers.size())
+                        + "\",\"password\":\"" + SyntheticDataGenerator.STUDENT_PASSWORD + "\"}");
+            }
+            adminToken = login("{\"email\":\"" + ADMIN_EMAIL + "\",\"password\":\"" + ADMIN_PASSWORD + "\"}");
+            while (running) {
+                int draw = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+                int action = 0;
+                while (cumulativeWeights[action] <= draw) {
+                    action++;
+                }
+                actions.get(names[action]).accept(this);
+                if (options.thinkMillis > 0) {
+                    try {
+                        Thread.sleep(options.thinkMillis);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+        }
+
+        private String login(String body) {
+            HttpResponse<byte[]> response = send(logins, "auth.login", request("/api/auth/login", null)
+                    .POST(HttpRequest.BodyPublishers.ofString(body)).header("Content-Type", "application/json"));
+            JsonNode json = json(response);
+            if (json == null || !json.hasNonNull("token")) {
+                throw new IllegalStateException("Login failed (" + (response != null ? response.statusCode() : "no response") + "): " + body);
+            }
+            return json.get("token").asText();
+        }
+
+        void get(String name, String token, String path) {
+            if (token == null) {
+                return;
+            }
+            send(name, request(path, token).GET());
+        }
+
+        void createJournal() {
+            JsonNode created = json(send("faculty.journals.create", request("/api/faculty/journals", facultyToken)
+                    .POST(HttpRequest.BodyPublishers.ofString(journalJson())).header("Content-Type", "application/json")));
+            if (created != null && created.hasNonNull("id")) {
+                ownJournals.addLast(created.get("id").asText());
+            }
+        }
+
+        void updateJournal() {
+            if (ownJournals.isEmpty()) {
+                createJournal();
+                return;
+            }
+            send("faculty.journals.update", request("/api/faculty/journals/" + ownJournals.peekLast(), facultyToken)
+                    .PUT(HttpRequest.BodyPublishers.ofString(journalJson())).header("Content-Type", "application/json"));
+        }
+
+        void deleteJournal() {
+            if (ownJournals.isEmpty()) {
+                createJournal();
+                return;
+            }
+            send("faculty.journals.delete", request("/api/faculty/journals/" + ownJournals.pollFirst(), facultyToken).DELETE());
+        }
+
+        void submitStudentJournal() {
+            if (studentToken == null) {
+                return;
+            }
+            send("student.journals.submit", request("/api/student/journals", studentToken)
+                    .POST(HttpRequest.BodyPublishers.ofString(journalJson())).header("Content-Type", "application/json"));
+        }
+
+        void pollPendingApprovals() {
+            HttpRequest.Builder request = request("/api/admin/approvals/pending", adminToken).GET();
+            if (pendingEtag != null) {
+                request.header("If-None-Match", pendingEtag);
+            }
+            HttpResponse<byte[]> response = send("admin.approvals.pending", request);
+            if (response == null || response.statusCode() != 200) {
+                return;
+            }
+            pendingEtag = response.headers().firstValue("ETag").orElse(null);
+            JsonNode items = json(response);
+            pending.clear();
+            if (items != null && items.isArray()) {
+                // A reviewer works through the first page of the queue
+                for (int i = 0; i < items.size() && i < 20; i++) {
+                    pending.addLast(new String[]{items.get(i).path("publicationType").asText(), items.get(i).path("id").asText()});
+                }
+            }
+        }
+
+        void approve() {
+            if (pending.isEmpty()) {
+                pollPendingApprovals();
+                return;
+            }
+            String[] item = pending.pollFirst();
+            send("admin.approvals.approve", request("/api/admin/approvals/" + item[0] + "/" + item[1] + "/approve", adminToken)
+                    .POST(HttpRequest.BodyPublishers.noBody()));
+        }
+
+        void download() {
+            if (files.isEmpty()) {
+                return;
+            }
+            send("files.download", fileRequest());
+        }
+
+        void downloadRange() {
+            if (files.isEmpty()) {
+                return;
+            }
+            long start = (long) random.nextInt(RANGE_OFFSETS) * RANGE_BYTES;
+            send("files.download.range", fileRequest().header("Range", "bytes=" + start + "-" + (start + RANGE_BYTES - 1)));
+        }
+
+        // Downloads are public and answer with the PDF, whatever the JSON endpoints accept
+        private HttpRequest.Builder fileRequest() {
+            String path = files.get(random.nextInt(files.size()));
+            return request(downloadPath + "?path=" + URLEncoder.encode(path, StandardCharsets.UTF_8), null)
+                    .setHeader("Accept", "application/pdf").GET();
+        }
+
+        private String journalJson() {
+            sequence++;
+            return "{\"title\":\"Load test journal " + id + "-" + sequence + " on " + Long.toString(random.nextLong() & Long.MAX_VALUE, 36)
+                    + "\",\"journalName\":\"Journal of Load Testing\",\"authors\":\"Virtual User " + id
+                    + "\",\"year\":" + (2020 + random.nextInt(6)) + ",\"volume\":\"" + (1 + random.nextInt(30))
+                    + "\",\"status\":\"Published\",\"category\":\"International\",\"indexType\":\"Scopus\"}";
+        }
+
+        private HttpRequest.Builder request(String path, String token) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(120))
+                    .header("Accept", "application/json");
+            if (token != null) {
+                builder.header("Authorization", "Bearer " + token);
+            }
+            return builder;
+        }
+
+        private HttpResponse<byte[]> send(String name, HttpRequest.Builder request) {
+            return send(recorder, name, request);
+        }
+
+        // Times one request; a transport failure is recorded with status 0
+        private HttpResponse<byte[]> send(LatencyRecorder recorder, String name, HttpRequest.Builder request) {
+            long start = System.nanoTime();
+            try {
+                HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+                recorder.record(name, System.nanoTime() - start, response.statusCode());
+                return response;
+            } catch (IOException e) {
+                recorder.record(name, System.nanoTime() - start, 0);
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+                return null;
+            }
+        }
+
+        private JsonNode json(HttpResponse<byte[]> response) {
+            if (response == null || response.statusCode() >= 300 || response.body().length == 0) {
+                return null;
+            }
+            try {
+                return mapper.readTree(response.body());
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
+}